@@ -60,6 +60,7 @@ public class CommandLine
     private static final int OPT_INTEGER = 2;
     private static final int OPT_FLAG = 3;
     private static final int OPT_DOUBLE = 4;
+    private static final int OPT_LONG = 5;
 
     // inner class to store option information
     private static class Option
@@ -203,6 +204,16 @@ public class CommandLine
         o.nType = OPT_INTEGER;
     }
 
+    /**
+     * Add a long option, with default value
+     */
+    public static void addLongOption(String sOpt, long nDefault)
+    {
+        Option o = getNewOption(sOpt);
+        o.oDefault = nDefault;
+        o.nType = OPT_LONG;
+    }
+
     /**
      * Add an double option, with default value
      */
@@ -292,6 +303,27 @@ public class CommandLine
                         htValues_.put(sArg, n);
                         break;
 
+                    case OPT_LONG:
+                        if ((i + 1) >= args.length)
+                        {
+                            exitWithError("Value not found for option: " + sArg);
+                        }
+
+                        String sLong = args[i + 1];
+                        i++;
+                        long l = 0;
+                        try
+                        {
+                            l = Long.parseLong(sLong);
+                        }
+                        catch (NumberFormatException nfe)
+                        {
+                            exitWithError("Value for option " + sArg + " is not a long: " + sLong);
+                        }
+
+                        htValues_.put(sArg, l);
+                        break;
+
                     case OPT_DOUBLE:
                         if ((i + 1) >= args.length)
                         {
@@ -395,7 +427,7 @@ public class CommandLine
 
     /**
      * Return parsed options in TypedHashMap, mapping option name to
-     * Object containing value (String, Integer or Boolean)
+     * Object containing value (String, Integer, Long, Double or Boolean)
      */
     public static TypedHashMap getOptions()
     {
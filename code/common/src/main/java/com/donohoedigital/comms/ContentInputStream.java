@@ -0,0 +1,105 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.comms;
+
+import java.io.*;
+
+/**
+ * Input stream for a keep-alive response, which ends after the content length
+ * rather than at EOF, leaving the connection open for the next response.  EOF
+ * before the content length is an error.
+ */
+class ContentInputStream extends FilterInputStream
+{
+    private int nRemaining_;
+
+    ContentInputStream(InputStream in, int nLength)
+    {
+        super(in);
+        nRemaining_ = nLength;
+    }
+
+    /**
+     * Has the whole response been read?
+     */
+    boolean isDone()
+    {
+        return nRemaining_ == 0;
+    }
+
+    @Override
+    public int read() throws IOException
+    {
+        if (nRemaining_ == 0) return -1;
+        int n = in.read();
+        if (n == -1) throw new EOFException("Connection closed with " + nRemaining_ + " bytes of response left");
+        nRemaining_--;
+        return n;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException
+    {
+        if (nRemaining_ == 0) return -1;
+        int n = in.read(b, off, Math.min(len, nRemaining_));
+        if (n == -1) throw new EOFException("Connection closed with " + nRemaining_ + " bytes of response left");
+        nRemaining_ -= n;
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException
+    {
+        long skipped = in.skip(Math.min(n, nRemaining_));
+        nRemaining_ -= (int) skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException
+    {
+        return Math.min(in.available(), nRemaining_);
+    }
+
+    @Override
+    public void close()
+    {
+        // leave connection open
+    }
+
+    @Override
+    public boolean markSupported()
+    {
+        return false;
+    }
+}
@@ -83,13 +83,16 @@ public class DDHttpClient
         System.getProperties().setProperty("sun.net.client.defaultConnectTimeout", Integer.toString(CONNECTTIMEOUT));
     }
     
-    // cache dns lookups
-    private static final Map<String, InetSocketAddress> DNSCACHE = Collections.synchronizedMap(new HashMap<>());
-
     // initialization members
     private InetSocketAddress addr_;
     private final URL url_;
     private final SocketChannel sc_;
+    private final String sKey_;
+    private final boolean bKeepAlive_;
+    private boolean bReused_ = false;
+    private boolean bServerKeepAlive_ = false;
+    private int nServerTimeout_ = -1;
+    private boolean bReleased_ = false;
     
     // members used during read/write
     private InputStream is_;
@@ -104,6 +107,16 @@ public class DDHttpClient
      * Creates a new instance of DDHttpClient 
      */
     public DDHttpClient(URL url, DDMessageListener listener, HttpOptions options) throws IOException
+    {
+        this(url, listener, options, false);
+    }
+
+    /**
+     * Creates a new instance of DDHttpClient.  If bKeepAlive is true (ignored if there
+     * are options), an idle connection to the host is reused if available, and the server is
+     * asked to keep the connection open so it can be reused after a call to release().
+     */
+    public DDHttpClient(URL url, DDMessageListener listener, HttpOptions options, boolean bKeepAlive) throws IOException
     {
         url_ = url;
         listener_ = listener;
@@ -121,24 +134,30 @@ public class DDHttpClient
             }
         }
 
-        // cache using host and port since inet address is defined using both
-        boolean bFromCache = true;
+        // pool connections using host and port
         String sKey = sHost + ':' + nPort;
-        addr_ = DNSCACHE.get(sKey);
-        if (addr_ == null)
+        sKey_ = sKey;
+        bKeepAlive_ = bKeepAlive && options_ == null && HttpConnectionPool.getDefault().isEnabled();
+
+        // reuse idle connection if we have one
+        SocketChannel idle = bKeepAlive_ ? HttpConnectionPool.getDefault().take(sKey) : null;
+        if (idle != null)
         {
-            bFromCache = false;
-            InetAddress addr = LookupHost.getByName(sHost);
-            addr_ = new InetSocketAddress(addr, nPort);
-            DNSCACHE.put(sKey, addr_);
+            if (DEBUG_DETAILS) logger.debug("Reusing connection to " + sKey);
+            bReused_ = true;
+            sc_ = idle;
+            return;
         }
-        if (DEBUG_DETAILS) logger.debug(sHost + " is " + addr_.getAddress().getHostAddress() + (bFromCache ? " (from cache)" : ""));
+
+        // lookup host (cached), timing out if it takes too long
+        addr_ = new InetSocketAddress(HostResolver.getDefault().resolve(sHost, DNSTIMEOUT), nPort);
+        if (DEBUG_DETAILS) logger.debug(sHost + " is " + addr_.getAddress().getHostAddress());
 
         sc_ = SocketChannel.open();
         sc_.configureBlocking(false);
         Socket socket = sc_.socket();
         socket.setReuseAddress(true);
-        socket.setKeepAlive(false);
+        socket.setKeepAlive(bKeepAlive_);
         if (Utils.TCPNODELAY) socket.setTcpNoDelay(true);
         socket.setSoTimeout(SOCKETTIMEOUT);
         socket.setSendBufferSize(64 * 1024);
@@ -155,6 +174,9 @@ public class DDHttpClient
     {
         int nWait = 0;
         if (listener_ != null) listener_.updateStep(DDMessageListener.STEP_CONNECTING);
+
+        // reused connection is already connected
+        if (bReused_) return;
         
         // catch close by interrupt exception so we can clear interrupted flag
         // so it doesn't affect other operations.  Also, catch all other exceptions
@@ -277,6 +299,7 @@ public class DDHttpClient
         //sb.append("Accept: text/html, image/gif, image/jpeg, image/png, *; q=.2, */*; q=.2").append(CRLF);
         if (sContentType != null) sb.append("Content-Type: ").append(sContentType).append(CRLF);
         if (nLength > 0) sb.append("Content-Length: ").append(nLength).append(CRLF);
+        if (bKeepAlive_) sb.append("Connection: keep-alive").append(CRLF);
         if (options_ != null)
         {
             if (options_.sUsername != null && options_.sPassword != null)
@@ -400,6 +423,14 @@ public class DDHttpClient
                                 nContentLength_ = Integer.parseInt(sNum);
                             } catch (NumberFormatException ignored) { }
                         }
+                        else if (sName.equalsIgnoreCase("Connection:"))
+                        {
+                            bServerKeepAlive_ = tok.hasMoreTokens() && tok.nextToken().equalsIgnoreCase("keep-alive");
+                        }
+                        else if (sName.equalsIgnoreCase("Keep-Alive:"))
+                        {
+                            nServerTimeout_ = HttpConnectionPool.getServerTimeout(sLine.substring(sName.length()));
+                        }
                     }
                     // clear the line
                     line.reset();
@@ -411,6 +442,14 @@ public class DDHttpClient
                 line.write(n);
             }
         }
+
+        // server is keeping connection open, so the response ends after the
+        // content length rather than at EOF
+        bServerKeepAlive_ = bKeepAlive_ && bServerKeepAlive_ && nContentLength_ >= 0;
+        if (bServerKeepAlive_)
+        {
+            is_ = new ContentInputStream(is_, nContentLength_);
+        }
     }
     
     /**
@@ -454,93 +493,42 @@ public class DDHttpClient
     }
     
     /**
-     * close the socket
+     * Was an idle connection reused?
      */
-    public void close() throws IOException
+    public boolean isReused()
     {
-        sc_.close();
+        return bReused_;
     }
-    
+
     /**
-     * Class to look up a host in a thread so
-     * we can timeout if takes too long
+     * Done with the response - return connection to the pool if the server is
+     * keeping it open and the response was read completely, otherwise close it
      */
-    private static class LookupHost implements Runnable
+    public void release() throws IOException
     {
-        String host;
-        InetAddress addr = null;
-        UnknownHostException uhe = null;
-        
-        /**
-         * Run lookup in sep thread so we can timeout
-         */
-        public static InetAddress getByName(String sHost) throws UnknownHostException, SocketTimeoutException
-        {
-            LookupHost h = new LookupHost(sHost);
-            Thread t = new Thread(h, "LookupHost - " + sHost);
-            t.start();
-            try {
-                t.join(DNSTIMEOUT);
-            }
-            catch (InterruptedException ie) {
-                //noinspection ResultOfMethodCallIgnored
-                Thread.interrupted();
-            }
-            
-            if (t.isAlive())
-            {
-                t.interrupt();
-                throw new DNSTimeoutException("DNS timeout looking up " + sHost);
-            }
-            
-            return h.getAddress();
-        }
-        
-        /**
-         * Create new host
-         */
-        private LookupHost(String host)
+        if (bReleased_) return;
+
+        if (bServerKeepAlive_ && ((ContentInputStream) is_).isDone())
         {
-            this.host = host;
+            bReleased_ = true;
+            HttpConnectionPool.getDefault().release(sKey_, sc_, nServerTimeout_);
         }
-        
-        /**
-         * Lookup address, store unknown host exception if it occurs
-         */
-        public void run() {
-            try {
-                addr = InetAddress.getByName(host);
-            } 
-            catch (UnknownHostException e)
-            {
-                uhe = e;
-            }
-        }
-        
-        /*
-         * Returns true if address defined or exception occurred
-         * Not used, but keep it in case I remember why here in first place
-         */
-//        private boolean isDone()
-//        {
-//            return addr != null || uhe != null;
-//        }
-        
-        /**
-         * Returns address, or if exception occurred, throws that
-         */
-        private InetAddress getAddress() throws UnknownHostException
+        else
         {
-            if (uhe != null) throw uhe;
-            
-            // unsure that this will ever happen, but I put this here
-            // to ensure this method never returns null
-            if (addr == null) throw new UnknownHostException("Lookup returned no result for " + host);
-            
-            return addr;
+            close();
         }
     }
-    
+
+    /**
+     * close the socket (unless already released to the pool)
+     */
+    public void close() throws IOException
+    {
+        if (bReleased_) return;
+        bReleased_ = true;
+        sc_.close();
+    }
+
     /**
      * Options for use when connecting to a URL
      */
@@ -48,6 +48,8 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  *
@@ -62,6 +64,12 @@ public class DDMessenger
      */
     private static String USERAGENT = "DD/Java Arch 1.0";
 
+    /**
+     * Runs async sends, one virtual thread per message
+     */
+    private static final ExecutorService ASYNC = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("URLThread-", 1).factory());
+
     /**
      * Get user agent
      */
@@ -210,9 +218,7 @@ public class DDMessenger
      */
     public void sendMessageAsync(URL url, DDMessage send, DDMessageListener listener)
     {
-        URLThread urlthread = new URLThread(url, send, listener);
-        Thread t = new Thread(urlthread, "URLThread");
-        t.start();
+        ASYNC.execute(new URLThread(url, send, listener));
     }
 
     /**
@@ -288,14 +294,31 @@ public class DDMessenger
         int nRead = 0;
         try 
         {    
-            // create http client
-            conn = new DDHttpClient(url, listener, options);
+            // create http client (keep-alive unless special options)
+            conn = new DDHttpClient(url, listener, options, true);
             
             // open connection to server
             conn.connect();
 
-            // write request (based on options and writer)
-            conn.write(writer, sPostContentType, USERAGENT);
+            // write request (based on options and writer).  If writing to a
+            // reused connection fails, the server closed it while idle, so start
+            // over with a new connection.  Once the request is written, errors
+            // are returned since it isn't safe to send a POST twice (the pool
+            // stops reusing connections before the server's keep-alive timeout,
+            // so the server shouldn't close one as we send).
+            try
+            {
+                conn.write(writer, sPostContentType, USERAGENT);
+            }
+            catch (IOException ioe)
+            {
+                if (!conn.isReused()) throw ioe;
+
+                conn.close();
+                conn = new DDHttpClient(url, listener, options, false);
+                conn.connect();
+                conn.write(writer, sPostContentType, USERAGENT);
+            }
 
             // start reading - which process headers to get content-type
             // length and response code.  Reading ends at end of header
@@ -364,7 +387,8 @@ public class DDMessenger
                 }
             }
             
-            // finished - notify listener and return data
+            // finished - keep connection for reuse if possible, notify listener and return data
+            conn.release();
             if (listener != null) listener.updateStep(DDMessageListener.STEP_DONE);
             return new ReturnData(conn.getHeaderBuffer(), ddbytes, sContentType, nResponseCode);
         }
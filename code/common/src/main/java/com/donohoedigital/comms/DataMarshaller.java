@@ -111,12 +111,11 @@ public class DataMarshaller
     }
 
     /**
-     * scan classpath for classes annotated with DataCoder
+     * find classes annotated with DataCoder (using the build-time index, see AnnotationIndex)
      */
     public static void scanForCoders()
     {
-        MatchingResources resources = new MatchingResources("classpath*:com/donohoedigital/**/*.class");
-        Set<Class<?>> codes = resources.getAnnotatedMatches(DataCoder.class);
+        Set<Class<?>> codes = AnnotationIndex.getAnnotatedClasses(DataCoder.class, "com.donohoedigital");
         for (Class<?> c : codes)
         {
             registerCoder(c);
@@ -0,0 +1,253 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.comms;
+
+import com.donohoedigital.config.*;
+
+import java.net.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Resolves host names for DDHttpClient.  Results are cached for a time (failures
+ * for a shorter time), concurrent lookups of the same host share one lookup,
+ * and callers can give up after a timeout without waiting for the lookup to finish.
+ * A lookup still running after the lookup timeout is considered hung, and the next
+ * caller starts a new one.
+ * <p/>
+ * Tests can install a resolver with a stub Lookup via setDefault().
+ */
+public class HostResolver
+{
+    /**
+     * Does the actual lookup
+     */
+    public interface Lookup
+    {
+        InetAddress lookup(String sHost) throws UnknownHostException;
+    }
+
+    // lookups run in their own (virtual) thread so callers can time out
+    private static final ExecutorService LOOKUPS = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("LookupHost-", 1).factory());
+
+    // lookup timeout for resolvers not given one
+    static final long DEFAULT_LOOKUP_TIMEOUT_MILLIS = 30 * 1000;
+
+    private static volatile HostResolver default_;
+
+    private final Lookup lookup_;
+    private final long nTTLMillis_;
+    private final long nNegativeTTLMillis_;
+    private final long nLookupTimeoutMillis_;
+    private final Executor executor_;
+    private final ConcurrentMap<String, Entry> cache_ = new ConcurrentHashMap<>();
+
+    /**
+     * Get resolver used by DDHttpClient, created on first use from
+     * settings.http.dns.ttl.seconds, settings.http.dns.negative.seconds
+     * and settings.http.dnstimeout.millis
+     */
+    public static HostResolver getDefault()
+    {
+        HostResolver resolver = default_;
+        if (resolver == null)
+        {
+            synchronized (HostResolver.class)
+            {
+                resolver = default_;
+                if (resolver == null)
+                {
+                    resolver = new HostResolver(InetAddress::getByName,
+                                                PropertyConfig.getIntegerProperty("settings.http.dns.ttl.seconds", 300) * 1000L,
+                                                PropertyConfig.getIntegerProperty("settings.http.dns.negative.seconds", 10) * 1000L,
+                                                PropertyConfig.getIntegerProperty("settings.http.dnstimeout.millis", 5000));
+                    default_ = resolver;
+                }
+            }
+        }
+        return resolver;
+    }
+
+    /**
+     * Replace resolver used by DDHttpClient (null to go back to the one created from settings)
+     */
+    public static void setDefault(HostResolver resolver)
+    {
+        default_ = resolver;
+    }
+
+    /**
+     * Create resolver using shared lookup threads and the default lookup timeout
+     */
+    public HostResolver(Lookup lookup, long nTTLMillis, long nNegativeTTLMillis)
+    {
+        this(lookup, nTTLMillis, nNegativeTTLMillis, DEFAULT_LOOKUP_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Create resolver using shared lookup threads
+     */
+    public HostResolver(Lookup lookup, long nTTLMillis, long nNegativeTTLMillis, long nLookupTimeoutMillis)
+    {
+        this(lookup, nTTLMillis, nNegativeTTLMillis, nLookupTimeoutMillis, LOOKUPS);
+    }
+
+    /**
+     * Create resolver running lookups on the given executor
+     */
+    public HostResolver(Lookup lookup, long nTTLMillis, long nNegativeTTLMillis, long nLookupTimeoutMillis,
+                        Executor executor)
+    {
+        lookup_ = lookup;
+        nTTLMillis_ = nTTLMillis;
+        nNegativeTTLMillis_ = nNegativeTTLMillis;
+        nLookupTimeoutMillis_ = nLookupTimeoutMillis;
+        executor_ = executor;
+    }
+
+    /**
+     * Get address for host, waiting up to nTimeoutMillis for a lookup.  Throws
+     * DNSTimeoutException if it takes too long (the lookup continues, and its
+     * result is cached for the next caller).
+     */
+    public InetAddress resolve(String sHost, long nTimeoutMillis) throws UnknownHostException, SocketTimeoutException
+    {
+        Entry entry = getEntry(sHost.toLowerCase(Locale.ROOT));
+
+        try
+        {
+            return entry.future.get(nTimeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        catch (TimeoutException te)
+        {
+            throw new DNSTimeoutException("DNS timeout looking up " + sHost);
+        }
+        catch (InterruptedException ie)
+        {
+            // clear interrupt so it doesn't affect other operations
+            //noinspection ResultOfMethodCallIgnored
+            Thread.interrupted();
+            throw new DNSTimeoutException("Interrupted looking up " + sHost);
+        }
+        catch (ExecutionException ee)
+        {
+            Throwable cause = ee.getCause();
+            if (cause instanceof UnknownHostException) throw (UnknownHostException) cause;
+
+            UnknownHostException uhe = new UnknownHostException("Lookup failed for " + sHost);
+            uhe.initCause(cause);
+            throw uhe;
+        }
+    }
+
+    /**
+     * Is there a cached (or in progress) lookup for host?
+     */
+    public boolean isCached(String sHost)
+    {
+        Entry entry = cache_.get(sHost.toLowerCase(Locale.ROOT));
+        return entry != null && !entry.isExpired(System.currentTimeMillis());
+    }
+
+    /**
+     * Forget all cached lookups
+     */
+    public void clear()
+    {
+        cache_.clear();
+    }
+
+    /**
+     * Get current entry for host, starting a new lookup if there isn't one
+     * or it has expired (including a lookup running past the lookup timeout).
+     * Concurrent callers get the same entry.
+     */
+    private Entry getEntry(String sHost)
+    {
+        long now = System.currentTimeMillis();
+        Entry entry = cache_.get(sHost);
+        if (entry != null && !entry.isExpired(now)) return entry;
+
+        return cache_.compute(sHost, (host, old) -> (old == null || old.isExpired(now)) ? startLookup(host, now) : old);
+    }
+
+    /**
+     * Start lookup; the entry expires a TTL after it finishes, or after the lookup
+     * timeout if it is still running then
+     */
+    private Entry startLookup(String sHost, long now)
+    {
+        Entry entry = new Entry(now + nLookupTimeoutMillis_);
+        executor_.execute(() -> {
+            try
+            {
+                InetAddress addr = lookup_.lookup(sHost);
+                if (addr == null) throw new UnknownHostException("Lookup returned no result for " + sHost);
+                entry.expires = System.currentTimeMillis() + nTTLMillis_;
+                entry.future.complete(addr);
+            }
+            catch (UnknownHostException uhe)
+            {
+                entry.expires = System.currentTimeMillis() + nNegativeTTLMillis_;
+                entry.future.completeExceptionally(uhe);
+            }
+            catch (Throwable t)
+            {
+                // don't cache unexpected errors
+                entry.expires = 0;
+                entry.future.completeExceptionally(t);
+            }
+        });
+        return entry;
+    }
+
+    /**
+     * Lookup result (or lookup in progress) and when it expires
+     */
+    private static class Entry
+    {
+        private final CompletableFuture<InetAddress> future = new CompletableFuture<>();
+        private volatile long expires;
+
+        private Entry(long expires)
+        {
+            this.expires = expires;
+        }
+
+        private boolean isExpired(long now)
+        {
+            return now >= expires;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.comms;
+
+import com.donohoedigital.config.*;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.util.*;
+
+/**
+ * Idle keep-alive connections, by host and port, for reuse by DDHttpClient.
+ * Connections idle longer than settings.http.keepalive.idle.millis, or close to the
+ * timeout the server gave in its Keep-Alive header, are closed rather than reused.
+ * <p/>
+ * Tests can create their own pool and install it via setDefault().
+ */
+class HttpConnectionPool
+{
+    /**
+     * Stop reusing a connection this long before the server's keep-alive timeout,
+     * so we don't send a request on a connection the server is about to close
+     */
+    static final int SERVER_TIMEOUT_MARGIN_MILLIS = 2000;
+
+    private static volatile HttpConnectionPool default_;
+
+    private final int nMaxPerHost_;
+    private final int nIdleMillis_;
+
+    // most recently used at the front
+    private final Map<String, Deque<Idle>> idle_ = new HashMap<>();
+
+    /**
+     * Get pool used by DDHttpClient, created on first use from
+     * settings.http.keepalive.max and settings.http.keepalive.idle.millis
+     */
+    static HttpConnectionPool getDefault()
+    {
+        HttpConnectionPool pool = default_;
+        if (pool == null)
+        {
+            synchronized (HttpConnectionPool.class)
+            {
+                pool = default_;
+                if (pool == null)
+                {
+                    pool = new HttpConnectionPool(PropertyConfig.getIntegerProperty("settings.http.keepalive.max", 4),
+                                                  PropertyConfig.getIntegerProperty("settings.http.keepalive.idle.millis", 15000));
+                    default_ = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Replace pool used by DDHttpClient (null to go back to the one created from settings)
+     */
+    static void setDefault(HttpConnectionPool pool)
+    {
+        HttpConnectionPool old = default_;
+        default_ = pool;
+        if (old != null && old != pool) old.closeAll();
+    }
+
+    /**
+     * Create pool keeping up to nMaxPerHost connections per host for up to nIdleMillis
+     */
+    HttpConnectionPool(int nMaxPerHost, int nIdleMillis)
+    {
+        nMaxPerHost_ = nMaxPerHost;
+        nIdleMillis_ = nIdleMillis;
+    }
+
+    /**
+     * Is pooling on?
+     */
+    boolean isEnabled()
+    {
+        return nMaxPerHost_ > 0 && nIdleMillis_ > 0;
+    }
+
+    /**
+     * Get an idle connection to the given host:port, or null if there are none
+     */
+    SocketChannel take(String sKey)
+    {
+        long now = System.currentTimeMillis();
+        while (true)
+        {
+            Idle idle;
+            synchronized (idle_)
+            {
+                Deque<Idle> idles = idle_.get(sKey);
+                if (idles == null) return null;
+                idle = idles.pollFirst();
+                if (idles.isEmpty()) idle_.remove(sKey);
+            }
+
+            if (idle == null) return null;
+
+            if ((now - idle.since) <= idle.nIdleMillis && isUsable(idle.channel))
+            {
+                return idle.channel;
+            }
+            close(idle.channel);
+        }
+    }
+
+    /**
+     * Return a connection to the pool after a complete response was read.  The server's
+     * keep-alive timeout (from its Keep-Alive header), if given, limits how long the
+     * connection is kept; use -1 if the server didn't give one.
+     */
+    void release(String sKey, SocketChannel channel, int nServerTimeoutSeconds)
+    {
+        if (!channel.isOpen()) return;
+
+        int nIdleMillis = nIdleMillis_;
+        if (nServerTimeoutSeconds >= 0)
+        {
+            nIdleMillis = Math.min(nIdleMillis, nServerTimeoutSeconds * 1000 - SERVER_TIMEOUT_MARGIN_MILLIS);
+        }
+
+        if (nIdleMillis > 0)
+        {
+            synchronized (idle_)
+            {
+                Deque<Idle> idles = idle_.computeIfAbsent(sKey, k -> new ArrayDeque<>());
+                if (idles.size() < nMaxPerHost_)
+                {
+                    idles.addFirst(new Idle(channel, nIdleMillis));
+                    return;
+                }
+            }
+        }
+        close(channel);
+    }
+
+    /**
+     * Get the server's keep-alive timeout (seconds) from a Keep-Alive header
+     * value (e.g., "timeout=30, max=100"), -1 if not given
+     */
+    static int getServerTimeout(String sKeepAlive)
+    {
+        StringTokenizer tok = new StringTokenizer(sKeepAlive, " ,");
+        while (tok.hasMoreTokens())
+        {
+            String sParam = tok.nextToken();
+            if (sParam.regionMatches(true, 0, "timeout=", 0, 8))
+            {
+                try
+                {
+                    return Math.max(0, Integer.parseInt(sParam.substring(8)));
+                }
+                catch (NumberFormatException ignored)
+                {
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Number of idle connections to the given host:port
+     */
+    int getIdleCount(String sKey)
+    {
+        synchronized (idle_)
+        {
+            Deque<Idle> idles = idle_.get(sKey);
+            return idles == null ? 0 : idles.size();
+        }
+    }
+
+    /**
+     * Close all idle connections
+     */
+    void closeAll()
+    {
+        List<Idle> all = new ArrayList<>();
+        synchronized (idle_)
+        {
+            for (Deque<Idle> idles : idle_.values())
+            {
+                all.addAll(idles);
+            }
+            idle_.clear();
+        }
+
+        for (Idle idle : all)
+        {
+            close(idle.channel);
+        }
+    }
+
+    /**
+     * A connection the server closed shows as readable at EOF.  Anything
+     * readable at all is unexpected (nothing was asked for), so isn't usable either.
+     */
+    private static boolean isUsable(SocketChannel channel)
+    {
+        if (!channel.isOpen() || !channel.isConnected()) return false;
+
+        try
+        {
+            channel.configureBlocking(false);
+            return channel.read(ByteBuffer.allocate(1)) == 0;
+        }
+        catch (IOException ioe)
+        {
+            return false;
+        }
+    }
+
+    private static void close(SocketChannel channel)
+    {
+        try
+        {
+            channel.close();
+        }
+        catch (IOException ignored)
+        {
+        }
+    }
+
+    /**
+     * Connection, when it became idle and how long it can stay idle
+     */
+    private static class Idle
+    {
+        private final SocketChannel channel;
+        private final int nIdleMillis;
+        private final long since = System.currentTimeMillis();
+
+        private Idle(SocketChannel channel, int nIdleMillis)
+        {
+            this.channel = channel;
+            this.nIdleMillis = nIdleMillis;
+        }
+    }
+}
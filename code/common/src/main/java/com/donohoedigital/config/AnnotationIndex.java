@@ -0,0 +1,191 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.config;
+
+import com.donohoedigital.base.*;
+import org.apache.logging.log4j.*;
+import org.springframework.core.io.*;
+
+import java.io.*;
+import java.lang.annotation.*;
+import java.net.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.*;
+
+/**
+ * Looks up annotated classes using the build-time index written by
+ * {@link AnnotationIndexProcessor}.  Each classpath root (jar or directory)
+ * containing the package is handled separately: a root with an index for
+ * the annotation uses it, while a root without one (e.g., compiled without
+ * the processor) or with an out of date one (a classes directory recompiled
+ * since the index was written) is scanned as before.
+ */
+public class AnnotationIndex
+{
+    private static Logger logger = LogManager.getLogger(AnnotationIndex.class);
+
+    /**
+     * Location of index files - META-INF/ddindex/[module]/[annotation]
+     */
+    public static final String PATH = "META-INF/ddindex/";
+
+    // javac writes class files after the processor writes the index, so allow
+    // this much time before considering a class file newer than the index
+    static final long STALE_GRACE_MILLIS = 60 * 1000;
+
+    /**
+     * Static only
+     */
+    private AnnotationIndex()
+    {
+    }
+
+    /**
+     * Get all classes in given package (or its sub-packages) annotated with the
+     * given annotation.  The annotation must be one indexed by AnnotationIndexProcessor.
+     */
+    public static Set<Class<?>> getAnnotatedClasses(Class<? extends Annotation> annotation, String sPackage)
+    {
+        return getAnnotatedClasses(annotation, sPackage, AnnotationIndex.class.getClassLoader());
+    }
+
+    /**
+     * Get annotated classes in given package found in the classpath roots of the given class loader
+     */
+    static Set<Class<?>> getAnnotatedClasses(Class<? extends Annotation> annotation, String sPackage, ClassLoader loader)
+    {
+        ApplicationError.assertTrue(sPackage != null && !sPackage.isEmpty(), "Package required");
+        String sPath = sPackage.replace('.', '/') + '/';
+        String sPrefix = sPackage + '.';
+
+        Set<Class<?>> matches = new HashSet<>();
+        for (String sRoot : getRoots(sPath, loader))
+        {
+            Resource[] index = new MatchingResources(sRoot + PATH + "*/" + annotation.getName()).getAllMatches();
+            if (index.length == 0 || isStale(sRoot + sPath, index))
+            {
+                logger.info("No current index for @{} in {}, scanning", annotation.getSimpleName(), sRoot);
+                matches.addAll(new MatchingResources(sRoot + sPath + "**/*.class").getAnnotatedMatches(annotation));
+                continue;
+            }
+
+            for (Resource r : index)
+            {
+                for (String sClass : read(r))
+                {
+                    if (!sClass.startsWith(sPrefix)) continue;
+
+                    // skip classes removed or no longer annotated
+                    Class<?> c = ConfigUtils.getClass(sClass, false);
+                    if (c != null && c.isAnnotationPresent(annotation)) matches.add(c);
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Get the classpath roots (as URL strings ending in '/') which contain the given package path
+     */
+    private static Set<String> getRoots(String sPath, ClassLoader loader)
+    {
+        Set<String> roots = new LinkedHashSet<>();
+        try
+        {
+            Enumeration<URL> urls = loader.getResources(sPath);
+            while (urls.hasMoreElements())
+            {
+                String sURL = urls.nextElement().toString();
+                if (sURL.endsWith(sPath)) roots.add(sURL.substring(0, sURL.length() - sPath.length()));
+            }
+        }
+        catch (IOException e)
+        {
+            throw new ApplicationError(e);
+        }
+        return roots;
+    }
+
+    /**
+     * Is the index older than class files in given package directory?  Only checked for
+     * directories, since jars are built with their index.
+     */
+    private static boolean isStale(String sPackageDir, Resource[] index)
+    {
+        if (!sPackageDir.startsWith("file:")) return false;
+
+        try
+        {
+            long indexed = Long.MAX_VALUE;
+            for (Resource r : index)
+            {
+                indexed = Math.min(indexed, r.lastModified());
+            }
+            long newest = indexed + STALE_GRACE_MILLIS;
+
+            try (Stream<Path> files = Files.walk(Paths.get(new URI(sPackageDir))))
+            {
+                return files.anyMatch(p -> p.toString().endsWith(".class") && p.toFile().lastModified() > newest);
+            }
+        }
+        catch (Exception e)
+        {
+            logger.warn("Unable to check index in {}: {}", sPackageDir, e.toString());
+            return true;
+        }
+    }
+
+    /**
+     * Read class names from an index file
+     */
+    private static List<String> read(Resource r)
+    {
+        List<String> classes = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(r.getInputStream(), StandardCharsets.UTF_8)))
+        {
+            String sLine;
+            while ((sLine = reader.readLine()) != null)
+            {
+                sLine = sLine.trim();
+                if (!sLine.isEmpty()) classes.add(sLine);
+            }
+        }
+        catch (IOException e)
+        {
+            throw new ApplicationError(e);
+        }
+        return classes;
+    }
+}
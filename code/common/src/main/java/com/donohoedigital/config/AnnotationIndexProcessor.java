@@ -0,0 +1,187 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.config;
+
+import javax.annotation.processing.*;
+import javax.lang.model.*;
+import javax.lang.model.element.*;
+import javax.lang.model.util.*;
+import javax.tools.*;
+import java.io.*;
+import java.util.*;
+
+/**
+ * Annotation processor that writes an index of classes annotated with the
+ * annotations we look up at runtime (see {@link AnnotationIndex}), so startup
+ * doesn't need to scan and parse every class file on the classpath.  One index
+ * file per annotation is written to META-INF/ddindex/[module]/[annotation], where
+ * module comes from the -Addindex.module option (so that indexes from
+ * different jars don't collide when combined into one jar).
+ * <p>
+ * An index file is written for every indexed annotation, even if empty, so
+ * AnnotationIndex can tell a module built with this processor from one that
+ * wasn't.  Entries from a previous (incremental) compile are kept for classes
+ * that weren't recompiled.
+ * <p>
+ * Named (with -Addindex.module) in the compiler configuration of each module
+ * that depends on common, so no other processor on the classpath is run.  Only
+ * depends on the JDK, since it is compiled and run as part of this module's build.
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions(AnnotationIndexProcessor.OPTION_MODULE)
+public class AnnotationIndexProcessor extends AbstractProcessor
+{
+    // indexed annotations
+    static final String DATA_CODER = "com.donohoedigital.comms.DataCoder";
+    static final String MOUNT_PATH = "com.donohoedigital.wicket.annotations.MountPath";
+    static final String[] INDEXED = {DATA_CODER, MOUNT_PATH};
+
+    // option giving module name, and where index goes (must match AnnotationIndex.PATH)
+    static final String OPTION_MODULE = "ddindex.module";
+    private static final String PATH = "META-INF/ddindex/";
+
+    // annotation name to annotated classes (binary names), accumulated over all rounds
+    private final Map<String, Set<String>> index_ = new TreeMap<String, Set<String>>();
+
+    // top-level classes compiled in this run
+    private final Set<String> compiled_ = new HashSet<String>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion()
+    {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv)
+    {
+        Elements elements = processingEnv.getElementUtils();
+        for (Element root : roundEnv.getRootElements())
+        {
+            if (root instanceof TypeElement type)
+            {
+                compiled_.add(elements.getBinaryName(type).toString());
+            }
+        }
+
+        for (String sAnnotation : INDEXED)
+        {
+            Set<String> classes = index_.computeIfAbsent(sAnnotation, k -> new TreeSet<String>());
+            TypeElement annotation = elements.getTypeElement(sAnnotation);
+            if (annotation == null) continue;
+
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation))
+            {
+                if (element.getKind().isClass())
+                {
+                    classes.add(elements.getBinaryName((TypeElement) element).toString());
+                }
+            }
+        }
+
+        if (roundEnv.processingOver())
+        {
+            writeIndex();
+        }
+
+        // don't claim any annotations
+        return false;
+    }
+
+    /**
+     * Write index file for each indexed annotation
+     */
+    private void writeIndex()
+    {
+        Messager messager = processingEnv.getMessager();
+        String sModule = processingEnv.getOptions().get(OPTION_MODULE);
+        if (sModule == null)
+        {
+            sModule = "default";
+            messager.printMessage(Diagnostic.Kind.NOTE, "No -A" + OPTION_MODULE + " given, using '" + sModule + "'");
+        }
+
+        for (Map.Entry<String, Set<String>> entry : index_.entrySet())
+        {
+            String sFile = PATH + sModule + '/' + entry.getKey();
+            Set<String> classes = entry.getValue();
+            classes.addAll(readPrevious(sFile));
+            try
+            {
+                FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", sFile);
+                try (Writer writer = new BufferedWriter(file.openWriter()))
+                {
+                    for (String sClass : classes)
+                    {
+                        writer.write(sClass);
+                        writer.write('\n');
+                    }
+                }
+            }
+            catch (IOException e)
+            {
+                messager.printMessage(Diagnostic.Kind.ERROR, "Unable to write " + sFile + ": " + e);
+            }
+        }
+    }
+
+    /**
+     * Get entries from a previous compile's index for classes not recompiled in this run
+     */
+    private Set<String> readPrevious(String sFile)
+    {
+        Set<String> previous = new TreeSet<String>();
+        try
+        {
+            FileObject file = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", sFile);
+            try (BufferedReader reader = new BufferedReader(file.openReader(true)))
+            {
+                String sLine;
+                while ((sLine = reader.readLine()) != null)
+                {
+                    sLine = sLine.trim();
+                    if (sLine.isEmpty()) continue;
+
+                    int nInner = sLine.indexOf('$');
+                    String sTopLevel = nInner == -1 ? sLine : sLine.substring(0, nInner);
+                    if (!compiled_.contains(sTopLevel)) previous.add(sLine);
+                }
+            }
+        }
+        catch (IOException | IllegalArgumentException e)
+        {
+            // no previous index
+        }
+        return previous;
+    }
+}
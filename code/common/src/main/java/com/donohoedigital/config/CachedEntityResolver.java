@@ -42,6 +42,7 @@ import org.xml.sax.*;
 import java.io.*;
 import java.net.*;
 import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * Created by IntelliJ IDEA.
@@ -54,7 +55,7 @@ public class CachedEntityResolver implements EntityResolver, XMLEntityResolver
 {
     private static Logger logger = LogManager.getLogger(XMLConfigFileLoader.class);
 
-    private Map<String, URL> matches = new HashMap<String, URL>();
+    private Map<String, URL> matches = new ConcurrentHashMap<String, URL>();
 
     private static CachedEntityResolver resolver = null;
 
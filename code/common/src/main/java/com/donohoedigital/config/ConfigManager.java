@@ -36,6 +36,8 @@ import com.donohoedigital.base.*;
 import static com.donohoedigital.config.ApplicationType.*;
 
 import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
 
 public class ConfigManager
 {
@@ -87,20 +89,58 @@ public class ConfigManager
         // Load properties (needs to be available for data elements)
         new PropertyConfig(sAppName, modules, type, locale, allowOverrides);
 
-        // these items only used on client
+        // these items only used on client.  They don't depend
+        // on each other, so load them in parallel
         if (type == CLIENT)
         {
-            // Load data elements
-            new DataElementConfig(sAppName, extraModule);
+            loadParallel(
+                    // Load data elements
+                    () -> new DataElementConfig(sAppName, extraModule),
 
-            // audio
-            loadAudioConfig();
+                    // audio
+                    this::loadAudioConfig,
 
-            // Load help info
-            new HelpConfig(modules, locale);
+                    // Load help info
+                    () -> new HelpConfig(modules, locale),
 
-            // gui stuff (images/styles)
-            loadGuiConfig();
+                    // gui stuff (images/styles)
+                    this::loadGuiConfig);
+        }
+    }
+
+    /**
+     * Run given loaders in parallel, waiting for all to finish.  The first
+     * error encountered is rethrown.
+     */
+    private static void loadParallel(Runnable... loaders)
+    {
+        List<Future<?>> futures = new ArrayList<Future<?>>(loaders.length);
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("ConfigLoader-", 1).factory()))
+        {
+            for (Runnable loader : loaders)
+            {
+                futures.add(executor.submit(loader));
+            }
+
+            for (Future<?> future : futures)
+            {
+                try
+                {
+                    future.get();
+                }
+                catch (ExecutionException e)
+                {
+                    if (e.getCause() instanceof RuntimeException re) throw re;
+                    if (e.getCause() instanceof Error err) throw err;
+                    throw new ApplicationError(e.getCause());
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    throw new ApplicationError(e);
+                }
+            }
         }
     }
 
@@ -121,10 +121,14 @@ public class XMLConfigFileLoader implements ErrorHandler
      * If sNameSpace
      * is null, then parser configured to use
      * http://apache.org/xml/properties/schema/external-noNamespaceSchemaLocation with
-     * given schema.
+     * given schema.  Uses the pre-parsed copy in the config snapshot, if there is one
+     * (see {@link XMLConfigSnapshot}).
      */
     public Document loadXMLUrl(URL url, String sNameSpace, String sValidationSchema, String sAppName, String sModule)
     {
+        Document snapshot = XMLConfigSnapshot.get(url, sValidationSchema);
+        if (snapshot != null) return snapshot;
+
         SAXBuilder parser = createParser(sNameSpace, sValidationSchema, sAppName, sModule);
         Document doc = null;
         JDOMException jde = null;
@@ -175,6 +179,7 @@ public class XMLConfigFileLoader implements ErrorHandler
             }
         }
 
+        XMLConfigSnapshot.record(url, sValidationSchema, doc);
         return doc;
     }
 
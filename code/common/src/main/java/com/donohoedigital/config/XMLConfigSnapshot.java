@@ -0,0 +1,291 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.config;
+
+import com.donohoedigital.base.*;
+import org.apache.logging.log4j.*;
+import org.jdom2.*;
+import org.springframework.util.*;
+
+import java.io.*;
+import java.net.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.*;
+
+/**
+ * Pre-parsed snapshot of XML config files.  Parsing with full schema validation
+ * is the bulk of config load time, so the build validates the config files
+ * once and saves the resulting documents (see main()) as {@link #SNAPSHOT}.
+ * The first time a config file is loaded, the snapshot is read and each document
+ * is checked against the current contents of its file (by CRC); after that,
+ * XMLConfigFileLoader gets the snapshot copy of a file without locking, and
+ * parses the XML as usual for files not in the snapshot or changed since.
+ * Set settings.config.snapshot=false to always parse.
+ */
+public class XMLConfigSnapshot
+{
+    private static Logger logger = LogManager.getLogger(XMLConfigSnapshot.class);
+
+    /**
+     * Snapshot resource name (all matches on the classpath are used)
+     */
+    public static final String SNAPSHOT = "config/xml-snapshot.dat";
+
+    // only classes a snapshot can legitimately contain
+    private static final String FILTER = "java.base/*;org.jdom2.**;" + Entry.class.getName() + ";!*";
+
+    // entries being recorded by main()
+    private static volatile Map<String, Entry> recording_ = null;
+
+    /**
+     * A parsed document and the CRC of the file it was parsed from
+     */
+    static class Entry implements Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        final long crc;
+        final Document doc;
+
+        Entry(long crc, Document doc)
+        {
+            this.crc = crc;
+            this.doc = doc;
+        }
+    }
+
+    /**
+     * Verified snapshot documents, loaded the first time needed (holder idiom,
+     * so the class loader does the locking).  Documents are removed as used.
+     */
+    private static class Verified
+    {
+        private static final Map<String, Document> docs_ = load();
+    }
+
+    /**
+     * Static only
+     */
+    private XMLConfigSnapshot()
+    {
+    }
+
+    /**
+     * Get the snapshot copy of the given file (validated against given schema), or null if
+     * there isn't one or the file has changed since the snapshot was created.
+     */
+    static Document get(URL url, String sValidationSchema)
+    {
+        if (recording_ != null) return null;
+
+        // each config file is loaded once, so no need to keep it around
+        return Verified.docs_.remove(getVerifiedKey(url, sValidationSchema));
+    }
+
+    /**
+     * Record given document if creating a snapshot
+     */
+    static void record(URL url, String sValidationSchema, Document doc)
+    {
+        Map<String, Entry> recording = recording_;
+        if (recording == null) return;
+
+        String sKey = getKey(url, sValidationSchema);
+        if (sKey != null) recording.put(sKey, new Entry(getCRC(url), doc));
+    }
+
+    /**
+     * Load snapshot(s) from classpath and verify them against the config files
+     */
+    private static Map<String, Document> load()
+    {
+        if (PropertyConfig.isInitialized() && !PropertyConfig.getBooleanProperty("settings.config.snapshot", true, false))
+        {
+            return new ConcurrentHashMap<String, Document>();
+        }
+
+        Map<String, Entry> entries = new HashMap<String, Entry>();
+        for (URL url : new MatchingResources("classpath*:" + SNAPSHOT).getAllMatchesURL())
+        {
+            try
+            {
+                entries.putAll(read(url));
+            }
+            catch (Exception e)
+            {
+                logger.warn("Unable to read config snapshot " + url + ": " + Utils.formatExceptionText(e));
+            }
+        }
+
+        Map<String, Document> docs = verify(entries, ClassUtils.getDefaultClassLoader());
+        if (!docs.isEmpty()) logger.debug("Config snapshot has " + docs.size() + " documents");
+        return docs;
+    }
+
+    /**
+     * Look up the file for each snapshot entry using the given loader, and return the
+     * documents whose file is unchanged, keyed by the file's url and validation schema.
+     */
+    static Map<String, Document> verify(Map<String, Entry> entries, ClassLoader loader)
+    {
+        Map<String, Document> docs = new ConcurrentHashMap<String, Document>();
+        for (Map.Entry<String, Entry> e : entries.entrySet())
+        {
+            String sKey = e.getKey();
+            int nIndex = sKey.lastIndexOf('|');
+            String sPath = sKey.substring(0, nIndex);
+            String sValidationSchema = sKey.substring(nIndex + 1);
+
+            Enumeration<URL> urls;
+            try
+            {
+                urls = loader.getResources(sPath);
+            }
+            catch (IOException ioe)
+            {
+                logger.warn("Unable to find " + sPath + ": " + Utils.formatExceptionText(ioe));
+                continue;
+            }
+
+            // use snapshot for first match only, parse any others
+            if (urls.hasMoreElements())
+            {
+                URL url = urls.nextElement();
+                if (e.getValue().crc == getCRC(url))
+                {
+                    docs.put(getVerifiedKey(url, sValidationSchema), e.getValue().doc);
+                }
+                else
+                {
+                    logger.info("Config snapshot out of date for " + sKey + ", parsing XML");
+                }
+            }
+        }
+        return docs;
+    }
+
+    /**
+     * read a snapshot
+     */
+    @SuppressWarnings({"unchecked"})
+    static Map<String, Entry> read(URL url) throws IOException, ClassNotFoundException
+    {
+        try (ObjectInputStream in = new ObjectInputStream(new GZIPInputStream(new BufferedInputStream(url.openStream()))))
+        {
+            in.setObjectInputFilter(ObjectInputFilter.Config.createFilter(FILTER));
+            return (Map<String, Entry>) in.readObject();
+        }
+    }
+
+    /**
+     * write a snapshot
+     */
+    static void write(File file, Map<String, Entry> entries) throws IOException
+    {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs())
+        {
+            throw new IOException("Unable to create " + parent);
+        }
+        try (ObjectOutputStream out = new ObjectOutputStream(new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(file)))))
+        {
+            out.writeObject(entries);
+        }
+    }
+
+    /**
+     * Key is the resource path (from config/ on), so it is the same whether
+     * loaded from a jar or a directory, plus the validation schema
+     */
+    static String getKey(URL url, String sValidationSchema)
+    {
+        String sURL = url.toString();
+        int nIndex = sURL.lastIndexOf("/config/");
+        if (nIndex == -1) return null;
+        return sURL.substring(nIndex + 1) + "|" + sValidationSchema;
+    }
+
+    /**
+     * Key of a verified document is the full url, so that a file with the same path
+     * elsewhere (e.g., an override) isn't mistaken for it
+     */
+    private static String getVerifiedKey(URL url, String sValidationSchema)
+    {
+        return url.toString() + "|" + sValidationSchema;
+    }
+
+    /**
+     * CRC of contents of given url
+     */
+    static long getCRC(URL url)
+    {
+        CRC32 crc = new CRC32();
+        try (InputStream in = url.openStream())
+        {
+            byte[] buf = new byte[8192];
+            int n;
+            while ((n = in.read(buf)) != -1)
+            {
+                crc.update(buf, 0, n);
+            }
+        }
+        catch (IOException e)
+        {
+            throw new ApplicationError(e);
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Create a snapshot by loading (and validating) the client config for an
+     * application - run at build time (see the poker pom).  Usage: output-file app-name [extra-module]
+     */
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length < 2)
+        {
+            System.err.println("Usage: XMLConfigSnapshot output-file app-name [extra-module]");
+            System.exit(1);
+        }
+
+        Map<String, Entry> recorded = new ConcurrentHashMap<String, Entry>();
+        recording_ = recorded;
+        new ConfigManager(args[1], ApplicationType.CLIENT, args.length > 2 ? args[2] : null, null, false);
+        recording_ = null;
+
+        File file = new File(args[0]);
+        write(file, new HashMap<String, Entry>(recorded));
+        logger.info("Wrote " + recorded.size() + " documents to " + file.getAbsolutePath());
+    }
+}
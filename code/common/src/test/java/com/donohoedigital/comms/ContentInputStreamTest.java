@@ -0,0 +1,155 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.comms;
+
+import junit.framework.*;
+
+import java.io.*;
+import java.nio.charset.*;
+
+/**
+ * Tests for ContentInputStream
+ */
+public class ContentInputStreamTest extends TestCase
+{
+    private static final byte[] DATA = "first response|second response".getBytes(StandardCharsets.US_ASCII);
+    private static final int FIRST = "first response".length();
+
+    /**
+     * Stream ends at the content length, leaving the rest for the next response
+     */
+    public void testContentLength() throws IOException
+    {
+        InputStream in = new ByteArrayInputStream(DATA);
+        ContentInputStream content = new ContentInputStream(in, FIRST);
+        assertFalse(content.isDone());
+
+        assertEquals("first response", new String(content.readAllBytes(), StandardCharsets.US_ASCII));
+        assertTrue(content.isDone());
+        assertEquals(-1, content.read());
+        assertEquals(-1, content.read(new byte[10], 0, 10));
+        assertEquals(0, content.available());
+
+        // close leaves underlying stream open and positioned at next response
+        content.close();
+        assertEquals('|', in.read());
+    }
+
+    /**
+     * Single byte reads, short reads from the underlying stream and skip
+     */
+    public void testShortReads() throws IOException
+    {
+        ContentInputStream content = new ContentInputStream(new OneByteInputStream(DATA), FIRST);
+
+        assertEquals('f', content.read());
+        assertEquals(5, content.skip(5));
+
+        byte[] buf = new byte[100];
+        int n = content.read(buf, 0, buf.length);
+        assertEquals(1, n); // underlying stream returns one byte at a time
+        assertEquals('r', buf[0]);
+
+        int nTotal = 7;
+        while ((n = content.read(buf, 0, buf.length)) != -1)
+        {
+            nTotal += n;
+        }
+        assertEquals(FIRST, nTotal);
+        assertTrue(content.isDone());
+        assertEquals(0, content.skip(10));
+    }
+
+    /**
+     * Zero length response is done immediately
+     */
+    public void testEmpty() throws IOException
+    {
+        ContentInputStream content = new ContentInputStream(new ByteArrayInputStream(DATA), 0);
+        assertTrue(content.isDone());
+        assertEquals(-1, content.read());
+    }
+
+    /**
+     * EOF before the content length is an error, not the end of the response
+     */
+    public void testEOF() throws IOException
+    {
+        ContentInputStream content = new ContentInputStream(new ByteArrayInputStream(DATA), DATA.length + 10);
+        byte[] buf = new byte[DATA.length];
+        assertEquals(DATA.length, content.readNBytes(buf, 0, buf.length));
+        assertFalse(content.isDone());
+
+        try
+        {
+            content.read(buf, 0, buf.length);
+            fail("Expected EOFException");
+        }
+        catch (EOFException expected)
+        {
+        }
+
+        try
+        {
+            content.read();
+            fail("Expected EOFException");
+        }
+        catch (EOFException expected)
+        {
+        }
+        assertFalse(content.isDone());
+    }
+
+    /**
+     * Returns at most one byte per read, like a slow socket
+     */
+    private static class OneByteInputStream extends ByteArrayInputStream
+    {
+        private OneByteInputStream(byte[] data)
+        {
+            super(data);
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len)
+        {
+            return super.read(b, off, Math.min(len, 1));
+        }
+
+        @Override
+        public synchronized long skip(long n)
+        {
+            return super.skip(n);
+        }
+    }
+}
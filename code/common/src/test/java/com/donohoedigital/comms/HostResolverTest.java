@@ -0,0 +1,151 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.comms;
+
+import junit.framework.TestCase;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class HostResolverTest extends TestCase {
+
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private InetAddress stub(String host) throws UnknownHostException {
+        int n = lookups.incrementAndGet();
+        if (host.startsWith("unknown")) throw new UnknownHostException(host);
+        if (host.startsWith("slow") || (host.startsWith("hang") && n == 1)) {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+            }
+        }
+        return InetAddress.getByAddress(host, new byte[]{10, 0, 0, 1});
+    }
+
+    public void testCached() throws Exception {
+        HostResolver resolver = new HostResolver(this::stub, 60000, 60000);
+        InetAddress addr = resolver.resolve("poker.example.com", 1000);
+        assertEquals("10.0.0.1", addr.getHostAddress());
+        assertSame(addr, resolver.resolve("POKER.example.com", 1000));
+        assertEquals(1, lookups.get());
+        assertTrue(resolver.isCached("poker.example.com"));
+
+        resolver.clear();
+        resolver.resolve("poker.example.com", 1000);
+        assertEquals(2, lookups.get());
+    }
+
+    public void testExpires() throws Exception {
+        HostResolver resolver = new HostResolver(this::stub, 50, 50);
+        resolver.resolve("poker.example.com", 1000);
+        Thread.sleep(100);
+        assertFalse(resolver.isCached("poker.example.com"));
+        resolver.resolve("poker.example.com", 1000);
+        assertEquals(2, lookups.get());
+    }
+
+    public void testNegativeCached() throws Exception {
+        HostResolver resolver = new HostResolver(this::stub, 60000, 60000);
+        for (int i = 0; i < 2; i++) {
+            try {
+                resolver.resolve("unknown.example.com", 1000);
+                fail("expected UnknownHostException");
+            } catch (UnknownHostException expected) {
+            }
+        }
+        assertEquals(1, lookups.get());
+    }
+
+    public void testConcurrentLookupsShared() throws Exception {
+        HostResolver resolver = new HostResolver(this::stub, 60000, 60000);
+        List<Thread> threads = new ArrayList<>();
+        List<InetAddress> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Thread t = new Thread(() -> {
+                try {
+                    InetAddress addr = resolver.resolve("slow.example.com", 5000);
+                    synchronized (results) {
+                        results.add(addr);
+                    }
+                } catch (Exception ignored) {
+                }
+            });
+            threads.add(t);
+            t.start();
+        }
+        Thread.sleep(100);
+        release.countDown();
+        for (Thread t : threads) t.join();
+
+        assertEquals(5, results.size());
+        assertEquals(1, lookups.get());
+    }
+
+    public void testTimeout() throws Exception {
+        HostResolver resolver = new HostResolver(this::stub, 60000, 60000);
+        try {
+            resolver.resolve("slow.example.com", 50);
+            fail("expected DNSTimeoutException");
+        } catch (DNSTimeoutException expected) {
+        }
+
+        // lookup keeps going and is used once done
+        release.countDown();
+        assertEquals("10.0.0.1", resolver.resolve("slow.example.com", 1000).getHostAddress());
+        assertEquals(1, lookups.get());
+    }
+
+    public void testHungLookupRetried() throws Exception {
+        HostResolver resolver = new HostResolver(this::stub, 60000, 60000, 50);
+        try {
+            resolver.resolve("hang.example.com", 50);
+            fail("expected DNSTimeoutException");
+        } catch (DNSTimeoutException expected) {
+        }
+
+        // first lookup still hasn't finished, so next caller starts a new one
+        Thread.sleep(100);
+        assertFalse(resolver.isCached("hang.example.com"));
+        assertEquals("10.0.0.1", resolver.resolve("hang.example.com", 1000).getHostAddress());
+        assertEquals(2, lookups.get());
+        assertTrue(resolver.isCached("hang.example.com"));
+        release.countDown();
+    }
+}
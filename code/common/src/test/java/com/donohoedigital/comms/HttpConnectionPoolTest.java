@@ -0,0 +1,214 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.comms;
+
+import junit.framework.*;
+
+import java.io.*;
+import java.net.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.util.*;
+
+/**
+ * Tests for HttpConnectionPool, using loopback connections
+ */
+public class HttpConnectionPoolTest extends TestCase
+{
+    private static final String KEY = "localhost:80";
+
+    private ServerSocketChannel server_;
+    private final List<SocketChannel> channels_ = new ArrayList<>();
+
+    @Override
+    protected void setUp() throws Exception
+    {
+        server_ = ServerSocketChannel.open();
+        server_.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    @Override
+    protected void tearDown() throws Exception
+    {
+        for (SocketChannel channel : channels_)
+        {
+            channel.close();
+        }
+        server_.close();
+    }
+
+    /**
+     * Released connection is reused for the same host only
+     */
+    public void testReuse() throws IOException
+    {
+        HttpConnectionPool pool = new HttpConnectionPool(4, 60000);
+        assertTrue(pool.isEnabled());
+        assertNull(pool.take(KEY));
+
+        SocketChannel client = connect()[0];
+        pool.release(KEY, client, -1);
+        assertEquals(1, pool.getIdleCount(KEY));
+        assertNull(pool.take("otherhost:80"));
+
+        assertSame(client, pool.take(KEY));
+        assertTrue(client.isOpen());
+        assertNull(pool.take(KEY));
+        assertEquals(0, pool.getIdleCount(KEY));
+    }
+
+    /**
+     * Most recently released connection is reused first, and no more than the max are kept
+     */
+    public void testMaxPerHost() throws IOException
+    {
+        HttpConnectionPool pool = new HttpConnectionPool(2, 60000);
+        SocketChannel one = connect()[0];
+        SocketChannel two = connect()[0];
+        SocketChannel three = connect()[0];
+        pool.release(KEY, one, -1);
+        pool.release(KEY, two, -1);
+        pool.release(KEY, three, -1);
+
+        assertEquals(2, pool.getIdleCount(KEY));
+        assertFalse(three.isOpen());
+        assertSame(two, pool.take(KEY));
+        assertSame(one, pool.take(KEY));
+    }
+
+    /**
+     * Connection closed by the server while idle is evicted rather than reused
+     */
+    public void testEvictClosed() throws Exception
+    {
+        HttpConnectionPool pool = new HttpConnectionPool(4, 60000);
+        SocketChannel[] stale = connect();
+        SocketChannel[] live = connect();
+        pool.release(KEY, live[0], -1);
+        pool.release(KEY, stale[0], -1);
+
+        stale[1].close();
+        waitForArrival();
+
+        assertSame(live[0], pool.take(KEY));
+        assertFalse(stale[0].isOpen());
+        assertNull(pool.take(KEY));
+    }
+
+    /**
+     * Connection with unexpected data waiting is evicted
+     */
+    public void testEvictUnexpectedData() throws Exception
+    {
+        HttpConnectionPool pool = new HttpConnectionPool(4, 60000);
+        SocketChannel[] pair = connect();
+        pool.release(KEY, pair[0], -1);
+
+        pair[1].write(ByteBuffer.wrap(new byte[] {'x'}));
+        waitForArrival();
+
+        assertNull(pool.take(KEY));
+        assertFalse(pair[0].isOpen());
+    }
+
+    /**
+     * Connection idle too long is evicted
+     */
+    public void testEvictIdle() throws Exception
+    {
+        HttpConnectionPool pool = new HttpConnectionPool(4, 50);
+        SocketChannel client = connect()[0];
+        pool.release(KEY, client, -1);
+        Thread.sleep(100);
+
+        assertNull(pool.take(KEY));
+        assertFalse(client.isOpen());
+    }
+
+    /**
+     * Server's keep-alive timeout limits idle time, less the margin
+     */
+    public void testServerTimeout() throws IOException
+    {
+        HttpConnectionPool pool = new HttpConnectionPool(4, 60000);
+
+        // timeout within margin - not kept
+        SocketChannel client = connect()[0];
+        pool.release(KEY, client, HttpConnectionPool.SERVER_TIMEOUT_MARGIN_MILLIS / 1000);
+        assertEquals(0, pool.getIdleCount(KEY));
+        assertFalse(client.isOpen());
+
+        // longer timeout - kept
+        client = connect()[0];
+        pool.release(KEY, client, 30);
+        assertSame(client, pool.take(KEY));
+
+        assertEquals(30, HttpConnectionPool.getServerTimeout(" timeout=30"));
+        assertEquals(5, HttpConnectionPool.getServerTimeout("max=100, Timeout=5"));
+        assertEquals(-1, HttpConnectionPool.getServerTimeout(" max=100"));
+        assertEquals(-1, HttpConnectionPool.getServerTimeout("timeout=abc"));
+    }
+
+    /**
+     * Pool with no max or idle time is off
+     */
+    public void testDisabled()
+    {
+        assertFalse(new HttpConnectionPool(0, 60000).isEnabled());
+        assertFalse(new HttpConnectionPool(4, 0).isEnabled());
+    }
+
+    ////
+    //// helpers
+    ////
+
+    /**
+     * Connect to the server, returning client and server ends
+     */
+    private SocketChannel[] connect() throws IOException
+    {
+        SocketChannel client = SocketChannel.open(server_.getLocalAddress());
+        SocketChannel accepted = server_.accept();
+        channels_.add(client);
+        channels_.add(accepted);
+        return new SocketChannel[] {client, accepted};
+    }
+
+    /**
+     * Give data or a close sent by the server end a moment to arrive
+     */
+    private void waitForArrival() throws InterruptedException
+    {
+        Thread.sleep(100);
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.config;
+
+import com.donohoedigital.comms.*;
+import junit.framework.*;
+
+import java.io.*;
+import java.net.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Tests for AnnotationIndex, using temporary classpath roots
+ */
+public class AnnotationIndexTest extends TestCase
+{
+    private static final String PACKAGE = "com.donohoedigital";
+    private static final String INDEX = AnnotationIndex.PATH + "test/" + DataCoder.class.getName();
+
+    private final List<Path> roots_ = new ArrayList<>();
+
+    @Override
+    protected void tearDown() throws Exception
+    {
+        for (Path root : roots_)
+        {
+            try (var files = Files.walk(root))
+            {
+                files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+
+    /**
+     * Index entries are loaded, skipping missing, unannotated and out-of-package classes
+     */
+    public void testIndexRead() throws Exception
+    {
+        Path root = newRoot();
+        writeIndex(root, DMArrayList.class.getName(),
+                   DMTypedHashMap.class.getName(),
+                   "com.donohoedigital.comms.NoSuchClass",
+                   ConfigUtils.class.getName(),
+                   String.class.getName());
+
+        Set<Class<?>> found = AnnotationIndex.getAnnotatedClasses(DataCoder.class, PACKAGE, loader(root));
+        assertEquals(Set.of(DMArrayList.class, DMTypedHashMap.class), found);
+    }
+
+    /**
+     * Only classes in the requested package are returned
+     */
+    public void testPackageFilter() throws Exception
+    {
+        Path root = newRoot();
+        Files.createDirectories(root.resolve("com/donohoedigital/comms"));
+        Files.createDirectories(root.resolve("com/donohoedigital/config"));
+        writeIndex(root, DMArrayList.class.getName());
+
+        assertEquals(Set.of(DMArrayList.class),
+                     AnnotationIndex.getAnnotatedClasses(DataCoder.class, "com.donohoedigital.comms", loader(root)));
+        assertTrue(AnnotationIndex.getAnnotatedClasses(DataCoder.class, "com.donohoedigital.config", loader(root)).isEmpty());
+
+        // "comm" is not a package prefix of "comms"
+        Files.createDirectories(root.resolve("com/donohoedigital/comm"));
+        assertTrue(AnnotationIndex.getAnnotatedClasses(DataCoder.class, "com.donohoedigital.comm", loader(root)).isEmpty());
+    }
+
+    /**
+     * A root without an index is scanned
+     */
+    public void testFallbackNoIndex() throws Exception
+    {
+        Path root = newRoot();
+        copyClass(root, DMArrayList.class);
+        copyClass(root, ConfigUtils.class);
+
+        Set<Class<?>> found = AnnotationIndex.getAnnotatedClasses(DataCoder.class, PACKAGE, loader(root));
+        assertEquals(Set.of(DMArrayList.class), found);
+    }
+
+    /**
+     * Roots are handled separately - one indexed, one scanned
+     */
+    public void testFallbackPerRoot() throws Exception
+    {
+        Path indexed = newRoot();
+        writeIndex(indexed, DMTypedHashMap.class.getName());
+
+        Path scanned = newRoot();
+        copyClass(scanned, DMArrayList.class);
+
+        Set<Class<?>> found = AnnotationIndex.getAnnotatedClasses(DataCoder.class, PACKAGE, loader(indexed, scanned));
+        assertEquals(Set.of(DMArrayList.class, DMTypedHashMap.class), found);
+    }
+
+    /**
+     * A directory with class files newer than its index is scanned instead
+     */
+    public void testFallbackStale() throws Exception
+    {
+        Path root = newRoot();
+        Path index = writeIndex(root, DMTypedHashMap.class.getName());
+        Path clazz = copyClass(root, DMArrayList.class);
+
+        // class file written within grace period - index used
+        long now = System.currentTimeMillis();
+        assertTrue(index.toFile().setLastModified(now));
+        assertTrue(clazz.toFile().setLastModified(now + AnnotationIndex.STALE_GRACE_MILLIS / 2));
+        assertEquals(Set.of(DMTypedHashMap.class), AnnotationIndex.getAnnotatedClasses(DataCoder.class, PACKAGE, loader(root)));
+
+        // class file recompiled later - scanned
+        assertTrue(clazz.toFile().setLastModified(now + AnnotationIndex.STALE_GRACE_MILLIS * 2));
+        assertEquals(Set.of(DMArrayList.class), AnnotationIndex.getAnnotatedClasses(DataCoder.class, PACKAGE, loader(root)));
+    }
+
+    ////
+    //// helpers
+    ////
+
+    private Path newRoot() throws IOException
+    {
+        Path root = Files.createTempDirectory("ddindex");
+        roots_.add(root);
+        Files.createDirectories(root.resolve(PACKAGE.replace('.', '/')));
+        return root;
+    }
+
+    private Path writeIndex(Path root, String... classes) throws IOException
+    {
+        Path index = root.resolve(INDEX);
+        Files.createDirectories(index.getParent());
+        Files.write(index, Arrays.asList(classes), StandardCharsets.UTF_8);
+        return index;
+    }
+
+    private Path copyClass(Path root, Class<?> c) throws IOException
+    {
+        String sName = c.getName().replace('.', '/') + ".class";
+        Path dest = root.resolve(sName);
+        Files.createDirectories(dest.getParent());
+        try (InputStream in = c.getClassLoader().getResourceAsStream(sName))
+        {
+            Files.copy(in, dest);
+        }
+        return dest;
+    }
+
+    /**
+     * loader with only given roots (no parent), so the real classpath isn't included
+     */
+    private ClassLoader loader(Path... roots) throws IOException
+    {
+        URL[] urls = new URL[roots.length];
+        for (int i = 0; i < roots.length; i++)
+        {
+            urls[i] = roots[i].toUri().toURL();
+        }
+        return new URLClassLoader(urls, null);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.config;
+
+import junit.framework.*;
+import org.jdom2.*;
+
+import java.io.*;
+import java.net.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.*;
+
+/**
+ * Tests for XMLConfigSnapshot, using a temporary classpath root
+ */
+public class XMLConfigSnapshotTest extends TestCase
+{
+    private static final String SCHEMA = "test.xsd";
+
+    private Path root_;
+    private URLClassLoader loader_;
+
+    @Override
+    protected void setUp() throws Exception
+    {
+        root_ = Files.createTempDirectory("snapshot");
+        loader_ = new URLClassLoader(new URL[]{root_.toUri().toURL()}, null);
+    }
+
+    @Override
+    protected void tearDown() throws Exception
+    {
+        loader_.close();
+        try (var files = Files.walk(root_))
+        {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    /**
+     * Entries survive a write and read
+     */
+    public void testRoundTrip() throws Exception
+    {
+        URL a = writeConfig("a.xml", "<a/>");
+        Map<String, XMLConfigSnapshot.Entry> entries = new HashMap<>();
+        entries.put(XMLConfigSnapshot.getKey(a, SCHEMA), entry(a, "a"));
+
+        File file = root_.resolve(XMLConfigSnapshot.SNAPSHOT).toFile();
+        XMLConfigSnapshot.write(file, entries);
+
+        Map<String, XMLConfigSnapshot.Entry> read = XMLConfigSnapshot.read(file.toURI().toURL());
+        assertEquals(entries.keySet(), read.keySet());
+        XMLConfigSnapshot.Entry entry = read.get("config/test/a.xml|" + SCHEMA);
+        assertEquals(XMLConfigSnapshot.getCRC(a), entry.crc);
+        assertEquals("a", entry.doc.getRootElement().getName());
+    }
+
+    /**
+     * Only entries whose file is unchanged are used, keyed by the file's url
+     */
+    public void testVerify() throws Exception
+    {
+        URL a = writeConfig("a.xml", "<a/>");
+        URL b = writeConfig("b.xml", "<b/>");
+        Map<String, XMLConfigSnapshot.Entry> entries = new HashMap<>();
+        entries.put(XMLConfigSnapshot.getKey(a, SCHEMA), entry(a, "a"));
+        entries.put(XMLConfigSnapshot.getKey(b, SCHEMA), entry(b, "b"));
+        entries.put("config/test/missing.xml|" + SCHEMA, new XMLConfigSnapshot.Entry(0, new Document(new Element("m"))));
+
+        // change b after snapshot
+        writeConfig("b.xml", "<b attr=\"x\"/>");
+
+        Map<String, Document> docs = XMLConfigSnapshot.verify(entries, loader_);
+        assertEquals(1, docs.size());
+        Document doc = docs.get(loader_.getResource("config/test/a.xml") + "|" + SCHEMA);
+        assertNotNull(doc);
+        assertEquals("a", doc.getRootElement().getName());
+    }
+
+    /**
+     * Classes outside java.base and jdom2 are rejected when reading
+     */
+    public void testFilter() throws Exception
+    {
+        File file = root_.resolve(XMLConfigSnapshot.SNAPSHOT).toFile();
+        Files.createDirectories(file.getParentFile().toPath());
+        HashMap<String, Object> bad = new HashMap<>();
+        bad.put("config/test/a.xml|" + SCHEMA, new ApplicationType[]{ApplicationType.CLIENT});
+        try (ObjectOutputStream out = new ObjectOutputStream(new GZIPOutputStream(new FileOutputStream(file))))
+        {
+            out.writeObject(bad);
+        }
+
+        try
+        {
+            XMLConfigSnapshot.read(file.toURI().toURL());
+            fail("Expected rejected class");
+        }
+        catch (InvalidClassException expected)
+        {
+        }
+    }
+
+    private URL writeConfig(String sName, String sContents) throws IOException
+    {
+        Path file = root_.resolve("config/test/" + sName);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, sContents, StandardCharsets.UTF_8);
+        return file.toUri().toURL();
+    }
+
+    private static XMLConfigSnapshot.Entry entry(URL url, String sRoot)
+    {
+        return new XMLConfigSnapshot.Entry(XMLConfigSnapshot.getCRC(url), new Document(new Element(sRoot)));
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.db;
+
+import jakarta.persistence.*;
+
+import java.util.*;
+
+/**
+ * Sort order of a paged query, used for keyset paging.  Generates the 'order by' clause
+ * and, given a PageKey, a where clause that seeks past the last row of the previous page
+ * so the database can use an index instead of reading and skipping 'offset' rows.
+ * The last column must be unique (e.g., the id) so the order is total.  Each column is
+ * given the type of its values so a key that doesn't match (e.g., tampered with in a URL)
+ * is not used.
+ * <p>
+ * Usage in a DAO:
+ * <pre>
+ *   boolean bSeek = keyset.canSeek(after, offset);
+ *   query = "... where ... " + (bSeek ? "and " + keyset.getSeekClause() : "") + keyset.getOrderByClause();
+ *   if (bSeek) keyset.setSeekParameters(query, after); else query.setFirstResult(offset);
+ *   ...
+ *   list.setNextPageKey(keyset.getNextPageKey(offset, pagesize, results.size(), lastRowValues));
+ * </pre>
+ */
+public class Keyset
+{
+    private final List<String> columns_ = new ArrayList<String>();
+    private final List<Boolean> desc_ = new ArrayList<Boolean>();
+    private final List<Class<?>> types_ = new ArrayList<Class<?>>();
+
+    /**
+     * Add ascending column with values of the given type (Date, Integer, Long or String)
+     */
+    public Keyset asc(String column, Class<?> type)
+    {
+        return add(column, false, type);
+    }
+
+    /**
+     * Add descending column with values of the given type (Date, Integer, Long or String)
+     */
+    public Keyset desc(String column, Class<?> type)
+    {
+        return add(column, true, type);
+    }
+
+    private Keyset add(String column, boolean bDesc, Class<?> type)
+    {
+        columns_.add(column);
+        desc_.add(bDesc);
+        types_.add(type);
+        return this;
+    }
+
+    /**
+     * Get 'order by' clause (with trailing space)
+     */
+    public String getOrderByClause()
+    {
+        StringBuilder sb = new StringBuilder("order by ");
+        for (int i = 0; i < columns_.size(); i++)
+        {
+            if (i > 0) sb.append(", ");
+            sb.append(columns_.get(i));
+            if (desc_.get(i)) sb.append(" desc");
+        }
+        sb.append(' ');
+        return sb.toString();
+    }
+
+    /**
+     * Return true if key can be used to fetch page starting at offset - it must be
+     * for that page and have a value of the right type for each column.  If not, the
+     * caller should fall back to skipping offset rows.
+     */
+    public boolean canSeek(PageKey key, int offset)
+    {
+        if (key == null || offset <= 0 || !key.isFor(offset) || key.getNumValues() != columns_.size()) return false;
+
+        for (int i = 0; i < columns_.size(); i++)
+        {
+            if (!types_.get(i).isInstance(key.getValue(i))) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Get where clause (without leading 'and', with trailing space) selecting
+     * rows after the key, using parameters named seek0, seek1, ...
+     */
+    public String getSeekClause()
+    {
+        // (c0 > :seek0) or (c0 = :seek0 and c1 > :seek1) or ...
+        StringBuilder sb = new StringBuilder("(");
+        for (int i = 0; i < columns_.size(); i++)
+        {
+            if (i > 0) sb.append(" or ");
+            sb.append('(');
+            for (int j = 0; j < i; j++)
+            {
+                sb.append(columns_.get(j)).append(" = :seek").append(j).append(" and ");
+            }
+            sb.append(columns_.get(i)).append(desc_.get(i) ? " < " : " > ").append(":seek").append(i);
+            sb.append(')');
+        }
+        sb.append(") ");
+        return sb.toString();
+    }
+
+    /**
+     * Set parameters used in getSeekClause().  The key must be one canSeek() accepted.
+     */
+    public void setSeekParameters(Query query, PageKey key)
+    {
+        for (int i = 0; i < columns_.size(); i++)
+        {
+            query.setParameter("seek" + i, key.getValue(i));
+        }
+    }
+
+    /**
+     * Get key for page following the one just fetched.  Returns null if the page wasn't
+     * full (no next page) or a value of the last row is null.
+     *
+     * @param offset offset of page just fetched
+     * @param pagesize page size requested
+     * @param nFetched number of rows fetched
+     * @param lastRowValues sort column values of last row fetched
+     */
+    public PageKey getNextPageKey(int offset, int pagesize, int nFetched, Object... lastRowValues)
+    {
+        if (pagesize <= 0 || nFetched < pagesize) return null;
+
+        for (Object value : lastRowValues)
+        {
+            if (value == null) return null;
+        }
+        return new PageKey(offset + nFetched, lastRowValues);
+    }
+}
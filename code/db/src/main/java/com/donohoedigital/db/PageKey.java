@@ -0,0 +1,173 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.db;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+
+/**
+ * Values of the sort columns of the last row of a page, used to fetch the page that follows
+ * by seeking past them (keyset paging) instead of skipping 'offset' rows.  The offset of
+ * the following page is kept so a key is only used for that page (see isFor()).
+ * Can be passed in a URL with toParam()/fromParam().
+ *
+ * @see Keyset
+ */
+public class PageKey implements Serializable
+{
+    private static final long serialVersionUID = 42L;
+
+    private final int offset_;
+    private final Object[] values_;
+
+    /**
+     * Create key for page starting at offset, which follows the row with the given values
+     * (Date, Integer, Long or String)
+     */
+    public PageKey(int offset, Object... values)
+    {
+        offset_ = offset;
+        values_ = values;
+    }
+
+    /**
+     * Offset of first row of the page this key fetches
+     */
+    public int getOffset()
+    {
+        return offset_;
+    }
+
+    /**
+     * Return true if this key can be used to fetch page starting at offset
+     */
+    public boolean isFor(int offset)
+    {
+        return offset_ == offset;
+    }
+
+    /**
+     * Number of values
+     */
+    public int getNumValues()
+    {
+        return values_.length;
+    }
+
+    /**
+     * Get value of i'th sort column
+     */
+    public Object getValue(int i)
+    {
+        return values_[i];
+    }
+
+    /**
+     * Encode as a URL-safe string
+     */
+    public String toParam()
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append(offset_);
+        for (Object value : values_)
+        {
+            sb.append('.');
+            if (value instanceof Date)
+            {
+                sb.append('d').append(((Date) value).getTime());
+            }
+            else if (value instanceof Integer)
+            {
+                sb.append('i').append(value);
+            }
+            else if (value instanceof Long)
+            {
+                sb.append('l').append(value);
+            }
+            else
+            {
+                sb.append('s').append(java.util.Base64.getUrlEncoder().withoutPadding().encodeToString(
+                        value.toString().getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Decode string from toParam().  Returns null if null or not valid.
+     */
+    public static PageKey fromParam(String param)
+    {
+        if (param == null) return null;
+
+        try
+        {
+            String[] parts = param.split("\\.");
+            int offset = Integer.parseInt(parts[0]);
+            Object[] values = new Object[parts.length - 1];
+            for (int i = 1; i < parts.length; i++)
+            {
+                String value = parts[i].substring(1);
+                switch (parts[i].charAt(0))
+                {
+                    case 'd':
+                        values[i - 1] = new Date(Long.parseLong(value));
+                        break;
+                    case 'i':
+                        values[i - 1] = Integer.valueOf(value);
+                        break;
+                    case 'l':
+                        values[i - 1] = Long.valueOf(value);
+                        break;
+                    case 's':
+                        values[i - 1] = new String(java.util.Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+                        break;
+                    default:
+                        return null;
+                }
+            }
+            return new PageKey(offset, values);
+        }
+        catch (RuntimeException e)
+        {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return toParam();
+    }
+}
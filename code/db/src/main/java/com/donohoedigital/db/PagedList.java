@@ -43,6 +43,7 @@ import java.util.*;
 public class PagedList<T> extends ArrayList<T>
 {
     private int totalSize_ = 0;
+    private PageKey nextPageKey_;
 
     /**
      * Constructs an empty list with an initial capacity of ten.
@@ -92,4 +93,20 @@ public class PagedList<T> extends ArrayList<T>
     {
         totalSize_ = size;
     }
+
+    /**
+     * Get key to fetch the page after this one (null if none or not supported)
+     */
+    public PageKey getNextPageKey()
+    {
+        return nextPageKey_;
+    }
+
+    /**
+     * Set key to fetch the page after this one
+     */
+    public void setNextPageKey(PageKey key)
+    {
+        nextPageKey_ = key;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,130 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.db;
+
+import jakarta.persistence.Query;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for Keyset
+ */
+public class KeysetTest
+{
+    private final Keyset keyset_ = new Keyset().desc("t.endDate", Date.class).asc("t.name", String.class).desc("t.id", Long.class);
+
+    @Test
+    public void testClauses()
+    {
+        assertEquals("order by t.endDate desc, t.name, t.id desc ", keyset_.getOrderByClause());
+        assertEquals("((t.endDate < :seek0) or " +
+                     "(t.endDate = :seek0 and t.name > :seek1) or " +
+                     "(t.endDate = :seek0 and t.name = :seek1 and t.id < :seek2)) ",
+                     keyset_.getSeekClause());
+    }
+
+    @Test
+    public void testCanSeek()
+    {
+        Date date = new Date();
+        PageKey key = new PageKey(20, date, "name", 5L);
+        assertTrue(keyset_.canSeek(key, 20));
+
+        // subclass of Date (e.g., Timestamp from the database) is fine
+        assertTrue(keyset_.canSeek(new PageKey(20, new java.sql.Timestamp(date.getTime()), "name", 5L), 20));
+
+        // wrong page, no key, first page
+        assertFalse(keyset_.canSeek(key, 10));
+        assertFalse(keyset_.canSeek(null, 20));
+        assertFalse(keyset_.canSeek(new PageKey(0, date, "name", 5L), 0));
+    }
+
+    @Test
+    public void testCanSeekTampered()
+    {
+        Date date = new Date();
+
+        // wrong number of values
+        assertFalse(keyset_.canSeek(new PageKey(20, date, "name"), 20));
+        assertFalse(keyset_.canSeek(new PageKey(20, date, "name", 5L, 6L), 20));
+
+        // wrong types
+        assertFalse(keyset_.canSeek(new PageKey(20, "date", "name", 5L), 20));
+        assertFalse(keyset_.canSeek(new PageKey(20, date, "name", 5), 20));
+        assertFalse(keyset_.canSeek(new PageKey(20, date, 3L, 5L), 20));
+
+        // as decoded from a URL
+        assertFalse(keyset_.canSeek(PageKey.fromParam("20.i5.sYQ.l5"), 20));
+        assertTrue(keyset_.canSeek(PageKey.fromParam(new PageKey(20, date, "a", 5L).toParam()), 20));
+    }
+
+    @Test
+    public void testSeekParameters()
+    {
+        Date date = new Date();
+        Map<String, Object> params = new HashMap<String, Object>();
+        Query query = (Query) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Query.class},
+                                                     (proxy, method, args) -> {
+                                                         if (method.getName().equals("setParameter")) params.put((String) args[0], args[1]);
+                                                         return proxy;
+                                                     });
+        keyset_.setSeekParameters(query, new PageKey(20, date, "name", 5L));
+        assertEquals(3, params.size());
+        assertEquals(date, params.get("seek0"));
+        assertEquals("name", params.get("seek1"));
+        assertEquals(5L, params.get("seek2"));
+    }
+
+    @Test
+    public void testNextPageKey()
+    {
+        Date date = new Date();
+
+        // full page
+        PageKey next = keyset_.getNextPageKey(20, 10, 10, date, "name", 5L);
+        assertNotNull(next);
+        assertTrue(next.isFor(30));
+        assertTrue(keyset_.canSeek(next, 30));
+
+        // partial page (no next page), no paging, null value
+        assertNull(keyset_.getNextPageKey(20, 10, 9, date, "name", 5L));
+        assertNull(keyset_.getNextPageKey(0, -1, 100, date, "name", 5L));
+        assertNull(keyset_.getNextPageKey(20, 10, 10, null, "name", 5L));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.db;
+
+import org.junit.Test;
+
+import java.util.Date;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for PageKey
+ */
+public class PageKeyTest
+{
+    @Test
+    public void testRoundTrip()
+    {
+        Date date = new Date(1234567890123L);
+        PageKey key = new PageKey(50, date, 7, 99L, "Doug's game. ünïcode/+=");
+        String param = key.toParam();
+        assertTrue(param, param.matches("[A-Za-z0-9._-]+"));
+
+        PageKey decoded = PageKey.fromParam(param);
+        assertNotNull(decoded);
+        assertEquals(50, decoded.getOffset());
+        assertTrue(decoded.isFor(50));
+        assertFalse(decoded.isFor(40));
+        assertEquals(4, decoded.getNumValues());
+        assertEquals(date, decoded.getValue(0));
+        assertEquals(7, decoded.getValue(1));
+        assertEquals(99L, decoded.getValue(2));
+        assertEquals("Doug's game. ünïcode/+=", decoded.getValue(3));
+        assertEquals(param, decoded.toParam());
+    }
+
+    @Test
+    public void testInvalid()
+    {
+        assertNull(PageKey.fromParam(null));
+        assertNull(PageKey.fromParam(""));
+        assertNull(PageKey.fromParam("x.l5"));
+        assertNull(PageKey.fromParam("10.x5"));
+        assertNull(PageKey.fromParam("10.lfive"));
+        assertNull(PageKey.fromParam("10.i99999999999"));
+        assertNull(PageKey.fromParam("10.dnow"));
+        assertNull(PageKey.fromParam("10.s!!!"));
+        assertNull(PageKey.fromParam("10..l5"));
+    }
+}
@@ -41,6 +41,7 @@ package com.donohoedigital.games.comms;
 import com.donohoedigital.comms.*;
 
 import java.io.*;
+import java.util.*;
 
 /**
  * @author donohoe
@@ -189,6 +190,9 @@ public class EngineMessage extends DDMessage
     public static final String PARAM_WAIT_ADD_PER = "waitaddper";
     public static final String PARAM_WAIT_MAX = "waitmax";
     public static final String PARAM_WAIT_ERROR = "waiterror";
+    public static final String PARAM_LONG_POLL = "longpoll";    // poll: client will wait for changes
+    public static final String PARAM_LONG_POLL_WAIT = "longpollwait"; // update: seconds server will hold a long poll
+    public static final String PARAM_CHANGE_ID = "chgid";       // id of game state returned in an update (client echoes on next long poll)
 
     public static final String PARAM_IP = "ipaddr";             // IP address return for P2P
 
@@ -285,6 +289,23 @@ public class EngineMessage extends DDMessage
         setInteger(PARAM_FROM_PLAYER_ID, id);
     }
 
+    /**
+     * Get ids of players the client controls (PARAM_PLAYER_IDS).  Returns
+     * an empty list if not there.
+     */
+    public List<Integer> getPlayerIDs()
+    {
+        List<?> ids = getList(PARAM_PLAYER_IDS);
+        if (ids == null) return Collections.emptyList();
+
+        List<Integer> result = new ArrayList<Integer>(ids.size());
+        for (Object id : ids)
+        {
+            result.add((Integer) id);
+        }
+        return result;
+    }
+
     /**
      * Get seq id.  Returns "-1" if not there (note that the starting
      * seq ID, as set from Game.java will always be 1
@@ -41,6 +41,8 @@ package com.donohoedigital.games.engine;
 import com.donohoedigital.base.MersenneTwisterFast;
 import com.donohoedigital.base.Utils;
 
+import java.util.random.RandomGenerator;
+
 /**
  *
  * @author  Doug Donohoe
@@ -48,6 +50,9 @@ import com.donohoedigital.base.Utils;
 public class DiceRoller {
     
     static MersenneTwisterFast random_;
+
+    // optional per-thread generator (e.g., seeded simulations)
+    private static final ThreadLocal<RandomGenerator> threadRandom_ = new ThreadLocal<RandomGenerator>();
     
     /** Creates a new instance of DiceRoller */
     static {
@@ -85,11 +90,29 @@ public class DiceRoller {
     }
     
     /**
-     * Roll one die of nSides, return int
+     * Roll one die of nSides, return int.  Uses the calling thread's
+     * generator if one was set with {@link #setThreadRandom}.
      */
-    public synchronized static int rollDieInt(int nSides)
+    public static int rollDieInt(int nSides)
     {
-        return random_.nextInt(nSides) + 1;
+        RandomGenerator random = threadRandom_.get();
+        if (random != null) return random.nextInt(nSides) + 1;
+
+        synchronized (DiceRoller.class)
+        {
+            return random_.nextInt(nSides) + 1;
+        }
+    }
+
+    /**
+     * Use the given generator for rolls made by the calling thread, so
+     * they can be reproduced.  Pass null to go back to the shared generator.
+     * Seeded rolls and seed changes still use the shared generator.
+     */
+    public static void setThreadRandom(RandomGenerator random)
+    {
+        if (random == null) threadRandom_.remove();
+        else threadRandom_.set(random);
     }
     
     /**
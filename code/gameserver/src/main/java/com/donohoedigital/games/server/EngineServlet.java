@@ -58,6 +58,7 @@ import com.donohoedigital.games.server.service.RegistrationService;
 import com.donohoedigital.jsp.JspEmail;
 import com.donohoedigital.mail.DDPostalService;
 import com.donohoedigital.server.BaseServlet;
+import com.donohoedigital.server.GameServletResponse;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -95,6 +96,8 @@ public abstract class EngineServlet extends BaseServlet
     protected DDPostalService postalService;
 
     private ActionHandler handler_;
+    private ServerSideGameCache games_;
+    private LongPollManager polls_;
     private Version version_;
     private File messageFile;
     private File upgradeFile;
@@ -117,6 +120,23 @@ public abstract class EngineServlet extends BaseServlet
         {
             handler_.init();
         }
+
+        // cache of active games (write-behind)
+        games_ = new ServerSideGameCache(handler_,
+                                         PropertyConfig.getIntegerProperty("settings.server.gamecache.max", 500),
+                                         PropertyConfig.getIntegerProperty("settings.server.gamecache.idle.seconds", 600),
+                                         PropertyConfig.getIntegerProperty("settings.server.gamecache.flush.seconds", 5));
+        games_.start();
+
+        // long polls (0 seconds turns off, the default since clients don't send them yet)
+        int nWait = PropertyConfig.getIntegerProperty("settings.server.longpoll.seconds", 0);
+        if (nWait > 0)
+        {
+            polls_ = new LongPollManager(this, nWait,
+                                         PropertyConfig.getIntegerProperty("settings.server.longpoll.max", 1000),
+                                         PropertyConfig.getIntegerProperty("settings.server.longpoll.threads", 2));
+            polls_.start();
+        }
         postalService.addErrorHandler(ConfigManager.getAppName(), new EngineMailErrorHandler(this));
 
         // message location
@@ -128,6 +148,17 @@ public abstract class EngineServlet extends BaseServlet
         ApplicationError.assertTrue(upgradeFile.exists() && upgradeFile.isFile(), "Upgrade file missing", upgradeFile);
     }
 
+    /**
+     * Answer waiting polls and save any cached game changes on shutdown
+     */
+    @Override
+    public void destroy()
+    {
+        if (polls_ != null) polls_.shutdown();
+        if (games_ != null) games_.shutdown();
+        super.destroy();
+    }
+
     /**
      * Return action handler - subclass need to implement
      */
@@ -507,8 +538,15 @@ public abstract class EngineServlet extends BaseServlet
                 // load game
                 try
                 {
-                    ServerSideGame game = ServerSideGame.loadServerSideGame(received, handler_);
+                    ServerSideGame game = games_.getGame(sGameID);
                     ret = processExistingGameMessageLocked(game, received);
+
+                    // nothing new - hold poll until something changes (answered by polls_)
+                    if (response instanceof GameServletResponse && isLongPollIdle(game, received, ret) &&
+                        polls_.park(sGameID, received, (GameServletResponse) response))
+                    {
+                        return null;
+                    }
                 }
                 catch (ApplicationError ae)
                 {
@@ -607,6 +645,7 @@ public abstract class EngineServlet extends BaseServlet
         {
             boolean bSkipLastTime = false;
             boolean bSaveGame = false;
+            boolean bChanged = false;
 
             switch (received.getCategory())
             {
@@ -663,23 +702,15 @@ public abstract class EngineServlet extends BaseServlet
                     ApplicationError.assertNotNull(toIDs, "No ids to send message to");
                     received.setCreateTimeStamp(); // update to server time
                     nNum = toIDs.size();
-                    File file;
-                    long lasttime;
                     for (int i = 0; i < nNum; i++)
                     {
+                        // WAR PATCH 2 - "last online" time in client preserved by PlayerQueue.flush()
                         id = toIDs.get(i);
                         queue = game.getPlayerQueue(id);
                         queue.addMessage(received);
-
-                        // WAR PATCH 2 
-                        // preserve last modified time stamp so
-                        // "last online" in client is correct
-                        file = queue.getFile();
-                        lasttime = file.lastModified();
-                        queue.save();
-                        //noinspection ResultOfMethodCallIgnored
-                        file.setLastModified(lasttime);
+                        queue.markDirty();
                     }
+                    bChanged = true;
                     break;
 
                 case EngineMessage.CAT_ACTION_DONE:
@@ -687,6 +718,7 @@ public abstract class EngineServlet extends BaseServlet
                     if (ret != null) break;
                     game.processActionDone(received);
                     bSaveGame = true;
+                    bChanged = true;
                     break;
 
                 case EngineMessage.CAT_ACTION_REQUEST:
@@ -694,6 +726,7 @@ public abstract class EngineServlet extends BaseServlet
                     if (ret != null) break;
                     game.processActionRequest(received);
                     bSaveGame = true;
+                    bChanged = true;
                     break;
 
                 case EngineMessage.CAT_PLAYER_UPDATE:
@@ -701,6 +734,7 @@ public abstract class EngineServlet extends BaseServlet
                     if (ret != null) break;
                     game.processPlayerUpdate(received);
                     bSaveGame = true;
+                    bChanged = true;
                     break;
 
                 default:
@@ -723,7 +757,14 @@ public abstract class EngineServlet extends BaseServlet
                 bSaveGame = true;
             }
 
-            if (bSaveGame) game.save();
+            if (bSaveGame) game.markDirty(); // saved by games_ (write-behind)
+
+            // new messages or action - answer any waiting polls
+            if (bChanged)
+            {
+                game.markChanged();
+                if (polls_ != null) polls_.wake(game.getGameID());
+            }
         }
 
         return ret;
@@ -858,9 +899,12 @@ public abstract class EngineServlet extends BaseServlet
         ApplicationError.assertNotNull(stamps, "Timestamp list null");
         ApplicationError.assertTrue(stamps.size() == nNum, "Timestamp list not same size as id list");
 
-        // create list of player queue files for each id (player) the client is
+        // create the message
+        EngineMessage ret = new EngineMessage(game.getGameID(), EngineMessage.PLAYER_SERVER,
+                                              EngineMessage.CAT_COMPOSITE_MESSAGE);
+
+        // add contents of player queue for each id (player) the client is
         // representing.  Remove messages already received
-        File[] files = new File[nNum];
         int id;
         long timestamp;
         PlayerQueue queue;
@@ -870,22 +914,14 @@ public abstract class EngineServlet extends BaseServlet
             timestamp = stamps.get(i);
             queue = game.getPlayerQueue(id);
             queue.removeMessagesUpTo(timestamp);
-            queue.save();
-            files[i] = queue.getFile();
 
-            // WAR PATCH 2 - this should not be needed
-            // since the file was saved above
             // BUG 42 - player polled, update timestamp
-            // files[i].setLastModified(System.currentTimeMillis());
+            queue.markActive();
+            ret.addData(queue.getData());
         }
 
         // get action needed to be performed
         ActionItem last = game.getLastActionItem();
-
-        // create the message
-        EngineMessage ret = new EngineMessage(game.getGameID(), EngineMessage.PLAYER_SERVER,
-                                              EngineMessage.CAT_COMPOSITE_MESSAGE,
-                                              files);
         if (last != null)
         {
             ret.setObject(EngineMessage.PARAM_ACTION, last);
@@ -894,11 +930,14 @@ public abstract class EngineServlet extends BaseServlet
         // update settings if to control polling behavior
         updatePollSettings(ret);
 
+        // id of this state, so a long poll can tell if anything changed
+        ret.setLong(EngineMessage.PARAM_CHANGE_ID, game.getChangeID());
+
         // BUG 42: insert array representing time each player last acted
         DMArrayList<Long> list = new DMArrayList<>();
         for (int i = 0; i < game.getNumPlayers(); i++)
         {
-            list.add(game.getPlayerQueueFile(i).lastModified());
+            list.add(game.getPlayerQueue(i).getLastActive());
         }
         ret.setList(EngineMessage.PARAM_PLAYER_TIMESTAMPS, list);
 
@@ -937,7 +976,7 @@ public abstract class EngineServlet extends BaseServlet
 
                     try
                     {
-                        game = ServerSideGame.loadServerSideGame(id, handler_);
+                        game = games_.getGame(id);
                     }
                     catch (ApplicationError ae)
                     {
@@ -1042,7 +1081,7 @@ public abstract class EngineServlet extends BaseServlet
                 // store this key and locale, then save game
                 keys.put(sEmail, sKey); // email is lowercase
                 locales.put(sEmail, message.getLocale());
-                game.save();
+                game.markDirty();
 
                 // return game data
                 return getGameData(game, message.getString(EngineMessage.PARAM_EMAIL));
@@ -1123,6 +1162,58 @@ public abstract class EngineServlet extends BaseServlet
         ret.setInteger(EngineMessage.PARAM_WAIT_ADD_PER, 120);   // default is 120
         ret.setInteger(EngineMessage.PARAM_WAIT_MAX, 180);       // default is 120
         ret.setInteger(EngineMessage.PARAM_WAIT_ERROR, 10);     // default is 10
+        if (polls_ != null) ret.setInteger(EngineMessage.PARAM_LONG_POLL_WAIT, polls_.getWaitSeconds());
+    }
+
+    /**
+     * Return true if received is a long poll (client sent PARAM_LONG_POLL and the
+     * PARAM_CHANGE_ID from its last update) and ret, its update, has nothing new
+     */
+    private boolean isLongPollIdle(ServerSideGame game, EngineMessage received, EngineMessage ret)
+    {
+        if (polls_ == null || received.getCategory() != EngineMessage.CAT_POLL_UPDATES) return false;
+        if (!received.getBoolean(EngineMessage.PARAM_LONG_POLL, false)) return false;
+
+        // errors are returned right away
+        if (ret == null || ret.getCategory() != EngineMessage.CAT_COMPOSITE_MESSAGE) return false;
+
+        // action (or messages) changed since client's last update
+        if (received.getLong(EngineMessage.PARAM_CHANGE_ID, 0) != game.getChangeID()) return false;
+
+        // messages the client hasn't acknowledged yet
+        for (int id : received.getPlayerIDs())
+        {
+            if (game.getPlayerQueue(id).getNumMessages() > 0) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Answer a poll held by polls_ with the current client update.  Called
+     * by LongPollManager, which closes the response afterwards.
+     */
+    void finishLongPoll(String sGameID, EngineMessage received, GameServletResponse response) throws IOException
+    {
+        DDByteArrayOutputStream retdata;
+        ObjectLock lock = GameConfigUtils.getGameLockingObject(sGameID);
+        try
+        {
+            synchronized (lock)
+            {
+                ServerSideGame game = games_.getGame(sGameID);
+                EngineMessage ret = getClientUpdate(game, received);
+                retdata = new DDByteArrayOutputStream();
+                ret.write(retdata);
+            }
+        }
+        // in finally block so this is always done
+        finally
+        {
+            GameConfigUtils.removeGameLockingObject(lock);
+        }
+
+        returnMessage(response, retdata);
     }
 
     // registration file constants
@@ -0,0 +1,304 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+/*
+ * LongPollManager.java
+ *
+ * Created on October 19, 2026
+ */
+
+package com.donohoedigital.games.server;
+
+import com.donohoedigital.base.*;
+import com.donohoedigital.games.comms.*;
+import com.donohoedigital.server.*;
+import org.apache.logging.log4j.*;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Holds CAT_POLL_UPDATES requests that found nothing new for the client (long poll).
+ * The response is deferred (see GameServletResponse.defer()) so the socket thread
+ * goes back to the pool while the poll waits.  When a message changes the game
+ * (see wake()), or the wait times out, one of the completer threads asks the
+ * EngineServlet to answer the poll with a normal client update and closes the channel.
+ */
+public class LongPollManager
+{
+    static Logger logger = LogManager.getLogger(LongPollManager.class);
+
+    private final EngineServlet servlet_;
+    private final long waitMillis_;
+    private final int nMax_;
+    private final Map<String, List<Waiter>> waiting_ = new HashMap<String, List<Waiter>>(); // by game id
+    private final LinkedList<Waiter> ready_ = new LinkedList<Waiter>();
+    private final Completer[] completers_;
+    private int nWaiting_ = 0;
+    private boolean bDone_ = false;
+
+    /**
+     * Create manager
+     *
+     * @param servlet servlet used to answer polls
+     * @param nWaitSeconds how long a poll waits for a change
+     * @param nMax maximum number of polls waiting (others are answered immediately)
+     * @param nThreads number of threads answering polls
+     */
+    public LongPollManager(EngineServlet servlet, int nWaitSeconds, int nMax, int nThreads)
+    {
+        servlet_ = servlet;
+        waitMillis_ = nWaitSeconds * 1000L;
+        nMax_ = nMax;
+        completers_ = new Completer[nThreads];
+    }
+
+    /**
+     * Start completer threads
+     */
+    public void start()
+    {
+        for (int i = 0; i < completers_.length; i++)
+        {
+            completers_[i] = new Completer(i);
+            completers_[i].start();
+        }
+    }
+
+    /**
+     * Stop completer threads and answer any waiting polls
+     */
+    public void shutdown()
+    {
+        synchronized (this)
+        {
+            bDone_ = true;
+            notifyAll();
+        }
+
+        for (Completer completer : completers_)
+        {
+            if (completer == null) continue;
+            try
+            {
+                completer.join();
+            }
+            catch (InterruptedException ie)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        List<Waiter> left;
+        synchronized (this)
+        {
+            for (List<Waiter> list : waiting_.values())
+            {
+                ready_.addAll(list);
+            }
+            waiting_.clear();
+            nWaiting_ = 0;
+            left = new ArrayList<Waiter>(ready_);
+            ready_.clear();
+        }
+
+        for (Waiter waiter : left)
+        {
+            complete(waiter);
+        }
+    }
+
+    /**
+     * Seconds a poll waits, advertised to clients
+     */
+    public int getWaitSeconds()
+    {
+        return (int) (waitMillis_ / 1000);
+    }
+
+    /**
+     * Hold given poll until wake() is called for the game or the wait times out.
+     * Caller must hold the game's lock, so a change can't be missed between
+     * deciding there is nothing new and parking.  Returns false (and doesn't
+     * defer the response) if too many polls are already waiting.
+     */
+    public synchronized boolean park(String sGameID, EngineMessage received, GameServletResponse response)
+    {
+        if (bDone_ || nWaiting_ >= nMax_) return false;
+
+        List<Waiter> list = waiting_.get(sGameID);
+        if (list == null)
+        {
+            list = new ArrayList<Waiter>();
+            waiting_.put(sGameID, list);
+        }
+        list.add(new Waiter(sGameID, received, response, System.currentTimeMillis() + waitMillis_));
+        nWaiting_++;
+        response.defer();
+        return true;
+    }
+
+    /**
+     * Answer all polls waiting on the given game.  Typically called while holding the
+     * game's lock, in which case the answers are built after it is released.
+     */
+    public synchronized void wake(String sGameID)
+    {
+        List<Waiter> list = waiting_.remove(sGameID);
+        if (list == null) return;
+
+        nWaiting_ -= list.size();
+        ready_.addAll(list);
+        notifyAll();
+    }
+
+    /**
+     * Move timed out polls to the ready list
+     */
+    private void expire(long now)
+    {
+        Iterator<List<Waiter>> lists = waiting_.values().iterator();
+        List<Waiter> list;
+        Iterator<Waiter> iter;
+        Waiter waiter;
+        while (lists.hasNext())
+        {
+            list = lists.next();
+            iter = list.iterator();
+            while (iter.hasNext())
+            {
+                waiter = iter.next();
+                if (waiter.deadline <= now)
+                {
+                    iter.remove();
+                    ready_.add(waiter);
+                    nWaiting_--;
+                }
+            }
+            if (list.isEmpty()) lists.remove();
+        }
+    }
+
+    /**
+     * Get next poll to answer, waiting until one is ready.  Returns null when done.
+     */
+    private synchronized Waiter next()
+    {
+        while (!bDone_)
+        {
+            expire(System.currentTimeMillis());
+            if (!ready_.isEmpty()) return ready_.removeFirst();
+
+            try
+            {
+                wait(SWEEP_MILLIS);
+            }
+            catch (InterruptedException ie)
+            {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Answer poll and close the connection
+     */
+    private void complete(Waiter waiter)
+    {
+        try
+        {
+            answer(waiter.sGameID, waiter.received, waiter.response);
+        }
+        catch (Throwable t)
+        {
+            logger.warn("Error answering poll for game " + waiter.sGameID + ": " + Utils.formatExceptionText(t));
+        }
+        finally
+        {
+            waiter.response.close();
+        }
+    }
+
+    /**
+     * Write the answer to a poll (overridden in tests)
+     */
+    void answer(String sGameID, EngineMessage received, GameServletResponse response) throws IOException
+    {
+        servlet_.finishLongPoll(sGameID, received, response);
+    }
+
+    // how often completers look for timed out polls
+    private static final long SWEEP_MILLIS = 1000;
+
+    /**
+     * waiting poll
+     */
+    private static class Waiter
+    {
+        private final String sGameID;
+        private final EngineMessage received;
+        private final GameServletResponse response;
+        private final long deadline;
+
+        private Waiter(String sGameID, EngineMessage received, GameServletResponse response, long deadline)
+        {
+            this.sGameID = sGameID;
+            this.received = received;
+            this.response = response;
+            this.deadline = deadline;
+        }
+    }
+
+    /**
+     * thread answering polls
+     */
+    private class Completer extends Thread
+    {
+        public Completer(int nNum)
+        {
+            setName("LongPollManager-" + nNum);
+            setDaemon(true);
+        }
+
+        @Override
+        public void run()
+        {
+            Waiter waiter;
+            while ((waiter = next()) != null)
+            {
+                complete(waiter);
+            }
+        }
+    }
+}
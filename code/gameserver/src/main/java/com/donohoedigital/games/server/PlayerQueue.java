@@ -38,6 +38,7 @@
 
 package com.donohoedigital.games.server;
 
+import com.donohoedigital.base.ApplicationError;
 import com.donohoedigital.comms.DMArrayList;
 import com.donohoedigital.config.ConfigUtils;
 import com.donohoedigital.games.comms.EngineMessage;
@@ -58,6 +59,9 @@ public class PlayerQueue extends ServerDataFile
     // instance data
     private Integer nPlayerID_;
     private DMArrayList msgList_;  // list of actions to send to player
+    private boolean bDirty_;       // changed since last save
+    private boolean bActive_;      // polled since last save
+    private long lastActive_;      // last time player polled (saved as file's last modified)
     
     /**
      * Create a PlayerQueue from an existing file
@@ -113,6 +117,7 @@ public class PlayerQueue extends ServerDataFile
             ConfigUtils.verifyFile(file_);
             load();
         }
+        lastActive_ = lastMod_;
     }
     
     /**
@@ -131,9 +136,17 @@ public class PlayerQueue extends ServerDataFile
         msgList_.add(msg);
     }
     
+    /**
+     * Get number of messages in queue
+     */
+    public int getNumMessages()
+    {
+        return msgList_.size();
+    }
+
     /** 
      * Remove all messages in queue up to and including the
-     * given timestamp
+     * given timestamp.  Marks queue dirty if any were removed.
      */
     public void removeMessagesUpTo(long timestamp)
     {
@@ -152,6 +165,7 @@ public class PlayerQueue extends ServerDataFile
             if (msg.getCreateTimeStamp() <= timestamp)
             {
                 msgList_.remove(0);
+                bDirty_ = true;
             }
             else
             {
@@ -160,6 +174,69 @@ public class PlayerQueue extends ServerDataFile
         }
     }
     
+    /**
+     * Note queue changed, to be saved on next flush()
+     */
+    public void markDirty()
+    {
+        bDirty_ = true;
+    }
+
+    /**
+     * Note player polled, which updates the "last online" time
+     * (the file's last modified time) on next flush().  The
+     * contents are only re-written if also marked dirty.
+     */
+    public void markActive()
+    {
+        lastActive_ = System.currentTimeMillis();
+        bActive_ = true;
+    }
+
+    /**
+     * Get last time the player polled
+     */
+    public long getLastActive()
+    {
+        return lastActive_;
+    }
+
+    /**
+     * Save if changed.  The file's last modified time is set to
+     * the last time the player polled, not the time of the save,
+     * so "last online" in the client is correct.  If the player
+     * polled but the contents didn't change, only the last
+     * modified time is updated.
+     */
+    public void flush()
+    {
+        if (!bDirty_ && !bActive_) return;
+
+        if (bDirty_) save();
+        //noinspection ResultOfMethodCallIgnored
+        file_.setLastModified(lastActive_);
+        lastMod_ = file_.lastModified();
+        bDirty_ = false;
+        bActive_ = false;
+    }
+
+    /**
+     * Get contents as they would be written to the file
+     */
+    public String getData()
+    {
+        StringWriter writer = new StringWriter();
+        try
+        {
+            write(writer);
+        }
+        catch (IOException ioe)
+        {
+            throw new ApplicationError(ioe);
+        }
+        return writer.toString();
+    }
+
     /** 
      * Write contents out
      */
@@ -52,6 +52,7 @@ import org.springframework.beans.factory.annotation.*;
 import java.io.*;
 import java.text.*;
 import java.util.*;
+import java.util.concurrent.atomic.*;
 
 /**
  * @author donohoe
@@ -68,6 +69,9 @@ public class ServerSideGame extends ServerDataFile implements GameInfo
     // constants
     public static final String GAME_EXT = "gam";       // state for online engine
 
+    // change ids are unique across games and server restarts (seeded by time)
+    private static final AtomicLong CHANGE_IDS = new AtomicLong(System.currentTimeMillis() * 1000);
+
     // TODO: different from/reply to than host?
     //public static final String EMAIL_FROM = PropertyConfig.getRequiredStringProperty("settings.email.from");
     //public static final String EMAIL_REPLYTO = PropertyConfig.getRequiredStringProperty("settings.email.replyto");
@@ -94,6 +98,9 @@ public class ServerSideGame extends ServerDataFile implements GameInfo
     private DMTypedHashMap options_; // game options
     private ActionHandler handler_; // handler to get actions
     private DMTypedHashMap timestamps_; // activation key mapped to time stamp of last message processed
+    private PlayerQueue[] queues_;  // player queues, loaded as needed
+    private boolean bDirty_;        // changed since last save
+    private long changeID_ = CHANGE_IDS.incrementAndGet(); // in memory only - see getChangeID()
 
     /**
      * Create new online game from the message
@@ -540,35 +547,74 @@ public class ServerSideGame extends ServerDataFile implements GameInfo
         update.setInteger(EngineMessage.PARAM_UPDATE_TYPE, nUpdateType);
 
         // add message to appropriate queues
-        File file;
-        long lasttime;
         for (int i = 0; i < nNumPlayers_; i++)
         {
             // skip if password same (password is same for all players
             // undercontrol of the same person)
             if (getPasswordAt(i).equals(sPass)) continue;
 
+            // WAR PATCH 2 - "last online" time in client preserved by PlayerQueue.flush()
             PlayerQueue queue = getPlayerQueue(i);
-
-            // WAR PATCH 2 
-            // preserve last modified time stamp so
-            // "last online" in client is correct
-            file = queue.getFile();
-            lasttime = file.lastModified();
             queue.addMessage(update);
-            queue.save();
-            file.setLastModified(lasttime);
+            queue.markDirty();
         }
     }
 
     /**
-     * Return a new player queue for the given index
-     * Returns a new object every time, so cache return for perf
+     * Return player queue for the given index.  Queues are loaded
+     * on first use and kept with this game, so changes must be saved
+     * with flush().
      */
     public PlayerQueue getPlayerQueue(int i)
     {
         ApplicationError.assertTrue(i >= 0 && i < nNumPlayers_, "Index out of bounds");
-        return PlayerQueue.loadPlayerQueue(dir_, sFileNum_, i);
+        if (queues_ == null) queues_ = new PlayerQueue[nNumPlayers_];
+        if (queues_[i] == null) queues_[i] = PlayerQueue.loadPlayerQueue(dir_, sFileNum_, i);
+        return queues_[i];
+    }
+
+    /**
+     * Note game changed, to be saved on next flush()
+     */
+    public void markDirty()
+    {
+        bDirty_ = true;
+    }
+
+    /**
+     * Note game changed in a way clients should see (new messages in player
+     * queues or a new action item)
+     */
+    public void markChanged()
+    {
+        changeID_ = CHANGE_IDS.incrementAndGet();
+    }
+
+    /**
+     * Id of current game state, used to decide if a long poll has anything
+     * new to return.  Not saved, so a game re-loaded from disk gets a new id.
+     */
+    public long getChangeID()
+    {
+        return changeID_;
+    }
+
+    /**
+     * Save this game, if changed, and any changed player queues
+     */
+    public void flush()
+    {
+        if (bDirty_)
+        {
+            save();
+            bDirty_ = false;
+        }
+
+        if (queues_ == null) return;
+        for (PlayerQueue queue : queues_)
+        {
+            if (queue != null) queue.flush();
+        }
     }
 
     /**
@@ -0,0 +1,313 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+/*
+ * ServerSideGameCache.java
+ *
+ * Created on October 19, 2026
+ */
+
+package com.donohoedigital.games.server;
+
+import com.donohoedigital.base.*;
+import com.donohoedigital.games.config.*;
+import org.apache.logging.log4j.*;
+
+import java.util.*;
+
+/**
+ * Cache of active ServerSideGames (and their PlayerQueues) so that each request,
+ * most of which are polls, doesn't re-read and re-parse the game files.  Changes
+ * are noted with ServerSideGame.markDirty()/PlayerQueue.markDirty() and written
+ * by a background thread every few seconds (write-behind), which also evicts
+ * games that have been idle too long or, least recently used first, any games
+ * over the maximum size.
+ * <p>
+ * DURABILITY: since saves are delayed, a crash loses changes made since the last
+ * flush (up to the flush interval).  shutdown() saves everything.  A game whose
+ * file has been deleted on disk is dropped from the cache rather than saved, so
+ * deleted games aren't written back.
+ * <p>
+ * THREAD: callers must hold the game's locking object (see
+ * GameConfigUtils.getGameLockingObject()) while getting and using a game, just as
+ * when loading a game from disk.  The flush thread acquires the same lock before
+ * saving or evicting a game.
+ */
+public class ServerSideGameCache
+{
+    static Logger logger = LogManager.getLogger(ServerSideGameCache.class);
+
+    private final ActionHandler handler_;
+    private final int nMax_;
+    private final long idleMillis_;
+    private final long flushMillis_;
+    private final Map<String, Entry> games_ = new HashMap<String, Entry>();
+    private Flusher flusher_;
+
+    /**
+     * Create cache
+     *
+     * @param handler handler used when loading games
+     * @param nMax games kept after each flush (can briefly exceed this between flushes)
+     * @param nIdleSeconds games not accessed within this time are evicted
+     * @param nFlushSeconds how often changes are written to disk
+     */
+    public ServerSideGameCache(ActionHandler handler, int nMax, int nIdleSeconds, int nFlushSeconds)
+    {
+        handler_ = handler;
+        nMax_ = nMax;
+        idleMillis_ = nIdleSeconds * 1000L;
+        flushMillis_ = nFlushSeconds * 1000L;
+    }
+
+    /**
+     * Start write-behind thread
+     */
+    public void start()
+    {
+        flusher_ = new Flusher();
+        flusher_.start();
+    }
+
+    /**
+     * Stop write-behind thread and save all changes
+     */
+    public void shutdown()
+    {
+        if (flusher_ != null)
+        {
+            flusher_.finish();
+            flusher_ = null;
+        }
+        flush(true);
+    }
+
+    /**
+     * Get game with given id, loading it if not cached.  Caller must
+     * hold the game's lock.
+     */
+    public ServerSideGame getGame(String sGameID)
+    {
+        ApplicationError.assertNotNull(sGameID, "GameID missing");
+
+        Entry entry;
+        synchronized (games_)
+        {
+            entry = games_.get(sGameID);
+        }
+
+        // game deleted on disk since cached - load (and fail) as if never cached
+        if (entry != null && !exists(sGameID, entry.game))
+        {
+            remove(sGameID);
+            entry = null;
+        }
+
+        if (entry == null)
+        {
+            entry = new Entry(loadGame(sGameID));
+            synchronized (games_)
+            {
+                games_.put(sGameID, entry);
+            }
+        }
+
+        entry.lastAccess = System.currentTimeMillis();
+        return entry.game;
+    }
+
+    /**
+     * Load game from disk (overridden by tests)
+     */
+    ServerSideGame loadGame(String sGameID)
+    {
+        return ServerSideGame.loadServerSideGame(sGameID, handler_);
+    }
+
+    /**
+     * Save game, if changed (overridden by tests)
+     */
+    void flushGame(String sGameID, ServerSideGame game)
+    {
+        game.flush();
+    }
+
+    /**
+     * Does the game's file still exist on disk?  (overridden by tests)
+     */
+    boolean exists(String sGameID, ServerSideGame game)
+    {
+        return game.getFile().exists();
+    }
+
+    /**
+     * Drop game from the cache without saving it
+     */
+    private void remove(String sGameID)
+    {
+        synchronized (games_)
+        {
+            games_.remove(sGameID);
+        }
+    }
+
+    /**
+     * Is game with given id currently cached?
+     */
+    boolean isCached(String sGameID)
+    {
+        synchronized (games_)
+        {
+            return games_.containsKey(sGameID);
+        }
+    }
+
+    /**
+     * Save changed games and evict idle games (or all games if bAll is true)
+     */
+    void flush(boolean bAll)
+    {
+        // snapshot, least recently used first
+        List<Map.Entry<String, Entry>> entries;
+        synchronized (games_)
+        {
+            entries = new ArrayList<Map.Entry<String, Entry>>(games_.entrySet());
+        }
+        Collections.sort(entries, SORTBYACCESS);
+
+        int nOver = entries.size() - nMax_;
+        long now = System.currentTimeMillis();
+        String sGameID;
+        Entry entry;
+        for (Map.Entry<String, Entry> e : entries)
+        {
+            sGameID = e.getKey();
+            entry = e.getValue();
+
+            ObjectLock lock = GameConfigUtils.getGameLockingObject(sGameID);
+            try
+            {
+                synchronized (lock)
+                {
+                    // deleted on disk - don't write it back
+                    if (!exists(sGameID, entry.game))
+                    {
+                        logger.warn("Game " + sGameID + " deleted, dropping unsaved changes");
+                        remove(sGameID);
+                        nOver--;
+                        continue;
+                    }
+
+                    flushGame(sGameID, entry.game);
+
+                    if (bAll || nOver > 0 || (now - entry.lastAccess) > idleMillis_)
+                    {
+                        remove(sGameID);
+                        nOver--;
+                    }
+                }
+            }
+            catch (Throwable t)
+            {
+                logger.error("Error saving game " + sGameID + ": " + Utils.formatExceptionText(t));
+            }
+            // in finally block so this is always done
+            finally
+            {
+                GameConfigUtils.removeGameLockingObject(lock);
+            }
+        }
+    }
+
+    /**
+     * cached game
+     */
+    private static class Entry
+    {
+        private final ServerSideGame game;
+        private volatile long lastAccess;
+
+        private Entry(ServerSideGame game)
+        {
+            this.game = game;
+        }
+    }
+
+    /**
+     * sort least recently accessed first
+     */
+    private static final Comparator<Map.Entry<String, Entry>> SORTBYACCESS = new Comparator<Map.Entry<String, Entry>>()
+    {
+        public int compare(Map.Entry<String, Entry> e1, Map.Entry<String, Entry> e2)
+        {
+            return Long.compare(e1.getValue().lastAccess, e2.getValue().lastAccess);
+        }
+    };
+
+    /**
+     * write-behind thread
+     */
+    private class Flusher extends Thread
+    {
+        private volatile boolean bDone_ = false;
+
+        public Flusher()
+        {
+            setName("ServerSideGameCache-Flusher");
+            setDaemon(true);
+        }
+
+        public void finish()
+        {
+            // not interrupted, since that would close a file being written
+            bDone_ = true;
+            try
+            {
+                join();
+            }
+            catch (InterruptedException ie)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void run()
+        {
+            while (!bDone_)
+            {
+                Utils.sleepMillis(flushMillis_);
+                if (!bDone_) flush(false);
+            }
+        }
+    }
+}
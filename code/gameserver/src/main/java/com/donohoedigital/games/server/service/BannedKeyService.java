@@ -49,10 +49,10 @@ public interface BannedKeyService
     @Transactional(readOnly = true)
     List<BannedKey> getAllBannedKeys();
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     boolean isBanned(String... keys);
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     BannedKey getIfBanned(String... keys);
 
     @Transactional
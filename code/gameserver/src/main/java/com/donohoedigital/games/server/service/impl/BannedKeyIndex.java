@@ -0,0 +1,175 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.games.server.service.impl;
+
+import com.donohoedigital.games.server.model.*;
+
+import java.util.*;
+
+/**
+ * Immutable index of banned keys, for lookups by key (license key, email, name, etc.)
+ * without a database query.  Keys are matched ignoring case, as MySQL does for the
+ * banned_key table.  Changes create a new index (copy on write), so readers need no locking.
+ */
+class BannedKeyIndex
+{
+    private final Map<String, List<BannedKey>> byKey_;
+    private final long created_ = System.currentTimeMillis();
+
+    /**
+     * Create index of given bans
+     */
+    BannedKeyIndex(Collection<BannedKey> bans)
+    {
+        byKey_ = new HashMap<String, List<BannedKey>>(bans.size() * 2);
+        String sKey;
+        List<BannedKey> list;
+        for (BannedKey ban : bans)
+        {
+            sKey = normalize(ban.getKey());
+            if (sKey == null) continue;
+
+            list = byKey_.get(sKey);
+            if (list == null)
+            {
+                list = new ArrayList<BannedKey>(1);
+                byKey_.put(sKey, list);
+            }
+            list.add(ban);
+        }
+
+        // latest ban first, like BannedKeyDao.getByKeys()
+        for (List<BannedKey> l : byKey_.values())
+        {
+            if (l.size() > 1) Collections.sort(l, SORTBYUNTIL);
+        }
+    }
+
+    /**
+     * When this index was created
+     */
+    long getCreated()
+    {
+        return created_;
+    }
+
+    /**
+     * Return first ban in effect as of now for any of the given keys, or null
+     */
+    BannedKey getIfBanned(Date now, String... keys)
+    {
+        if (keys == null) return null;
+
+        List<BannedKey> list;
+        for (String sKey : keys)
+        {
+            sKey = normalize(sKey);
+            if (sKey == null) continue;
+
+            list = byKey_.get(sKey);
+            if (list == null) continue;
+
+            for (BannedKey ban : list)
+            {
+                if (ban.getUntil().compareTo(now) >= 0) return ban;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Return new index with the given ban added (replacing the one with the same id, if any)
+     */
+    BannedKeyIndex withSaved(BannedKey saved)
+    {
+        List<BannedKey> bans = getAll();
+        if (saved.getId() != null)
+        {
+            Iterator<BannedKey> iter = bans.iterator();
+            while (iter.hasNext())
+            {
+                if (saved.getId().equals(iter.next().getId())) iter.remove();
+            }
+        }
+        bans.add(saved);
+        return new BannedKeyIndex(bans);
+    }
+
+    /**
+     * Return new index without bans for the given key
+     */
+    BannedKeyIndex withDeleted(String sKey)
+    {
+        sKey = normalize(sKey);
+        List<BannedKey> bans = getAll();
+        Iterator<BannedKey> iter = bans.iterator();
+        while (iter.hasNext())
+        {
+            String sBanKey = normalize(iter.next().getKey());
+            if (sBanKey != null && sBanKey.equals(sKey)) iter.remove();
+        }
+        return new BannedKeyIndex(bans);
+    }
+
+    /**
+     * all bans in this index
+     */
+    private List<BannedKey> getAll()
+    {
+        List<BannedKey> bans = new ArrayList<BannedKey>();
+        for (List<BannedKey> list : byKey_.values())
+        {
+            bans.addAll(list);
+        }
+        return bans;
+    }
+
+    /**
+     * key used for lookups
+     */
+    private static String normalize(String sKey)
+    {
+        return sKey == null ? null : sKey.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * sort latest until date first
+     */
+    private static final Comparator<BannedKey> SORTBYUNTIL = new Comparator<BannedKey>()
+    {
+        public int compare(BannedKey b1, BannedKey b2)
+        {
+            return b2.getUntil().compareTo(b1.getUntil());
+        }
+    };
+}
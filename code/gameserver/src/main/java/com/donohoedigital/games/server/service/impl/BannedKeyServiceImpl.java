@@ -38,8 +38,10 @@ import com.donohoedigital.games.server.service.*;
 import org.springframework.beans.factory.annotation.*;
 import org.springframework.stereotype.*;
 import org.springframework.transaction.annotation.*;
+import org.springframework.transaction.support.*;
 
 import java.util.*;
+import java.util.concurrent.atomic.*;
 
 /**
  * Created by IntelliJ IDEA.
@@ -53,50 +55,64 @@ public class BannedKeyServiceImpl implements BannedKeyService
 {
     private BannedKeyDao dao;
 
+    // bans are checked on most requests, so they are kept in memory (see getIndex())
+    private volatile BannedKeyIndex index;
+    private final Object indexLoadLock = new Object();
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+    private long refreshMillis = 60 * 1000;
+
+    // changes to the index are made holding indexLock, and bump indexVersion
+    // so a load that started before the change isn't stored (see loadIndex())
+    private final Object indexLock = new Object();
+    private final AtomicLong indexVersion = new AtomicLong();
+
     @Autowired
     public void setBannedKeyDao(BannedKeyDao dao)
     {
         this.dao = dao;
     }
 
+    /**
+     * How often the in-memory index is re-read from the database, which picks up
+     * bans added by other servers (e.g., the web admin pages).  Defaults to 60 seconds.
+     */
+    public void setRefreshSeconds(int seconds)
+    {
+        this.refreshMillis = seconds * 1000L;
+    }
+
     @Transactional(readOnly = true)
     public List<BannedKey> getAllBannedKeys()
     {
         return dao.getAll();
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean isBanned(String... keys)
     {
-        if (keys == null || keys.length == 0) return false;
-
-        Date now = new Date();
-        List<BannedKey> list = dao.getByKeys(keys);
-        for (BannedKey key : list)
-        {
-            if (key.getUntil().compareTo(now) >= 0) return true;
-        }
-        return false;
+        return getIfBanned(keys) != null;
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public BannedKey getIfBanned(String... keys)
     {
         if (keys == null || keys.length == 0) return null;
 
-        Date now = new Date();
-        List<BannedKey> list = dao.getByKeys(keys);
-        for (BannedKey key : list)
-        {
-            if (key.getUntil().compareTo(now) >= 0) return key;
-        }
-        return null;
+        return getIndex().getIfBanned(new Date(), keys);
     }
 
     @Transactional
     public void saveBannedKey(BannedKey key)
     {
         dao.save(key);
+
+        synchronized (indexLock)
+        {
+            indexVersion.incrementAndGet();
+            BannedKeyIndex current = index;
+            if (current != null) index = current.withSaved(key);
+        }
+        resetIndexOnCompletion();
     }
 
     @Transactional
@@ -110,5 +126,90 @@ public class BannedKeyServiceImpl implements BannedKeyService
             {
                 dao.delete(key);
             }
+
+        synchronized (indexLock)
+        {
+            indexVersion.incrementAndGet();
+            BannedKeyIndex current = index;
+            if (current != null) index = current.withDeleted(sKey);
+        }
+        resetIndexOnCompletion();
+    }
+
+    /**
+     * Get index of bans, loading it if missing or older than refreshMillis.
+     * Only the first load blocks; a refresh is done by one thread while
+     * others keep using the current index.
+     */
+    private BannedKeyIndex getIndex()
+    {
+        BannedKeyIndex current = index;
+        if (current != null)
+        {
+            if (System.currentTimeMillis() - current.getCreated() < refreshMillis) return current;
+            if (!refreshing.compareAndSet(false, true)) return current;
+
+            try
+            {
+                return loadIndex();
+            }
+            finally
+            {
+                refreshing.set(false);
+            }
+        }
+
+        synchronized (indexLoadLock)
+        {
+            current = index;
+            if (current == null) current = loadIndex();
+            return current;
+        }
+    }
+
+    /**
+     * Read all bans from the database and store them as the current index.
+     * If a ban was saved or deleted while reading, the read may not include it,
+     * so it is discarded and the (updated) current index is returned if there
+     * is one.
+     */
+    private BannedKeyIndex loadIndex()
+    {
+        long version = indexVersion.get();
+        BannedKeyIndex loaded = new BannedKeyIndex(dao.getAll());
+        synchronized (indexLock)
+        {
+            if (indexVersion.get() == version)
+            {
+                index = loaded;
+                return loaded;
+            }
+            BannedKeyIndex current = index;
+            return current != null ? current : loaded;
+        }
+    }
+
+    /**
+     * Changes are put in the index right away.  If the current transaction
+     * rolls back, discard the index so it is re-read on next use.  Either way,
+     * bump the version when it completes, since a load started before the
+     * commit doesn't see the change.
+     */
+    private void resetIndexOnCompletion()
+    {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization()
+        {
+            @Override
+            public void afterCompletion(int status)
+            {
+                synchronized (indexLock)
+                {
+                    indexVersion.incrementAndGet();
+                    if (status != STATUS_COMMITTED) index = null;
+                }
+            }
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,168 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.games.server;
+
+import com.donohoedigital.games.server.dao.*;
+import com.donohoedigital.games.server.model.*;
+import com.donohoedigital.games.server.service.impl.*;
+import org.junit.*;
+
+import java.lang.reflect.*;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the in-memory index in BannedKeyServiceImpl, using a dao that
+ * saves or deletes a ban while the index is being re-read
+ */
+public class BannedKeyServiceImplTest
+{
+    private static final String KEY = "0000-0000-1111-7777";
+
+    private final BannedKeyServiceImpl service = new BannedKeyServiceImpl();
+    private final List<BannedKey> bans_ = new ArrayList<BannedKey>();
+    private Runnable duringRead_;
+
+    @Before
+    public void setUp()
+    {
+        service.setBannedKeyDao((BannedKeyDao) Proxy.newProxyInstance(getClass().getClassLoader(),
+                                                                    new Class<?>[]{BannedKeyDao.class}, new Dao()));
+    }
+
+    @Test
+    public void testSaveDuringRefresh()
+    {
+        service.setRefreshSeconds(0);
+        assertFalse(service.isBanned(KEY));
+
+        // refresh reads the table before the ban is saved, so must not replace
+        // the index updated by the save
+        duringRead_ = new Runnable()
+        {
+            public void run()
+            {
+                service.saveBannedKey(createBan());
+                service.setRefreshSeconds(60);
+            }
+        };
+        service.isBanned(KEY);
+        assertTrue(service.isBanned(KEY));
+    }
+
+    @Test
+    public void testDeleteDuringRefresh()
+    {
+        bans_.add(createBan());
+        service.setRefreshSeconds(0);
+        assertTrue(service.isBanned(KEY));
+
+        duringRead_ = new Runnable()
+        {
+            public void run()
+            {
+                service.deleteBannedKey(KEY);
+                service.setRefreshSeconds(60);
+            }
+        };
+        service.isBanned(KEY);
+        assertFalse(service.isBanned(KEY));
+    }
+
+    @Test
+    public void testSaveDuringFirstLoad()
+    {
+        duringRead_ = new Runnable()
+        {
+            public void run()
+            {
+                service.saveBannedKey(createBan());
+            }
+        };
+        service.isBanned(KEY);
+        assertTrue(service.isBanned(KEY));
+    }
+
+    /**
+     * Ban on KEY until tomorrow (the until date is normally set when saved)
+     */
+    private static BannedKey createBan()
+    {
+        BannedKey ban = ServerTestData.createBannedKey(KEY);
+        Calendar cal = Calendar.getInstance();
+        cal.add(Calendar.DAY_OF_MONTH, 1);
+        ban.setUntil(cal.getTime());
+        return ban;
+    }
+
+    /**
+     * Table of bans in memory.  Changes are made by the service, but only seen
+     * by the next read, since the first one has already returned its rows.
+     */
+    private class Dao implements InvocationHandler
+    {
+        public Object invoke(Object proxy, Method method, Object[] args)
+        {
+            String sMethod = method.getName();
+            if (sMethod.equals("getAll"))
+            {
+                List<BannedKey> all = new ArrayList<BannedKey>(bans_);
+                Runnable during = duringRead_;
+                duringRead_ = null;
+                if (during != null) during.run();
+                return all;
+            }
+            if (sMethod.equals("save"))
+            {
+                bans_.add((BannedKey) args[0]);
+                return null;
+            }
+            if (sMethod.equals("getByKeys"))
+            {
+                List<BannedKey> matches = new ArrayList<BannedKey>();
+                for (BannedKey ban : bans_)
+                {
+                    if (ban.getKey().equalsIgnoreCase(((String[]) args[0])[0])) matches.add(ban);
+                }
+                return matches;
+            }
+            if (sMethod.equals("delete"))
+            {
+                bans_.remove(args[0]);
+                return null;
+            }
+            throw new UnsupportedOperationException(sMethod);
+        }
+    }
+}
@@ -123,6 +123,41 @@ public class BannedKeyServiceTest
         assertFalse(service.isBanned(key));
     }
 
+    @Test
+    @Rollback
+    public void testLookupIgnoresCase()
+    {
+        String key = "Banned.Player@example.com";
+        BannedKey key1 = ServerTestData.createBannedKey(key);
+
+        service.saveBannedKey(key1);
+        assertTrue(service.isBanned(key));
+        assertTrue(service.isBanned(key.toLowerCase()));
+        assertEquals(key, service.getIfBanned("blah", key.toUpperCase()).getKey());
+
+        service.deleteBannedKey(key);
+        assertFalse(service.isBanned(key.toLowerCase()));
+    }
+
+    @Test
+    @Rollback
+    public void testChangeKey()
+    {
+        String key = "0000-0000-1111-5555";
+        String newkey = "0000-0000-1111-6666";
+        BannedKey key1 = ServerTestData.createBannedKey(key);
+        service.saveBannedKey(key1);
+        assertTrue(service.isBanned(key));
+
+        key1.setKey(newkey);
+        service.saveBannedKey(key1);
+        assertFalse(service.isBanned(key));
+        assertTrue(service.isBanned(newkey));
+
+        service.deleteBannedKey(newkey);
+        assertFalse(service.isBanned(newkey));
+    }
+
     @Test
     @Rollback
     public void testNull()
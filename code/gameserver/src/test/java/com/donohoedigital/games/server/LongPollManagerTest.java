@@ -0,0 +1,177 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.games.server;
+
+import com.donohoedigital.games.comms.*;
+import com.donohoedigital.server.*;
+import org.junit.*;
+
+import java.io.*;
+import java.nio.channels.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for LongPollManager - polls are answered on wake(), on timeout and at
+ * shutdown, and the waiting cap is enforced
+ */
+public class LongPollManagerTest
+{
+    private final BlockingQueue<String> answered_ = new LinkedBlockingQueue<String>();
+    private LongPollManager polls_;
+
+    @After
+    public void tearDown()
+    {
+        if (polls_ != null) polls_.shutdown();
+    }
+
+    @Test
+    public void testWake() throws Exception
+    {
+        polls_ = createManager(25, 10);
+
+        SocketChannel channel1 = SocketChannel.open();
+        SocketChannel channel2 = SocketChannel.open();
+        GameServletResponse response1 = new GameServletResponse(channel1);
+        GameServletResponse response2 = new GameServletResponse(channel2);
+        assertTrue(polls_.park("g1", poll("g1"), response1));
+        assertTrue(polls_.park("g2", poll("g2"), response2));
+        assertTrue(response1.isDeferred());
+        assertTrue(response2.isDeferred());
+
+        // nothing answered until woken
+        assertNull(answered_.poll(200, TimeUnit.MILLISECONDS));
+
+        // only polls for the given game are answered
+        polls_.wake("g1");
+        assertEquals("g1", answered_.poll(2, TimeUnit.SECONDS));
+        assertNull(answered_.poll(200, TimeUnit.MILLISECONDS));
+        assertClosed(channel1);
+        assertTrue(channel2.isOpen());
+
+        // waking again does nothing
+        polls_.wake("g1");
+        assertNull(answered_.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testTimeout() throws Exception
+    {
+        polls_ = createManager(1, 10);
+
+        SocketChannel channel = SocketChannel.open();
+        GameServletResponse response = new GameServletResponse(channel);
+        long start = System.currentTimeMillis();
+        assertTrue(polls_.park("g1", poll("g1"), response));
+
+        assertEquals("g1", answered_.poll(5, TimeUnit.SECONDS));
+        assertTrue(System.currentTimeMillis() - start >= 1000);
+        assertClosed(channel);
+    }
+
+    @Test
+    public void testMax() throws Exception
+    {
+        polls_ = createManager(25, 1);
+
+        assertTrue(polls_.park("g1", poll("g1"), createResponse()));
+
+        // over the cap - not deferred, answered by caller
+        GameServletResponse response = createResponse();
+        assertFalse(polls_.park("g2", poll("g2"), response));
+        assertFalse(response.isDeferred());
+
+        // room again once answered
+        polls_.wake("g1");
+        assertEquals("g1", answered_.poll(2, TimeUnit.SECONDS));
+        assertTrue(polls_.park("g2", poll("g2"), createResponse()));
+    }
+
+    @Test
+    public void testShutdown() throws Exception
+    {
+        polls_ = createManager(25, 10);
+
+        SocketChannel channel = SocketChannel.open();
+        assertTrue(polls_.park("g1", poll("g1"), new GameServletResponse(channel)));
+        polls_.shutdown();
+        polls_ = null;
+
+        assertEquals("g1", answered_.poll(0, TimeUnit.MILLISECONDS));
+        assertFalse(channel.isOpen());
+    }
+
+    /**
+     * Manager that records the game of each poll answered
+     */
+    private LongPollManager createManager(int nWaitSeconds, int nMax)
+    {
+        LongPollManager polls = new LongPollManager(null, nWaitSeconds, nMax, 1)
+        {
+            @Override
+            void answer(String sGameID, EngineMessage received, GameServletResponse response)
+            {
+                assertEquals(sGameID, received.getGameID());
+                answered_.add(sGameID);
+            }
+        };
+        polls.start();
+        return polls;
+    }
+
+    private static EngineMessage poll(String sGameID)
+    {
+        EngineMessage poll = new EngineMessage(sGameID, 1, EngineMessage.CAT_POLL_UPDATES);
+        poll.setBoolean(EngineMessage.PARAM_LONG_POLL, Boolean.TRUE);
+        return poll;
+    }
+
+    /**
+     * Verify channel is closed (done just after the answer is written)
+     */
+    private static void assertClosed(SocketChannel channel) throws InterruptedException
+    {
+        for (int i = 0; i < 100 && channel.isOpen(); i++)
+        {
+            Thread.sleep(20);
+        }
+        assertFalse(channel.isOpen());
+    }
+
+    private static GameServletResponse createResponse() throws IOException
+    {
+        return new GameServletResponse(SocketChannel.open());
+    }
+}
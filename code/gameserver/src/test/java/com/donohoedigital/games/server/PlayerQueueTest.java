@@ -0,0 +1,150 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.games.server;
+
+import com.donohoedigital.config.*;
+import com.donohoedigital.games.comms.*;
+import org.junit.*;
+
+import java.io.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for PlayerQueue flush() - polls only update the last modified time,
+ * the contents are re-written only when they change
+ */
+public class PlayerQueueTest
+{
+    private File dir_;
+
+    @BeforeClass
+    public static void setUpConfig()
+    {
+        new ConfigManager("servertools", ApplicationType.COMMAND_LINE);
+    }
+
+    @Before
+    public void setUp() throws IOException
+    {
+        dir_ = File.createTempFile("playerqueue", "");
+        assertTrue(dir_.delete());
+        assertTrue(dir_.mkdir());
+    }
+
+    @After
+    public void tearDown()
+    {
+        File[] files = dir_.listFiles();
+        if (files != null)
+        {
+            for (File file : files)
+            {
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+            }
+        }
+        //noinspection ResultOfMethodCallIgnored
+        dir_.delete();
+    }
+
+    @Test
+    public void testFlushUnchanged()
+    {
+        PlayerQueue queue = PlayerQueue.newPlayerQueue(dir_, "00001", 0);
+        File file = queue.getFile();
+        long old = System.currentTimeMillis() - 60000;
+        assertTrue(file.setLastModified(old));
+        queue = PlayerQueue.loadPlayerQueue(dir_, "00001", 0);
+
+        // nothing changed, nothing written
+        queue.flush();
+        assertEquals(old / 1000, file.lastModified() / 1000);
+    }
+
+    @Test
+    public void testPoll()
+    {
+        PlayerQueue queue = PlayerQueue.newPlayerQueue(dir_, "00001", 0);
+        EngineMessage msg = new EngineMessage("g1", 1, EngineMessage.CAT_GAME_UPDATE);
+        queue.addMessage(msg);
+        queue.markDirty();
+        queue.flush();
+        File file = queue.getFile();
+        assertEquals(queue.getData(), ConfigUtils.readFile(file));
+
+        // replace contents so a re-write can be detected
+        ConfigUtils.writeFile(file, "marker", true);
+        assertTrue(file.setLastModified(System.currentTimeMillis() - 60000));
+
+        // poll with nothing to remove - only last modified changes
+        queue.removeMessagesUpTo(msg.getCreateTimeStamp() - 1);
+        queue.markActive();
+        queue.flush();
+        assertEquals("marker\n", ConfigUtils.readFile(file));
+        assertEquals(queue.getLastActive() / 1000, file.lastModified() / 1000);
+        assertEquals(1, queue.getNumMessages());
+
+        // poll which removes the message - contents re-written
+        queue.removeMessagesUpTo(msg.getCreateTimeStamp());
+        queue.markActive();
+        queue.flush();
+        assertEquals(0, queue.getNumMessages());
+        assertEquals(queue.getData(), ConfigUtils.readFile(file));
+        assertEquals(queue.getLastActive() / 1000, file.lastModified() / 1000);
+
+        // changes are kept on reload
+        assertEquals(0, PlayerQueue.loadPlayerQueue(dir_, "00001", 0).getNumMessages());
+    }
+
+    @Test
+    public void testRemoveMarksDirty()
+    {
+        PlayerQueue queue = PlayerQueue.newPlayerQueue(dir_, "00001", 0);
+        EngineMessage msg = new EngineMessage("g1", 1, EngineMessage.CAT_GAME_UPDATE);
+        queue.addMessage(msg);
+        queue.markDirty();
+        queue.flush();
+
+        // removal alone (no poll) is saved, last modified left as is
+        File file = queue.getFile();
+        long old = System.currentTimeMillis() - 60000;
+        assertTrue(file.setLastModified(old));
+        queue = PlayerQueue.loadPlayerQueue(dir_, "00001", 0);
+        assertEquals(1, queue.getNumMessages());
+        queue.removeMessagesUpTo(msg.getCreateTimeStamp());
+        queue.flush();
+        assertEquals(old / 1000, file.lastModified() / 1000);
+        assertEquals(0, PlayerQueue.loadPlayerQueue(dir_, "00001", 0).getNumMessages());
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.games.server;
+
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for ServerSideGameCache - games are loaded once, flushed by the
+ * write-behind thread and evicted when idle, over the cap or at shutdown
+ */
+public class ServerSideGameCacheTest
+{
+    private final List<String> loaded_ = Collections.synchronizedList(new ArrayList<String>());
+    private final List<String> flushed_ = Collections.synchronizedList(new ArrayList<String>());
+    private final Set<String> deleted_ = Collections.synchronizedSet(new HashSet<String>());
+
+    @Test
+    public void testCache()
+    {
+        ServerSideGameCache cache = createCache(10, 600, 60);
+        cache.getGame("g1");
+        cache.getGame("g2");
+        cache.getGame("g1");
+        assertEquals(Arrays.asList("g1", "g2"), loaded_);
+        assertTrue(cache.isCached("g1"));
+        assertTrue(cache.isCached("g2"));
+        assertFalse(cache.isCached("g3"));
+    }
+
+    @Test
+    public void testFlush()
+    {
+        ServerSideGameCache cache = createCache(10, 600, 60);
+        cache.getGame("g1");
+        cache.getGame("g2");
+
+        // all games flushed, none evicted
+        cache.flush(false);
+        assertEquals(2, flushed_.size());
+        assertTrue(flushed_.containsAll(Arrays.asList("g1", "g2")));
+        assertTrue(cache.isCached("g1"));
+        assertTrue(cache.isCached("g2"));
+
+        // still cached, so not re-loaded
+        cache.getGame("g1");
+        assertEquals(2, loaded_.size());
+    }
+
+    @Test
+    public void testMax() throws Exception
+    {
+        ServerSideGameCache cache = createCache(2, 600, 60);
+        cache.getGame("g1");
+        Thread.sleep(10);
+        cache.getGame("g2");
+        Thread.sleep(10);
+        cache.getGame("g3");
+
+        // least recently used flushed and evicted
+        cache.flush(false);
+        assertEquals(3, flushed_.size());
+        assertFalse(cache.isCached("g1"));
+        assertTrue(cache.isCached("g2"));
+        assertTrue(cache.isCached("g3"));
+
+        cache.getGame("g1");
+        assertEquals(Arrays.asList("g1", "g2", "g3", "g1"), loaded_);
+    }
+
+    @Test
+    public void testIdle() throws Exception
+    {
+        ServerSideGameCache cache = createCache(10, 0, 60);
+        cache.getGame("g1");
+        Thread.sleep(10);
+
+        cache.flush(false);
+        assertEquals(Collections.singletonList("g1"), flushed_);
+        assertFalse(cache.isCached("g1"));
+    }
+
+    @Test
+    public void testDeleted()
+    {
+        ServerSideGameCache cache = createCache(10, 600, 60);
+        cache.getGame("g1");
+        cache.getGame("g2");
+
+        // deleted game dropped, not written back
+        deleted_.add("g1");
+        cache.flush(false);
+        assertEquals(Collections.singletonList("g2"), flushed_);
+        assertFalse(cache.isCached("g1"));
+        assertTrue(cache.isCached("g2"));
+
+        // deleted while cached - re-loaded rather than returned from cache
+        deleted_.add("g2");
+        cache.getGame("g2");
+        assertEquals(Arrays.asList("g1", "g2", "g2"), loaded_);
+    }
+
+    @Test
+    public void testWriteBehind() throws Exception
+    {
+        ServerSideGameCache cache = createCache(10, 600, 1);
+        cache.start();
+        try
+        {
+            cache.getGame("g1");
+            long end = System.currentTimeMillis() + 5000;
+            while (flushed_.isEmpty() && System.currentTimeMillis() < end)
+            {
+                Thread.sleep(50);
+            }
+            assertTrue(flushed_.contains("g1"));
+            assertTrue(cache.isCached("g1"));
+        }
+        finally
+        {
+            cache.shutdown();
+        }
+    }
+
+    @Test
+    public void testShutdown()
+    {
+        ServerSideGameCache cache = createCache(10, 600, 1);
+        cache.start();
+        cache.getGame("g1");
+        cache.getGame("g2");
+
+        // everything flushed and evicted
+        cache.shutdown();
+        assertTrue(flushed_.containsAll(Arrays.asList("g1", "g2")));
+        assertFalse(cache.isCached("g1"));
+        assertFalse(cache.isCached("g2"));
+    }
+
+    /**
+     * cache which records loads and flushes instead of reading/writing games,
+     * with games in deleted_ treated as deleted on disk
+     */
+    private ServerSideGameCache createCache(int nMax, int nIdleSeconds, int nFlushSeconds)
+    {
+        return new ServerSideGameCache(null, nMax, nIdleSeconds, nFlushSeconds)
+        {
+            @Override
+            ServerSideGame loadGame(String sGameID)
+            {
+                loaded_.add(sGameID);
+                return null;
+            }
+
+            @Override
+            void flushGame(String sGameID, ServerSideGame game)
+            {
+                flushed_.add(sGameID);
+            }
+
+            @Override
+            boolean exists(String sGameID, ServerSideGame game)
+            {
+                return !deleted_.contains(sGameID);
+            }
+        };
+    }
+}
@@ -0,0 +1,418 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.games.poker;
+
+import com.donohoedigital.games.poker.engine.*;
+
+import java.util.*;
+
+/**
+ * Per-round and per-player summaries of a hand's action history, kept up to date as
+ * actions are added so HoldemHand can answer the common questions without scanning
+ * (and locking) the history.  Actions are added in round order.
+ * <p/>
+ * Updates happen while the owner holds the history lock.  Readers don't lock; the
+ * volatile action count is written last on update and read first on lookup, so a
+ * reader sees everything up to the last completed add.
+ */
+class HandHistoryIndex
+{
+    private static final int ROUNDS = HoldemHand.ROUND_SHOWDOWN + 1;
+
+    private volatile int count_;
+
+    private final int[] actions_ = new int[ROUNDS];
+    private final int[] raises_ = new int[ROUNDS];
+    private final int[] calls_ = new int[ROUNDS];
+    private final HandAction[] firstBet_ = new HandAction[ROUNDS];
+    private final HandAction[] lastRaise_ = new HandAction[ROUNDS];
+    private final BetList[] bets_ = new BetList[ROUNDS];
+
+    private HandAction lastBetting_;
+    private int limpers_;
+    private int foldsSinceBet_;
+    private boolean raisedPreFlop_;
+    private boolean pastPreFlop_;
+
+    private PlayerSummary[] players_ = new PlayerSummary[PokerConstants.SEATS];
+    private int numPlayers_;
+
+    /**
+     * Index the given actions, in order
+     */
+    void addAll(List<HandAction> actions)
+    {
+        for (HandAction action : actions)
+        {
+            add(action);
+        }
+    }
+
+    /**
+     * Index an action just added to the history
+     */
+    void add(HandAction action)
+    {
+        int round = action.getRound();
+        int nAction = action.getAction();
+        boolean inRange = (round >= 0 && round < ROUNDS);
+
+        PlayerSummary player = getOrCreate(action.getPlayer());
+        player.add(action, inRange ? raises_[round] : 0);
+
+        switch (nAction)
+        {
+            case HandAction.ACTION_OVERBET:
+            case HandAction.ACTION_WIN:
+            case HandAction.ACTION_LOSE:
+                break;
+            default:
+                lastBetting_ = action;
+        }
+
+        switch (nAction)
+        {
+            case HandAction.ACTION_FOLD:
+                ++foldsSinceBet_;
+                break;
+            case HandAction.ACTION_BET:
+            case HandAction.ACTION_RAISE:
+                foldsSinceBet_ = 0;
+                break;
+        }
+
+        // pre-flop only counts until the first action of a later round
+        if (round != HoldemHand.ROUND_PRE_FLOP)
+        {
+            pastPreFlop_ = true;
+        }
+        else if (!pastPreFlop_)
+        {
+            switch (nAction)
+            {
+                case HandAction.ACTION_CALL:
+                    ++limpers_;
+                    break;
+                case HandAction.ACTION_RAISE:
+                    limpers_ = 0;
+                    raisedPreFlop_ = true;
+                    break;
+            }
+        }
+
+        if (inRange)
+        {
+            actions_[round]++;
+
+            switch (nAction)
+            {
+                case HandAction.ACTION_CALL:
+                    calls_[round]++;
+                    break;
+                case HandAction.ACTION_BET:
+                    if (firstBet_[round] == null) firstBet_[round] = action;
+                    bets(round).add(action);
+                    break;
+                case HandAction.ACTION_RAISE:
+                    raises_[round]++;
+                    lastRaise_[round] = action;
+                    bets(round).add(action);
+                    break;
+            }
+        }
+
+        // publish
+        count_++;
+    }
+
+    private BetList bets(int round)
+    {
+        if (bets_[round] == null) bets_[round] = new BetList();
+        return bets_[round];
+    }
+
+    private PlayerSummary getOrCreate(PokerPlayer player)
+    {
+        for (int i = 0; i < numPlayers_; ++i)
+        {
+            if (players_[i].player == player) return players_[i];
+        }
+
+        if (numPlayers_ == players_.length)
+        {
+            players_ = Arrays.copyOf(players_, numPlayers_ * 2);
+        }
+
+        PlayerSummary summary = new PlayerSummary(player);
+        players_[numPlayers_] = summary;
+        numPlayers_++;
+        return summary;
+    }
+
+    /**
+     * Summary for given player, null if player has no actions
+     */
+    private PlayerSummary get(PokerPlayer player)
+    {
+        if (count_ == 0 || player == null) return null;
+
+        PlayerSummary[] players = players_;
+        int num = Math.min(numPlayers_, players.length);
+        for (int i = 0; i < num; ++i)
+        {
+            if (players[i].player == player) return players[i];
+        }
+        return null;
+    }
+
+    private static boolean isRound(int round)
+    {
+        return round >= 0 && round < ROUNDS;
+    }
+
+    /**
+     * Number of actions indexed
+     */
+    int size()
+    {
+        return count_;
+    }
+
+    boolean isActionInRound(int round)
+    {
+        return count_ > 0 && isRound(round) && actions_[round] > 0;
+    }
+
+    HandAction getLastHandAction(PokerPlayer player)
+    {
+        PlayerSummary summary = get(player);
+        return summary == null ? null : summary.last;
+    }
+
+    HandAction getLastAction(PokerPlayer player, int round)
+    {
+        PlayerSummary summary = get(player);
+        return (summary == null || !isRound(round)) ? null : summary.lastByRound[round];
+    }
+
+    int getLastActionAI(PokerPlayer player, int round)
+    {
+        PlayerSummary summary = get(player);
+        return (summary == null || !isRound(round)) ? HandAction.ACTION_NONE : summary.aiAction[round];
+    }
+
+    HandAction getFirstVoluntaryAction(PokerPlayer player, int round)
+    {
+        PlayerSummary summary = get(player);
+        return (summary == null || !isRound(round)) ? null : summary.firstVoluntary[round];
+    }
+
+    boolean hasPlayerActed(PokerPlayer player, int round)
+    {
+        PlayerSummary summary = get(player);
+        return summary != null && isRound(round) && summary.acted[round];
+    }
+
+    boolean paidToPlay(PokerPlayer player)
+    {
+        PlayerSummary summary = get(player);
+        return summary != null && summary.paidPreFlop;
+    }
+
+    /**
+     * Raises in the round before the player's last action in it
+     */
+    int getNumPriorRaises(PokerPlayer player, int round)
+    {
+        PlayerSummary summary = get(player);
+        return (summary == null || !isRound(round)) ? 0 : summary.priorRaises[round];
+    }
+
+    int getNumRaises(int round)
+    {
+        return (count_ == 0 || !isRound(round)) ? 0 : raises_[round];
+    }
+
+    int getNumCallers(int round)
+    {
+        return (count_ == 0 || !isRound(round)) ? 0 : calls_[round];
+    }
+
+    /**
+     * First bet (not raise) in round
+     */
+    HandAction getFirstBet(int round)
+    {
+        return (count_ == 0 || !isRound(round)) ? null : firstBet_[round];
+    }
+
+    HandAction getLastRaise(int round)
+    {
+        return (count_ == 0 || !isRound(round)) ? null : lastRaise_[round];
+    }
+
+    /**
+     * Last action other than overbet, win or lose
+     */
+    HandAction getLastBettingAction()
+    {
+        return count_ == 0 ? null : lastBetting_;
+    }
+
+    int getNumLimpers()
+    {
+        return count_ == 0 ? 0 : limpers_;
+    }
+
+    boolean wasRaisedPreFlop()
+    {
+        return count_ > 0 && raisedPreFlop_;
+    }
+
+    int getNumFoldsSinceLastBet()
+    {
+        return count_ == 0 ? 0 : foldsSinceBet_;
+    }
+
+    /**
+     * Player who made the first (or last) bet or raise in the round, or null.
+     * If withChips is true, all-in players are skipped.
+     */
+    PokerPlayer getBettor(int round, boolean withChips, boolean first)
+    {
+        if (count_ == 0 || !isRound(round)) return null;
+
+        BetList bets = bets_[round];
+        if (bets == null) return null;
+
+        HandAction[] list = bets.actions;
+        int size = Math.min(bets.size, list.length);
+        for (int i = 0; i < size; ++i)
+        {
+            PokerPlayer player = list[first ? i : size - 1 - i].getPlayer();
+            if (!withChips || player.getChipCount() > 0) return player;
+        }
+        return null;
+    }
+
+    /**
+     * Bets and raises in a round, in order
+     */
+    private static class BetList
+    {
+        private HandAction[] actions = new HandAction[4];
+        private int size;
+
+        private void add(HandAction action)
+        {
+            if (size == actions.length)
+            {
+                actions = Arrays.copyOf(actions, size * 2);
+            }
+            actions[size] = action;
+            size++;
+        }
+    }
+
+    /**
+     * Summary of one player's actions
+     */
+    private static class PlayerSummary
+    {
+        private final PokerPlayer player;
+        private HandAction last;
+        private final HandAction[] lastByRound = new HandAction[ROUNDS];
+        private final HandAction[] firstVoluntary = new HandAction[ROUNDS];
+        private final int[] aiAction = new int[ROUNDS];
+        private final int[] priorRaises = new int[ROUNDS];
+        private final boolean[] acted = new boolean[ROUNDS];
+        private boolean paidPreFlop;
+
+        private PlayerSummary(PokerPlayer player)
+        {
+            this.player = player;
+            Arrays.fill(aiAction, HandAction.ACTION_NONE);
+        }
+
+        private void add(HandAction action, int raisesSoFar)
+        {
+            int round = action.getRound();
+            int nAction = action.getAction();
+
+            last = action;
+
+            if (!isRound(round)) return;
+
+            lastByRound[round] = action;
+            priorRaises[round] = raisesSoFar;
+
+            // most meaningful for ai: raise - bet - call - check (check-raise counts as check)
+            int ai = (nAction == HandAction.ACTION_CHECK_RAISE) ? HandAction.ACTION_CHECK : nAction;
+            if (ai > aiAction[round]) aiAction[round] = ai;
+
+            switch (nAction)
+            {
+                case HandAction.ACTION_BLIND_BIG:
+                case HandAction.ACTION_BLIND_SM:
+                case HandAction.ACTION_ANTE:
+                    break;
+                default:
+                    if (firstVoluntary[round] == null) firstVoluntary[round] = action;
+            }
+
+            switch (nAction)
+            {
+                case HandAction.ACTION_ANTE:
+                case HandAction.ACTION_BLIND_SM:
+                case HandAction.ACTION_BLIND_BIG:
+                case HandAction.ACTION_WIN:
+                case HandAction.ACTION_OVERBET:
+                case HandAction.ACTION_LOSE:
+                    break;
+                default:
+                    acted[round] = true;
+            }
+
+            if (round == HoldemHand.ROUND_PRE_FLOP)
+            {
+                switch (nAction)
+                {
+                    case HandAction.ACTION_BET:
+                    case HandAction.ACTION_CALL:
+                    case HandAction.ACTION_RAISE:
+                        paidPreFlop = true;
+                }
+            }
+        }
+    }
+}
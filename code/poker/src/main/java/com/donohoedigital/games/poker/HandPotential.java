@@ -116,6 +116,12 @@ public class HandPotential
     private final int[][] handCounts_ = new int[aStatKeys_.size()][2];
     private final int[] totalHandCount_ = new int[2];
 
+    // flop only - two-card runout counts tallied by each runout card, used by getTurnPotential()
+    private int[][] cardCounts_;
+    private int[] cardTotals_;
+    private int runout1_;
+    private int runout2_;
+
     // debug
     private static final boolean PERF = false;
     
@@ -212,6 +218,45 @@ public class HandPotential
         calculate();
     }
 
+    /**
+     * Constructor for turn analysis derived from a flop analysis, see getTurnPotential().
+     */
+    private HandPotential(HandPotential flop, Card turn)
+    {
+        pocket_ = flop.pocket_;
+        community_ = new Hand(flop.community_.getCard(0), flop.community_.getCard(1), flop.community_.getCard(2), turn);
+
+        int index = turn.getIndex();
+
+        for (int i = handCounts_.length - 1; i >= 0; --i)
+        {
+            handCounts_[i][0] = flop.cardCounts_[i][index];
+        }
+
+        totalHandCount_[0] = flop.cardTotals_[index];
+    }
+
+    /**
+     * Returns the turn analysis for this (flop) analysis and the given turn card.  The flop's
+     * two-card runouts containing the turn card are exactly the turn's one-card runouts, so
+     * the result is read from tallies kept during the flop enumeration rather than
+     * re-enumerated.
+     */
+    public HandPotential getTurnPotential(Card turn)
+    {
+        if (cardCounts_ == null)
+        {
+            throw new ApplicationError("HandPotential.getTurnPotential() called on non-flop analysis.");
+        }
+
+        if (pocket_.containsCard(turn.getIndex()) || community_.containsCard(turn.getIndex()))
+        {
+            throw new ApplicationError("HandPotential.getTurnPotential() called with dealt card " + turn);
+        }
+
+        return new HandPotential(this, turn);
+    }
+
     private void calculate() {
 
         Deck deck = new Deck(false);
@@ -265,6 +310,8 @@ public class HandPotential
                 }
                 break;
             case 3:
+                cardCounts_ = new int[aStatKeys_.size()][52];
+                cardTotals_ = new int[52];
                 community = new Hand
                     (community_.getCard(0), community_.getCard(1), community_.getCard(2), null);
                 for (int i = 0; i < deck.size(); ++i)
@@ -280,6 +327,8 @@ public class HandPotential
                     {
                         community.setCard(3, deck.getCard(i));
                         community.setCard(4, deck.getCard(j));
+                        runout1_ = deck.getCard(i).getIndex();
+                        runout2_ = deck.getCard(j).getIndex();
                         processHand(infoHand, community, 1);
                     }
                 }
@@ -297,10 +346,30 @@ public class HandPotential
 
     }
 
+    /**
+     * Count a stat for the current runout
+     */
+    private void count(int stat, int index)
+    {
+        ++handCounts_[stat][index];
+
+        if (index == 1 && cardCounts_ != null)
+        {
+            ++cardCounts_[stat][runout1_];
+            ++cardCounts_[stat][runout2_];
+        }
+    }
+
     private void processHand(HandInfoFast infoHand, Hand community, int index)
     {
         ++totalHandCount_[index];
 
+        if (index == 1 && cardTotals_ != null)
+        {
+            ++cardTotals_[runout1_];
+            ++cardTotals_[runout2_];
+        }
+
         int straightDrawOuts;
 
         infoHand.getScore(pocket_, community);
@@ -309,59 +378,59 @@ public class HandPotential
 
         if (straightDrawOuts > 0)
         {
-            ++handCounts_[STRAIGHT_DRAW][index];
+            count(STRAIGHT_DRAW, index);
         }
 
         switch (straightDrawOuts)
         {
             case 8:
-                ++handCounts_[STRAIGHT_DRAW_8_OUTS][index];
+                count(STRAIGHT_DRAW_8_OUTS, index);
                 break;
             case 6:
-                ++handCounts_[STRAIGHT_DRAW_6_OUTS][index];
+                count(STRAIGHT_DRAW_6_OUTS, index);
                 break;
             case 4:
-                ++handCounts_[STRAIGHT_DRAW_4_OUTS][index];
+                count(STRAIGHT_DRAW_4_OUTS, index);
                 break;
             case 3:
-                ++handCounts_[STRAIGHT_DRAW_3_OUTS][index];
+                count(STRAIGHT_DRAW_3_OUTS, index);
                 break;
             case 0:
                 break;
         }
         if (infoHand.hasFlushDraw())
         {
-            ++handCounts_[FLUSH_DRAW][index];
+            count(FLUSH_DRAW, index);
             switch (infoHand.getFlushDrawPocketsPlayed())
             {
                 case 2:
-                    ++handCounts_[FLUSH_DRAW_WITH_TWO_CARDS][index];
+                    count(FLUSH_DRAW_WITH_TWO_CARDS, index);
                     if (infoHand.hasNutFlushDraw())
                     {
-                        ++handCounts_[NUT_FLUSH_DRAW_WITH_TWO_CARDS][index];
+                        count(NUT_FLUSH_DRAW_WITH_TWO_CARDS, index);
                     }
                     else if (infoHand.has2ndNutFlushDraw())
                     {
-                        ++handCounts_[SECOND_NUT_FLUSH_DRAW_WITH_TWO_CARDS][index];
+                        count(SECOND_NUT_FLUSH_DRAW_WITH_TWO_CARDS, index);
                     }
                     else
                     {
-                        ++handCounts_[WEAK_FLUSH_DRAW_WITH_TWO_CARDS][index];
+                        count(WEAK_FLUSH_DRAW_WITH_TWO_CARDS, index);
                     }
                     break;
                 case 1:
-                    ++handCounts_[FLUSH_DRAW_WITH_ONE_CARD][index];
+                    count(FLUSH_DRAW_WITH_ONE_CARD, index);
                     if (infoHand.hasNutFlushDraw())
                     {
-                        ++handCounts_[NUT_FLUSH_DRAW_WITH_ONE_CARD][index];
+                        count(NUT_FLUSH_DRAW_WITH_ONE_CARD, index);
                     }
                     else if (infoHand.has2ndNutFlushDraw())
                     {
-                        ++handCounts_[SECOND_NUT_FLUSH_DRAW_WITH_ONE_CARD][index];
+                        count(SECOND_NUT_FLUSH_DRAW_WITH_ONE_CARD, index);
                     }
                     else
                     {
-                        ++handCounts_[WEAK_FLUSH_DRAW_WITH_ONE_CARD][index];
+                        count(WEAK_FLUSH_DRAW_WITH_ONE_CARD, index);
                     }
                     break;
             }
@@ -370,90 +439,90 @@ public class HandPotential
         switch (infoHand.getHandType())
         {
             case HandInfo.ROYAL_FLUSH:
-                ++handCounts_[ROYAL_FLUSH][index];
+                count(ROYAL_FLUSH, index);
                 break;
             case HandInfo.STRAIGHT_FLUSH:
-                ++handCounts_[STRAIGHT_FLUSH][index];
+                count(STRAIGHT_FLUSH, index);
                 break;
             case HandInfo.QUADS:
-                ++handCounts_[FOUR_OF_A_KIND][index];
+                count(FOUR_OF_A_KIND, index);
                 break;
             case HandInfo.FLUSH:
-                ++handCounts_[FLUSH][index];
+                count(FLUSH, index);
                 switch (infoHand.getBetterFlushCardCount())
                 {
                     case 0:
-                        ++handCounts_[NUT_FLUSH][index];
+                        count(NUT_FLUSH, index);
                         break;
                     case 1:
-                        ++handCounts_[SECOND_NUT_FLUSH][index];
+                        count(SECOND_NUT_FLUSH, index);
                         break;
                     default:
-                        ++handCounts_[WEAK_FLUSH][index];
+                        count(WEAK_FLUSH, index);
                         break;
                 }
                 break;
             case HandInfo.FULL_HOUSE:
-                ++handCounts_[FULL_HOUSE][index];
+                count(FULL_HOUSE, index);
                 if (community.hasTrips())
                 {
-                    ++handCounts_[FULL_HOUSE_TRIPS_ON_BOARD][index];
+                    count(FULL_HOUSE_TRIPS_ON_BOARD, index);
                 }
                 else
                 {
-                    ++handCounts_[FULL_HOUSE_PAIR_ON_BOARD][index];
+                    count(FULL_HOUSE_PAIR_ON_BOARD, index);
                 }
                 break;
             case HandInfo.STRAIGHT:
-                ++handCounts_[STRAIGHT][index];
+                count(STRAIGHT, index);
                 if (infoHand.getStraightHighRank() == infoHand.getNutStraightHighRank())
                 {
-                    ++handCounts_[NUT_STRAIGHT][index];
+                    count(NUT_STRAIGHT, index);
                 }
                 else
                 {
-                    ++handCounts_[NON_NUT_STRAIGHT][index];
+                    count(NON_NUT_STRAIGHT, index);
                 }
                 break;
             case HandInfo.TRIPS:
-                ++handCounts_[THREE_OF_A_KIND][index];
+                count(THREE_OF_A_KIND, index);
                 if (pocket_.hasPair())
                 {
-                    ++handCounts_[SET][index];
+                    count(SET, index);
                 }
                 else
                 {
                     if (community.hasTrips())
                     {
-                        ++handCounts_[TRIPS_ON_BOARD][index];
+                        count(TRIPS_ON_BOARD, index);
                     }
                     else
                     {
-                        ++handCounts_[TRIPS][index];
+                        count(TRIPS, index);
                     }
                 }
                 break;
             case HandInfo.TWO_PAIR:
-                ++handCounts_[TWO_PAIR][index];
+                count(TWO_PAIR, index);
                 if (pocket_.hasPair())
                 {
-                    ++handCounts_[TWO_PAIR_PAIR_ON_BOARD][index];
+                    count(TWO_PAIR_PAIR_ON_BOARD, index);
                 }
                 else
                 {
                     if (community.hasPair())
                     {
-                        ++handCounts_[TWO_PAIR_PAIR_ON_BOARD][index];
+                        count(TWO_PAIR_PAIR_ON_BOARD, index);
                     }
                     else
                     {
-                        ++handCounts_[TWO_PAIR_NO_PAIR_ON_BOARD][index];
+                        count(TWO_PAIR_NO_PAIR_ON_BOARD, index);
                     }
                 }
                 break;
             case HandInfo.PAIR:
 
-                ++handCounts_[PAIR][index];
+                count(PAIR, index);
 
                 int pairRank = infoHand.getBigPairRank();
 
@@ -461,28 +530,28 @@ public class HandPotential
                 {
                     if (pairRank > infoHand.getHighestBoardRank())
                     {
-                        ++handCounts_[OVERPAIR][index];
+                        count(OVERPAIR, index);
                     }
                     else if (pairRank < infoHand.getLowestBoardRank())
                     {
-                        ++handCounts_[UNDERPAIR][index];
+                        count(UNDERPAIR, index);
                     }
                     else
                     {
-                        ++handCounts_[MIDPAIR][index];
+                        count(MIDPAIR, index);
                     }
                 }
                 else if (community.hasPair())
                 {
-                    ++handCounts_[PAIR_ON_BOARD][index];
+                    count(PAIR_ON_BOARD, index);
 
                     switch (infoHand.getOvercardCount())
                     {
                         case 2:
-                            ++handCounts_[PAIR_ON_BOARD_WITH_TWO_OVERCARDS][index];
+                            count(PAIR_ON_BOARD_WITH_TWO_OVERCARDS, index);
                             break;
                         case 1:
-                            ++handCounts_[PAIR_ON_BOARD_WITH_ONE_OVERCARD][index];
+                            count(PAIR_ON_BOARD_WITH_ONE_OVERCARD, index);
                             break;
                     }
                 }
@@ -490,40 +559,40 @@ public class HandPotential
                 {
                     if (pairRank == infoHand.getHighestBoardRank())
                     {
-                        ++handCounts_[TOP_PAIR][index];
+                        count(TOP_PAIR, index);
 
                         if (infoHand.getOvercardCount() > 0)
                         {
-                            ++handCounts_[TOP_PAIR_WITH_OVERCARD][index];
+                            count(TOP_PAIR_WITH_OVERCARD, index);
                         }
                     }
                     else
                     {
-                        ++handCounts_[MIDDLE_OR_BOTTOM_PAIR][index];
+                        count(MIDDLE_OR_BOTTOM_PAIR, index);
 
                         if (infoHand.getOvercardCount() > 0)
                         {
                             if (pairRank == infoHand.getLowestBoardRank())
                             {
-                                ++handCounts_[BOTTOM_PAIR_WITH_OVERCARD][index];
+                                count(BOTTOM_PAIR_WITH_OVERCARD, index);
                             }
                             else
                             {
-                                ++handCounts_[MIDDLE_PAIR_WITH_OVERCARD][index];
+                                count(MIDDLE_PAIR_WITH_OVERCARD, index);
                             }
                         }
                     }
                 }
                 break;
             case HandInfo.HIGH_CARD:
-                ++handCounts_[HIGH_CARD][index];
+                count(HIGH_CARD, index);
                 switch (infoHand.getOvercardCount())
                 {
                     case 2:
-                        ++handCounts_[TWO_OVERCARDS][index];
+                        count(TWO_OVERCARDS, index);
                         break;
                     case 1:
-                        ++handCounts_[ONE_OVERCARD][index];
+                        count(ONE_OVERCARD, index);
                         break;
                 }
                 break;
@@ -106,6 +106,7 @@ public class HoldemHand implements DataMarshal
     private Deck deck_;
     private DMArrayList<Pot> pots_;
     private DMArrayList<HandAction> history_;
+    private HandHistoryIndex historyIndex_;
     private int nRound_;
     private int nGameType_ = PokerConstants.TYPE_NO_LIMIT_HOLDEM;
     private int nAnte_;
@@ -176,32 +177,46 @@ public class HoldemHand implements DataMarshal
     /**
      * Creates a new instance of HoldemHand
      */
-    @SuppressWarnings("CommentedOutCode")
     public HoldemHand(PokerTable table)
+    {
+        this(table, null);
+    }
+
+    /**
+     * Creates a new instance of HoldemHand which deals from the given deck.
+     * If deck is null, a newly shuffled deck is used.
+     */
+    @SuppressWarnings("CommentedOutCode")
+    public HoldemHand(PokerTable table, Deck deck)
     {
         table_ = table;
 
-        long seed = NEXT_SEED();
-        //logger.debug("SEED: "+ seed + " SEEDADJ: "+ SEEDADJ);
-        GameEngine engine = GameEngine.getGameEngine();
-        if (engine != null && engine.isDemo())
+        if (deck == null)
         {
-            // game could be null from calctool
-            PokerGame game = table.getGame();
-            if (game != null && !game.isClockMode())
+            long seed = NEXT_SEED();
+            //logger.debug("SEED: "+ seed + " SEEDADJ: "+ SEEDADJ);
+            GameEngine engine = GameEngine.getGameEngine();
+            if (engine != null && engine.isDemo())
             {
-                PokerPlayer player = game.getHumanPlayer();
-                int nNum = (player.isObserver()) ? table.getHandNum() : player.getHandsPlayed();
-                seed = 9183349 + (nNum * 129L);
+                // game could be null from calctool
+                PokerGame game = table.getGame();
+                if (game != null && !game.isClockMode())
+                {
+                    PokerPlayer player = game.getHumanPlayer();
+                    int nNum = (player.isObserver()) ? table.getHandNum() : player.getHandsPlayed();
+                    seed = 9183349 + (nNum * 129L);
+                }
             }
+            deck = new Deck(true, seed);
+            //deck = Deck.getDeckBUG280(); // BUG 280 debugging
+            //deck = Deck.getDeckBUG284(); // BUG 284 debugging
+            //deck = Deck.getDeckBUG316(); // BUG 316 debugging
         }
-        deck_ = new Deck(true, seed);
-        //deck_ = Deck.getDeckBUG280(); // BUG 280 debugging
-        //deck_ = Deck.getDeckBUG284(); // BUG 284 debugging
-        //deck_ = Deck.getDeckBUG316(); // BUG 316 debugging
+        deck_ = deck;
         pots_ = new DMArrayList<>();
         pots_.add(new Pot(ROUND_PRE_FLOP, 0));
         history_ = new DMArrayList<>();
+        historyIndex_ = new HandHistoryIndex();
         nRound_ = ROUND_PRE_FLOP;
         potStatus_ = PokerConstants.NO_POT_ACTION;
         muck_ = new Hand(3);
@@ -764,6 +779,17 @@ public class HoldemHand implements DataMarshal
         }
     }
 
+    /**
+     * Get copy of history starting at given index
+     */
+    public List<HandAction> getHistoryCopy(int start)
+    {
+        synchronized (history_)
+        {
+            return new ArrayList<>(history_.subList(Math.min(start, history_.size()), history_.size()));
+        }
+    }
+
     /**
      * Get history size
      */
@@ -1294,20 +1320,7 @@ public class HoldemHand implements DataMarshal
      */
     public boolean isActionInRound(int nRound)
     {
-        HandAction hist;
-        synchronized (history_)
-        {
-            for (int i = history_.size() - 1; i >= 0; i--)
-            {
-                hist = history_.get(i);
-                if (hist.getRound() == nRound)
-                {
-                    return true;
-                }
-            }
-        }
-
-        return false;
+        return historyIndex_.isActionInRound(nRound);
     }
 
     /**
@@ -1332,22 +1345,7 @@ public class HoldemHand implements DataMarshal
      */
     public HandAction getLastAction(PokerPlayer player, int round)
     {
-        HandAction hist;
-
-        synchronized (history_)
-        {
-            for (int i = history_.size() - 1; i >= 0; i--)
-            {
-                hist = history_.get(i);
-
-                if ((hist.getPlayer() == player) && (hist.getRound() == round))
-                {
-                    return hist;
-                }
-            }
-        }
-
-        return null;
+        return historyIndex_.getLastAction(player, round);
     }
 
     /**
@@ -1355,20 +1353,7 @@ public class HoldemHand implements DataMarshal
      */
     public HandAction getLastHandAction(PokerPlayer player)
     {
-        HandAction hist;
-        synchronized (history_)
-        {
-            for (int i = history_.size() - 1; i >= 0; i--)
-            {
-                hist = history_.get(i);
-                if (hist.getPlayer() == player)
-                {
-                    return hist;
-                }
-            }
-        }
-
-        return null;
+        return historyIndex_.getLastHandAction(player);
     }
 
     /**
@@ -1377,31 +1362,7 @@ public class HoldemHand implements DataMarshal
      */
     public int getLastActionAI(PokerPlayer player, int nRound)
     {
-        if (player == null) return HandAction.ACTION_NONE;
-
-        HandAction hist;
-        int nAction = HandAction.ACTION_NONE;
-        synchronized (history_)
-        {
-            for (int i = history_.size() - 1; i >= 0; i--)
-            {
-                hist = history_.get(i);
-                if (hist.getPlayer() == player &&
-                    hist.getRound() == nRound)
-                {
-                    if (hist.getAction() > nAction)
-                    {
-                        nAction = hist.getAction();
-                        if (nAction == HandAction.ACTION_CHECK_RAISE)
-                        {
-                            nAction = HandAction.ACTION_CHECK;
-                        }
-                    }
-                }
-            }
-        }
-
-        return nAction;
+        return historyIndex_.getLastActionAI(player, nRound);
     }
 
     /**
@@ -1409,21 +1370,9 @@ public class HoldemHand implements DataMarshal
      */
     public int getLastActionThisRound(PokerPlayer player)
     {
-        HandAction hist;
-        synchronized (history_)
-        {
-            for (int i = history_.size() - 1; i >= 0; i--)
-            {
-                hist = history_.get(i);
-                if (hist.getPlayer() == player &&
-                    hist.getRound() == nRound_)
-                {
-                    return hist.getAction();
-                }
-            }
-        }
+        HandAction hist = historyIndex_.getLastAction(player, nRound_);
 
-        return HandAction.ACTION_NONE;
+        return (hist == null) ? HandAction.ACTION_NONE : hist.getAction();
     }
 
     /**
@@ -1432,22 +1381,7 @@ public class HoldemHand implements DataMarshal
      */
     public HandAction getLastAction()
     {
-        HandAction hist;
-        synchronized (history_)
-        {
-            for (int i = history_.size() - 1; i >= 0; i--)
-            {
-                hist = history_.get(i);
-                if (hist.getAction() != HandAction.ACTION_OVERBET &&
-                    hist.getAction() != HandAction.ACTION_WIN &&
-                    hist.getAction() != HandAction.ACTION_LOSE)
-                {
-                    return hist;
-                }
-            }
-        }
-
-        return null;
+        return historyIndex_.getLastBettingAction();
     }
 
     /**
@@ -1455,32 +1389,7 @@ public class HoldemHand implements DataMarshal
      */
     public int getNumPriorRaises(PokerPlayer player)
     {
-        int nCount = 0;
-        boolean bStart = false;
-        HandAction hist;
-        synchronized (history_)
-        {
-            for (int i = history_.size() - 1; i >= 0; i--)
-            {
-                hist = history_.get(i);
-
-                // only count this round's actions
-                if (hist.getRound() != nRound_) continue;
-
-                if (bStart && hist.getAction() == HandAction.ACTION_RAISE)
-                {
-                    nCount++;
-                }
-
-                if (!bStart && hist.getPlayer() == player)
-                {
-                    // else start counting
-                    bStart = true;
-                }
-            }
-        }
-
-        return nCount;
+        return historyIndex_.getNumPriorRaises(player, nRound_);
     }
 
     /**
@@ -1488,27 +1397,7 @@ public class HoldemHand implements DataMarshal
      */
     public int getNumRaises()
     {
-        int nCount = 0;
-        HandAction hist;
-        synchronized (history_)
-        {
-            for (int i = history_.size() - 1; i >= 0; i--)
-            {
-                hist = history_.get(i);
-
-                // only count this round's actions
-                if (hist.getRound() != nRound_) continue;
-
-
-                if (hist.getAction() == HandAction.ACTION_RAISE)
-                {
-                    nCount++;
-                }
-
-            }
-        }
-
-        return nCount;
+        return historyIndex_.getNumRaises(nRound_);
     }
 
     /**
@@ -1942,19 +1831,9 @@ public class HoldemHand implements DataMarshal
      */
     public PokerPlayer getBettor()
     {
-        HandAction hist;
-        synchronized (history_)
-        {
-            for (HandAction handAction : history_) {
-                hist = handAction;
-                if (hist.getAction() == HandAction.ACTION_BET &&
-                        hist.getRound() == nRound_) {
-                    return hist.getPlayer();
-                }
-            }
-        }
+        HandAction hist = historyIndex_.getFirstBet(nRound_);
 
-        return null;
+        return (hist == null) ? null : hist.getPlayer();
     }
 
     /**
@@ -1982,21 +1861,9 @@ public class HoldemHand implements DataMarshal
      */
     public PokerPlayer getRaiser()
     {
-        HandAction hist;
-        synchronized (history_)
-        {
-            for (int i = history_.size() - 1; i >= 0; i--)
-            {
-                hist = history_.get(i);
-                if ((hist.getAction() == HandAction.ACTION_RAISE) &&
-                    hist.getRound() == nRound_)
-                {
-                    return hist.getPlayer();
-                }
-            }
-        }
+        HandAction hist = historyIndex_.getLastRaise(nRound_);
 
-        return null;
+        return (hist == null) ? null : hist.getPlayer();
     }
 
     /**
@@ -2055,21 +1922,7 @@ public class HoldemHand implements DataMarshal
      */
     public int getNumCallers()
     {
-        // count calls in this round
-        int nCalls = 0;
-        HandAction hist;
-        synchronized (history_)
-        {
-            for (HandAction handAction : history_) {
-                hist = handAction;
-                if ((hist.getAction() == HandAction.ACTION_CALL) &&
-                        hist.getRound() == nRound_) {
-                    nCalls++;
-                }
-            }
-        }
-
-        return nCalls;
+        return historyIndex_.getNumCallers(nRound_);
     }
 
     /**
@@ -2478,24 +2331,7 @@ public class HoldemHand implements DataMarshal
      */
     public boolean hasPlayerActed(PokerPlayer player)
     {
-        HandAction hist;
-        synchronized (history_)
-        {
-            for (HandAction handAction : history_) {
-                hist = handAction;
-                if (hist.getPlayer() == player &&
-                        hist.getRound() == nRound_ &&
-                        hist.getAction() != HandAction.ACTION_ANTE &&
-                        hist.getAction() != HandAction.ACTION_BLIND_SM &&
-                        hist.getAction() != HandAction.ACTION_BLIND_BIG &&
-                        hist.getAction() != HandAction.ACTION_WIN &&
-                        hist.getAction() != HandAction.ACTION_OVERBET &&
-                        hist.getAction() != HandAction.ACTION_LOSE) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return historyIndex_.hasPlayerActed(player, nRound_);
     }
 
     /**
@@ -2595,6 +2431,7 @@ public class HoldemHand implements DataMarshal
         synchronized (history_)
         {
             history_.add(action);
+            historyIndex_.add(action);
         }
 
         // if we need to calculate the pot, do so (ante, blinds, call, bet, raise)
@@ -3042,6 +2879,8 @@ public class HoldemHand implements DataMarshal
         deck_ = (Deck) list.removeToken();
         pots_ = (DMArrayList<Pot>) list.removeToken();
         history_ = (DMArrayList<HandAction>) list.removeToken();
+        historyIndex_ = new HandHistoryIndex();
+        historyIndex_.addAll(history_);
         nRound_ = list.removeIntToken();
         nAnte_ = list.removeIntToken();
         nBigBlind_ = list.removeIntToken();
@@ -3114,38 +2953,9 @@ public class HoldemHand implements DataMarshal
         return endDate_;
     }
 
-    Boolean wasRaisedPreFlop_ = null;
-
     public boolean wasRaisedPreFlop()
     {
-        if (wasRaisedPreFlop_ == null)
-        {
-            synchronized (history_)
-            {
-                HandAction hist;
-
-                for (HandAction handAction : history_) {
-                    hist = handAction;
-
-                    if (hist.getRound() > ROUND_PRE_FLOP) {
-                        wasRaisedPreFlop_ = Boolean.FALSE;
-                        break;
-                    }
-
-                    if (hist.getAction() == HandAction.ACTION_RAISE) {
-                        wasRaisedPreFlop_ = Boolean.TRUE;
-                        break;
-                    }
-                }
-            }
-
-            if (wasRaisedPreFlop_ == null)
-            {
-                wasRaisedPreFlop_ = Boolean.FALSE;
-            }
-        }
-
-        return wasRaisedPreFlop_;
+        return historyIndex_.wasRaisedPreFlop();
     }
 
     /**
@@ -3155,30 +2965,7 @@ public class HoldemHand implements DataMarshal
      */
     public boolean paidToPlay(PokerPlayer player)
     {
-        if (player == null) return false;
-
-        HandAction hist;
-
-        synchronized (history_)
-        {
-            for (int i = history_.size() - 1; i >= 0; --i)
-            {
-                hist = history_.get(i);
-
-                if ((hist.getRound() == ROUND_PRE_FLOP) && (hist.getPlayer() == player))
-                {
-                    switch (hist.getAction())
-                    {
-                        case HandAction.ACTION_BET:
-                        case HandAction.ACTION_CALL:
-                        case HandAction.ACTION_RAISE:
-                            return true;
-                    }
-                }
-            }
-        }
-
-        return false;
+        return historyIndex_.paidToPlay(player);
     }
 
     /**
@@ -3188,31 +2975,7 @@ public class HoldemHand implements DataMarshal
      */
     public int getNumLimpers()
     {
-        HandAction hist;
-
-        int limpers = 0;
-
-        synchronized (history_)
-        {
-            for (HandAction handAction : history_) {
-                hist = handAction;
-
-                if (hist.getRound() == ROUND_PRE_FLOP) {
-                    switch (hist.getAction()) {
-                        case HandAction.ACTION_CALL:
-                            ++limpers;
-                            break;
-                        case HandAction.ACTION_RAISE:
-                            limpers = 0;
-                            break;
-                    }
-                } else {
-                    break;
-                }
-            }
-        }
-
-        return limpers;
+        return historyIndex_.getNumLimpers();
     }
 
     /**
@@ -3220,33 +2983,7 @@ public class HoldemHand implements DataMarshal
      */
     public HandAction getFirstVoluntaryAction(PokerPlayer player, int round)
     {
-        if (player == null) return null;
-
-        HandAction hist;
-
-        synchronized (history_)
-        {
-            for (HandAction handAction : history_) {
-                hist = handAction;
-
-                if (hist.getRound() == round) {
-                    if (hist.getPlayer() == player) {
-                        switch (hist.getAction()) {
-                            case HandAction.ACTION_BLIND_BIG:
-                            case HandAction.ACTION_BLIND_SM:
-                            case HandAction.ACTION_ANTE:
-                                continue;
-                            default:
-                                return hist;
-                        }
-                    }
-                } else if (hist.getRound() > round) {
-                    return null;
-                }
-            }
-        }
-
-        return null;
+        return historyIndex_.getFirstVoluntaryAction(player, round);
     }
 
     /**
@@ -3255,28 +2992,7 @@ public class HoldemHand implements DataMarshal
      */
     public PokerPlayer getFirstBettor(int round, boolean withChips)
     {
-        HandAction hist;
-
-        synchronized (history_)
-        {
-            for (HandAction handAction : history_) {
-                hist = handAction;
-
-                PokerPlayer player = hist.getPlayer();
-
-                if ((hist.getRound() == round) && (!withChips || player.getChipCount() > 0)) {
-                    switch (hist.getAction()) {
-                        case HandAction.ACTION_BET:
-                        case HandAction.ACTION_RAISE:
-                            return player;
-                    }
-                } else if (hist.getRound() > round) {
-                    return null;
-                }
-            }
-        }
-
-        return null;
+        return historyIndex_.getBettor(round, withChips, true);
     }
 
     /**
@@ -3285,63 +3001,12 @@ public class HoldemHand implements DataMarshal
      */
     public PokerPlayer getLastBettor(int round, boolean withChips)
     {
-        HandAction hist;
-
-        synchronized (history_)
-        {
-            int size = history_.size();
-
-            for (int i = size - 1; i >= 0; --i)
-            {
-                hist = history_.get(i);
-
-                PokerPlayer player = hist.getPlayer();
-
-                if ((hist.getRound() == round) && (!withChips || player.getChipCount() > 0))
-                {
-                    switch (hist.getAction())
-                    {
-                        case HandAction.ACTION_BET:
-                        case HandAction.ACTION_RAISE:
-                            return player;
-                    }
-                }
-                else if (hist.getRound() < round)
-                {
-                    return null;
-                }
-            }
-        }
-
-        return null;
+        return historyIndex_.getBettor(round, withChips, false);
     }
 
     public int getNumFoldsSinceLastBet()
     {
-        HandAction hist;
-        int count = 0;
-
-        synchronized (history_)
-        {
-            int size = history_.size();
-
-            for (int i = size - 1; i >= 0; --i)
-            {
-                hist = history_.get(i);
-
-                switch (hist.getAction())
-                {
-                    case HandAction.ACTION_FOLD:
-                        ++count;
-                        break;
-                    case HandAction.ACTION_BET:
-                    case HandAction.ACTION_RAISE:
-                        return count;
-                }
-            }
-        }
-
-        return count;
+        return historyIndex_.getNumFoldsSinceLastBet();
     }
 
     /**
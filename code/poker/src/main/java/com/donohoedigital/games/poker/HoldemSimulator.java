@@ -82,7 +82,7 @@ public class HoldemSimulator
      */
     public static StatResults simulate(Hand hole, Hand community, int precision, DDProgressFeedback progress)
     {
-        Deck deck = new Deck(true);
+        Deck deck = Deck.getSimulationDeck();
         deck.removeCards(hole);
         if (community != null)
         {
@@ -538,7 +538,7 @@ public class HoldemSimulator
                                         DDProgressFeedback progress)
     {
         //long now = System.currentTimeMillis();
-        Deck deck = new Deck(true);
+        Deck deck = Deck.getSimulationDeck();
 
         StatResult[] results = new StatResult[hands.length];
 
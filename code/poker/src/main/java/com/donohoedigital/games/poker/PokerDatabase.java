@@ -275,6 +275,8 @@ public class PokerDatabase
                     "FOREIGN KEY (ACT_PLAYER_ID) REFERENCES TOURNAMENT_PLAYER (TPL_ID)\n" +
                     ")");
         }
+
+        PokerDatabaseSummary.initSchema(conn);
     }
 
     public static void testConnection()
@@ -504,6 +506,8 @@ public class PokerDatabase
                     {
                         pstmt.close();
                     }
+
+                    PokerDatabaseSummary.rebuild(conn, tournamentID);
                 }
 
                 game.setDeleteHandsAfterSaveDate(false);
@@ -648,6 +652,27 @@ public class PokerDatabase
                 pstmt.close();
             }
 
+            // update pre-aggregated stats for the profile player (see storePlayer)
+            for (int p = 0; p < numPlayers; ++p)
+            {
+                PokerPlayer player = hhand.getPlayerAt(p);
+                if (!player.isHuman() || !player.isLocallyControlled()) continue;
+
+                Hand pocket = player.getHand();
+                int seat = player.getSeat();
+
+                PokerDatabaseSummary.addHand(conn,
+                                             new Timestamp(player.getProfile().getCreateDate()),
+                                             tournamentID,
+                                             player.getStartingPositionCategory(),
+                                             pocket.size() > 0 ? toString(pocket.getCard(0)) : null,
+                                             pocket.size() > 1 ? toString(pocket.getCard(1)) : null,
+                                             new BigDecimal(player.getChipCountAtStart()),
+                                             new BigDecimal(player.getChipCount()),
+                                             new BigDecimal(hhand.getBigBlind()),
+                                             act[seat]);
+            }
+
             pstmt = conn.prepareStatement(
                     "INSERT INTO PLAYER_ACTION (\n" +
                     "ACT_HAND_ID,\n" +
@@ -920,6 +945,9 @@ public class PokerDatabase
     {
         PreparedStatement pstmt;
 
+        // delete summarized stats
+        PokerDatabaseSummary.delete(conn, (int) hist.getGameId());
+
         // delete player actions
         pstmt = conn.prepareStatement(
                 "DELETE FROM PLAYER_ACTION\n" +
@@ -1050,6 +1078,7 @@ public class PokerDatabase
 
         try
         {
+            PokerDatabaseSummary.delete(conn, 0);
             stmt.executeUpdate("DELETE FROM PLAYER_ACTION");
             stmt.executeUpdate("DELETE FROM PLAYER_HAND");
             stmt.executeUpdate("DELETE FROM HAND");
@@ -0,0 +1,522 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.games.poker;
+
+import org.apache.logging.log4j.*;
+
+import java.math.*;
+import java.sql.*;
+import java.util.*;
+
+/**
+ * Pre-aggregated hand statistics used by the {@link StatisticsViewer}.  Rather than grouping
+ * every PLAYER_HAND row by the (Java) hand class stored procedure each time the viewer is
+ * opened, per-profile totals are kept in two summary tables:
+ * <ul>
+ * <li>PLAYER_HAND_SUMMARY - keyed by profile, tournament, hand class and starting position</li>
+ * <li>PLAYER_ROUND_SUMMARY - same key plus betting round</li>
+ * </ul>
+ * Rows are updated incrementally as each hand is stored.  When the tables are first created
+ * (or a tournament's hands are rewritten) they are backfilled from PLAYER_HAND.  Starting
+ * position isn't recorded in PLAYER_HAND, so backfilled rows use {@link #POSITION_UNKNOWN}.
+ */
+class PokerDatabaseSummary
+{
+    static Logger logger = LogManager.getLogger(PokerDatabaseSummary.class);
+
+    /**
+     * position used for rows rebuilt from PLAYER_HAND
+     */
+    static final int POSITION_UNKNOWN = -1;
+
+    private static final int BETS_SCALE = 6;
+
+    /**
+     * Create summary tables if missing, backfilling from existing hand history.
+     */
+    static void initSchema(Connection conn) throws SQLException
+    {
+        boolean bCreated = false;
+        Statement stmt = conn.createStatement();
+
+        try
+        {
+            if (!conn.getMetaData().getTables(null, null, "PLAYER_HAND_SUMMARY", null).next())
+            {
+                stmt.executeUpdate(
+                        "CREATE CACHED TABLE PLAYER_HAND_SUMMARY (\n" +
+                        "PHS_PROFILE_CREATE_DATE TIMESTAMP NOT NULL,\n" +
+                        "PHS_TOURNAMENT_ID INTEGER NOT NULL,\n" +
+                        "PHS_HAND_CLASS VARCHAR(3) NOT NULL,\n" +
+                        "PHS_HAND_CLASS_RANK INTEGER NOT NULL,\n" +
+                        "PHS_POSITION INTEGER NOT NULL,\n" +
+                        "PHS_HANDS INTEGER NOT NULL,\n" +
+                        "PHS_WON INTEGER NOT NULL,\n" +
+                        "PHS_LOST INTEGER NOT NULL,\n" +
+                        "PHS_PASSED INTEGER NOT NULL,\n" +
+                        "PHS_BETS_WON DECIMAL NOT NULL,\n" +
+                        "PHS_SAW_FLOP INTEGER NOT NULL,\n" +
+                        "PHS_SAW_TURN INTEGER NOT NULL,\n" +
+                        "PHS_SAW_RIVER INTEGER NOT NULL,\n" +
+                        "PHS_SAW_SHOWDOWN INTEGER NOT NULL,\n" +
+                        "PRIMARY KEY (PHS_PROFILE_CREATE_DATE, PHS_TOURNAMENT_ID, PHS_HAND_CLASS, PHS_POSITION)\n" +
+                        ")");
+                bCreated = true;
+            }
+
+            if (!conn.getMetaData().getTables(null, null, "PLAYER_ROUND_SUMMARY", null).next())
+            {
+                stmt.executeUpdate(
+                        "CREATE CACHED TABLE PLAYER_ROUND_SUMMARY (\n" +
+                        "PRS_PROFILE_CREATE_DATE TIMESTAMP NOT NULL,\n" +
+                        "PRS_TOURNAMENT_ID INTEGER NOT NULL,\n" +
+                        "PRS_HAND_CLASS VARCHAR(3) NOT NULL,\n" +
+                        "PRS_HAND_CLASS_RANK INTEGER NOT NULL,\n" +
+                        "PRS_POSITION INTEGER NOT NULL,\n" +
+                        "PRS_ROUND INTEGER NOT NULL,\n" +
+                        "PRS_HANDS INTEGER NOT NULL,\n" +
+                        "PRS_CHECKED INTEGER NOT NULL,\n" +
+                        "PRS_CHECK_RAISED INTEGER NOT NULL,\n" +
+                        "PRS_CALLED INTEGER NOT NULL,\n" +
+                        "PRS_BET INTEGER NOT NULL,\n" +
+                        "PRS_RAISED INTEGER NOT NULL,\n" +
+                        "PRS_RERAISED INTEGER NOT NULL,\n" +
+                        "PRS_FOLDED INTEGER NOT NULL,\n" +
+                        "PRS_WON INTEGER NOT NULL,\n" +
+                        "PRIMARY KEY (PRS_PROFILE_CREATE_DATE, PRS_TOURNAMENT_ID, PRS_HAND_CLASS, PRS_POSITION, PRS_ROUND)\n" +
+                        ")");
+                bCreated = true;
+            }
+        }
+        finally
+        {
+            stmt.close();
+        }
+
+        if (bCreated)
+        {
+            rebuild(conn, 0);
+        }
+    }
+
+    /**
+     * Record a single stored hand for a profile player.  The actions array is indexed by
+     * round and contains the PokerDatabase.BIT_* flags for that player.
+     */
+    static void addHand(Connection conn, Timestamp profileCreateDate, int tournamentID, int position,
+                        String card1, String card2, BigDecimal startChips, BigDecimal endChips,
+                        BigDecimal bigBlind, byte[] actions) throws SQLException
+    {
+        Summary summary = new Summary();
+        summary.add(profileCreateDate, tournamentID, position, card1, card2, startChips, endChips, bigBlind, actions);
+        summary.store(conn);
+    }
+
+    /**
+     * Recompute summary rows from PLAYER_HAND for the given tournament (or all tournaments
+     * if tournamentID is 0), replacing what was there.
+     */
+    static void rebuild(Connection conn, int tournamentID) throws SQLException
+    {
+        long start = System.currentTimeMillis();
+        boolean bAutoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+
+        try
+        {
+            delete(conn, tournamentID);
+
+            Summary summary = new Summary();
+            PreparedStatement pstmt = conn.prepareStatement(
+                    "SELECT TPL_PROFILE_CREATE_DATE, TPL_TOURNAMENT_ID,\n" +
+                    "PLH_CARD_1, PLH_CARD_2, PLH_START_CHIPS, PLH_END_CHIPS, HND_BIG_BLIND,\n" +
+                    "PLH_PREFLOP_ACTIONS, PLH_FLOP_ACTIONS, PLH_TURN_ACTIONS, PLH_RIVER_ACTIONS\n" +
+                    "FROM TOURNAMENT_PLAYER, PLAYER_HAND, HAND\n" +
+                    "WHERE PLH_HAND_ID=HND_ID AND PLH_PLAYER_ID=TPL_ID\n" +
+                    "AND TPL_PROFILE_CREATE_DATE IS NOT NULL" +
+                    (tournamentID == 0 ? "" : " AND TPL_TOURNAMENT_ID=?"));
+
+            try
+            {
+                if (tournamentID != 0) pstmt.setInt(1, tournamentID);
+
+                ResultSet rs = pstmt.executeQuery();
+
+                try
+                {
+                    while (rs.next())
+                    {
+                        byte[] actions = new byte[4];
+                        for (int i = 0; i < 4; ++i)
+                        {
+                            actions[i] = rs.getByte(8 + i);
+                        }
+                        summary.add(rs.getTimestamp(1), rs.getInt(2), POSITION_UNKNOWN,
+                                    rs.getString(3), rs.getString(4),
+                                    rs.getBigDecimal(5), rs.getBigDecimal(6), rs.getBigDecimal(7),
+                                    actions);
+                    }
+                }
+                finally
+                {
+                    rs.close();
+                }
+            }
+            finally
+            {
+                pstmt.close();
+            }
+
+            summary.store(conn);
+            conn.commit();
+
+            logger.info("Rebuilt hand summary" + (tournamentID == 0 ? "" : " for tournament " + tournamentID) +
+                        " (" + summary.handRows_.size() + " rows) in " + (System.currentTimeMillis() - start) + " millis");
+        }
+        catch (SQLException e)
+        {
+            conn.rollback();
+            throw e;
+        }
+        finally
+        {
+            conn.setAutoCommit(bAutoCommit);
+        }
+    }
+
+    /**
+     * Remove summary rows for the given tournament (or all if tournamentID is 0)
+     */
+    static void delete(Connection conn, int tournamentID) throws SQLException
+    {
+        String[] tables = {"PLAYER_HAND_SUMMARY", "PLAYER_ROUND_SUMMARY"};
+        String[] prefixes = {"PHS", "PRS"};
+
+        for (int i = 0; i < tables.length; ++i)
+        {
+            PreparedStatement pstmt = conn.prepareStatement(
+                    "DELETE FROM " + tables[i] +
+                    (tournamentID == 0 ? "" : "\nWHERE " + prefixes[i] + "_TOURNAMENT_ID=?"));
+
+            try
+            {
+                if (tournamentID != 0) pstmt.setInt(1, tournamentID);
+                pstmt.executeUpdate();
+            }
+            finally
+            {
+                pstmt.close();
+            }
+        }
+    }
+
+    /**
+     * Key shared by both summary tables (round is ignored for hand rows)
+     */
+    private static class Key
+    {
+        Timestamp profileCreateDate;
+        int tournamentID;
+        String handClass;
+        int handClassRank;
+        int position;
+        int round;
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return tournamentID == k.tournamentID && position == k.position && round == k.round &&
+                   handClass.equals(k.handClass) && profileCreateDate.equals(k.profileCreateDate);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(profileCreateDate, tournamentID, handClass, position, round);
+        }
+    }
+
+    /**
+     * Totals for a PLAYER_HAND_SUMMARY row
+     */
+    private static class HandTally
+    {
+        int hands;
+        int won;
+        int lost;
+        int passed;
+        BigDecimal betsWon = BigDecimal.ZERO;
+        int sawFlop;
+        int sawTurn;
+        int sawRiver;
+        int sawShowdown;
+    }
+
+    /**
+     * Totals for a PLAYER_ROUND_SUMMARY row
+     */
+    private static class RoundTally
+    {
+        int hands;
+        int checked;
+        int checkRaised;
+        int called;
+        int bet;
+        int raised;
+        int reraised;
+        int folded;
+        int won;
+    }
+
+    /**
+     * In-memory accumulation of summary rows, written out via {@link #store}
+     */
+    private static class Summary
+    {
+        private final Map<Key, HandTally> handRows_ = new LinkedHashMap<Key, HandTally>();
+        private final Map<Key, RoundTally> roundRows_ = new LinkedHashMap<Key, RoundTally>();
+
+        /**
+         * Add one player's hand.  Mirrors the per-row expressions the viewer used to
+         * compute directly from PLAYER_HAND.
+         */
+        void add(Timestamp profileCreateDate, int tournamentID, int position,
+                 String card1, String card2, BigDecimal startChips, BigDecimal endChips,
+                 BigDecimal bigBlind, byte[] actions)
+        {
+            Key key = new Key();
+            key.profileCreateDate = profileCreateDate;
+            key.tournamentID = tournamentID;
+            key.handClass = PokerDatabaseProcs.getHandClass(card1, card2);
+            key.handClassRank = PokerDatabaseProcs.getHandClassRank(card1, card2);
+            key.position = position;
+            key.round = -1;
+
+            HandTally hand = handRows_.get(key);
+            if (hand == null)
+            {
+                hand = new HandTally();
+                handRows_.put(key, hand);
+            }
+
+            if (startChips == null) startChips = BigDecimal.ZERO;
+            if (endChips == null) endChips = BigDecimal.ZERO;
+
+            int cmp = endChips.compareTo(startChips);
+            hand.hands++;
+            if (cmp > 0) hand.won++;
+            else if (cmp < 0) hand.lost++;
+            else hand.passed++;
+
+            if (bigBlind != null && bigBlind.signum() != 0)
+            {
+                hand.betsWon = hand.betsWon.add(endChips.subtract(startChips).divide(bigBlind, BETS_SCALE, RoundingMode.HALF_UP));
+            }
+
+            boolean bFolded = false;
+            for (int round = HoldemHand.ROUND_PRE_FLOP; round <= HoldemHand.ROUND_RIVER; ++round)
+            {
+                bFolded |= (actions[round] & PokerDatabase.BIT_FOLD) != 0;
+                if (!bFolded)
+                {
+                    switch (round)
+                    {
+                        case HoldemHand.ROUND_PRE_FLOP:
+                            hand.sawFlop++;
+                            break;
+                        case HoldemHand.ROUND_FLOP:
+                            hand.sawTurn++;
+                            break;
+                        case HoldemHand.ROUND_TURN:
+                            hand.sawRiver++;
+                            break;
+                        case HoldemHand.ROUND_RIVER:
+                            hand.sawShowdown++;
+                            break;
+                    }
+                }
+
+                byte act = actions[round];
+                if (act == 0) continue;
+
+                Key rkey = new Key();
+                rkey.profileCreateDate = key.profileCreateDate;
+                rkey.tournamentID = key.tournamentID;
+                rkey.handClass = key.handClass;
+                rkey.handClassRank = key.handClassRank;
+                rkey.position = key.position;
+                rkey.round = round;
+
+                RoundTally tally = roundRows_.get(rkey);
+                if (tally == null)
+                {
+                    tally = new RoundTally();
+                    roundRows_.put(rkey, tally);
+                }
+
+                tally.hands++;
+                if ((act & PokerDatabase.BIT_CHECK) != 0) tally.checked++;
+                if ((act & PokerDatabase.BIT_CHECK) != 0 && (act & PokerDatabase.BIT_RAISE) != 0) tally.checkRaised++;
+                if ((act & PokerDatabase.BIT_CALL) != 0) tally.called++;
+                if ((act & PokerDatabase.BIT_BET) != 0) tally.bet++;
+                if ((act & PokerDatabase.BIT_RAISE) != 0) tally.raised++;
+                if ((act & PokerDatabase.BIT_RERAISE) != 0) tally.reraised++;
+                if ((act & PokerDatabase.BIT_FOLD) != 0) tally.folded++;
+                if ((act & PokerDatabase.BIT_WIN) != 0) tally.won++;
+            }
+        }
+
+        /**
+         * Add accumulated totals to the database (update existing row, else insert)
+         */
+        void store(Connection conn) throws SQLException
+        {
+            PreparedStatement update = conn.prepareStatement(
+                    "UPDATE PLAYER_HAND_SUMMARY SET\n" +
+                    "PHS_HANDS=PHS_HANDS+?, PHS_WON=PHS_WON+?, PHS_LOST=PHS_LOST+?, PHS_PASSED=PHS_PASSED+?,\n" +
+                    "PHS_BETS_WON=PHS_BETS_WON+?, PHS_SAW_FLOP=PHS_SAW_FLOP+?, PHS_SAW_TURN=PHS_SAW_TURN+?,\n" +
+                    "PHS_SAW_RIVER=PHS_SAW_RIVER+?, PHS_SAW_SHOWDOWN=PHS_SAW_SHOWDOWN+?\n" +
+                    "WHERE PHS_PROFILE_CREATE_DATE=? AND PHS_TOURNAMENT_ID=? AND PHS_HAND_CLASS=? AND PHS_POSITION=?");
+            PreparedStatement insert = conn.prepareStatement(
+                    "INSERT INTO PLAYER_HAND_SUMMARY (\n" +
+                    "PHS_HANDS, PHS_WON, PHS_LOST, PHS_PASSED, PHS_BETS_WON,\n" +
+                    "PHS_SAW_FLOP, PHS_SAW_TURN, PHS_SAW_RIVER, PHS_SAW_SHOWDOWN,\n" +
+                    "PHS_PROFILE_CREATE_DATE, PHS_TOURNAMENT_ID, PHS_HAND_CLASS, PHS_POSITION, PHS_HAND_CLASS_RANK\n" +
+                    ") VALUES (?,?,?,?,?,?,?,?,?,?,?,?,?,?)");
+
+            try
+            {
+                for (Map.Entry<Key, HandTally> entry : handRows_.entrySet())
+                {
+                    Key key = entry.getKey();
+                    HandTally t = entry.getValue();
+
+                    int i = bindHand(update, t);
+                    i = bindKey(update, i, key);
+                    if (update.executeUpdate() == 0)
+                    {
+                        i = bindHand(insert, t);
+                        i = bindKey(insert, i, key);
+                        insert.setInt(i, key.handClassRank);
+                        insert.executeUpdate();
+                    }
+                }
+            }
+            finally
+            {
+                update.close();
+                insert.close();
+            }
+
+            update = conn.prepareStatement(
+                    "UPDATE PLAYER_ROUND_SUMMARY SET\n" +
+                    "PRS_HANDS=PRS_HANDS+?, PRS_CHECKED=PRS_CHECKED+?, PRS_CHECK_RAISED=PRS_CHECK_RAISED+?,\n" +
+                    "PRS_CALLED=PRS_CALLED+?, PRS_BET=PRS_BET+?, PRS_RAISED=PRS_RAISED+?,\n" +
+                    "PRS_RERAISED=PRS_RERAISED+?, PRS_FOLDED=PRS_FOLDED+?, PRS_WON=PRS_WON+?\n" +
+                    "WHERE PRS_PROFILE_CREATE_DATE=? AND PRS_TOURNAMENT_ID=? AND PRS_HAND_CLASS=? AND PRS_POSITION=?\n" +
+                    "AND PRS_ROUND=?");
+            insert = conn.prepareStatement(
+                    "INSERT INTO PLAYER_ROUND_SUMMARY (\n" +
+                    "PRS_HANDS, PRS_CHECKED, PRS_CHECK_RAISED, PRS_CALLED, PRS_BET,\n" +
+                    "PRS_RAISED, PRS_RERAISED, PRS_FOLDED, PRS_WON,\n" +
+                    "PRS_PROFILE_CREATE_DATE, PRS_TOURNAMENT_ID, PRS_HAND_CLASS, PRS_POSITION, PRS_ROUND,\n" +
+                    "PRS_HAND_CLASS_RANK\n" +
+                    ") VALUES (?,?,?,?,?,?,?,?,?,?,?,?,?,?,?)");
+
+            try
+            {
+                for (Map.Entry<Key, RoundTally> entry : roundRows_.entrySet())
+                {
+                    Key key = entry.getKey();
+                    RoundTally t = entry.getValue();
+
+                    int i = bindRound(update, t);
+                    i = bindKey(update, i, key);
+                    update.setInt(i, key.round);
+                    if (update.executeUpdate() == 0)
+                    {
+                        i = bindRound(insert, t);
+                        i = bindKey(insert, i, key);
+                        insert.setInt(i++, key.round);
+                        insert.setInt(i, key.handClassRank);
+                        insert.executeUpdate();
+                    }
+                }
+            }
+            finally
+            {
+                update.close();
+                insert.close();
+            }
+        }
+
+        private static int bindHand(PreparedStatement pstmt, HandTally t) throws SQLException
+        {
+            pstmt.setInt(1, t.hands);
+            pstmt.setInt(2, t.won);
+            pstmt.setInt(3, t.lost);
+            pstmt.setInt(4, t.passed);
+            pstmt.setBigDecimal(5, t.betsWon);
+            pstmt.setInt(6, t.sawFlop);
+            pstmt.setInt(7, t.sawTurn);
+            pstmt.setInt(8, t.sawRiver);
+            pstmt.setInt(9, t.sawShowdown);
+            return 10;
+        }
+
+        private static int bindRound(PreparedStatement pstmt, RoundTally t) throws SQLException
+        {
+            pstmt.setInt(1, t.hands);
+            pstmt.setInt(2, t.checked);
+            pstmt.setInt(3, t.checkRaised);
+            pstmt.setInt(4, t.called);
+            pstmt.setInt(5, t.bet);
+            pstmt.setInt(6, t.raised);
+            pstmt.setInt(7, t.reraised);
+            pstmt.setInt(8, t.folded);
+            pstmt.setInt(9, t.won);
+            return 10;
+        }
+
+        private static int bindKey(PreparedStatement pstmt, int i, Key key) throws SQLException
+        {
+            pstmt.setTimestamp(i++, key.profileCreateDate);
+            pstmt.setInt(i++, key.tournamentID);
+            pstmt.setString(i++, key.handClass);
+            pstmt.setInt(i++, key.position);
+            return i;
+        }
+    }
+}
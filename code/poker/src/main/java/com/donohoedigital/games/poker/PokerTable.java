@@ -1416,6 +1416,15 @@ public class PokerTable implements ObjectID
      * Start a new hand
      */
     public void startNewHand()
+    {
+        startNewHand(null);
+    }
+
+    /**
+     * Start a new hand dealt from the given deck (a new
+     * shuffled deck is used if null)
+     */
+    public void startNewHand(Deck deck)
     {
         PokerGame game = getGame();
         
@@ -1423,7 +1432,7 @@ public class PokerTable implements ObjectID
         newHand(game);
                 
         // create new hand
-        HoldemHand hand = new HoldemHand(this);
+        HoldemHand hand = new HoldemHand(this, deck);
         setHoldemHand(hand);
 
         // deal
@@ -732,6 +732,7 @@ public class PokerUtils extends EngineUtils
     public static boolean isOptionOn(String sName)
     {
         GameEngine engine = GameEngine.getGameEngine();
+        if (engine == null) return PropertyConfig.getRequiredBooleanProperty(DDOption.GetDefaultKey(sName)); // headless
         return engine.getPrefsNode().getBooleanOption(sName);
     }
 
@@ -741,6 +742,7 @@ public class PokerUtils extends EngineUtils
     public static String getStringOption(String sName)
     {
         GameEngine engine = GameEngine.getGameEngine();
+        if (engine == null) return PropertyConfig.getRequiredStringProperty(DDOption.GetDefaultKey(sName)); // headless
         return engine.getPrefsNode().getStringOption(sName);
     }
 
@@ -750,6 +752,7 @@ public class PokerUtils extends EngineUtils
     public static int getIntOption(String sName)
     {
         GameEngine engine = GameEngine.getGameEngine();
+        if (engine == null) return PropertyConfig.getRequiredIntegerProperty(DDOption.GetDefaultKey(sName)); // headless
         return engine.getPrefsNode().getIntOption(sName);
     }
 
@@ -759,6 +762,7 @@ public class PokerUtils extends EngineUtils
     public static int getIntPref(String sName, int nDefault)
     {
         GameEngine engine = GameEngine.getGameEngine();
+        if (engine == null) return nDefault; // headless
         return engine.getPrefsNode().getInt(sName, nDefault);
     }
 
@@ -274,33 +274,27 @@ public class StatisticsViewer extends BasePhase implements ActionListener
                 "stats.seeshowdown"
             };
 
+    /**
+     * Hand stats, read from the pre-aggregated PLAYER_HAND_SUMMARY table (see PokerDatabaseSummary)
+     */
     private static class ByHandModel extends DatabaseQueryTableModel
     {
         public ByHandModel(String sWhere, String sGroupBy, String sOrderBy, BindArray bindArray, boolean bHands)
         {
-            // bHands is a hack to work around an apparent sproc bug in hsqldb
-
             super(PokerDatabase.getDatabase(),
                     byHandColNames_,
-                    "SELECT " + (bHands ? "\"com.donohoedigital.games.poker.PokerDatabaseProcs.getHandClass\"(PLH_CARD_1, PLH_CARD_2)" : "'??'") + ',' +
-                    "COUNT(*),\n" +
-                    "CONCAT(SUM(CASE WHEN PLH_END_CHIPS > PLH_START_CHIPS THEN 1.0 ELSE 0 END) * 100 / COUNT(*),'%'),\n" +
-                    "CONCAT(SUM(CASE WHEN PLH_END_CHIPS < PLH_START_CHIPS THEN 1.0 ELSE 0 END) * 100 / COUNT(*),'%'),\n" +
-                    "CONCAT(SUM(CASE WHEN PLH_END_CHIPS = PLH_START_CHIPS THEN 1.0 ELSE 0 END) * 100 / COUNT(*),'%'),\n" +
-                    "AVG((PLH_END_CHIPS - PLH_START_CHIPS) / (1.00 * HND_BIG_BLIND)),\n" +
-                    "CONCAT(SUM(CASE WHEN BITAND(PLH_PREFLOP_ACTIONS , " + PokerDatabase.BIT_FOLD + ") <> 0 THEN 0 ELSE 1 END) * 100 / COUNT(*),'%'),\n" +
-                    "CONCAT(SUM(CASE WHEN BITAND(PLH_PREFLOP_ACTIONS , " + PokerDatabase.BIT_FOLD + ") <> 0 OR  " +
-                    "BITAND(PLH_FLOP_ACTIONS , " + PokerDatabase.BIT_FOLD + ") <> 0 THEN 0 ELSE 1 END) * 100 / COUNT(*),'%'),\n" +
-                    "CONCAT(SUM(CASE WHEN BITAND(PLH_PREFLOP_ACTIONS , " + PokerDatabase.BIT_FOLD + ") <> 0 OR " +
-                    "BITAND(PLH_FLOP_ACTIONS , " + PokerDatabase.BIT_FOLD + ") <> 0 OR " +
-                    "BITAND(PLH_TURN_ACTIONS , " + PokerDatabase.BIT_FOLD + ") <> 0 THEN 0 ELSE 1 END) * 100 / COUNT(*),'%'),\n" +
-                    "CONCAT(SUM(CASE WHEN BITAND(PLH_PREFLOP_ACTIONS , " + PokerDatabase.BIT_FOLD + ") <> 0 OR " +
-                    "BITAND(PLH_FLOP_ACTIONS , " + PokerDatabase.BIT_FOLD + ") <> 0 OR " +
-                    "BITAND(PLH_TURN_ACTIONS , " + PokerDatabase.BIT_FOLD + ") <> 0 OR " +
-                    "BITAND(PLH_RIVER_ACTIONS , " + PokerDatabase.BIT_FOLD + ") <> 0 THEN 0 ELSE 1 END) * 100 / COUNT(*),'%')\n" +
-                    "FROM TOURNAMENT_PLAYER, PLAYER_HAND, HAND\n" +
-                    "WHERE PLH_HAND_ID=HND_ID AND PLH_PLAYER_ID=TPL_ID" +
-                    (sWhere == null ? "" : "\nAND " + sWhere) +
+                    "SELECT " + (bHands ? "PHS_HAND_CLASS" : "'??'") + ',' +
+                    "COALESCE(SUM(PHS_HANDS), 0),\n" +
+                    "CONCAT(SUM(PHS_WON * 1.0) * 100 / SUM(PHS_HANDS),'%'),\n" +
+                    "CONCAT(SUM(PHS_LOST * 1.0) * 100 / SUM(PHS_HANDS),'%'),\n" +
+                    "CONCAT(SUM(PHS_PASSED * 1.0) * 100 / SUM(PHS_HANDS),'%'),\n" +
+                    "SUM(PHS_BETS_WON) / SUM(PHS_HANDS),\n" +
+                    "CONCAT(SUM(PHS_SAW_FLOP) * 100 / SUM(PHS_HANDS),'%'),\n" +
+                    "CONCAT(SUM(PHS_SAW_TURN) * 100 / SUM(PHS_HANDS),'%'),\n" +
+                    "CONCAT(SUM(PHS_SAW_RIVER) * 100 / SUM(PHS_HANDS),'%'),\n" +
+                    "CONCAT(SUM(PHS_SAW_SHOWDOWN) * 100 / SUM(PHS_HANDS),'%')\n" +
+                    "FROM PLAYER_HAND_SUMMARY" +
+                    (sWhere == null ? "" : "\nWHERE " + sWhere) +
                     (sGroupBy == null ? "" : "\nGROUP BY " + sGroupBy) +
                     (sOrderBy == null ? "" : "\nORDER BY " + sOrderBy), bindArray);
         }
@@ -361,11 +355,8 @@ public class StatisticsViewer extends BasePhase implements ActionListener
                 bindArray.addValue(Types.INTEGER, hist.getGameId());
             }
             ByHandModel dmodel = new ByHandModel(
-                    "PLH_PLAYER_ID IN (\n" +
-                    "SELECT TPL_ID FROM TOURNAMENT_PLAYER\n" +
-                    "WHERE TPL_PROFILE_CREATE_DATE=?" +
-                    (hist.getGameId() != 0 ? " AND TPL_TOURNAMENT_ID=?" : "") +
-                                                                              ')',null, null, bindArray, false);
+                    "PHS_PROFILE_CREATE_DATE=?" + (hist.getGameId() != 0 ? " AND PHS_TOURNAMENT_ID=?" : ""),
+                    null, null, bindArray, false);
 
             GameEngine engine = GameEngine.getGameEngine();
             String sLocale = null;
@@ -597,9 +588,9 @@ public class StatisticsViewer extends BasePhase implements ActionListener
                 bindArray.addValue(Types.INTEGER, hist.getGameId());
             }
             table_.setModel(new ByHandModel(
-                    "TPL_PROFILE_CREATE_DATE=?" + (hist.getGameId() == 0 ? "" : " AND TPL_TOURNAMENT_ID=?"),
-                    "\"com.donohoedigital.games.poker.PokerDatabaseProcs.getHandClass\"(PLH_CARD_1, PLH_CARD_2)",
-                    "\"com.donohoedigital.games.poker.PokerDatabaseProcs.getHandClassRank\"(PLH_CARD_1, PLH_CARD_2) DESC", bindArray, true));
+                    "PHS_PROFILE_CREATE_DATE=?" + (hist.getGameId() == 0 ? "" : " AND PHS_TOURNAMENT_ID=?"),
+                    "PHS_HAND_CLASS, PHS_HAND_CLASS_RANK",
+                    "PHS_HAND_CLASS_RANK DESC", bindArray, true));
             table_.setExporter(new TableExporter(context_, "byhand"));
         }
 
@@ -742,28 +733,35 @@ public class StatisticsViewer extends BasePhase implements ActionListener
                 "stats.roundwon"
             };
 
+    /**
+     * Round stats, read from the pre-aggregated PLAYER_ROUND_SUMMARY table (see PokerDatabaseSummary)
+     */
     private static class ByRoundModel extends DatabaseQueryTableModel
     {
         public ByRoundModel(int nRound, String sWhere, String sGroupBy, String sOrderBy, BindArray bindArray)
         {
             super(PokerDatabase.getDatabase(),
-                    byRoundColNames_,
-                    "SELECT \"com.donohoedigital.games.poker.PokerDatabaseProcs.getHandClass\"(PLH_CARD_1, PLH_CARD_2)," +
-                    "COUNT(*),\n" +
-                    "CONCAT(SUM(CASE WHEN BITAND(" + getRoundColumn(nRound) + ',' + PokerDatabase.BIT_CHECK + ") > 0 THEN 1 ELSE 0 END) * 100 / COUNT(*),'%'),\n" +
-                    ((nRound == HoldemHand.ROUND_PRE_FLOP) ? "" : "CONCAT(SUM(CASE WHEN BITAND(" + getRoundColumn(nRound) + ',' + PokerDatabase.BIT_CHECK + ") > 0 AND BITAND(" + getRoundColumn(nRound) + ',' + PokerDatabase.BIT_RAISE + ") > 0 THEN 1 ELSE 0 END) * 100 / COUNT(*),'%'),\n") +
-                    "CONCAT(SUM(CASE WHEN BITAND(" + getRoundColumn(nRound) + ',' + PokerDatabase.BIT_CALL + ") > 0 THEN 1 ELSE 0 END) * 100 / COUNT(*),'%'),\n" +
-                    "CONCAT(SUM(CASE WHEN BITAND(" + getRoundColumn(nRound) + ',' + PokerDatabase.BIT_BET + ") > 0 THEN 1 ELSE 0 END) * 100 / COUNT(*),'%'),\n" +
-                    "CONCAT(SUM(CASE WHEN BITAND(" + getRoundColumn(nRound) + ',' + PokerDatabase.BIT_RAISE + ") > 0 THEN 1 ELSE 0 END) * 100 / COUNT(*),'%'),\n" +
-                    "CONCAT(SUM(CASE WHEN BITAND(" + getRoundColumn(nRound) + ',' + PokerDatabase.BIT_RERAISE + ") > 0 THEN 1 ELSE 0 END) * 100 / COUNT(*),'%'),\n" +
-                    "CONCAT(SUM(CASE WHEN BITAND(" + getRoundColumn(nRound) + ',' + PokerDatabase.BIT_FOLD + ") > 0 THEN 1 ELSE 0 END) * 100 / COUNT(*),'%'),\n" +
-                    "CONCAT(SUM(CASE WHEN BITAND(" + getRoundColumn(nRound) + ',' + PokerDatabase.BIT_WIN + ") > 0 THEN 1 ELSE 0 END) * 100 / COUNT(*),'%')\n" +
-                    "FROM TOURNAMENT_PLAYER, PLAYER_HAND\n" +
-                    where(nRound, sWhere) +
+                    (nRound == HoldemHand.ROUND_PRE_FLOP) ? byRoundPreFlopColNames_ : byRoundColNames_,
+                    "SELECT PRS_HAND_CLASS," +
+                    "SUM(PRS_HANDS),\n" +
+                    "CONCAT(SUM(PRS_CHECKED) * 100 / SUM(PRS_HANDS),'%'),\n" +
+                    ((nRound == HoldemHand.ROUND_PRE_FLOP) ? "" : "CONCAT(SUM(PRS_CHECK_RAISED) * 100 / SUM(PRS_HANDS),'%'),\n") +
+                    "CONCAT(SUM(PRS_CALLED) * 100 / SUM(PRS_HANDS),'%'),\n" +
+                    "CONCAT(SUM(PRS_BET) * 100 / SUM(PRS_HANDS),'%'),\n" +
+                    "CONCAT(SUM(PRS_RAISED) * 100 / SUM(PRS_HANDS),'%'),\n" +
+                    "CONCAT(SUM(PRS_RERAISED) * 100 / SUM(PRS_HANDS),'%'),\n" +
+                    "CONCAT(SUM(PRS_FOLDED) * 100 / SUM(PRS_HANDS),'%'),\n" +
+                    "CONCAT(SUM(PRS_WON) * 100 / SUM(PRS_HANDS),'%')\n" +
+                    "FROM PLAYER_ROUND_SUMMARY\n" +
+                    "WHERE PRS_ROUND=" + nRound +
+                    (sWhere == null ? "" : " AND (" + sWhere + ')') +
                     (sGroupBy == null ? "" : "\nGROUP BY " + sGroupBy) +
                     (sOrderBy == null ? "" : "\nORDER BY " + sOrderBy), bindArray);
         }
 
+        /**
+         * where clause for details over the raw PLAYER_HAND rows
+         */
         public static String where(int nRound, String sWhere)
         {
             StringBuilder buf = new StringBuilder();
@@ -883,9 +881,9 @@ public class StatisticsViewer extends BasePhase implements ActionListener
                 bindArray.addValue(Types.INTEGER, hist.getGameId());
             }
             table_.setModel(new ByRoundModel(nRound_,
-                    "TPL_PROFILE_CREATE_DATE=?" + (hist.getGameId() == 0 ? "" : " AND TPL_TOURNAMENT_ID=?"),
-                    "\"com.donohoedigital.games.poker.PokerDatabaseProcs.getHandClass\"(PLH_CARD_1, PLH_CARD_2)",
-                    "\"com.donohoedigital.games.poker.PokerDatabaseProcs.getHandClassRank\"(PLH_CARD_1, PLH_CARD_2) DESC", bindArray));
+                    "PRS_PROFILE_CREATE_DATE=?" + (hist.getGameId() == 0 ? "" : " AND PRS_TOURNAMENT_ID=?"),
+                    "PRS_HAND_CLASS, PRS_HAND_CLASS_RANK",
+                    "PRS_HAND_CLASS_RANK DESC", bindArray));
             table_.setExporter(new TableExporter(context_, HoldemHand.getRoundName(nRound_)));
         }
 
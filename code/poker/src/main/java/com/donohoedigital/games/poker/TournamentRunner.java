@@ -0,0 +1,492 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+/*
+ * TournamentRunner.java
+ *
+ * Created on October 19, 2026
+ */
+
+package com.donohoedigital.games.poker;
+
+import com.donohoedigital.base.*;
+import com.donohoedigital.config.*;
+import com.donohoedigital.games.config.*;
+import com.donohoedigital.games.engine.*;
+import com.donohoedigital.games.poker.ai.*;
+import com.donohoedigital.games.poker.engine.*;
+import com.donohoedigital.games.poker.model.*;
+import org.apache.logging.log4j.*;
+
+import java.lang.management.*;
+import java.util.*;
+import java.util.concurrent.atomic.*;
+import java.util.random.*;
+
+/**
+ * Plays complete all-AI tournaments without a UI, following the same hand flow
+ * as the TournamentDirector (deal, betting, community, showdown, end-hand checks,
+ * table cleanup and consolidation), but using the real AI for every decision
+ * rather than simulating computer-only tables.  Used as an end-to-end
+ * throughput benchmark for the AI and hand logic.
+ * <p>
+ * Each tournament's deals and player types come from a generator seeded from the
+ * batch seed and the tournament number, and the AI's random choices (and other
+ * dice rolls) on the playing thread come from a stream split from it, so a
+ * tournament plays out the same from run to run regardless of how many threads
+ * are used.
+ * <p>
+ * Tournaments can be played on several threads at once.  Each game is
+ * independent and is only touched by the thread playing it, and the AI's
+ * board caches are per-thread (see BoardCache).
+ */
+public class TournamentRunner
+{
+    private static Logger logger = LogManager.getLogger(TournamentRunner.class);
+
+    // phases timed
+    private static final int PHASE_DEAL = 0;
+    private static final int PHASE_BETTING = 1;
+    private static final int PHASE_COMMUNITY = 2;
+    private static final int PHASE_SHOWDOWN = 3;
+    private static final int PHASE_END_HAND = 4;
+    private static final String[] PHASE_NAMES = {"deal", "betting", "community", "showdown", "end hand"};
+
+    // formatting
+    static Format fPhase = new Format("%-10s");
+    static Format fRate = new Format("%,12.1f");
+
+    // members
+    private final TournamentProfile profile_;
+    private final long seed_;
+    private final List<PlayerType> playerTypes_;
+    private RandomGenerator random_;
+
+    // stats
+    private final long[] phaseNanos_ = new long[PHASE_NAMES.length];
+    private long hands_;
+    private long decisions_;
+    private long bytes_;
+
+    /**
+     * Create runner for given profile, with deals and player
+     * types seeded from the given seed
+     */
+    public TournamentRunner(TournamentProfile profile, long seed)
+    {
+        this(profile, seed, getPlayerTypes());
+    }
+
+    /**
+     * Internal constructor - player type list is shared by runners in a batch
+     */
+    private TournamentRunner(TournamentProfile profile, long seed, List<PlayerType> playerTypes)
+    {
+        profile_ = profile;
+        seed_ = seed;
+        playerTypes_ = playerTypes;
+    }
+
+    /**
+     * Get player types to choose from
+     */
+    private static List<PlayerType> getPlayerTypes()
+    {
+        List<PlayerType> types = new ArrayList<PlayerType>();
+        for (BaseProfile type : PlayerType.getProfileListCached())
+        {
+            types.add((PlayerType) type);
+        }
+        if (types.isEmpty()) types.add(PlayerType.getDefaultProfile());
+        return types;
+    }
+
+    /**
+     * Play given number of tournaments and log throughput
+     */
+    public void run(int nTournaments)
+    {
+        run(nTournaments, 1);
+    }
+
+    /**
+     * Play given number of tournaments using the given number of
+     * threads and log throughput
+     */
+    public void run(final int nTournaments, int nThreads)
+    {
+        final AtomicInteger next = new AtomicInteger(0);
+        TournamentRunner[] runners = new TournamentRunner[nThreads];
+        Thread[] threads = new Thread[nThreads];
+
+        long nStart = System.nanoTime();
+        for (int i = 0; i < nThreads; i++)
+        {
+            final TournamentRunner runner = new TournamentRunner(profile_, seed_, playerTypes_);
+            runners[i] = runner;
+            threads[i] = new Thread("TournamentRunner-" + i)
+            {
+                @Override
+                public void run()
+                {
+                    runner.playTournaments(next, nTournaments);
+                }
+            };
+            threads[i].start();
+        }
+
+        for (Thread thread : threads)
+        {
+            try
+            {
+                thread.join();
+            }
+            catch (InterruptedException ie)
+            {
+                Thread.currentThread().interrupt();
+                throw new ApplicationError(ie);
+            }
+        }
+        long nElapsed = System.nanoTime() - nStart;
+
+        // combine stats
+        for (TournamentRunner runner : runners)
+        {
+            for (int i = 0; i < phaseNanos_.length; i++)
+            {
+                phaseNanos_[i] += runner.phaseNanos_[i];
+            }
+            hands_ += runner.hands_;
+            decisions_ += runner.decisions_;
+            bytes_ = (bytes_ < 0 || runner.bytes_ < 0) ? -1 : bytes_ + runner.bytes_;
+        }
+
+        report(nTournaments, nThreads, nElapsed);
+    }
+
+    /**
+     * Play tournaments on the current thread until the given number have
+     * been started across all threads, tracking this thread's allocation
+     */
+    private void playTournaments(AtomicInteger next, int nTournaments)
+    {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean alloc = (threads instanceof com.sun.management.ThreadMXBean) ?
+                                                (com.sun.management.ThreadMXBean) threads : null;
+
+        long nBytesStart = (alloc == null) ? 0 : alloc.getCurrentThreadAllocatedBytes();
+
+        int nNum;
+        try
+        {
+            while ((nNum = next.incrementAndGet()) <= nTournaments)
+            {
+                PokerPlayer winner = playTournament(nNum);
+                logger.info("Tournament " + nNum + " won by " + winner.getName() +
+                            " (" + winner.getPlayerType().getName() + ")");
+            }
+        }
+        finally
+        {
+            PokerRandom.setThreadStream(null);
+            DiceRoller.setThreadRandom(null);
+        }
+
+        bytes_ = (alloc == null) ? -1 : alloc.getCurrentThreadAllocatedBytes() - nBytesStart;
+    }
+
+    /**
+     * Play one tournament to completion, returning the winner
+     */
+    private PokerPlayer playTournament(int nNum)
+    {
+        // seed from tournament number, so deals don't depend on thread scheduling
+        random_ = PokerRandom.getStream(seed_, nNum);
+
+        // AI decisions and dice rolls made on this thread use a stream from the same seed
+        RandomGenerator ai = PokerRandom.getSeededStream(random_.nextLong());
+        PokerRandom.setThreadStream(ai);
+        DiceRoller.setThreadRandom(ai);
+
+        // each game gets its own profile, since the game updates it (e.g., prize pool)
+        PokerGame game = new PokerGame(null);
+        game.setProfile(new TournamentProfile(profile_, profile_.getName()));
+        TournamentProfile profile = game.getProfile();
+
+        int nPlayers = profile.getNumPlayers();
+        PokerPlayer player;
+        for (int i = 0; i < nPlayers; i++)
+        {
+            player = new PokerPlayer(game.getNextPlayerID(), "AI " + nNum + "-" + (i + 1), false);
+            player.setPlayerType(getNextPlayerType());
+            game.addPlayer(player);
+        }
+
+        game.setupTournament(false, false, nPlayers);
+
+        while (!game.isOnePlayerLeft())
+        {
+            // play one hand at each table, in step like TournamentDirector
+            // does with all-computer tables
+            for (PokerTable table : new ArrayList<PokerTable>(game.getTables()))
+            {
+                if (table.getNumOccupiedSeats() > 1) playHand(table);
+            }
+
+            // clock advances 5 times per hand in practice mode
+            for (int i = 0; i < 5; i++)
+            {
+                game.advanceClock();
+            }
+
+            long nStart = System.nanoTime();
+            endHand(game);
+            phaseNanos_[PHASE_END_HAND] += System.nanoTime() - nStart;
+        }
+
+        // give chips to last player
+        PokerPlayer winner = null;
+        for (int i = 0; i < nPlayers; i++)
+        {
+            player = game.getPokerPlayerAt(i);
+            if (!player.isEliminated() && player.getChipCount() > 0)
+            {
+                winner = player;
+                break;
+            }
+        }
+        ApplicationError.assertNotNull(winner, "No winner found");
+        game.playerOut(winner);
+
+        return winner;
+    }
+
+    /**
+     * Play a single hand at the given table
+     */
+    private void playHand(PokerTable table)
+    {
+        // AI isn't created for all-computer tables (see PokerPlayer.createPokerAI)
+        // since the TournamentDirector simulates those, and it is removed when
+        // a player changes tables, so create it here as needed
+        PokerPlayer player;
+        for (int i = 0; i < PokerConstants.SEATS; i++)
+        {
+            player = table.getPlayer(i);
+            if (player != null && player.getGameAI() == null)
+            {
+                player.setPokerAI(PokerAI.createPokerAI(player.getPlayerType()));
+            }
+        }
+
+        long nStart = System.nanoTime();
+        table.startNewHand(Deck.getSeededDeck(random_.nextLong()));
+        HoldemHand hhand = table.getHoldemHand();
+        long nNow = System.nanoTime();
+        phaseNanos_[PHASE_DEAL] += nNow - nStart;
+
+        while (true)
+        {
+            // betting
+            nStart = nNow;
+            while (!hhand.isDone())
+            {
+                PokerPlayer current = hhand.getCurrentPlayerInitIndex();
+                HandAction action = current.getAction(false);
+                current.processAction(action);
+                decisions_++;
+            }
+            nNow = System.nanoTime();
+            phaseNanos_[PHASE_BETTING] += nNow - nStart;
+
+            if (hhand.getRound() == HoldemHand.ROUND_RIVER) break;
+
+            // flop, turn and river
+            nStart = nNow;
+            hhand.advanceRound();
+            nNow = System.nanoTime();
+            phaseNanos_[PHASE_COMMUNITY] += nNow - nStart;
+        }
+
+        // showdown
+        nStart = nNow;
+        hhand.preResolve(false);
+        hhand.advanceRound();
+        hhand.resolve();
+        phaseNanos_[PHASE_SHOWDOWN] += System.nanoTime() - nStart;
+
+        hands_++;
+    }
+
+    /**
+     * End of hand processing for all tables - rebuys, level changes,
+     * color-ups, removal of busted players and table consolidation
+     */
+    private void endHand(PokerGame game)
+    {
+        List<PokerTable> tables = game.getTables();
+
+        for (PokerTable table : tables)
+        {
+            table.aiRebuy();
+            table.addPendingRebuys();
+        }
+
+        // next level (skipping any breaks, which have no purpose here)
+        if (game.isLevelExpired())
+        {
+            game.nextLevel();
+            while (game.getProfile().isBreak(game.getLevel()))
+            {
+                game.nextLevel();
+            }
+
+            int nMinNow = game.getLastMinChip();
+            int nMinNext = game.getMinChip();
+            for (PokerTable table : tables)
+            {
+                table.aiRebuy();
+                table.aiAddOn();
+
+                if (nMinNext > nMinNow)
+                {
+                    table.setNextMinChip(nMinNext);
+                    table.doColorUpDetermination();
+                    if (table.isColoringUp())
+                    {
+                        table.colorUp();
+                        table.colorUpFinish();
+                    }
+                }
+            }
+        }
+
+        // remove busted players and record their placement
+        List<PokerPlayer> removed = new ArrayList<PokerPlayer>();
+        boolean bOneLeft = game.isOnePlayerLeft();
+        for (PokerTable table : tables)
+        {
+            OtherTables.cleanTable(table, removed, !bOneLeft);
+        }
+        OtherTables.recordPlayerPlacement(null, game, removed);
+
+        // consolidate tables
+        if (!bOneLeft) OtherTables.consolidateTables(game, new ArrayList<PokerTable>(tables));
+    }
+
+    /**
+     * Get next player type, using tournament's mix if defined, otherwise
+     * choosing evenly from all player types
+     */
+    private PlayerType getNextPlayerType()
+    {
+        int percentile = random_.nextInt(100);
+        for (PlayerType type : playerTypes_)
+        {
+            int percent = profile_.getPlayerTypePercent(type.getUniqueKey());
+            if (percent > percentile) return type;
+            percentile -= percent;
+        }
+
+        return playerTypes_.get(random_.nextInt(playerTypes_.size()));
+    }
+
+    /**
+     * log results
+     */
+    private void report(int nTournaments, int nThreads, long nElapsed)
+    {
+        long nBytes = bytes_;
+        double dSeconds = nElapsed / 1000000000.0d;
+        logger.info("Tournaments:  " + nTournaments + " (" + profile_.getNumPlayers() + " players each, " +
+                    nThreads + " thread" + (nThreads == 1 ? "" : "s") + ")");
+        logger.info("Elapsed:      " + fRate.form(dSeconds) + " secs");
+        logger.info("Hands:        " + hands_ + ", " + fRate.form(hands_ / dSeconds).trim() + " hands/sec");
+        logger.info("Decisions:    " + decisions_ + ", " + fRate.form(decisions_ / dSeconds).trim() + " decisions/sec");
+        if (nBytes >= 0)
+        {
+            logger.info("Allocated:    " + fRate.form(nBytes / (1024.0d * 1024.0d)).trim() + " MB, " +
+                        fRate.form(nBytes / (1024.0d * 1024.0d) / dSeconds).trim() + " MB/sec");
+        }
+
+        long nTotal = 0;
+        for (long nNanos : phaseNanos_)
+        {
+            nTotal += nNanos;
+        }
+        // phase times are summed across threads
+        for (int i = 0; i < PHASE_NAMES.length; i++)
+        {
+            logger.info("  " + fPhase.form(PHASE_NAMES[i]) + fRate.form(phaseNanos_[i] / 1000000.0d) + " ms " +
+                        fRate.form(nTotal == 0 ? 0 : (phaseNanos_[i] * 100.0d) / nTotal) + "%");
+        }
+    }
+
+    /**
+     * TournamentRunner [tournaments] [players] [seed] [threads] [profile name]
+     */
+    public static void main(String[] args)
+    {
+        LoggingConfig loggingConfig = new LoggingConfig("plain", ApplicationType.COMMAND_LINE);
+        loggingConfig.init();
+
+        int nTournaments = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+        int nPlayers = args.length > 1 ? Integer.parseInt(args[1]) : 90;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+        int nThreads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        // init config
+        new ConfigManager("poker", ApplicationType.HEADLESS_CLIENT);
+
+        // profile - named one from tournament profiles or default
+        TournamentProfile profile = null;
+        if (args.length > 4)
+        {
+            for (BaseProfile p : TournamentProfile.getProfileList())
+            {
+                if (p.getName().equals(args[4])) profile = (TournamentProfile) p;
+            }
+            if (profile == null)
+            {
+                logger.error("Tournament profile not found: " + args[4]);
+                System.exit(-1);
+            }
+        }
+        else
+        {
+            profile = new TournamentProfile("TournamentRunner");
+        }
+        profile.setNumPlayers(nPlayers);
+
+        new TournamentRunner(profile, seed).run(nTournaments, nThreads);
+    }
+}
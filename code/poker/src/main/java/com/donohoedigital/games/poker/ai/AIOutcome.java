@@ -377,7 +377,7 @@ public class AIOutcome
     {
         if (!computed_) computeAverageTuple();
 
-        float v = (float)Math.random();
+        float v = PokerRandom.getThreadStream().nextFloat();
 
         if (v < checkFold)
         {
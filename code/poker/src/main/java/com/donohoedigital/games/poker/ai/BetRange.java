@@ -34,6 +34,7 @@ package com.donohoedigital.games.poker.ai;
 
 import com.donohoedigital.base.*;
 import com.donohoedigital.games.poker.*;
+import com.donohoedigital.games.poker.engine.*;
 import com.donohoedigital.config.*;
 
 /**
@@ -144,7 +145,7 @@ public class BetRange
      */
     public int chooseBetAmount(PokerPlayer player)
     {
-        return chooseBetAmount(player, (float)Math.random());
+        return chooseBetAmount(player, PokerRandom.getThreadStream().nextFloat());
     }
 
     private int chooseBetAmount(PokerPlayer player, float v)
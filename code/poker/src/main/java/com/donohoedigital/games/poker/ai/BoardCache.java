@@ -0,0 +1,80 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.games.poker.ai;
+
+import java.util.HashMap;
+
+/**
+ * Cache of board-dependent instances (PocketScores, PocketRanks, PocketOdds, HandAnalysis),
+ * flushed whenever the board fingerprint it is keyed on changes.  Each thread has its own
+ * cache, so games played concurrently in one process (e.g., TournamentRunner batches) neither
+ * corrupt nor keep flushing each other's entries.  A single game is only ever driven by one
+ * thread at a time, so within a game behavior is the same as a plain static cache.
+ */
+class BoardCache<T>
+{
+    private final ThreadLocal<Entries<T>> local_ = new ThreadLocal<Entries<T>>()
+    {
+        @Override
+        protected Entries<T> initialValue()
+        {
+            return new Entries<T>();
+        }
+    };
+
+    /**
+     * Get this thread's cache for the given board fingerprint, cleared first
+     * if the last call on this thread was for a different board.
+     */
+    HashMap<Long, T> getCache(long fpBoard)
+    {
+        Entries<T> entries = local_.get();
+
+        if (fpBoard != entries.fpBoard)
+        {
+            entries.cache.clear();
+            entries.fpBoard = fpBoard;
+        }
+
+        return entries.cache;
+    }
+
+    /**
+     * per-thread state
+     */
+    private static class Entries<T>
+    {
+        private long fpBoard = 0;
+        private final HashMap<Long, T> cache = new HashMap<Long, T>();
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.games.poker.ai;
+
+import com.donohoedigital.base.ApplicationError;
+import com.donohoedigital.games.poker.HandPotential;
+import com.donohoedigital.games.poker.engine.Hand;
+
+import java.util.HashMap;
+
+/**
+ * Per-decision analysis of a pocket hand against the current board, shared by every rule in
+ * RuleEngine and V2Player.  The expensive pieces (HandPotential enumeration and the PocketRanks
+ * lookup) are computed lazily, at most once per instance.
+ *
+ * Like PocketRanks, instances are cached as long as every call is for the same board, so
+ * repeat decisions on a street (e.g., facing a re-raise) reuse the earlier work, and every
+ * player at the table seeing that board shares the board-level PocketRanks.
+ */
+public class HandAnalysis
+{
+    private static final BoardCache<HandAnalysis> cache_ = new BoardCache<HandAnalysis>();
+
+    // flop potentials by pocket, kept while the flop is unchanged so the turn can reuse them
+    private static final BoardCache<HandPotential> flopPotentials_ = new BoardCache<HandPotential>();
+
+    private final Hand pocket_;
+    private final Hand community_;
+
+    private HandPotential potential_;
+    private PocketRanks ranks_;
+
+    /**
+     * Get analysis for the given pocket and board.  Cache is cleared when the board changes.
+     *
+     * @param pocket The pocket cards; cannot be null.
+     * @param community The cards currently on the board; cannot be null.
+     * @return An instance of HandAnalysis for the specified pocket and board.
+     */
+    public static HandAnalysis getInstance(Hand pocket, Hand community)
+    {
+        if (pocket == null)
+        {
+            throw new ApplicationError("HandAnalysis.getInstance() called with null pocket hand.");
+        }
+
+        if (community == null)
+        {
+            throw new ApplicationError("HandAnalysis.getInstance() called with null community hand.");
+        }
+
+        // board fingerprint - change (new street or new hand) triggers cache flush
+        HashMap<Long, HandAnalysis> cache = cache_.getCache(community.fingerprint());
+
+        Long key = pocket.fingerprint();
+
+        HandAnalysis analysis = cache.get(key);
+
+        if (analysis == null)
+        {
+            analysis = new HandAnalysis(pocket, community);
+            cache.put(key, analysis);
+        }
+
+        return analysis;
+    }
+
+    /**
+     * Private to force use of caching getInstance method.  Hands are copied since
+     * the originals change as the hand progresses.
+     */
+    private HandAnalysis(Hand pocket, Hand community)
+    {
+        pocket_ = new Hand(pocket);
+        community_ = new Hand(community);
+    }
+
+    /**
+     * @return pocket cards this analysis is for
+     */
+    public Hand getPocket()
+    {
+        return pocket_;
+    }
+
+    /**
+     * @return board this analysis is for
+     */
+    public Hand getCommunity()
+    {
+        return community_;
+    }
+
+    /**
+     * @return hand potential (draw counts) of the pocket on this board.  On the turn, this is
+     * derived from the flop's enumeration when the same pocket was analyzed on the flop.
+     */
+    public HandPotential getPotential()
+    {
+        if (potential_ == null)
+        {
+            switch (community_.size())
+            {
+                case 3:
+                    potential_ = new HandPotential(pocket_, community_);
+                    flopPotentials().put(pocket_.fingerprint(), potential_);
+                    break;
+
+                case 4:
+                    HandPotential flop = flopPotentials().get(pocket_.fingerprint());
+                    potential_ = (flop != null) ? flop.getTurnPotential(community_.getCard(3)) :
+                                                  new HandPotential(pocket_, community_);
+                    break;
+
+                default:
+                    potential_ = new HandPotential(pocket_, community_);
+                    break;
+            }
+        }
+
+        return potential_;
+    }
+
+    /**
+     * flop potential cache for this board's flop, cleared when the flop changes
+     */
+    private HashMap<Long, HandPotential> flopPotentials()
+    {
+        return flopPotentials_.getCache(community_.fingerprint(3));
+    }
+
+    /**
+     * @return PocketRanks for this board; only valid post-flop.
+     */
+    public PocketRanks getRanks()
+    {
+        if (ranks_ == null)
+        {
+            ranks_ = PocketRanks.getInstance(community_);
+        }
+
+        return ranks_;
+    }
+
+    /**
+     * @return The percentage (0.0 - 1.0) of opposing hands beat or tied; only valid post-flop.
+     */
+    public float getRawHandStrength()
+    {
+        return getRanks().getRawHandStrength(pocket_);
+    }
+}
@@ -34,6 +34,8 @@ package com.donohoedigital.games.poker.ai;
 
 import com.donohoedigital.games.poker.engine.*;
 
+import java.util.*;
+
 /**
  * Encapsulates tight storage of float values for every possible pocket.
  */
@@ -41,6 +43,25 @@ public class PocketMatrixFloat
 {
     private static final int SZ = 1326; // 52 choose 2
 
+    // card indexes (first > second) and fingerprint of the pair at each position
+    private static final int[] FIRST = new int[SZ];
+    private static final int[] SECOND = new int[SZ];
+    private static final long[] PAIR = new long[SZ];
+
+    static
+    {
+        for (int i = 1; i < 52; ++i)
+        {
+            for (int j = 0; j < i; ++j)
+            {
+                int x = (i*(i+1))/2+j-i;
+                FIRST[x] = i;
+                SECOND[x] = j;
+                PAIR[x] = (1L << i) | (1L << j);
+            }
+        }
+    }
+
     private float[] data_ = new float[SZ];
 
     public PocketMatrixFloat()
@@ -58,6 +79,14 @@ public class PocketMatrixFloat
         System.arraycopy(v.data_, 0, data_, 0, SZ);
     }
 
+    /**
+     * Sets all values to those in another matrix.
+     */
+    public void set(PocketMatrixFloat v)
+    {
+        System.arraycopy(v.data_, 0, data_, 0, SZ);
+    }
+
     /**
      * Sets all the bytes in the matrix to the same value.
      */
@@ -108,6 +137,62 @@ public class PocketMatrixFloat
         return get(i.getIndex(), j.getIndex());
     }
 
+    /**
+     * Returns positions (see getAt()) of pairs that contain none of the cards in the given
+     * fingerprint (see Hand.fingerprint()), in the same order as looping over i from 1 to 51
+     * and j from 0 to i-1.  Lets callers loop over live pairs only, without checking each card.
+     */
+    public static int[] getLivePositions(long deadCards)
+    {
+        int[] live = new int[SZ];
+        int n = 0;
+        for (int x = 0; x < SZ; ++x)
+        {
+            if ((PAIR[x] & deadCards) == 0) live[n++] = x;
+        }
+        return n == SZ ? live : Arrays.copyOf(live, n);
+    }
+
+    /**
+     * Index of the higher card of the pair at a position
+     */
+    public static int getFirstCard(int x)
+    {
+        return FIRST[x];
+    }
+
+    /**
+     * Index of the lower card of the pair at a position
+     */
+    public static int getSecondCard(int x)
+    {
+        return SECOND[x];
+    }
+
+    /**
+     * Number of positions (pairs of cards)
+     */
+    public static int size()
+    {
+        return SZ;
+    }
+
+    /**
+     * Gets the value at a position (0 to size()-1)
+     */
+    public float getAt(int x)
+    {
+        return data_[x];
+    }
+
+    /**
+     * Sets the value at a position (0 to size()-1)
+     */
+    public void setAt(int x, float v)
+    {
+        data_[x] = v;
+    }
+
     /**
      * Gets the value corresponding to a particular pair of cards.
      */
@@ -46,9 +46,7 @@ import java.util.HashMap;
  */
 public class PocketOdds
 {
-    private static long fpBoard_ = 0;
-
-    private static HashMap cache_ = new HashMap();
+    private static final BoardCache<PocketOdds> cache_ = new BoardCache<PocketOdds>();
 
     private PocketMatrixShort ehs_ = new PocketMatrixShort();
 
@@ -95,17 +93,11 @@ public class PocketOdds
         }
 
         // compute fingerprint for board - change triggers cache flush
-        long fpBoard = community.fingerprint();
-
-        if (fpBoard != fpBoard_)
-        {
-            cache_.clear();
-            fpBoard_ = fpBoard;
-        }
+        HashMap<Long, PocketOdds> cache = cache_.getCache(community.fingerprint());
 
-        Object key = pocket.fingerprint();
+        Long key = pocket.fingerprint();
 
-        PocketOdds odds = (PocketOdds)cache_.get(key);
+        PocketOdds odds = cache.get(key);
 
         if (odds == null)
         {
@@ -113,7 +105,7 @@ public class PocketOdds
             odds = new PocketOdds(community, pocket);
             //long after = System.currentTimeMillis();
             //System.out.println("PocketOdds constructed in " + (after-before) + " milliseconds.");
-            cache_.put(key, odds);
+            cache.put(key, odds);
         }
 
         return odds;
@@ -43,9 +43,7 @@ import java.util.HashMap;
  */
 public class PocketRanks
 {
-    private static long fpFlop_ = 0;
-
-    private static HashMap cache_ = new HashMap();
+    private static final BoardCache<PocketRanks> cache_ = new BoardCache<PocketRanks>();
 
     private PocketMatrixShort rhs_ = new PocketMatrixShort();
 
@@ -75,17 +73,11 @@ public class PocketRanks
         }
 
         // compute fingerprint for flop - change triggers cache flush
-        long fpFlop = community.fingerprint(3);
-
-        if (fpFlop != fpFlop_)
-        {
-            cache_.clear();
-            fpFlop_ = fpFlop;
-        }
+        HashMap<Long, PocketRanks> cache = cache_.getCache(community.fingerprint(3));
 
-        Object key = community.fingerprint();
+        Long key = community.fingerprint();
 
-        PocketRanks ranks = (PocketRanks)cache_.get(key);
+        PocketRanks ranks = cache.get(key);
 
         if (ranks == null)
         {
@@ -95,7 +87,7 @@ public class PocketRanks
             // System.out.println(
             //         "PocketRanks constructed for " + community +
             //         " in " + Long.toString(after-before) + " milliseconds.");
-            cache_.put(key, ranks);
+            cache.put(key, ranks);
         }
 
         return ranks;
@@ -44,9 +44,7 @@ import java.util.HashMap;
  */
 public class PocketScores
 {
-    private static long fpFlop_ = 0;
-
-    private static HashMap cache_ = new HashMap();
+    private static final BoardCache<PocketScores> cache_ = new BoardCache<PocketScores>();
 
     private PocketMatrixInt score_ = new PocketMatrixInt();
 
@@ -81,20 +79,16 @@ public class PocketScores
                       1L << community.getCard(1).getIndex() |
                       1L << community.getCard(2).getIndex();
 
-        if (fpFlop != fpFlop_)
-        {
-            cache_.clear();
-            fpFlop_ = fpFlop;
-        }
+        HashMap<Long, PocketScores> cache = cache_.getCache(fpFlop);
 
-        Object key = community.fingerprint();
+        Long key = community.fingerprint();
 
-        PocketScores scores = (PocketScores)cache_.get(key);
+        PocketScores scores = cache.get(key);
 
         if (scores == null)
         {
             scores = new PocketScores(community);
-            cache_.put(key, scores);
+            cache.put(key, scores);
         }
 
         return scores;
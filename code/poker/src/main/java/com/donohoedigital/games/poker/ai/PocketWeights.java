@@ -48,11 +48,16 @@ public class PocketWeights
 {
     static Logger logger = LogManager.getLogger(PocketWeights.class);
 
-    // string representing outcome-affecting state
-    private String signature_ = null;
+    // outcome-affecting state weights were last computed for
+    private long community_;
+    private int historySize_;
+    private int round_;
 
     private HoldemHand hhand_ = null;
 
+    // weights with actions through bookmark_ applied (updated incrementally) and
+    // the balanced copy of them returned to callers
+    private PocketMatrixFloat rawWeights_[] = null;
     private PocketMatrixFloat weights_[] = null;
 
     private float apparentStrength_[] = new float[10];
@@ -70,7 +75,7 @@ public class PocketWeights
      * having a given pocket hand.  The single instance is returned only by PocketWeights.getInstance()
      * to enforce the singleton model.  When a call is made to PocketWeights.getInstance() with a different
      * instance of HoldemHand, or after an event that might change the outcomes, the results are recomputed,
-     * otherwise results are reused.
+     * otherwise results are reused.  Recomputing applies only the actions added since the last computation.
      *
      * @param hhand The hand in play.
      * @return An instance of PocketWeights for the current state of the specified hand.
@@ -84,23 +89,25 @@ public class PocketWeights
 
         PocketWeights pw = hhand.getPocketWeights();
 
-        String signature =
-                Long.toString(hhand.getCommunity().fingerprint()) + ":" +
-                Integer.toString(hhand.getHistorySize()) + ":" +
-                Integer.toString(hhand.getRound());
-
-        if ((pw == null) || !signature.equals(pw.signature_))
+        if (pw == null)
         {
             pw = new PocketWeights(hhand);
-            pw.signature_ = signature;
             hhand.setPocketWeights(pw);
         }
+        else if (pw.community_ != hhand.getCommunity().fingerprint() ||
+                 pw.historySize_ != hhand.getHistorySize() ||
+                 pw.round_ != hhand.getRound())
+        {
+            pw.process();
+        }
 
         return pw;
     }
 
     /**
      * Returns the weight table for a particular seat, for display or further computation.
+     * The table is updated in place as actions are added to the hand (see getInstance()),
+     * so callers that need the weights as of now should copy it.
      *
      * @param seat
      * @return weight table for the specified seat.
@@ -133,79 +140,90 @@ public class PocketWeights
 
         if (hand.containsCard(Card.BLANK)) return 0f;
 
+        Hand community = hhand_.getCommunity();
+
+        // strength of hand and live pairs are the same for each opponent, so find once
+        boolean preflop = (community != null) && (community.size() == 0);
+        PocketRanks ranks = null;
+        float strength = 0.0f;
+        int[] live = null;
+
+        if (community != null)
+        {
+            if (preflop)
+            {
+                strength = SimpleBias.getBiasValue(2, hand);
+            }
+            else
+            {
+                ranks = PocketRanks.getInstance(community);
+
+                strength = ranks.getRawHandStrength(hand);
+            }
+
+            live = PocketMatrixFloat.getLivePositions(hand.fingerprint() | community.fingerprint());
+        }
+
         if (opponentSeat < 0)
         {
             float v = 1.0f;
 
             for (opponentSeat = 0; opponentSeat < 10; ++opponentSeat)
             {
-                PokerPlayer opp = hhand_.getTable().getPlayer(opponentSeat);
+                PokerPlayer opp = table.getPlayer(opponentSeat);
                 if ((opponentSeat != seat) && (opp != null) && !opp.isFolded())
                 {
-                    v *= getBiasedRawHandStrength(seat, opponentSeat);
+                    v *= (live == null) ? 0.0f : getBiasedRawHandStrength(preflop, ranks, strength, live, opponentSeat);
                 }
             }
 
             return v;
         }
 
-        Hand community = hhand_.getCommunity();
-
-        if (community == null) return 0.0f;
+        if (live == null) return 0.0f;
 
-        boolean preflop = (community.size() == 0);
-
-        PocketRanks ranks = null;
-
-        float strength = 0.0f;
-
-        if (preflop)
-        {
-            strength = SimpleBias.getBiasValue(2, hand);
-        }
-        else
-        {
-            ranks = PocketRanks.getInstance(community);
+        return getBiasedRawHandStrength(preflop, ranks, strength, live, opponentSeat);
+    }
 
-            strength = ranks.getRawHandStrength(hand);
-        }
+    /**
+     * Raw strength of a hand versus one opponent's weighted pocket pairs
+     */
+    private float getBiasedRawHandStrength(boolean preflop, PocketRanks ranks, float strength, int[] live, int opponentSeat)
+    {
+        PocketMatrixFloat weights = weights_[opponentSeat];
 
         float best = 0.0f;
         float notbest = 0.0f;
 
-        for (int i = 1; i < 52; ++i)
+        for (int x : live)
         {
-            if (hand.containsCard(i) || community.containsCard(i)) continue;
+            int i = PocketMatrixFloat.getFirstCard(x);
+            int j = PocketMatrixFloat.getSecondCard(x);
 
-            for (int j = 0; j < i; ++j)
-            {
-                if (hand.containsCard(j) || community.containsCard(j)) continue;
+            float weight = weights.getAt(x);
 
-                float weight = weights_[opponentSeat].get(i, j);
+            float ohs = 0.0f;
 
-                float ohs = 0.0f;
+            if (preflop)
+            {
+                ohs = SimpleBias.getBiasValue(2, Card.getCard(i), Card.getCard(j));
+            }
+            else
+            {
+                ohs = ranks.getRawHandStrength(i, j);
+            }
+
+            if (!Float.isNaN(ohs))
+            {
+                float v = ohs * weight;
 
-                if (preflop)
+                if (ohs <= strength)
                 {
-                    ohs = SimpleBias.getBiasValue(2, Card.getCard(i), Card.getCard(j));
+                    best += v;
                 }
                 else
                 {
-                    ohs = ranks.getRawHandStrength(i, j);
-                }
-
-                if (!Float.isNaN(ohs))
-                {
-                    float v = ohs * weight;
-
-                    if (ohs <= strength)
-                    {
-                        best += v;
-                    }
-                    else
-                    {
-                        notbest += v;
-                    }
+                    notbest += v;
                 }
             }
         }
@@ -232,6 +250,12 @@ public class PocketWeights
             throw new ApplicationError("PocketWeights.getBiasedEffectiveHandStrength() called after the river.");
         }
 
+        Hand hand = hhand_.getTable().getPlayer(seat).getHand();
+
+        // odds and live pairs are the same for each opponent, so find once
+        PocketOdds odds = PocketOdds.getInstance(community, hand);
+        int[] live = PocketMatrixFloat.getLivePositions(hand.fingerprint() | community.fingerprint());
+
         if (opponentSeat < 0)
         {
             float v = 1.0f;
@@ -241,36 +265,34 @@ public class PocketWeights
                 PokerPlayer opp = hhand_.getTable().getPlayer(opponentSeat);
                 if ((opponentSeat != seat) && (opp != null) && !opp.isFolded())
                 {
-                    v *= getBiasedEffectiveHandStrength(seat, opponentSeat);
+                    v *= getBiasedEffectiveHandStrength(odds, live, opponentSeat);
                 }
             }
 
             return v;
         }
 
-        Hand hand = hhand_.getTable().getPlayer(seat).getHand();
-
-        if (community == null) return 0.0f;
+        return getBiasedEffectiveHandStrength(odds, live, opponentSeat);
+    }
 
-        PocketOdds odds = PocketOdds.getInstance(community, hand);
+    /**
+     * Effective strength of a hand versus one opponent's weighted pocket pairs
+     */
+    private float getBiasedEffectiveHandStrength(PocketOdds odds, int[] live, int opponentSeat)
+    {
+        PocketMatrixFloat weights = weights_[opponentSeat];
 
         float total = 0.0f;
         float divisor = 0.0f;
 
-        for (int i = 1; i < 52; ++i)
+        for (int x : live)
         {
-            if (hand.containsCard(i) || community.containsCard(i)) continue;
+            float weight = weights.getAt(x);
+            float strength = odds.getEffectiveHandStrength(PocketMatrixFloat.getFirstCard(x),
+                                                           PocketMatrixFloat.getSecondCard(x));
 
-            for (int j = 0; j < i; ++j)
-            {
-                if (hand.containsCard(j) || community.containsCard(j)) continue;
-
-                float weight = weights_[opponentSeat].get(i, j);
-                float strength = odds.getEffectiveHandStrength(i, j);
-
-                total += weight * strength;
-                divisor += weight;
-            }
+            total += weight * strength;
+            divisor += weight;
         }
 
         return total / divisor;
@@ -289,16 +311,44 @@ public class PocketWeights
 
         hhand_ = hhand;
 
+        rawWeights_ = new PocketMatrixFloat[PokerConstants.SEATS];
+        weights_ = new PocketMatrixFloat[PokerConstants.SEATS];
+        for (int i = 0; i < PokerConstants.SEATS; ++i)
+        {
+            rawWeights_[i] = new PocketMatrixFloat(1.0f);
+            weights_[i] = new PocketMatrixFloat();
+        }
+
         process();
     }
 
+    /**
+     * Apply actions since last call and recompute balanced weights and strengths.  Balancing is
+     * done on a copy so the raw weights can be carried forward, giving the same result as
+     * processing the whole history at once.
+     */
     private void process()
     {
-        if (processHistory())
+        long community = hhand_.getCommunity().fingerprint();
+
+        // start over if history was reset or community cards changed (other than new ones dealt)
+        if (hhand_.getHistorySize() < bookmark_ || (community_ & ~community) != 0)
+        {
+            bookmark_ = 0;
+        }
+
+        community_ = community;
+        historySize_ = hhand_.getHistorySize();
+        round_ = hhand_.getRound();
+
+        processHistory();
+
+        for (int seat = 0; seat < PokerConstants.SEATS; ++seat)
         {
-            computeStrengths();
-            balanceWeights();
+            weights_[seat].set(rawWeights_[seat]);
         }
+        computeStrengths();
+        balanceWeights();
     }
 
     private void computeStrengths()
@@ -314,6 +364,8 @@ public class PocketWeights
             ranks = PocketRanks.getInstance(community);
         }
 
+        int size = PocketMatrixFloat.size();
+
         for (int seat = 0; seat < 10; ++seat)
         {
             float sum = 0.0f;
@@ -321,26 +373,26 @@ public class PocketWeights
 
             PocketMatrixFloat weights = weights_[seat];
 
-            for (int i = 1; i < 52; ++i)
+            for (int x = 0; x < size; ++x)
             {
-                for (int j = 0; j < i; ++j)
+                float v = weights.getAt(x);
+                float s;
+
+                if (!Float.isNaN(v))
                 {
-                    float v = weights.get(i, j);
-                    float s;
+                    int i = PocketMatrixFloat.getFirstCard(x);
+                    int j = PocketMatrixFloat.getSecondCard(x);
 
-                    if (!Float.isNaN(v))
+                    if (bPreFlop)
                     {
-                        if (bPreFlop)
-                        {
-                            s = SimpleBias.getBiasValue(4, Card.getCard(i), Card.getCard(j));
-                        }
-                        else
-                        {
-                            s = ranks.getRawHandStrength(i, j);
-                        }
-                        sum += v * s;
-                        div += v;
+                        s = SimpleBias.getBiasValue(4, Card.getCard(i), Card.getCard(j));
+                    }
+                    else
+                    {
+                        s = ranks.getRawHandStrength(i, j);
                     }
+                    sum += v * s;
+                    div += v;
                 }
             }
 
@@ -348,42 +400,28 @@ public class PocketWeights
         }
     }
 
-    private boolean processHistory()
+    /**
+     * Apply actions added to the history since the last call to the raw weights.
+     */
+    private void processHistory()
     {
-        List<HandAction> hist = hhand_.getHistoryCopy();
-
-        boolean changed = false;
-
         if (bookmark_ == 0)
         {
-            if (weights_ == null)
+            for (int i = 0; i < PokerConstants.SEATS; ++i)
             {
-                weights_ = new PocketMatrixFloat[10];
-            }
-
-            for (int i = 0; i < 10; ++i)
-            {
-                if (weights_[i] == null)
-                {
-                    weights_[i] = new PocketMatrixFloat(1.0f);
-                }
-                else
-                {
-                    weights_[i].clear(1.0f);
-                }
+                rawWeights_[i].clear(1.0f);
             }
 
             callCount_ = 0;
             raiseCount_ = 0;
             potSize_ = 0;
-            changed = true;
         }
 
-        HandAction action;
+        List<HandAction> hist = hhand_.getHistoryCopy(bookmark_);
 
-        while (bookmark_ < hist.size())
+        for (HandAction action : hist)
         {
-            action = hist.get(bookmark_++);
+            bookmark_++;
 
             if (action.getRound() > HoldemHand.ROUND_RIVER) break;
 
@@ -401,18 +439,12 @@ public class PocketWeights
                         callCount_ = 0;
                         break;
                 }
-
-                changed = true;
             }
             else
             {
                 processPostFlopAction(new Hand(hhand_.getCommunity(), action.getRound() + 2), action);
-
-                changed = true;
             }
         }
-
-        return changed;
     }
 
     private class PreFlopActor
@@ -580,7 +612,7 @@ public class PocketWeights
 
         potSize_ += amount;
 
-        PocketMatrixFloat weightTable = weights_[action.getPlayer().getSeat()];
+        PocketMatrixFloat weightTable = rawWeights_[action.getPlayer().getSeat()];
 
         Card card1;
         Card card2;
@@ -726,7 +758,7 @@ public class PocketWeights
 
         potSize_ += amount;
 
-        PocketMatrixFloat weightTable = weights_[action.getPlayer().getSeat()];
+        PocketMatrixFloat weightTable = rawWeights_[action.getPlayer().getSeat()];
 
         //float rhs = getBiasedRawHandStrength(player.getSeat(), true);
 
@@ -801,18 +833,17 @@ public class PocketWeights
 
         PocketMatrixFloat weights = weights_[seat];
 
-        for (int i = 1; i < 52; ++i)
+        int size = PocketMatrixFloat.size();
+
+        for (int x = 0; x < size; ++x)
         {
-            for (int j = 0; j < i; ++j)
-            {
-                float v = weights.get(i, j);
+            float v = weights.getAt(x);
 
-                if (Float.isNaN(v)) continue;
+            if (Float.isNaN(v)) continue;
 
-                if (v < min) min = v;
+            if (v < min) min = v;
 
-                if (v > max) max = v;
-            }
+            if (v > max) max = v;
         }
 
         float range = max - min;
@@ -821,15 +852,12 @@ public class PocketWeights
 
         if (range > 0)
         {
-            for (int i = 1; i < 52; ++i)
+            for (int x = 0; x < size; ++x)
             {
-                for (int j = 0; j < i; ++j)
-                {
-                    weights.set(i, j, .2f + (weights.get(i, j) / max) * .8f);
-                    //weights.set(i, j, (weights.get(i,j) - min) / range);
-                    //weights.set(i, j, (float)Math.sqrt((weights.get(i,j) - min) / range));
-                    //weights.set(i, j, 0.5f + ((weights.get(i,j) - min) / range - 0.5f) / 2.0f);
-                }
+                weights.setAt(x, .2f + (weights.getAt(x) / max) * .8f);
+                //weights.setAt(x, (weights.getAt(x) - min) / range);
+                //weights.setAt(x, (float)Math.sqrt((weights.getAt(x) - min) / range));
+                //weights.setAt(x, 0.5f + ((weights.getAt(x) - min) / range - 0.5f) / 2.0f);
             }
         }
     }
@@ -154,6 +154,7 @@ public class RuleEngine implements AIConstants
     private float drawStrength_;
     private OpponentModel selfModel_;
     private PocketWeights pWeights_;
+    private HandAnalysis analysis_;
 
     AIOutcome outcome_ = null;
 
@@ -267,6 +268,9 @@ public class RuleEngine implements AIConstants
 
             pWeights_ = PocketWeights.getInstance(hhand_);
 
+            // shared by all rules for this decision
+            analysis_ = HandAnalysis.getInstance(self_.getHand(), hhand_.getCommunity());
+
             if (hhand_.getRound() >= HoldemHand.ROUND_FLOP)
             {
                 apparentStrength_ = pWeights_.getApparentStrength(seat_);
@@ -348,10 +352,6 @@ public class RuleEngine implements AIConstants
             return;
         }
 
-        HandInfoFast info = new HandInfoFast();
-        info.getScore(self_.getHand(), hhand_.getCommunity());
-
-
         ArrayList players = new ArrayList();
 
         hhand_.getPlayersLeft(players, self_);
@@ -812,9 +812,7 @@ public class RuleEngine implements AIConstants
 
         if (NEWCODE)
         {
-            PocketRanks ranks = PocketRanks.getInstance(community);
-
-            rhs = ranks.getRawHandStrength(pocket);
+            rhs = analysis_.getRawHandStrength();
 
             bhs = pWeights_.getBiasedRawHandStrength(self_.getSeat());
 
@@ -845,7 +843,7 @@ public class RuleEngine implements AIConstants
             outdrawRisk = (float)Math.pow(1.0 + ai.getBiasedNegativePotential(), numWithCards - 1) - 1.0f;
         }
 
-        HandPotential potential = new HandPotential(pocket, community);
+        HandPotential potential = analysis_.getPotential();
 
         int pNutFlush = potential.getHandCount(HandPotential.NUT_FLUSH, 0);
         int pNonNutFlush = potential.getHandCount(HandPotential.FLUSH, 0) - pNutFlush;
@@ -2244,7 +2242,7 @@ public class RuleEngine implements AIConstants
 
         float ehs = player.getBiasedEffectiveHandStrength(xBasicsPotOdds * potOdds);
 
-        HandPotential potential = new HandPotential(pocket, community);
+        HandPotential potential = analysis_.getPotential();
 
         int pNutFlush = potential.getHandCount(HandPotential.NUT_FLUSH, 0);
         int pNonNutFlush = potential.getHandCount(HandPotential.FLUSH, 0) - pNutFlush;
@@ -40,8 +40,6 @@ import com.donohoedigital.config.*;
 import com.donohoedigital.games.poker.*;
 import com.donohoedigital.games.poker.engine.*;
 
-import java.security.*;
-
 @DataCoder('2')
 public class V2Player extends V1Player implements AIConstants
 {
@@ -369,7 +367,7 @@ public class V2Player extends V1Player implements AIConstants
 
         HandInfoFaster info = new HandInfoFaster();
 
-        PocketRanks ranks = PocketRanks.getInstance(community);
+        PocketRanks ranks = HandAnalysis.getInstance(hole, community).getRanks();
 
         myHandScore_ = info.getScore(hole, community);
 
@@ -672,7 +670,7 @@ public class V2Player extends V1Player implements AIConstants
 
         //Hand hole = getPocket();
         Hand community = getCommunity();
-        PocketRanks ranks = PocketRanks.getInstance(community);
+        PocketRanks ranks = HandAnalysis.getInstance(getPocket(), community).getRanks();
         Hand hand = new Hand(Card.BLANK, Card.BLANK);
         Card card1;
 
@@ -735,7 +733,7 @@ public class V2Player extends V1Player implements AIConstants
         Hand hole = getPocket();
         Hand community = getCommunity();
 
-        PocketRanks ranks = PocketRanks.getInstance(community);
+        PocketRanks ranks = HandAnalysis.getInstance(hole, community).getRanks();
 
         Hand hand = new Hand(Card.BLANK, Card.BLANK);
         Card card1;
@@ -1911,9 +1909,7 @@ public class V2Player extends V1Player implements AIConstants
             Integer mod = map.getInteger("strat." + name);
             if (mod == null)
             {
-                //Random rand = new Random(seed);
-                SecureRandom rand = SecurityUtils.getSecureRandom();
-                mod = rand.nextInt(21) - 10;
+                mod = PokerRandom.getThreadStream().nextInt(21) - 10;
                 map.setInteger("strat." + name, mod);
             }
 
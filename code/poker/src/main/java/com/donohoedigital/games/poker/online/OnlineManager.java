@@ -892,7 +892,7 @@ public class OnlineManager implements ChatManager
         pdetails.setPlayerID(player.getID());
         reply.setInReplyTo(omsg.getMessageID());
         reply.setPhaseName(sPhase);
-        storeGame(reply, game_, details);
+        storeGame(reply, game_, details, player);
         sendMessage(reply, player);
         player.clearMessageReceived(); // clear message received time when sending client join message
     }
@@ -1221,7 +1221,7 @@ public class OnlineManager implements ChatManager
         pdetails.setOverrideState(nOverrideState);
         pdetails.setSetCurrentTableToLocal(bSetCurrentTableToLocal);
         pdetails.setRemovedTables(getTableIds(removedTables));
-        storeGame(omsg, game_, details);
+        storeGame(omsg, game_, details, playerTo);
 
         // unset dirty flag
         // mark dirty players on this players table
@@ -2012,13 +2012,56 @@ public class OnlineManager implements ChatManager
      * Only store the game data and the components marked "dirty"
      */
     private void storeGame(OnlineMessage msg, Game game, SaveDetails details)
+    {
+        storeGame(msg, game, details, null);
+    }
+
+    /**
+     * Marshal the game into a string and store it with this message, compressed
+     * if the recipient supports it.  If pTo is null, the message is going to all
+     * players/observers, so it is compressed only if they all support it.
+     */
+    private void storeGame(OnlineMessage msg, Game game, SaveDetails details, PokerPlayer pTo)
     {
         GameState state = game.newGameState("OnlineManager");
         game.saveGame(state, details);
 
         StringWriter writer = new StringWriter();
         state.write(writer);
-        msg.setGameData(writer.toString());
+        msg.setGameData(writer.toString(), pTo != null ? isCompressSupported(pTo) : isCompressSupportedAll());
+    }
+
+    /**
+     * Can given player decompress game data?
+     */
+    private boolean isCompressSupported(PokerPlayer p)
+    {
+        Version version = p.getVersion();
+        return version != null && !version.isBefore(PokerConstants.VERSION_GAME_DATA_COMPRESSED);
+    }
+
+    /**
+     * Can all players/observers we send to decompress game data?
+     */
+    private boolean isCompressSupportedAll()
+    {
+        PokerPlayer p;
+        int nNum = game_.getNumPlayers();
+        for (int i = 0; i < nNum; i++)
+        {
+            p = game_.getPokerPlayerAt(i);
+            if (p.isHost() || p.isComputer() || p.isObserver() || p.getConnection() == null) continue;
+            if (!isCompressSupported(p)) return false;
+        }
+
+        nNum = game_.getNumObservers();
+        for (int i = 0; i < nNum; i++)
+        {
+            p = game_.getPokerObserverAt(i);
+            if (p.isHost() || p.getConnection() == null) continue;
+            if (!isCompressSupported(p)) return false;
+        }
+        return true;
     }
 
     /**
@@ -0,0 +1,168 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.games.poker;
+
+import com.donohoedigital.config.ApplicationType;
+import com.donohoedigital.config.ConfigManager;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.donohoedigital.games.poker.HoldemHand.*;
+import static org.junit.Assert.*;
+
+/**
+ * Verifies HandHistoryIndex answers the same questions HoldemHand used to answer by
+ * scanning the history.
+ */
+public class HandHistoryIndexTest
+{
+    private PokerPlayer sb_;
+    private PokerPlayer bb_;
+    private PokerPlayer utg_;
+    private PokerPlayer btn_;
+    private HandHistoryIndex index_;
+
+    @Before
+    public void setUp()
+    {
+        new ConfigManager("poker", ApplicationType.HEADLESS_CLIENT);
+        sb_ = player(1, "SB");
+        bb_ = player(2, "BB");
+        utg_ = player(3, "UTG");
+        btn_ = player(4, "Button");
+        index_ = new HandHistoryIndex();
+    }
+
+    private PokerPlayer player(int nId, String sName)
+    {
+        PokerPlayer p = new PokerPlayer(nId, sName, true);
+        p.setChipCount(1000);
+        return p;
+    }
+
+    private HandAction add(PokerPlayer player, int nRound, int nAction, int nAmount)
+    {
+        HandAction action = new HandAction(player, nRound, nAction, nAmount);
+        index_.add(action);
+        return action;
+    }
+
+    @Test
+    public void emptyHistory()
+    {
+        assertEquals(0, index_.size());
+        assertFalse(index_.isActionInRound(ROUND_PRE_FLOP));
+        assertNull(index_.getLastHandAction(sb_));
+        assertNull(index_.getLastBettingAction());
+        assertEquals(HandAction.ACTION_NONE, index_.getLastActionAI(sb_, ROUND_PRE_FLOP));
+        assertEquals(0, index_.getNumLimpers());
+        assertFalse(index_.wasRaisedPreFlop());
+        assertNull(index_.getBettor(ROUND_PRE_FLOP, false, true));
+    }
+
+    @Test
+    public void preFlop()
+    {
+        add(sb_, ROUND_PRE_FLOP, HandAction.ACTION_BLIND_SM, 5);
+        HandAction bbBlind = add(bb_, ROUND_PRE_FLOP, HandAction.ACTION_BLIND_BIG, 10);
+
+        assertNull(index_.getFirstVoluntaryAction(bb_, ROUND_PRE_FLOP));
+        assertFalse(index_.hasPlayerActed(bb_, ROUND_PRE_FLOP));
+        assertSame(bbBlind, index_.getLastHandAction(bb_));
+
+        HandAction limp = add(utg_, ROUND_PRE_FLOP, HandAction.ACTION_CALL, 10);
+        add(btn_, ROUND_PRE_FLOP, HandAction.ACTION_CALL, 10);
+        assertEquals(2, index_.getNumLimpers());
+        assertEquals(2, index_.getNumCallers(ROUND_PRE_FLOP));
+
+        add(sb_, ROUND_PRE_FLOP, HandAction.ACTION_FOLD, 0);
+        HandAction raise = add(bb_, ROUND_PRE_FLOP, HandAction.ACTION_RAISE, 30);
+        assertEquals(0, index_.getNumLimpers());
+        assertTrue(index_.wasRaisedPreFlop());
+        assertEquals(1, index_.getNumRaises(ROUND_PRE_FLOP));
+        assertSame(raise, index_.getLastRaise(ROUND_PRE_FLOP));
+        assertNull(index_.getFirstBet(ROUND_PRE_FLOP));
+        assertEquals(0, index_.getNumFoldsSinceLastBet());
+
+        add(utg_, ROUND_PRE_FLOP, HandAction.ACTION_FOLD, 0);
+        add(btn_, ROUND_PRE_FLOP, HandAction.ACTION_CALL, 30);
+        assertEquals(1, index_.getNumFoldsSinceLastBet());
+        assertEquals(1, index_.getNumLimpers());
+
+        assertSame(limp, index_.getFirstVoluntaryAction(utg_, ROUND_PRE_FLOP));
+        assertSame(raise, index_.getFirstVoluntaryAction(bb_, ROUND_PRE_FLOP));
+        assertEquals(HandAction.ACTION_FOLD, index_.getLastAction(utg_, ROUND_PRE_FLOP).getAction());
+        assertEquals(HandAction.ACTION_CALL, index_.getLastActionAI(utg_, ROUND_PRE_FLOP));
+        assertEquals(1, index_.getNumPriorRaises(btn_, ROUND_PRE_FLOP));
+        assertEquals(0, index_.getNumPriorRaises(bb_, ROUND_PRE_FLOP));
+        assertTrue(index_.paidToPlay(utg_));
+        assertFalse(index_.paidToPlay(sb_));
+        assertSame(bb_, index_.getBettor(ROUND_PRE_FLOP, false, true));
+        assertEquals(8, index_.size());
+    }
+
+    @Test
+    public void laterRounds()
+    {
+        add(sb_, ROUND_PRE_FLOP, HandAction.ACTION_BLIND_SM, 5);
+        add(bb_, ROUND_PRE_FLOP, HandAction.ACTION_BLIND_BIG, 10);
+        add(sb_, ROUND_PRE_FLOP, HandAction.ACTION_CALL, 5);
+        add(bb_, ROUND_PRE_FLOP, HandAction.ACTION_CHECK, 0);
+
+        // check-raise counts as a check for ai, the call that follows is more meaningful
+        add(sb_, ROUND_FLOP, HandAction.ACTION_CHECK_RAISE, 0);
+        HandAction bet = add(bb_, ROUND_FLOP, HandAction.ACTION_BET, 20);
+        HandAction raise = add(sb_, ROUND_FLOP, HandAction.ACTION_RAISE, 60);
+        add(bb_, ROUND_FLOP, HandAction.ACTION_CALL, 40);
+
+        // calls after the flop are not limpers
+        assertEquals(1, index_.getNumLimpers());
+        assertFalse(index_.wasRaisedPreFlop());
+        assertTrue(index_.isActionInRound(ROUND_FLOP));
+        assertFalse(index_.isActionInRound(ROUND_TURN));
+        assertSame(bet, index_.getFirstBet(ROUND_FLOP));
+        assertSame(raise, index_.getLastRaise(ROUND_FLOP));
+        assertEquals(HandAction.ACTION_RAISE, index_.getLastActionAI(sb_, ROUND_FLOP));
+        assertEquals(HandAction.ACTION_BET, index_.getLastActionAI(bb_, ROUND_FLOP));
+
+        assertSame(bb_, index_.getBettor(ROUND_FLOP, false, true));
+        assertSame(sb_, index_.getBettor(ROUND_FLOP, false, false));
+        sb_.setChipCount(0);
+        assertSame(bb_, index_.getBettor(ROUND_FLOP, true, false));
+
+        add(sb_, ROUND_SHOWDOWN, HandAction.ACTION_WIN, 170);
+        assertSame(sb_, index_.getLastHandAction(sb_).getPlayer());
+        assertEquals(HandAction.ACTION_CALL, index_.getLastBettingAction().getAction());
+        assertFalse(index_.hasPlayerActed(sb_, ROUND_SHOWDOWN));
+    }
+}
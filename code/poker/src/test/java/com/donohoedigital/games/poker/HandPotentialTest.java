@@ -0,0 +1,67 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ *
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images,
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials)
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ *
+ * For inquiries regarding commercial licensing of this source code or
+ * the use of names, logos, images, text, or other assets, please contact
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.games.poker;
+
+import com.donohoedigital.config.ApplicationType;
+import com.donohoedigital.config.ConfigManager;
+import com.donohoedigital.games.poker.engine.Card;
+import com.donohoedigital.games.poker.engine.Hand;
+import org.junit.Test;
+
+import static com.donohoedigital.games.poker.engine.Card.*;
+import static org.junit.Assert.assertEquals;
+
+public class HandPotentialTest {
+
+    /**
+     * Turn analysis derived from the flop enumeration must match a fresh turn enumeration.
+     */
+    @Test
+    public void testTurnPotentialMatchesEnumeration() {
+        new ConfigManager("poker", ApplicationType.HEADLESS_CLIENT);
+
+        verify(new Hand(HEARTS_A, HEARTS_K), new Hand(HEARTS_7, HEARTS_2, CLUBS_Q), SPADES_J);
+        verify(new Hand(CLUBS_8, DIAMONDS_9), new Hand(SPADES_T, HEARTS_J, CLUBS_2), DIAMONDS_2);
+        verify(new Hand(SPADES_5, HEARTS_5), new Hand(DIAMONDS_5, CLUBS_K, HEARTS_K), SPADES_A);
+    }
+
+    private static void verify(Hand pocket, Hand flop, Card turn) {
+        HandPotential fromFlop = new HandPotential(pocket, flop).getTurnPotential(turn);
+        HandPotential direct = new HandPotential(pocket, new Hand(flop.getCard(0), flop.getCard(1), flop.getCard(2), turn));
+
+        for (int i = 0; i <= HandPotential.STRAIGHT_DRAW_3_OUTS; ++i) {
+            assertEquals("stat " + i + " for " + pocket + " " + flop + " " + turn,
+                         direct.getHandCount(i, 0), fromFlop.getHandCount(i, 0));
+        }
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.games.poker;
+
+import org.junit.*;
+
+import java.math.*;
+import java.sql.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for PokerDatabaseSummary - backfill when the tables are created, rebuild
+ * and delete by tournament, and incremental updates matching a rebuild.  Uses an
+ * in-memory database with just the PLAYER_HAND columns the rebuild reads.
+ */
+public class PokerDatabaseSummaryTest
+{
+    private static final Timestamp PROFILE = new Timestamp(1000000000000L);
+    private static int dbCount_ = 0;
+
+    private Connection conn_;
+    private int nextHandID_ = 1;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        Class.forName("org.hsqldb.jdbcDriver");
+        conn_ = DriverManager.getConnection("jdbc:hsqldb:mem:summarytest" + (++dbCount_), "sa", "");
+
+        execute("CREATE TABLE HAND (HND_ID INTEGER, HND_TOURNAMENT_ID INTEGER, HND_BIG_BLIND DECIMAL)");
+        execute("CREATE TABLE TOURNAMENT_PLAYER (TPL_ID INTEGER, TPL_TOURNAMENT_ID INTEGER, TPL_PROFILE_CREATE_DATE TIMESTAMP)");
+        execute("CREATE TABLE PLAYER_HAND (PLH_HAND_ID INTEGER, PLH_PLAYER_ID INTEGER,\n" +
+                "PLH_CARD_1 VARCHAR(2), PLH_CARD_2 VARCHAR(2), PLH_START_CHIPS DECIMAL, PLH_END_CHIPS DECIMAL,\n" +
+                "PLH_PREFLOP_ACTIONS TINYINT, PLH_FLOP_ACTIONS TINYINT, PLH_TURN_ACTIONS TINYINT, PLH_RIVER_ACTIONS TINYINT)");
+
+        // profile player in tournaments 1 and 2, plus a non-profile player in 1
+        execute("INSERT INTO TOURNAMENT_PLAYER VALUES (11, 1, '" + PROFILE + "')");
+        execute("INSERT INTO TOURNAMENT_PLAYER VALUES (12, 1, NULL)");
+        execute("INSERT INTO TOURNAMENT_PLAYER VALUES (21, 2, '" + PROFILE + "')");
+    }
+
+    @After
+    public void tearDown() throws SQLException
+    {
+        execute("SHUTDOWN");
+        conn_.close();
+    }
+
+    @Test
+    public void testBackfill() throws SQLException
+    {
+        addHands();
+
+        PokerDatabaseSummary.initSchema(conn_);
+
+        // AhKh won 5 BB, AdKd lost 2 BB and folded on the flop
+        assertEquals("2,1,1,0,3.000000,2,1,1,1", getHandRow(1, "AKs"));
+        assertEquals("1,0,0,1,0.000000,1,1,1,1", getHandRow(2, "72o"));
+        assertEquals(2, count("PLAYER_HAND_SUMMARY"));
+
+        // rounds:  hands,checked,check raised,called,bet,raised,reraised,folded,won
+        assertEquals("2,0,0,1,0,1,0,0,0", getRoundRow(1, "AKs", HoldemHand.ROUND_PRE_FLOP));
+        assertEquals("2,0,0,0,1,0,0,1,1", getRoundRow(1, "AKs", HoldemHand.ROUND_FLOP));
+        assertNull(getRoundRow(1, "AKs", HoldemHand.ROUND_TURN));
+
+        // tables exist, so no second backfill
+        PokerDatabaseSummary.initSchema(conn_);
+        assertEquals("2,1,1,0,3.000000,2,1,1,1", getHandRow(1, "AKs"));
+    }
+
+    @Test
+    public void testRebuild() throws SQLException
+    {
+        PokerDatabaseSummary.initSchema(conn_);
+        assertEquals(0, count("PLAYER_HAND_SUMMARY"));
+        assertEquals(0, count("PLAYER_ROUND_SUMMARY"));
+
+        // incremental updates match a rebuild
+        addHands();
+        String hands = dump("PLAYER_HAND_SUMMARY");
+        String rounds = dump("PLAYER_ROUND_SUMMARY");
+        PokerDatabaseSummary.rebuild(conn_, 1);
+        assertEquals(hands, dump("PLAYER_HAND_SUMMARY"));
+        assertEquals(rounds, dump("PLAYER_ROUND_SUMMARY"));
+        PokerDatabaseSummary.rebuild(conn_, 0);
+        assertEquals(hands, dump("PLAYER_HAND_SUMMARY"));
+        assertEquals(rounds, dump("PLAYER_ROUND_SUMMARY"));
+
+        // rewrite tournament 1's hands - only its rows change
+        execute("DELETE FROM PLAYER_HAND WHERE PLH_CARD_1='Ad'");
+        PokerDatabaseSummary.rebuild(conn_, 1);
+        assertEquals("1,1,0,0,5.000000,1,1,1,1", getHandRow(1, "AKs"));
+        assertEquals("1,0,0,1,0.000000,1,1,1,1", getHandRow(2, "72o"));
+    }
+
+    @Test
+    public void testDelete() throws SQLException
+    {
+        PokerDatabaseSummary.initSchema(conn_);
+        addHands();
+
+        PokerDatabaseSummary.delete(conn_, 1);
+        assertNull(getHandRow(1, "AKs"));
+        assertNull(getRoundRow(1, "AKs", HoldemHand.ROUND_PRE_FLOP));
+        assertEquals("1,0,0,1,0.000000,1,1,1,1", getHandRow(2, "72o"));
+
+        PokerDatabaseSummary.delete(conn_, 0);
+        assertEquals(0, count("PLAYER_HAND_SUMMARY"));
+        assertEquals(0, count("PLAYER_ROUND_SUMMARY"));
+    }
+
+    /**
+     * Store test hands in PLAYER_HAND and, if the summary tables exist, in
+     * the summary (as PokerDatabase does when a hand is stored)
+     */
+    private void addHands() throws SQLException
+    {
+        addHand(1, 11, "Ah", "Kh", 1000, 1500,
+                PokerDatabase.BIT_RAISE, (byte) (PokerDatabase.BIT_BET | PokerDatabase.BIT_WIN), (byte) 0, (byte) 0);
+        addHand(1, 11, "Ad", "Kd", 1000, 800,
+                PokerDatabase.BIT_CALL, PokerDatabase.BIT_FOLD, (byte) 0, (byte) 0);
+        addHand(1, 12, "Qs", "Qc", 1000, 2000,
+                PokerDatabase.BIT_RAISE, (byte) 0, (byte) 0, (byte) 0);
+        addHand(2, 21, "7c", "2d", 1000, 1000,
+                PokerDatabase.BIT_CHECK, PokerDatabase.BIT_CHECK, PokerDatabase.BIT_CHECK, PokerDatabase.BIT_CHECK);
+    }
+
+    private void addHand(int tournamentID, int playerID, String card1, String card2, int start, int end,
+                         byte preflop, byte flop, byte turn, byte river) throws SQLException
+    {
+        int handID = nextHandID_++;
+        BigDecimal bigBlind = new BigDecimal(100);
+        execute("INSERT INTO HAND VALUES (" + handID + ", " + tournamentID + ", " + bigBlind + ")");
+        execute("INSERT INTO PLAYER_HAND VALUES (" + handID + ", " + playerID + ", '" + card1 + "', '" + card2 + "', " +
+                start + ", " + end + ", " + preflop + ", " + flop + ", " + turn + ", " + river + ")");
+
+        boolean bProfile = playerID != 12;
+        if (bProfile && conn_.getMetaData().getTables(null, null, "PLAYER_HAND_SUMMARY", null).next())
+        {
+            PokerDatabaseSummary.addHand(conn_, PROFILE, tournamentID, PokerDatabaseSummary.POSITION_UNKNOWN,
+                                         card1, card2, new BigDecimal(start), new BigDecimal(end), bigBlind,
+                                         new byte[] {preflop, flop, turn, river});
+        }
+    }
+
+    /**
+     * totals for a PLAYER_HAND_SUMMARY row, null if none
+     */
+    private String getHandRow(int tournamentID, String handClass) throws SQLException
+    {
+        return query("SELECT PHS_HANDS, PHS_WON, PHS_LOST, PHS_PASSED, PHS_BETS_WON,\n" +
+                     "PHS_SAW_FLOP, PHS_SAW_TURN, PHS_SAW_RIVER, PHS_SAW_SHOWDOWN FROM PLAYER_HAND_SUMMARY\n" +
+                     "WHERE PHS_TOURNAMENT_ID=" + tournamentID + " AND PHS_HAND_CLASS='" + handClass + "'");
+    }
+
+    /**
+     * totals for a PLAYER_ROUND_SUMMARY row, null if none
+     */
+    private String getRoundRow(int tournamentID, String handClass, int round) throws SQLException
+    {
+        return query("SELECT PRS_HANDS, PRS_CHECKED, PRS_CHECK_RAISED, PRS_CALLED, PRS_BET,\n" +
+                     "PRS_RAISED, PRS_RERAISED, PRS_FOLDED, PRS_WON FROM PLAYER_ROUND_SUMMARY\n" +
+                     "WHERE PRS_TOURNAMENT_ID=" + tournamentID + " AND PRS_HAND_CLASS='" + handClass + "'\n" +
+                     "AND PRS_ROUND=" + round);
+    }
+
+    private int count(String table) throws SQLException
+    {
+        return Integer.parseInt(query("SELECT COUNT(*) FROM " + table));
+    }
+
+    /**
+     * all rows of a summary table, in key order
+     */
+    private String dump(String table) throws SQLException
+    {
+        String prefix = table.equals("PLAYER_HAND_SUMMARY") ? "PHS" : "PRS";
+        StringBuilder sb = new StringBuilder();
+        Statement stmt = conn_.createStatement();
+        try
+        {
+            ResultSet rs = stmt.executeQuery("SELECT * FROM " + table + " ORDER BY " +
+                                             prefix + "_TOURNAMENT_ID, " + prefix + "_HAND_CLASS" +
+                                             (prefix.equals("PRS") ? ", PRS_ROUND" : ""));
+            int nCols = rs.getMetaData().getColumnCount();
+            while (rs.next())
+            {
+                for (int i = 1; i <= nCols; ++i)
+                {
+                    sb.append(rs.getString(i)).append(',');
+                }
+                sb.append('\n');
+            }
+            rs.close();
+        }
+        finally
+        {
+            stmt.close();
+        }
+        return sb.toString();
+    }
+
+    /**
+     * first row of query as comma separated values, null if no rows
+     */
+    private String query(String sql) throws SQLException
+    {
+        Statement stmt = conn_.createStatement();
+        try
+        {
+            ResultSet rs = stmt.executeQuery(sql);
+            if (!rs.next()) return null;
+
+            StringBuilder sb = new StringBuilder();
+            int nCols = rs.getMetaData().getColumnCount();
+            for (int i = 1; i <= nCols; ++i)
+            {
+                if (i > 1) sb.append(',');
+                Object value = rs.getObject(i);
+                sb.append(value instanceof BigDecimal ? ((BigDecimal) value).setScale(6).toPlainString() : value);
+            }
+            return sb.toString();
+        }
+        finally
+        {
+            stmt.close();
+        }
+    }
+
+    private void execute(String sql) throws SQLException
+    {
+        Statement stmt = conn_.createStatement();
+        try
+        {
+            stmt.execute(sql);
+        }
+        finally
+        {
+            stmt.close();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.games.poker.ai;
+
+import com.donohoedigital.base.*;
+import com.donohoedigital.config.*;
+import com.donohoedigital.games.poker.*;
+import com.donohoedigital.games.poker.engine.*;
+import org.junit.*;
+
+import static com.donohoedigital.games.poker.engine.Card.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for HandAnalysis - instances are shared per pocket while the board is
+ * unchanged, and the values match computing them directly
+ */
+public class HandAnalysisTest
+{
+    @Before
+    public void setUp()
+    {
+        new ConfigManager("poker", ApplicationType.HEADLESS_CLIENT);
+    }
+
+    @Test
+    public void testCache()
+    {
+        Hand pocket = new Hand(HEARTS_A, HEARTS_K);
+        Hand other = new Hand(CLUBS_8, DIAMONDS_9);
+        Hand flop = new Hand(HEARTS_7, HEARTS_2, CLUBS_Q);
+
+        // same pocket and board share an instance, which keeps its own copies
+        HandAnalysis analysis = HandAnalysis.getInstance(pocket, flop);
+        assertSame(analysis, HandAnalysis.getInstance(new Hand(pocket), new Hand(flop)));
+        assertNotSame(analysis, HandAnalysis.getInstance(other, flop));
+        assertNotSame(pocket, analysis.getPocket());
+        assertEquals(flop.fingerprint(), analysis.getCommunity().fingerprint());
+
+        // lazily computed values are computed once
+        assertSame(analysis.getPotential(), analysis.getPotential());
+        assertSame(analysis.getRanks(), analysis.getRanks());
+
+        // new board, new instance
+        Hand turn = new Hand(flop);
+        turn.addCard(SPADES_J);
+        assertNotSame(analysis, HandAnalysis.getInstance(pocket, turn));
+    }
+
+    @Test
+    public void testValues()
+    {
+        verify(new Hand(HEARTS_A, HEARTS_K), new Hand(HEARTS_7, HEARTS_2, CLUBS_Q), SPADES_J);
+        verify(new Hand(CLUBS_8, DIAMONDS_9), new Hand(SPADES_T, HEARTS_J, CLUBS_2), DIAMONDS_2);
+        verify(new Hand(SPADES_5, HEARTS_5), new Hand(DIAMONDS_5, CLUBS_K, HEARTS_K), SPADES_A);
+    }
+
+    @Test
+    public void testNull()
+    {
+        try
+        {
+            HandAnalysis.getInstance(null, new Hand(HEARTS_7, HEARTS_2, CLUBS_Q));
+            fail("null pocket accepted");
+        }
+        catch (ApplicationError expected)
+        {
+            // expected
+        }
+
+        try
+        {
+            HandAnalysis.getInstance(new Hand(HEARTS_A, HEARTS_K), null);
+            fail("null community accepted");
+        }
+        catch (ApplicationError expected)
+        {
+            // expected
+        }
+    }
+
+    /**
+     * Check flop and turn analysis (turn potential derived from the flop) against
+     * a direct computation
+     */
+    private static void verify(Hand pocket, Hand flop, Card card)
+    {
+        Hand turn = new Hand(flop);
+        turn.addCard(card);
+
+        verify(HandAnalysis.getInstance(pocket, flop), pocket, flop);
+        verify(HandAnalysis.getInstance(pocket, turn), pocket, turn);
+    }
+
+    private static void verify(HandAnalysis analysis, Hand pocket, Hand community)
+    {
+        HandPotential direct = new HandPotential(pocket, community);
+        for (int i = 0; i <= HandPotential.STRAIGHT_DRAW_3_OUTS; ++i)
+        {
+            assertEquals("stat " + i + " for " + pocket + " " + community,
+                         direct.getHandCount(i, 0), analysis.getPotential().getHandCount(i, 0));
+        }
+
+        assertEquals(PocketRanks.getInstance(community).getRawHandStrength(pocket),
+                     analysis.getRawHandStrength(), 0.0f);
+    }
+}
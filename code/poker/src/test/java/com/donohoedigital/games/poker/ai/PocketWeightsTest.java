@@ -0,0 +1,150 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.games.poker.ai;
+
+import com.donohoedigital.config.*;
+import com.donohoedigital.games.poker.*;
+import com.donohoedigital.games.poker.engine.*;
+import com.donohoedigital.games.poker.model.*;
+import org.junit.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifies PocketWeights updated incrementally as actions are added gives
+ * the same results as computing from the whole hand history at once
+ */
+public class PocketWeightsTest
+{
+    private static final int PLAYERS = 6;
+
+    @Before
+    public void setUp()
+    {
+        new ConfigManager("poker", ApplicationType.HEADLESS_CLIENT);
+    }
+
+    @Test
+    public void testIncrementalMatchesFull()
+    {
+        for (long seed = 1; seed <= 5; seed++)
+        {
+            playHand(seed);
+        }
+    }
+
+    /**
+     * Play a hand with the AI, updating weights after each action and checking
+     * them against a full recompute at the end of each round
+     */
+    private void playHand(long seed)
+    {
+        PokerRandom.setThreadStream(PokerRandom.getSeededStream(seed));
+        try
+        {
+            PokerTable table = createTable();
+            table.startNewHand(Deck.getSeededDeck(seed));
+            HoldemHand hhand = table.getHoldemHand();
+            PocketWeights.getInstance(hhand);
+
+            while (true)
+            {
+                while (!hhand.isDone())
+                {
+                    PokerPlayer current = hhand.getCurrentPlayerInitIndex();
+                    current.processAction(current.getAction(false));
+                    PocketWeights.getInstance(hhand);
+                }
+
+                verify(hhand);
+
+                if (hhand.getRound() == HoldemHand.ROUND_RIVER) break;
+                hhand.advanceRound();
+                PocketWeights.getInstance(hhand);
+            }
+        }
+        finally
+        {
+            PokerRandom.setThreadStream(null);
+        }
+    }
+
+    /**
+     * Compare the hand's (incrementally updated) weights to ones computed from scratch
+     */
+    private static void verify(HoldemHand hhand)
+    {
+        PocketWeights incremental = PocketWeights.getInstance(hhand);
+        hhand.setPocketWeights(null);
+        PocketWeights full = PocketWeights.getInstance(hhand);
+        assertNotSame(incremental, full);
+
+        for (int seat = 0; seat < PokerConstants.SEATS; seat++)
+        {
+            PocketMatrixFloat a = incremental.getWeightTable(seat);
+            PocketMatrixFloat b = full.getWeightTable(seat);
+            for (int x = 0; x < PocketMatrixFloat.size(); x++)
+            {
+                assertEquals("seat " + seat + " pocket " + x + " round " + hhand.getRound(),
+                             b.getAt(x), a.getAt(x), 0.0001f);
+            }
+            assertEquals("seat " + seat + " apparent strength round " + hhand.getRound(),
+                         full.getApparentStrength(seat), incremental.getApparentStrength(seat), 0.0001f);
+        }
+    }
+
+    /**
+     * Table of AI players ready for a hand
+     */
+    private static PokerTable createTable()
+    {
+        PokerGame game = new PokerGame(null);
+        game.setProfile(new TournamentProfile("test"));
+
+        for (int i = 0; i < PLAYERS; i++)
+        {
+            PokerPlayer player = new PokerPlayer(game.getNextPlayerID(), "AI " + (i + 1), false);
+            player.setPlayerType(PlayerType.getDefaultProfile());
+            game.addPlayer(player);
+        }
+        game.setupTournament(false, false, PLAYERS);
+
+        PokerTable table = game.getTable(0);
+        for (int i = 0; i < PokerConstants.SEATS; i++)
+        {
+            PokerPlayer player = table.getPlayer(i);
+            if (player != null) player.setPokerAI(PokerAI.createPokerAI(player.getPlayerType()));
+        }
+        return table;
+    }
+}
@@ -44,6 +44,7 @@ import org.apache.logging.log4j.*;
 
 import java.security.*;
 import java.util.*;
+import java.util.random.*;
 
 /**
  * @author Doug Donohoe
@@ -53,11 +54,8 @@ public class Deck extends DMArrayList<Card>
 {
     static Logger logger = LogManager.getLogger(Deck.class);
 
-    // random for normal shuffles - changed to secure random in 3.0
-    private static SecureRandom random = new SecureRandom();
-
-    // quick random for calc tool
-    private static MersenneTwisterFast qrandom = new MersenneTwisterFast();
+    // fast stream for shuffle()/addRandom() - null means the thread's stream
+    private transient RandomGenerator random_;
 
     /**
      * Empty deck for loading (please use the constructor with a boolean)
@@ -76,7 +74,10 @@ public class Deck extends DMArrayList<Card>
 
     /**
      * Creates a new deck, shuffled if bShuffle is true
-     * and sets random seed to given value if non-zero
+     * and sets random seed to given value if non-zero.
+     * The shuffle uses the secure generator - this is the
+     * path for real deals; see {@link #getSimulationDeck()}
+     * for simulation.
      */
     public Deck(boolean bShuffle, long seed)
     {
@@ -138,11 +139,64 @@ public class Deck extends DMArrayList<Card>
 
         if (bShuffle)
         {
-            if (seed > 0) random.setSeed(seed);
-            Collections.shuffle(this, random);
+            SecureRandom secure = PokerRandom.getSecure();
+            if (seed > 0) secure.setSeed(seed);
+            Collections.shuffle(this, secure);
         }
     }
 
+    /**
+     * Creates a new deck shuffled by a generator seeded with the given value.
+     * Unlike {@link #Deck(boolean, long)}, which only adds the seed to the
+     * shared SecureRandom, the resulting order depends solely on the seed.
+     * Later shuffle()/addRandom() calls continue the same stream.
+     * Used for reproducible simulations - never for real games.
+     */
+    public static Deck getSeededDeck(long seed)
+    {
+        return getSimulationDeck(PokerRandom.getSeededStream(seed));
+    }
+
+    /**
+     * Creates a new deck shuffled with the calling thread's fast stream.
+     * Used for simulation - never for real games.
+     */
+    public static Deck getSimulationDeck()
+    {
+        return getSimulationDeck(null);
+    }
+
+    /**
+     * Creates a new deck shuffled with the given fast stream (e.g., a per-table
+     * stream from {@link PokerRandom#getStream(long)}), which is also used
+     * for later shuffle()/addRandom() calls.  Null means the thread's stream.
+     * Used for simulation - never for real games.
+     */
+    public static Deck getSimulationDeck(RandomGenerator random)
+    {
+        Deck deck = new Deck(false);
+        deck.setRandom(random);
+        deck.shuffle();
+        return deck;
+    }
+
+    /**
+     * Set the fast stream used by shuffle()/addRandom().  Null means
+     * the calling thread's stream.
+     */
+    public void setRandom(RandomGenerator random)
+    {
+        random_ = random;
+    }
+
+    /**
+     * Get the fast stream used by shuffle()/addRandom()
+     */
+    private RandomGenerator getRandom()
+    {
+        return random_ != null ? random_ : PokerRandom.getThreadStream();
+    }
+
     ////
     //// shuffle logic borrowed from Collections
     ////
@@ -152,9 +206,10 @@ public class Deck extends DMArrayList<Card>
      */
     public void shuffle()
     {
+        RandomGenerator random = getRandom();
         for (int i = size(); i > 1; i--)
         {
-            set(i - 1, set(qrandom.nextInt(i), get(i - 1)));
+            set(i - 1, set(random.nextInt(i), get(i - 1)));
         }
     }
 
@@ -163,9 +218,10 @@ public class Deck extends DMArrayList<Card>
      */
     private void qshuffle()
     {
+        RandomGenerator random = getRandom();
         for (int i = Math.min(26, size()); i > 1; i--)
         {
-            set(i - 1, set(qrandom.nextInt(i), get(i - 1)));
+            set(i - 1, set(random.nextInt(i), get(i - 1)));
         }
     }
 
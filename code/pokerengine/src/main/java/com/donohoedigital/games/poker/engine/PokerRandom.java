@@ -0,0 +1,189 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.games.poker.engine;
+
+import java.security.*;
+import java.util.*;
+import java.util.random.*;
+
+/**
+ * Source of random numbers for dealing and simulation.  There are two
+ * deliberately separate paths:
+ * <ul>
+ * <li>{@link #getSecure()} - the SecureRandom used to shuffle real deals.
+ *     Never used for simulation, never reproducible.</li>
+ * <li>Fast streams - L64X128MixRandom generators for the simulators, AI
+ *     and offline tables.  Each thread ({@link #getThreadStream()}) or
+ *     table/tournament ({@link #getStream(long)}) gets its own generator,
+ *     so callers don't contend on or correlate through shared state.
+ *     All are derived from a master seed, so runs can be reproduced by
+ *     calling {@link #setMasterSeed(long)} first.</li>
+ * </ul>
+ * Fast streams are not thread safe; a stream should only be used by the
+ * thread (or table) it was obtained for.
+ */
+public class PokerRandom
+{
+    // algorithm for fast streams - splittable/jumpable, good equidistribution
+    public static final String ALGORITHM = "L64X128MixRandom";
+
+    private static final RandomGeneratorFactory<RandomGenerator> FACTORY = RandomGeneratorFactory.of(ALGORITHM);
+
+    // secure random for real deals - changed to secure random in 3.0
+    private static final SecureRandom secure_ = new SecureRandom();
+
+    // master seed and the splittable root thread streams are derived from
+    private static long masterSeed_ = secure_.nextLong();
+    private static SplittableRandom root_ = new SplittableRandom(masterSeed_);
+    private static volatile int generation_ = 0;
+
+    // per-thread stream, recreated if the master seed changes
+    private static final ThreadLocal<ThreadStream> threadStream_ = new ThreadLocal<>();
+
+    /**
+     * Holder for a thread's stream and the master seed generation it came from
+     */
+    private static class ThreadStream
+    {
+        final RandomGenerator random;
+        final int generation;
+
+        ThreadStream(RandomGenerator random, int generation)
+        {
+            this.random = random;
+            this.generation = generation;
+        }
+    }
+
+    /**
+     * Static only
+     */
+    private PokerRandom()
+    {
+    }
+
+    /**
+     * Get the secure random used for real deals.  Thread safe.
+     */
+    public static SecureRandom getSecure()
+    {
+        return secure_;
+    }
+
+    /**
+     * Reset the master seed.  Streams obtained after this call (including
+     * each thread's stream on its next use) are derived from the new seed.
+     */
+    public static synchronized void setMasterSeed(long seed)
+    {
+        masterSeed_ = seed;
+        root_ = new SplittableRandom(seed);
+        generation_++;
+    }
+
+    /**
+     * Get the current master seed
+     */
+    public static synchronized long getMasterSeed()
+    {
+        return masterSeed_;
+    }
+
+    /**
+     * Get the calling thread's fast stream.  Each thread's stream is split
+     * from the master seed the first time the thread asks for it, so the
+     * sequence a thread sees depends on the order threads first ask - use
+     * {@link #getStream(long)} when results must not depend on scheduling.
+     */
+    public static RandomGenerator getThreadStream()
+    {
+        ThreadStream stream = threadStream_.get();
+        if (stream == null || stream.generation != generation_)
+        {
+            synchronized (PokerRandom.class)
+            {
+                stream = new ThreadStream(FACTORY.create(root_.nextLong()), generation_);
+            }
+            threadStream_.set(stream);
+        }
+        return stream.random;
+    }
+
+    /**
+     * Use the given generator as the calling thread's stream (until the
+     * master seed changes), so a thread's simulation can be reproduced
+     * independent of other threads.  Pass null to go back to a stream
+     * split from the master seed.
+     */
+    public static void setThreadStream(RandomGenerator random)
+    {
+        if (random == null) threadStream_.remove();
+        else threadStream_.set(new ThreadStream(random, generation_));
+    }
+
+    /**
+     * Get a new fast stream for the given key (table id, tournament number,
+     * etc.).  The same key and master seed always produce the same sequence.
+     */
+    public static RandomGenerator getStream(long key)
+    {
+        return getStream(getMasterSeed(), key);
+    }
+
+    /**
+     * Get a new fast stream for the given key, derived from the given seed
+     * rather than the master seed.
+     */
+    public static RandomGenerator getStream(long seed, long key)
+    {
+        return FACTORY.create(mix(seed) ^ mix(key + 0x9E3779B97F4A7C15L));
+    }
+
+    /**
+     * Get a new fast stream seeded directly from the given value
+     */
+    public static RandomGenerator getSeededStream(long seed)
+    {
+        return FACTORY.create(seed);
+    }
+
+    /**
+     * murmur3 64-bit finalizer, so nearby keys/seeds give unrelated streams
+     */
+    private static long mix(long z)
+    {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+}
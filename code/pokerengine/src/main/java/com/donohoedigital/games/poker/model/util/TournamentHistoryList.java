@@ -33,6 +33,7 @@
 package com.donohoedigital.games.poker.model.util;
 
 import com.donohoedigital.comms.*;
+import com.donohoedigital.db.*;
 import com.donohoedigital.games.poker.model.*;
 import org.apache.logging.log4j.*;
 
@@ -46,6 +47,7 @@ public class TournamentHistoryList extends DMArrayList<TournamentHistory>
     static Logger logger = LogManager.getLogger(TournamentHistoryList.class);
 
     private int totalSize_ = 0;
+    private PageKey nextPageKey_;
 
     /**
      * Default constructor
@@ -97,6 +99,22 @@ public class TournamentHistoryList extends DMArrayList<TournamentHistory>
         totalSize_ = size;
     }
 
+    /**
+     * Get key to fetch the page after this one (null if none)
+     */
+    public PageKey getNextPageKey()
+    {
+        return nextPageKey_;
+    }
+
+    /**
+     * Set key to fetch the page after this one
+     */
+    public void setNextPageKey(PageKey key)
+    {
+        nextPageKey_ = key;
+    }
+
     /**
      * calculate rank for each player in this tournament history
      * Assumes items in list are sorted properly.  This is okay since
@@ -0,0 +1,145 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.games.poker.engine;
+
+import org.junit.*;
+
+import java.util.*;
+import java.util.random.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for PokerRandom
+ */
+public class PokerRandomTest
+{
+    private static final int COUNT = 20;
+
+    @After
+    public void tearDown()
+    {
+        PokerRandom.setThreadStream(null);
+    }
+
+    /**
+     * A thread's stream is the same for the same master seed
+     */
+    @Test
+    public void testThreadStreamReproducible() throws Exception
+    {
+        PokerRandom.setMasterSeed(42);
+        long[] first = drawOnNewThread();
+        long[] second = drawOnNewThread();
+
+        PokerRandom.setMasterSeed(42);
+        assertArrayEquals(first, drawOnNewThread());
+        assertArrayEquals(second, drawOnNewThread());
+
+        // each thread gets its own stream
+        assertFalse(Arrays.equals(first, second));
+
+        PokerRandom.setMasterSeed(43);
+        assertFalse(Arrays.equals(first, drawOnNewThread()));
+    }
+
+    /**
+     * A keyed (per-table) stream depends only on the seed and key
+     */
+    @Test
+    public void testStreamReproducible()
+    {
+        assertArrayEquals(draw(PokerRandom.getStream(42, 7)), draw(PokerRandom.getStream(42, 7)));
+        assertFalse(Arrays.equals(draw(PokerRandom.getStream(42, 7)), draw(PokerRandom.getStream(42, 8))));
+        assertFalse(Arrays.equals(draw(PokerRandom.getStream(42, 7)), draw(PokerRandom.getStream(43, 7))));
+
+        // default seed is the master seed
+        PokerRandom.setMasterSeed(42);
+        assertEquals(42, PokerRandom.getMasterSeed());
+        assertArrayEquals(draw(PokerRandom.getStream(42, 7)), draw(PokerRandom.getStream(7)));
+    }
+
+    /**
+     * Setting the master seed replaces the thread's existing stream
+     */
+    @Test
+    public void testSetMasterSeedResetsThreadStream()
+    {
+        PokerRandom.setMasterSeed(42);
+        RandomGenerator stream = PokerRandom.getThreadStream();
+        assertSame(stream, PokerRandom.getThreadStream());
+        long[] values = draw(stream);
+
+        PokerRandom.setMasterSeed(42);
+        RandomGenerator reset = PokerRandom.getThreadStream();
+        assertNotSame(stream, reset);
+        assertArrayEquals(values, draw(reset));
+    }
+
+    /**
+     * A thread can supply its own stream
+     */
+    @Test
+    public void testSetThreadStream()
+    {
+        RandomGenerator mine = PokerRandom.getSeededStream(99);
+        PokerRandom.setThreadStream(mine);
+        assertSame(mine, PokerRandom.getThreadStream());
+
+        PokerRandom.setThreadStream(null);
+        assertNotSame(mine, PokerRandom.getThreadStream());
+
+        PokerRandom.setThreadStream(mine);
+        PokerRandom.setMasterSeed(1);
+        assertNotSame(mine, PokerRandom.getThreadStream());
+    }
+
+    private static long[] draw(RandomGenerator random)
+    {
+        long[] values = new long[COUNT];
+        for (int i = 0; i < COUNT; i++)
+        {
+            values[i] = random.nextLong();
+        }
+        return values;
+    }
+
+    private static long[] drawOnNewThread() throws InterruptedException
+    {
+        long[][] result = new long[1][];
+        Thread thread = new Thread(() -> result[0] = draw(PokerRandom.getThreadStream()));
+        thread.start();
+        thread.join();
+        return result[0];
+    }
+}
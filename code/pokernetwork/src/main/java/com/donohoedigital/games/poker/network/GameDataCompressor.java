@@ -0,0 +1,202 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.games.poker.network;
+
+import com.donohoedigital.base.*;
+import com.donohoedigital.games.config.*;
+
+import java.util.zip.*;
+
+/**
+ * Compresses game data (output of GameState.write()) sent in an OnlineMessage.
+ * Each line is un-hidden before deflating, since the obfuscation rotates
+ * characters by position and defeats compression, and re-hidden after
+ * inflating, so decompress() returns exactly what was given to compress().
+ * A preset dictionary of strings common in game state output helps the
+ * smaller (per-table) updates, which are too short to build up much history.
+ */
+public class GameDataCompressor
+{
+    // payloads smaller than this aren't worth compressing
+    public static final int MIN_SIZE = 1024;
+
+    // decompressed game data larger than this is rejected, so a small
+    // message can't inflate to an unbounded size
+    public static final int MAX_SIZE = 32 * 1024 * 1024;
+
+    // Strings typical of game state output.  Per zlib docs,
+    // the most commonly used strings should come last.
+    private static final byte[] DICTIONARY = Utils.encode(
+            "com.donohoedigital.games.poker.model.TournamentProfile:" +
+            "com.donohoedigital.games.poker.PokerSaveDetails:" +
+            "com.donohoedigital.games.poker.TournamentHistory:" +
+            "com.donohoedigital.games.poker.ai.V2Player:" +
+            "com.donohoedigital.games.poker.ai.V1Player:" +
+            "com.donohoedigital.games.poker.ai.PokerAI:" +
+            "com.donohoedigital.games.poker.engine.Deck:" +
+            "com.donohoedigital.games.poker.engine.Hand:" +
+            "com.donohoedigital.games.poker.HandAction:" +
+            "com.donohoedigital.games.poker.HoldemHand:" +
+            "com.donohoedigital.games.poker.GameClock:" +
+            "com.donohoedigital.games.poker.Pot:" +
+            "com.donohoedigital.games.poker.PokerTable:" +
+            "com.donohoedigital.games.poker.PokerGame:" +
+            "com.donohoedigital.games.poker.PokerPlayer:" +
+            "com.donohoedigital.games.config.GamePhase:" +
+            "c:~:~:" + "@:~:~:" + "#:~:~:" + "d:" + "=:" +
+            ":true:false:~:~:~:0:0:0:-1:0:1:2:3:4:5:6:7:8:9:10:" +
+            ":false:false:~:~:0:0:0:0:0:~:~:true:true:~:0:0:0:0:");
+
+    /**
+     * Static only
+     */
+    private GameDataCompressor()
+    {
+    }
+
+    /**
+     * Compress the given game data.  Returns null if the data is smaller
+     * than MIN_SIZE or compression doesn't make it any smaller.
+     */
+    public static byte[] compress(String sGameData)
+    {
+        if (sGameData == null || sGameData.length() < MIN_SIZE) return null;
+
+        byte[] clear = Utils.encode(fuscate(sGameData, true));
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try
+        {
+            deflater.setDictionary(DICTIONARY);
+            deflater.setInput(clear);
+            deflater.finish();
+
+            DDByteArrayOutputStream out = new DDByteArrayOutputStream(clear.length / 4);
+            byte[] buf = new byte[4096];
+            while (!deflater.finished())
+            {
+                int n = deflater.deflate(buf);
+                out.write(buf, 0, n);
+                if (out.size() >= clear.length) return null;
+            }
+            return out.toByteArray();
+        }
+        finally
+        {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Decompress data returned from compress(), returning the encoded
+     * bytes of the original game data.  Throws an ApplicationError if
+     * the result would be larger than MAX_SIZE.
+     */
+    public static byte[] decompress(byte[] data)
+    {
+        return decompress(data, MAX_SIZE);
+    }
+
+    /**
+     * Decompress data, allowing at most nMaxSize bytes of output
+     */
+    static byte[] decompress(byte[] data, int nMaxSize)
+    {
+        Inflater inflater = new Inflater();
+        try
+        {
+            inflater.setInput(data);
+
+            DDByteArrayOutputStream out = new DDByteArrayOutputStream((int) Math.min(data.length * 5L, nMaxSize));
+            byte[] buf = new byte[4096];
+            while (!inflater.finished())
+            {
+                int n = inflater.inflate(buf);
+                if (n == 0)
+                {
+                    if (inflater.needsDictionary())
+                    {
+                        inflater.setDictionary(DICTIONARY);
+                    }
+                    else if (inflater.needsInput())
+                    {
+                        throw new ApplicationError(ErrorCodes.ERROR_INVALID_MESSAGE, "Truncated game data", null);
+                    }
+                }
+                if (out.size() + n > nMaxSize)
+                {
+                    throw new ApplicationError(ErrorCodes.ERROR_INVALID_MESSAGE, "Game data larger than " + nMaxSize + " bytes", null);
+                }
+                out.write(buf, 0, n);
+            }
+
+            String sClear = Utils.decode(out.getBuffer(), 0, out.size());
+            return Utils.encode(fuscate(sClear, false));
+        }
+        catch (DataFormatException dfe)
+        {
+            throw new ApplicationError(dfe);
+        }
+        finally
+        {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Un-hide (or hide) each line of game state data - line N is entry N
+     */
+    private static String fuscate(String sData, boolean bClear)
+    {
+        StringBuilder result = new StringBuilder(sData.length());
+        StringBuffer line = new StringBuffer(256);
+        int nEntry = 0;
+        int nStart = 0;
+        int nEnd;
+        while (nStart < sData.length())
+        {
+            nEnd = sData.indexOf(GameState.ENTRY_ENDLINE, nStart);
+            if (nEnd == -1) nEnd = sData.length();
+
+            line.setLength(0);
+            line.append(sData, nStart, nEnd);
+            if (bClear) Hide.deobfuscate(line, nEntry);
+            else Hide.obfuscate(line, nEntry);
+            result.append(line);
+            if (nEnd < sData.length()) result.append(GameState.ENTRY_ENDLINE);
+
+            nEntry++;
+            nStart = nEnd + 1;
+        }
+        return result.toString();
+    }
+}
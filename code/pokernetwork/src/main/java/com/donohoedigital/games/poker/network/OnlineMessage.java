@@ -224,6 +224,7 @@ public class OnlineMessage
     public static final String ON_CONNECTED = "connected";
     public static final String ON_PAUSE_CLOCK = "pauseclock";
     public static final String ON_RECONNECT = "reconnect";
+    public static final String ON_GAME_DATA_COMPRESSED = "gdz";
 
     // no table/player set
     public static final int NO_TABLE = -1;
@@ -303,12 +304,39 @@ public class OnlineMessage
 
     public void setGameData(String data)
     {
-        data_.addData(data);
+        setGameData(data, false);
     }
 
+    /**
+     * Set game data, compressing it if bCompress is true and it is large enough.
+     * Only compress if the recipient is at PokerConstants.VERSION_GAME_DATA_COMPRESSED
+     * or later.
+     */
+    public void setGameData(String data, boolean bCompress)
+    {
+        byte[] compressed = bCompress ? GameDataCompressor.compress(data) : null;
+        if (compressed != null)
+        {
+            data_.setBoolean(ON_GAME_DATA_COMPRESSED, Boolean.TRUE);
+            data_.addData(compressed);
+        }
+        else
+        {
+            data_.addData(data);
+        }
+    }
+
+    /**
+     * Get game data, decompressed if need be
+     */
     public byte[] getGameData()
     {
-        return data_.getData();
+        byte[] data = data_.getData();
+        if (data != null && data_.getBoolean(ON_GAME_DATA_COMPRESSED, false))
+        {
+            data = GameDataCompressor.decompress(data);
+        }
+        return data;
     }
 
     public String getKey()
@@ -65,11 +65,12 @@ public class PokerUDPTransporter implements DDMessageTransporter
 
         try
         {
-            msg_.read(new ByteArrayInputStream(data.getData(), data.getOffset(), data.getLength()), data.getLength());
+            // read parts of a multi-part message in place (no combined copy)
+            msg_.read(data.getInputStream(), data.getLength());
         }
         catch (IOException ignored)
         {
-            // nothing will be thrown since using byte array output stream
+            // nothing will be thrown since reading from in-memory parts
         }
     }
 
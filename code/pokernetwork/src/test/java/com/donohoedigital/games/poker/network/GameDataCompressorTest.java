@@ -0,0 +1,145 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.games.poker.network;
+
+import com.donohoedigital.base.*;
+import com.donohoedigital.games.config.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for GameDataCompressor
+ */
+public class GameDataCompressorTest
+{
+    /**
+     * Hidden game data round trips exactly and is smaller compressed
+     */
+    @Test
+    public void testRoundTrip()
+    {
+        String sData = createGameData(200);
+        byte[] compressed = GameDataCompressor.compress(sData);
+        assertNotNull(compressed);
+        assertTrue(compressed.length < Utils.encode(sData).length / 2);
+
+        assertArrayEquals(Utils.encode(sData), GameDataCompressor.decompress(compressed));
+    }
+
+    /**
+     * Trailing end of line and empty lines are preserved
+     */
+    @Test
+    public void testRoundTripEmptyLines()
+    {
+        String sData = createGameData(50) + GameState.ENTRY_ENDLINE + GameState.ENTRY_ENDLINE;
+        byte[] compressed = GameDataCompressor.compress(sData);
+        assertNotNull(compressed);
+        assertArrayEquals(Utils.encode(sData), GameDataCompressor.decompress(compressed));
+    }
+
+    /**
+     * Data below the threshold isn't compressed
+     */
+    @Test
+    public void testBelowThreshold()
+    {
+        assertNull(GameDataCompressor.compress(null));
+        assertNull(GameDataCompressor.compress(""));
+
+        String sData = createGameData(100).substring(0, GameDataCompressor.MIN_SIZE - 1);
+        assertNull(GameDataCompressor.compress(sData));
+    }
+
+    /**
+     * Output larger than the max is rejected
+     */
+    @Test
+    public void testMaxSize()
+    {
+        String sData = createGameData(200);
+        byte[] compressed = GameDataCompressor.compress(sData);
+        int nSize = Utils.encode(sData).length;
+
+        assertEquals(nSize, GameDataCompressor.decompress(compressed, nSize).length);
+        try
+        {
+            GameDataCompressor.decompress(compressed, nSize - 1);
+            fail("Expected error for data larger than max");
+        }
+        catch (ApplicationError expected)
+        {
+            assertEquals(ErrorCodes.ERROR_INVALID_MESSAGE, expected.getErrorCode());
+        }
+    }
+
+    /**
+     * Truncated data is rejected
+     */
+    @Test
+    public void testTruncated()
+    {
+        byte[] compressed = GameDataCompressor.compress(createGameData(200));
+        try
+        {
+            GameDataCompressor.decompress(Arrays.copyOf(compressed, compressed.length / 2));
+            fail("Expected error for truncated data");
+        }
+        catch (ApplicationError expected)
+        {
+            assertEquals(ErrorCodes.ERROR_INVALID_MESSAGE, expected.getErrorCode());
+        }
+    }
+
+    /**
+     * Create data resembling GameState output, each line hidden the same way
+     */
+    private static String createGameData(int nLines)
+    {
+        StringBuilder sb = new StringBuilder();
+        StringBuffer line = new StringBuffer();
+        for (int i = 0; i < nLines; i++)
+        {
+            line.setLength(0);
+            line.append("com.donohoedigital.games.poker.PokerPlayer:").append(i)
+                .append(":true:false:~:~:~:0:0:0:-1:Player ").append(i).append(':').append(1000 + i * 25);
+            Hide.obfuscate(line, i);
+            if (i > 0) sb.append(GameState.ENTRY_ENDLINE);
+            sb.append(line);
+        }
+        return sb.toString();
+    }
+}
@@ -57,9 +57,24 @@ public interface OnlineGameDao extends BaseDao<OnlineGame, Long>
     OnlineGameList getByMode(Integer count, int offset, int pagesize, Integer[] modes,
                              String nameSearch, Date begin, Date end, boolean bOrderByModeName);
 
+    OnlineGameList getByMode(Integer count, int offset, int pagesize, Integer[] modes,
+                             String nameSearch, Date begin, Date end, boolean bOrderByModeName, PageKey after);
+
     int getHostSummaryCount(String nameSearch, Date begin, Date end);
 
     PagedList<HostSummary> getHostSummary(Integer count, int offset, int pagesize, String nameSearch, Date begin, Date end);
 
-    int purge(Date beforeThisDate, Integer mode);
+    void addHostedGame(String hostPlayer, Date createDate);
+
+    void removeHostedGame(String hostPlayer);
+
+    int rebuildHostSummary();
+
+    boolean isHostSummaryBuilt();
+
+    List<Long> getPurgeIds(Date beforeThisDate, Integer mode, Long afterId, int max);
+
+    int purge(List<Long> ids);
+
+    String getChangeStamp();
 }
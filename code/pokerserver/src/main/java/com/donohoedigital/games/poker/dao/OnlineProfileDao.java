@@ -58,6 +58,9 @@ public interface OnlineProfileDao extends BaseDao<OnlineProfile, Long>
 
     List<OnlineProfile> getMatching(Integer count, int offset, int pagesize, String nameSearch, String emailSearch, String keySearch, boolean includeRetired);
 
+    PagedList<OnlineProfile> getMatching(Integer count, int offset, int pagesize, String nameSearch, String emailSearch, String keySearch,
+                                         boolean includeRetired, PageKey after);
+
     OnlineProfile getDummy(OnlineProfile.Dummy dummy);
 
     PagedList<OnlineProfilePurgeSummary> getOnlineProfilePurgeSummary(Integer count, int offset, int pagesize);
@@ -32,6 +32,7 @@
  */
 package com.donohoedigital.games.poker.dao;
 
+import com.donohoedigital.db.*;
 import com.donohoedigital.db.dao.*;
 import com.donohoedigital.games.poker.model.*;
 import com.donohoedigital.games.poker.model.util.*;
@@ -58,6 +59,9 @@ public interface TournamentHistoryDao extends BaseDao<TournamentHistory, Long>
     TournamentHistoryList getAllForProfile(Integer count, int offset, int pagesize, Long id,
                                            String nameSearch, Date begin, Date end);
 
+    TournamentHistoryList getAllForProfile(Integer count, int offset, int pagesize, Long id,
+                                           String nameSearch, Date begin, Date end, PageKey after);
+
     int getLeaderboardCount(int games_limit, String nameSearch, Date begin, Date end);
 
     LeaderboardSummaryList getLeaderboard(Integer count, int offset, int pagesize, boolean sortByROI,
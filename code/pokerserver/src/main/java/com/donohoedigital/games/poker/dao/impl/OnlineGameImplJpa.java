@@ -33,6 +33,8 @@
 package com.donohoedigital.games.poker.dao.impl;
 
 import com.donohoedigital.db.DBUtils;
+import com.donohoedigital.db.Keyset;
+import com.donohoedigital.db.PageKey;
 import com.donohoedigital.db.PagedList;
 import com.donohoedigital.db.dao.impl.JpaBaseDao;
 import com.donohoedigital.games.poker.dao.OnlineGameDao;
@@ -120,9 +122,21 @@ public class OnlineGameImplJpa extends JpaBaseDao<OnlineGame, Long> implements O
         return rowCount.intValue();
     }
 
-    @SuppressWarnings({"unchecked", "JpaQlInspection"})
     public OnlineGameList getByMode(Integer count, int offset, int pagesize, Integer[] modes,
                                     String nameSearch, Date begin, Date end, boolean bOrderByModeName)
+    {
+        return getByMode(count, offset, pagesize, modes, nameSearch, begin, end, bOrderByModeName, null);
+    }
+
+    /**
+     * Get games.  If 'after' is the key of the page starting at offset (from a previous
+     * call's OnlineGameList.getNextPageKey()), rows are found by seeking past it instead
+     * of skipping offset rows.
+     */
+    @SuppressWarnings({"unchecked", "JpaQlInspection"})
+    public OnlineGameList getByMode(Integer count, int offset, int pagesize, Integer[] modes,
+                                    String nameSearch, Date begin, Date end, boolean bOrderByModeName,
+                                    PageKey after)
     {
         // always use dates to take advantage of index on dates
         if (begin == null) begin = BEGINNING_OF_TIME;
@@ -136,7 +150,8 @@ public class OnlineGameImplJpa extends JpaBaseDao<OnlineGame, Long> implements O
 
         String sModes = getModes(modes);
         String dateColumn = getDateColumn(modes);
-        String sOrderBy = getOrderByClause(modes, bOrderByModeName);
+        Keyset keyset = getKeyset(modes, bOrderByModeName);
+        boolean bSeek = keyset.canSeek(after, offset);
 
         // create query and set start, max results
         Query query = entityManager.createQuery(
@@ -144,7 +159,8 @@ public class OnlineGameImplJpa extends JpaBaseDao<OnlineGame, Long> implements O
                 "where o.mode in (" + sModes + ") " +
                 ((nameSearch != null) ? "and o.hostPlayer like :name " : "") +
                 "and o." + dateColumn + " between :begin and :end " +
-                sOrderBy
+                (bSeek ? "and " + keyset.getSeekClause() : "") +
+                keyset.getOrderByClause()
         );
 
         // specify params
@@ -156,7 +172,8 @@ public class OnlineGameImplJpa extends JpaBaseDao<OnlineGame, Long> implements O
         query.setParameter("end", end);
         if (nameSearch != null) query.setParameter("name", DBUtils.sqlWildcard(nameSearch));
         if (pagesize > 0) query.setMaxResults(pagesize);
-        query.setFirstResult(offset);
+        if (bSeek) keyset.setSeekParameters(query, after);
+        else query.setFirstResult(offset);
 
         // run the query
         List<OnlineGame> results = (List<OnlineGame>) query.getResultList();
@@ -165,6 +182,12 @@ public class OnlineGameImplJpa extends JpaBaseDao<OnlineGame, Long> implements O
         OnlineGameList list = new OnlineGameList();
         list.addAll(results);
         list.setTotalSize(count);
+        if (!results.isEmpty())
+        {
+            OnlineGame last = results.get(results.size() - 1);
+            list.setNextPageKey(keyset.getNextPageKey(offset, pagesize, results.size(),
+                                                      getKeyValues(last, modes, bOrderByModeName)));
+        }
         return list;
     }
 
@@ -198,37 +221,47 @@ public class OnlineGameImplJpa extends JpaBaseDao<OnlineGame, Long> implements O
     }
 
     /**
-     * Get order by clause
+     * Get sort order (id added so order is total, which keyset paging needs)
      */
-    private String getOrderByClause(Integer[] modes, boolean bOrderByModeName)
+    private Keyset getKeyset(Integer[] modes, boolean bOrderByModeName)
     {
-        String sOrderBy;
         if (bOrderByModeName)
         {
-            sOrderBy = "order by o.mode, o.hostPlayer ";
+            return new Keyset().asc("o.mode", Integer.class).asc("o.hostPlayer", String.class).asc("o.id", Long.class);
         }
-        else
+
+        // earliest type determines sort order (because start/end date can be null
+        // for games not started/not ended)
+        return new Keyset().desc("o." + getDateColumn(modes), Date.class).desc("o.id", Long.class);
+    }
+
+    /**
+     * Get values of sort columns (see getKeyset())
+     */
+    private Object[] getKeyValues(OnlineGame game, Integer[] modes, boolean bOrderByModeName)
+    {
+        if (bOrderByModeName)
         {
-            // earliest type determines sort order (because start/end date can be null
-            // for games not started/not ended)
-            switch (getEarliestMode(modes))
-            {
-                case OnlineGame.MODE_PLAY:
-                    sOrderBy = "order by o.startDate desc";
-                    break;
-
-                case OnlineGame.MODE_END:
-                case OnlineGame.MODE_STOP:
-                    sOrderBy = "order by o.endDate desc";
-                    break;
-
-                case OnlineGame.MODE_REG:
-                default:
-                    sOrderBy = "order by o.createDate desc";
-            }
+            return new Object[] {game.getMode(), game.getHostPlayer(), game.getId()};
+        }
+
+        Date date;
+        switch (getEarliestMode(modes))
+        {
+            case OnlineGame.MODE_PLAY:
+                date = game.getStartDate();
+                break;
+
+            case OnlineGame.MODE_END:
+            case OnlineGame.MODE_STOP:
+                date = game.getEndDate();
+                break;
 
+            case OnlineGame.MODE_REG:
+            default:
+                date = game.getCreateDate();
         }
-        return sOrderBy;
+        return new Object[] {date, game.getId()};
     }
 
     /**
@@ -264,6 +297,16 @@ public class OnlineGameImplJpa extends JpaBaseDao<OnlineGame, Long> implements O
      */
     public int getHostSummaryCount(String nameSearch, Date begin, Date end)
     {
+        if (isHostSummaryComplete(begin, end))
+        {
+            Query query = entityManager.createNativeQuery(
+                    "select count(*) from wan_host_summary " +
+                    "where whs_host_player like :name"
+            );
+            query.setParameter("name", DBUtils.sqlWildcard(nameSearch));
+            return ((Number) query.getSingleResult()).intValue();
+        }
+
         Query countQuery = entityManager.createQuery(
                 "select count(distinct o.hostPlayer) from OnlineGame o " +
                 "where o.hostPlayer like :name " +
@@ -291,16 +334,32 @@ public class OnlineGameImplJpa extends JpaBaseDao<OnlineGame, Long> implements O
         }
 
         // query natively since JPA doesn't do order by count well
-        Query query = entityManager.createNativeQuery(
-                "select wgm_host_player, count(wgm_id) 'cnt', wpr_is_retired " +
-                "from wan_game, wan_profile " +
-                "where wgm_host_player = wpr_name " +
-                "and wgm_host_player like :name " +
-                ((begin != null && end != null) ? "and wgm_modify_date >= :begin and wgm_modify_date <= :end " : "") +
-                "group by wgm_host_player " +
-                "order by cnt desc, wgm_host_player"
-        );
-        if (begin != null && end != null)
+        // (use precomputed counts when they cover the date range)
+        boolean bSummary = isHostSummaryComplete(begin, end);
+        Query query;
+        if (bSummary)
+        {
+            query = entityManager.createNativeQuery(
+                    "select whs_host_player, whs_games_hosted, wpr_is_retired " +
+                    "from wan_host_summary, wan_profile " +
+                    "where whs_host_player = wpr_name " +
+                    "and whs_host_player like :name " +
+                    "order by whs_games_hosted desc, whs_host_player"
+            );
+        }
+        else
+        {
+            query = entityManager.createNativeQuery(
+                    "select wgm_host_player, count(wgm_id) 'cnt', wpr_is_retired " +
+                    "from wan_game, wan_profile " +
+                    "where wgm_host_player = wpr_name " +
+                    "and wgm_host_player like :name " +
+                    ((begin != null && end != null) ? "and wgm_modify_date >= :begin and wgm_modify_date <= :end " : "") +
+                    "group by wgm_host_player " +
+                    "order by cnt desc, wgm_host_player"
+            );
+        }
+        if (!bSummary && begin != null && end != null)
         {
             query.setParameter("begin", begin);
             query.setParameter("end", end);
@@ -327,33 +386,174 @@ public class OnlineGameImplJpa extends JpaBaseDao<OnlineGame, Long> implements O
     }
 
     /**
-     * Delete all games before given date with given mode.
+     * Return true if wan_host_summary can answer a host summary query for the given
+     * range.  The summary has all-time counts, so this is only when the range includes
+     * every game (games are modified after they are created, and never in the future).
+     * The summary is never used until it has been fully built by rebuildHostSummary(),
+     * since before that it only has games saved since the table was added.
+     */
+    private boolean isHostSummaryComplete(Date begin, Date end)
+    {
+        if (begin != null && end != null && end.getTime() < System.currentTimeMillis()) return false;
+        if (!isHostSummaryBuilt()) return false;
+        if (begin == null || end == null) return true;
+
+        Date first = (Date) entityManager.createNativeQuery(
+                "select min(whs_first_date) from wan_host_summary"
+        ).getSingleResult();
+        return first == null || !begin.after(first);
+    }
+
+    /**
+     * Return true if rebuildHostSummary() has been run on this database
      */
-    public int purge(Date beforeThisDate, Integer mode)
+    public boolean isHostSummaryBuilt()
+    {
+        Number count = (Number) entityManager.createNativeQuery(
+                "select count(*) from wan_host_summary_status"
+        ).getSingleResult();
+        return count.intValue() > 0;
+    }
+
+    /**
+     * Count a new game in the host summary
+     */
+    public void addHostedGame(String hostPlayer, Date createDate)
+    {
+        Query query = entityManager.createNativeQuery(
+                "insert into wan_host_summary (whs_host_player, whs_games_hosted, whs_first_date, whs_last_date) " +
+                "values (:host, 1, :date, :date) " +
+                "on duplicate key update whs_games_hosted = whs_games_hosted + 1, " +
+                "whs_first_date = least(whs_first_date, :date), " +
+                "whs_last_date = greatest(whs_last_date, :date)"
+        );
+        query.setParameter("host", hostPlayer);
+        query.setParameter("date", createDate);
+        query.executeUpdate();
+    }
+
+    /**
+     * Remove a deleted game from the host summary.  The host's dates are left
+     * as is (they may be wider than the remaining games until the next rebuild).
+     */
+    public void removeHostedGame(String hostPlayer)
+    {
+        Query query = entityManager.createNativeQuery(
+                "update wan_host_summary set whs_games_hosted = whs_games_hosted - 1 " +
+                "where whs_host_player = :host and whs_games_hosted > 0"
+        );
+        query.setParameter("host", hostPlayer);
+        query.executeUpdate();
+
+        query = entityManager.createNativeQuery(
+                "delete from wan_host_summary " +
+                "where whs_host_player = :host and whs_games_hosted = 0"
+        );
+        query.setParameter("host", hostPlayer);
+        query.executeUpdate();
+    }
+
+    /**
+     * Recompute the host summary from wan_game, returning the number of hosts,
+     * and mark it as built so queries start using it.
+     */
+    public int rebuildHostSummary()
+    {
+        entityManager.createNativeQuery("delete from wan_host_summary").executeUpdate();
+        int hosts = entityManager.createNativeQuery(
+                "insert into wan_host_summary (whs_host_player, whs_games_hosted, whs_first_date, whs_last_date) " +
+                "select wgm_host_player, count(wgm_id), min(wgm_create_date), max(wgm_create_date) " +
+                "from wan_game " +
+                "group by wgm_host_player"
+        ).executeUpdate();
+
+        Query query = entityManager.createNativeQuery(
+                "insert into wan_host_summary_status (whss_id, whss_build_date) values (1, :date) " +
+                "on duplicate key update whss_build_date = :date"
+        );
+        query.setParameter("date", new Date());
+        query.executeUpdate();
+
+        return hosts;
+    }
+
+    /**
+     * Return a value that changes whenever a game is added, changed or deleted
+     * (count of games and latest modify date)
+     */
+    public String getChangeStamp()
+    {
+        Object[] row = (Object[]) entityManager.createQuery(
+                "select count(o), max(o.modifyDate) from OnlineGame o"
+        ).getSingleResult();
+
+        Date last = (Date) row[1];
+        return row[0] + ":" + (last == null ? 0 : last.getTime());
+    }
+
+    /**
+     * Get ids (in ascending order, at most max) of games before given date with given
+     * mode that have an id greater than afterId.  Used to purge in batches.
+     */
+    @SuppressWarnings({"unchecked"})
+    public List<Long> getPurgeIds(Date beforeThisDate, Integer mode, Long afterId, int max)
     {
-        // delete all tournament histories first
-        // need to do this since cascading doesn't
-        // work when doing a batch delete
         Query query = entityManager.createQuery(
-                "delete from TournamentHistory h " +
-                "where h.onlineGame in " +
-                "    (select o from OnlineGame o " +
-                "     where o.createDate < :date " +
-                "     and o.mode = :mode " +
-                "    )"
+                "select o.id from OnlineGame o " +
+                "where o.createDate < :date " +
+                "and o.mode = :mode " +
+                "and o.id > :after " +
+                "order by o.id"
         );
         query.setParameter("date", beforeThisDate);
         query.setParameter("mode", mode);
+        query.setParameter("after", afterId);
+        query.setMaxResults(max);
+        return (List<Long>) query.getResultList();
+    }
+
+    /**
+     * Delete games (and their tournament histories) with given ids, removing
+     * them from their hosts' counts in the host summary.
+     */
+    public int purge(List<Long> ids)
+    {
+        if (ids.isEmpty()) return 0;
+
+        // host summary first, while the games are there to count (a bulk
+        // delete bypasses removeHostedGame())
+        Query query = entityManager.createNativeQuery(
+                "update wan_host_summary s, " +
+                "    (select wgm_host_player host, count(*) num from wan_game " +
+                "     where wgm_id in (:ids) group by wgm_host_player) g " +
+                "set s.whs_games_hosted = if(s.whs_games_hosted > g.num, s.whs_games_hosted - g.num, 0) " +
+                "where s.whs_host_player = g.host"
+        );
+        query.setParameter("ids", ids);
+        query.executeUpdate();
+
+        query = entityManager.createNativeQuery(
+                "delete from wan_host_summary " +
+                "where whs_games_hosted = 0 and whs_host_player in " +
+                "    (select wgm_host_player from wan_game where wgm_id in (:ids))"
+        );
+        query.setParameter("ids", ids);
+        query.executeUpdate();
+
+        // delete tournament histories next since cascading
+        // doesn't work when doing a batch delete
+        query = entityManager.createQuery(
+                "delete from TournamentHistory h " +
+                "where h.onlineGame.id in (:ids)"
+        );
+        query.setParameter("ids", ids);
         query.executeUpdate();
 
-        // delete all games
         query = entityManager.createQuery(
                 "delete from OnlineGame o " +
-                "where o.createDate < :date " +
-                "and o.mode = :mode "
+                "where o.id in (:ids)"
         );
-        query.setParameter("date", beforeThisDate);
-        query.setParameter("mode", mode);
+        query.setParameter("ids", ids);
         return query.executeUpdate();
     }
 }
\ No newline at end of file
@@ -33,6 +33,8 @@
 package com.donohoedigital.games.poker.dao.impl;
 
 import com.donohoedigital.db.DBUtils;
+import com.donohoedigital.db.Keyset;
+import com.donohoedigital.db.PageKey;
 import com.donohoedigital.db.PagedList;
 import com.donohoedigital.db.dao.impl.JpaBaseDao;
 import com.donohoedigital.games.poker.dao.OnlineProfileDao;
@@ -59,6 +61,9 @@ public class OnlineProfileImplJpa extends JpaBaseDao<OnlineProfile, Long> implem
 {
     //private static Logger logger = LogManager.getLogger(OnlineProfileImplJpa.class);
 
+    // sort order of getMatching() (id added so order is total, which keyset paging needs)
+    private static final Keyset MATCHING_ORDER = new Keyset().asc("o.name", String.class).asc("o.id", Long.class);
+
     @SuppressWarnings({"unchecked"})
     public OnlineProfile getByName(String sName)
     {
@@ -134,26 +139,36 @@ public class OnlineProfileImplJpa extends JpaBaseDao<OnlineProfile, Long> implem
         return rowCount.intValue();
     }
 
-    @SuppressWarnings({"unchecked"})
     public PagedList<OnlineProfile> getMatching(Integer count, int offset, int pagesize,
                                                 String nameSearch, String emailSearch, String keySearch, boolean includeRetired)
+    {
+        return getMatching(count, offset, pagesize, nameSearch, emailSearch, keySearch, includeRetired, null);
+    }
+
+    @SuppressWarnings({"unchecked"})
+    public PagedList<OnlineProfile> getMatching(Integer count, int offset, int pagesize,
+                                                String nameSearch, String emailSearch, String keySearch, boolean includeRetired,
+                                                PageKey after)
     {
         if (count == null)
         {
             count = getMatchingCount(nameSearch, emailSearch, keySearch, includeRetired);
         }
 
+        boolean bSeek = MATCHING_ORDER.canSeek(after, offset);
         Query query = entityManager.createQuery(
                 "select o from OnlineProfile o " +
                 "where o.licenseKey like :key " +
                 "  AND o.name like :name " +
                 "  AND o.email like :email " +
                 (!includeRetired ? "  AND o.retired = false " : "") +
-                "order by o.name");
+                (bSeek ? "AND " + MATCHING_ORDER.getSeekClause() : "") +
+                MATCHING_ORDER.getOrderByClause());
         query.setParameter("name", DBUtils.sqlWildcard(nameSearch));
         query.setParameter("email", DBUtils.sqlWildcard(emailSearch));
         query.setParameter("key", DBUtils.sqlWildcard(keySearch));
-        query.setFirstResult(offset);
+        if (bSeek) MATCHING_ORDER.setSeekParameters(query, after);
+        else query.setFirstResult(offset);
         query.setMaxResults(pagesize);
 
         List<OnlineProfile> list = (List<OnlineProfile>) query.getResultList();
@@ -161,6 +176,11 @@ public class OnlineProfileImplJpa extends JpaBaseDao<OnlineProfile, Long> implem
         PagedList<OnlineProfile> pList = new PagedList<OnlineProfile>(list.size());
         pList.addAll(list);
         pList.setTotalSize(count);
+        if (!list.isEmpty())
+        {
+            OnlineProfile last = list.get(list.size() - 1);
+            pList.setNextPageKey(MATCHING_ORDER.getNextPageKey(offset, pagesize, list.size(), last.getName(), last.getId()));
+        }
         return pList;
     }
 
@@ -34,6 +34,8 @@ package com.donohoedigital.games.poker.dao.impl;
 
 import com.donohoedigital.base.Utils;
 import com.donohoedigital.db.DBUtils;
+import com.donohoedigital.db.Keyset;
+import com.donohoedigital.db.PageKey;
 import com.donohoedigital.db.dao.impl.JpaBaseDao;
 import com.donohoedigital.games.poker.dao.TournamentHistoryDao;
 import com.donohoedigital.games.poker.model.LeaderboardSummary;
@@ -59,6 +61,9 @@ public class TournamentHistoryImplJpa extends JpaBaseDao<TournamentHistory, Long
 {
     //private Logger logger = LogManager.getLogger(TournamentHistoryImplJpa.class);
 
+    // sort order of getAllForProfile() (id added so order is total, which keyset paging needs)
+    private static final Keyset PROFILE_ORDER = new Keyset().desc("t.endDate", Date.class).desc("t.id", Long.class);
+
     public int deleteAllForGame(OnlineGame game)
     {
         Query query = entityManager.createQuery(
@@ -80,6 +85,10 @@ public class TournamentHistoryImplJpa extends JpaBaseDao<TournamentHistory, Long
         return rowCount.intValue();
     }
 
+    /**
+     * Get results of a game by place.  Offset paging is kept here: online games are limited
+     * to TournamentProfile.MAX_ONLINE_PLAYERS, so skipping rows found via the game id is cheap.
+     */
     @SuppressWarnings({"unchecked"})
     public TournamentHistoryList getAllForGame(Integer count, int offset, int pagesize, Long gameId)
     {
@@ -135,16 +144,24 @@ public class TournamentHistoryImplJpa extends JpaBaseDao<TournamentHistory, Long
         return rowCount.intValue();
     }
 
-    @SuppressWarnings({"unchecked"})
     public TournamentHistoryList getAllForProfile(Integer count, int offset, int pagesize, Long id,
                                                   String nameSearch, Date begin, Date end)
     {
+        return getAllForProfile(count, offset, pagesize, id, nameSearch, begin, end, null);
+    }
+
+    @SuppressWarnings({"unchecked"})
+    public TournamentHistoryList getAllForProfile(Integer count, int offset, int pagesize, Long id,
+                                                  String nameSearch, Date begin, Date end, PageKey after)
+    {
+        boolean bSeek = PROFILE_ORDER.canSeek(after, offset);
         Query query = entityManager.createQuery(
                 "select t from TournamentHistory t " +
                 "where t.profile.id = :id " +
                 "and t.tournamentName like :name " +
                 ((begin != null && end != null) ? "and t.endDate >= :begin and t.endDate <= :end " : "") +
-                "order by t.endDate desc"
+                (bSeek ? "and " + PROFILE_ORDER.getSeekClause() : "") +
+                PROFILE_ORDER.getOrderByClause()
         );
         query.setParameter("id", id);
         if (begin != null && end != null)
@@ -153,7 +170,8 @@ public class TournamentHistoryImplJpa extends JpaBaseDao<TournamentHistory, Long
             query.setParameter("end", end);
         }
         query.setParameter("name", DBUtils.sqlWildcard(nameSearch));
-        query.setFirstResult(offset);
+        if (bSeek) PROFILE_ORDER.setSeekParameters(query, after);
+        else query.setFirstResult(offset);
         if (pagesize > 0) query.setMaxResults(pagesize);
 
         // run the queries
@@ -176,6 +194,11 @@ public class TournamentHistoryImplJpa extends JpaBaseDao<TournamentHistory, Long
         // return all results
         TournamentHistoryList list = new TournamentHistoryList(results);
         list.setTotalSize(count);
+        if (!results.isEmpty())
+        {
+            TournamentHistory last = results.get(results.size() - 1);
+            list.setNextPageKey(PROFILE_ORDER.getNextPageKey(offset, pagesize, results.size(), last.getEndDate(), last.getId()));
+        }
 
         return list;
     }
@@ -46,6 +46,7 @@ import org.apache.logging.log4j.*;
 import org.springframework.beans.factory.annotation.*;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * Created by IntelliJ IDEA.
@@ -64,7 +65,14 @@ public class ChatServer implements UDPLinkHandler, UDPManagerMonitor, UDPLinkMon
     // members
     private UDPServer udp_;
     private int nPort_;
-    private final List<LinkInfo> links_ = Collections.synchronizedList(new ArrayList<LinkInfo>());
+
+    // links are read (by every broadcast) far more often than changed (join/leave), so the
+    // list is copy-on-write and broadcasts iterate it without locking.  Changes are made
+    // under membershipLock_, which also keeps playerList_ (a snapshot of each link's player,
+    // in link order, never modified once published) in sync.
+    private final List<LinkInfo> links_ = new CopyOnWriteArrayList<LinkInfo>();
+    private final Object membershipLock_ = new Object();
+    private volatile DMArrayList<DMTypedHashMap> playerList_ = new DMArrayList<DMTypedHashMap>();
 
     /**
      * Constructor
@@ -141,20 +149,8 @@ public class ChatServer implements UDPLinkHandler, UDPManagerMonitor, UDPLinkMon
                         case PokerConstants.USERTYPE_CHAT:
                             if (!logChat(link, data))
                             {
-                                synchronized (links_)
-                                {
-                                    for (LinkInfo fwd : links_)
-                                    {
-                                        if (fwd.link != link)
-                                        {
-                                            // creates new UDPData (needed to track send status per link), but shares bytes
-                                            fwd.link.queue(data.getData(), data.getOffset(), data.getLength(), data.getUserType());
-
-                                            // queue for sending
-                                            udp_.manager().addLinkToSend(fwd.link);
-                                        }
-                                    }
-                                }
+                                data.flatten(); // may be multi-part
+                                broadcast(data.getData(), data.getOffset(), data.getLength(), data.getUserType(), link);
                             }
                             break;
                     }
@@ -233,19 +229,15 @@ public class ChatServer implements UDPLinkHandler, UDPManagerMonitor, UDPLinkMon
         }
 
         // add link (look for duplicate)
-        synchronized (links_)
+        synchronized (membershipLock_)
         {
-            LinkInfo loop;
-            Iterator<LinkInfo> iter = links_.iterator();
-            while (iter.hasNext())
+            for (LinkInfo loop : links_)
             {
-                loop = iter.next();
-
                 // same link
                 if (loop.equals(info))
                 {
                     // already there, probably reconnecting due to perceived time-out, remove and re-add player info below
-                    iter.remove();
+                    removeLink(loop);
                     break;
                 }
                 // same key different link - close existing
@@ -266,7 +258,7 @@ public class ChatServer implements UDPLinkHandler, UDPManagerMonitor, UDPLinkMon
                 }
             }
 
-            links_.add(info);
+            addLink(info);
         }
 
         // set name of link to player name
@@ -285,15 +277,41 @@ public class ChatServer implements UDPLinkHandler, UDPManagerMonitor, UDPLinkMon
 
     private void logPlayers()
     {
-        synchronized (links_)
+        if (!logger.isDebugEnabled()) return;
+
+        logger.debug(links_.size() + " players in lobby:");
+        for (LinkInfo i : links_)
         {
-            logger.debug(links_.size() + " players in lobby:");
-            for (LinkInfo i : links_)
-            {
-                logger.debug("  ==> " + i);
+            logger.debug("  ==> " + i);
+        }
+    }
 
-            }
+    /**
+     * add link and its player (caller must hold membershipLock_)
+     */
+    private void addLink(LinkInfo info)
+    {
+        links_.add(info);
+
+        DMArrayList<DMTypedHashMap> list = new DMArrayList<DMTypedHashMap>(playerList_.size() + 1);
+        list.addAll(playerList_);
+        list.add(info.player.getData());
+        playerList_ = list;
+    }
+
+    /**
+     * remove link and its player (caller must hold membershipLock_)
+     */
+    private void removeLink(LinkInfo info)
+    {
+        links_.remove(info);
+
+        DMArrayList<DMTypedHashMap> list = new DMArrayList<DMTypedHashMap>(playerList_.size());
+        for (DMTypedHashMap player : playerList_)
+        {
+            if (player != info.player.getData()) list.add(player);
         }
+        playerList_ = list;
     }
 
     /**
@@ -302,7 +320,7 @@ public class ChatServer implements UDPLinkHandler, UDPManagerMonitor, UDPLinkMon
     private void removeUser(UDPLink link)
     {
         LinkInfo search = null;
-        synchronized (links_)
+        synchronized (membershipLock_)
         {
             for (LinkInfo info : links_)
             {
@@ -314,7 +332,7 @@ public class ChatServer implements UDPLinkHandler, UDPManagerMonitor, UDPLinkMon
 
             if (search == null) return;
 
-            links_.remove(search);
+            removeLink(search);
         }
 
         // notify users
@@ -333,20 +351,25 @@ public class ChatServer implements UDPLinkHandler, UDPManagerMonitor, UDPLinkMon
         omsg.setChat(PropertyConfig.getMessage(bJoin ? "msg.chat.hello" : "msg.chat.goodbye", Utils.encodeHTML(who.player.getName())));
         omsg.setChatType(bJoin ? PokerConstants.CHAT_ADMIN_JOIN : PokerConstants.CHAT_ADMIN_LEAVE);
         omsg.setPlayerInfo(who.player);
-        PokerUDPTransporter pudp = new PokerUDPTransporter(omsg.getData());
+        ByteData bytes = new PokerUDPTransporter(omsg.getData()).getData();
+
+        broadcast(bytes.getBytes(), bytes.getOffest(), bytes.getLength(), PokerConstants.USERTYPE_CHAT, skip);
+    }
 
-        synchronized (links_)
+    /**
+     * Send message (encoded once, bytes shared by all links) to all links except skip
+     */
+    private void broadcast(byte[] data, int offset, int length, byte userType, UDPLink skip)
+    {
+        for (LinkInfo info : links_)
         {
-            for (LinkInfo info : links_)
-            {
-                if (info.link == skip) continue;
+            if (info.link == skip) continue;
 
-                // creates new UDPData (needed to track send status per link), but shares bytes
-                info.link.queue(pudp.getData(), PokerConstants.USERTYPE_CHAT);
+            // creates new UDPData (needed to track send status per link), but shares bytes
+            info.link.queue(data, offset, length, userType);
 
-                // queue for sending
-                udp_.manager().addLinkToSend(info.link);
-            }
+            // queue for sending
+            udp_.manager().addLinkToSend(info.link);
         }
     }
 
@@ -403,19 +426,11 @@ public class ChatServer implements UDPLinkHandler, UDPManagerMonitor, UDPLinkMon
     }
 
     /**
-     * Get arraylist of playerinfo
+     * Get arraylist of playerinfo (shared snapshot - do not modify)
      */
     private DMArrayList<DMTypedHashMap> getPlayerList()
     {
-        synchronized (links_)
-        {
-            DMArrayList<DMTypedHashMap> list = new DMArrayList<DMTypedHashMap>(links_.size());
-            for (LinkInfo info : links_)
-            {
-                list.add(info.player.getData());
-            }
-            return list;
-        }
+        return playerList_;
     }
 
     /**
@@ -55,6 +55,9 @@ public class OnlineGamePurger extends BaseCommandLineApp
     private static final SimpleDateFormat DATE_FORMATTER = new SimpleDateFormat("yyyy-MM-dd", Locale.US);
     private Date date_ = null;
     private Integer mode_ = null;
+    private int batch_;
+    private int pause_;
+    private long after_;
     private OnlineGameService service;
 
     /**
@@ -104,6 +107,10 @@ public class OnlineGamePurger extends BaseCommandLineApp
         }
 
         mode_ = htOptions_.getInteger("mode");
+        batch_ = htOptions_.getInteger("batch");
+        pause_ = htOptions_.getInteger("pause");
+        after_ = htOptions_.getLong("after");
+        if (batch_ <= 0) CommandLine.exitWithError("Batch size must be positive: " + batch_);
 
         switch (mode_)
         {
@@ -147,14 +154,38 @@ public class OnlineGamePurger extends BaseCommandLineApp
         CommandLine.addIntegerOption("mode", -1);
         CommandLine.setRequired("mode");
         CommandLine.setDescription("mode", "purge games in the given mode");
+
+        CommandLine.addIntegerOption("batch", 500);
+        CommandLine.setDescription("batch", "number of games deleted per transaction", "500");
+
+        CommandLine.addIntegerOption("pause", 250);
+        CommandLine.setDescription("pause", "milliseconds to wait between batches", "250");
+
+        CommandLine.addLongOption("after", 0);
+        CommandLine.setDescription("after", "only purge games with an id greater than this (to resume a purge)", "0");
     }
 
     /**
-     * Purge the records.
+     * Purge the records, in batches of ascending id so each transaction (and the locks
+     * it holds) is short.  Each batch also takes its games out of the host summary.
+     * Progress reports the last id purged, which can be passed to -after to resume
+     * if the purge is stopped.
      */
     private void doPurge()
     {
-        int count = service.purgeGames(date_, mode_);
+        int count = 0;
+        long after = after_;
+        List<Long> ids = service.getPurgeableGameIds(date_, mode_, after, batch_);
+        while (!ids.isEmpty())
+        {
+            count += service.purgeGames(ids);
+            after = ids.get(ids.size() - 1);
+            System.out.println("Purged " + count + " through id " + after);
+
+            if (ids.size() < batch_) break;
+            Utils.sleepMillis(pause_);
+            ids = service.getPurgeableGameIds(date_, mode_, after, batch_);
+        }
         System.out.println("Purged count: " + count);
     }
 }
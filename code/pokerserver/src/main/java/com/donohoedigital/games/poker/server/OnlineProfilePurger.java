@@ -53,6 +53,8 @@ public class OnlineProfilePurger extends BaseCommandLineApp
     private static Logger logger = LogManager.getLogger(OnlineProfilePurger.class);
 
     private OnlineProfileService service;
+    private int batch_;
+    private int pause_;
 
     /**
      * Run purger.
@@ -81,6 +83,10 @@ public class OnlineProfilePurger extends BaseCommandLineApp
     {
         super(configName, args);
 
+        batch_ = htOptions_.getInteger("batch");
+        pause_ = htOptions_.getInteger("pause");
+        if (batch_ <= 0) CommandLine.exitWithError("Batch size must be positive: " + batch_);
+
         // get the service from spring
         ApplicationContext ctx = new ClassPathXmlApplicationContext("app-context-pokertools.xml");
         service = (OnlineProfileService) ctx.getBean("onlineProfileService");
@@ -89,6 +95,19 @@ public class OnlineProfilePurger extends BaseCommandLineApp
         doPurge();
     }
 
+    /**
+     * Setup the command line options.
+     */
+    @Override
+    protected void setupApplicationCommandLineOptions()
+    {
+        CommandLine.addIntegerOption("batch", 500);
+        CommandLine.setDescription("batch", "number of profiles deleted per transaction", "500");
+
+        CommandLine.addIntegerOption("pause", 250);
+        CommandLine.setDescription("pause", "milliseconds to wait between batches", "250");
+    }
+
     /**
      * Purge the records.
      */
@@ -115,8 +134,16 @@ public class OnlineProfilePurger extends BaseCommandLineApp
 
         ApplicationError.assertTrue(processed == list.getTotalSize(), "Processed " + processed + " of " + list.getTotalSize() + " rows");
 
+        // delete in batches so each transaction (and the locks it holds) is short.  Profiles
+        // to delete are chosen from current data, so if stopped, running again resumes.
         logger.debug("Deleting " + deleteList.size() + " total profiles");
-        service.deleteOnlineProfiles(deleteList);
+        for (int i = 0; i < deleteList.size(); i += batch_)
+        {
+            if (i > 0) Utils.sleepMillis(pause_);
+            int end = Math.min(i + batch_, deleteList.size());
+            service.deleteOnlineProfiles(deleteList.subList(i, end));
+            System.out.println("Deleted " + end + " of " + deleteList.size() + " profiles");
+        }
     }
 
     private List<OnlineProfile> deleteList = new ArrayList<OnlineProfile>();
@@ -92,6 +92,8 @@ public class PokerServlet extends EngineServlet
     @Autowired
     private OnlineProfileService onlineProfileService;
 
+    private ProfileAuthCache authCache;
+
     /**
      * init from gameserver
      */
@@ -99,6 +101,14 @@ public class PokerServlet extends EngineServlet
     public void afterConfigInit()
     {
         super.afterConfigInit();
+        authCache = new ProfileAuthCache(PropertyConfig.getIntegerProperty("settings.server.authcache.seconds", 30) * 1000L,
+                                         PropertyConfig.getIntegerProperty("settings.server.authcache.max", 5000));
+
+        // one-time backfill of host summary on databases upgraded from before it existed
+        if (onlineGameService.initHostSummary())
+        {
+            logger.info("Built host summary from existing games");
+        }
     }
 
     /**
@@ -621,7 +631,7 @@ public class PokerServlet extends EngineServlet
             OnlineMessage banMsg = banCheck(auth);
             if (banMsg != null) return banMsg.getData();
 
-            if (onlineProfileService.authenticateOnlineProfile(auth) != null)
+            if (isAuthenticated(auth))
             {
                 // If the profile was authenticated, return the same value without the password.
                 auth.setPassword(null);
@@ -676,7 +686,7 @@ public class PokerServlet extends EngineServlet
         OnlineMessage banMsg = banCheck(auth);
         if (banMsg != null) return banMsg.getData();
 
-        if (onlineProfileService.authenticateOnlineProfile(auth) != null)
+        if (isAuthenticated(auth))
         {
             // If the profile was authenticated, return the same value without the password.
             auth.setPassword(null);
@@ -690,6 +700,20 @@ public class PokerServlet extends EngineServlet
         return resMsg.getData();
     }
 
+    /**
+     * Authenticate profile, using recent successful authentications if possible
+     * so that frequent requests from the same player skip the database.
+     */
+    private boolean isAuthenticated(OnlineProfile auth)
+    {
+        if (authCache.isAuthenticated(auth.getName(), auth.getPassword())) return true;
+
+        if (onlineProfileService.authenticateOnlineProfile(auth) == null) return false;
+
+        authCache.authenticated(auth.getName(), auth.getPassword());
+        return true;
+    }
+
     /**
      * Add a WAN profile.  If one already exists for the given name, an error indicator is returned.
      */
@@ -815,6 +839,7 @@ public class PokerServlet extends EngineServlet
 
                 // save changes
                 onlineProfileService.updateOnlineProfile(profileToUpdate);
+                authCache.invalidate(profileToUpdate.getName());
 
                 // Email the password.
                 sendProfileEmail(postalService, "profile", profile.getEmail(), profile.getName(), generatedPassword, null);
@@ -915,7 +940,8 @@ public class PokerServlet extends EngineServlet
         resMsg = banCheck(profile);
         if (resMsg != null) return resMsg.getData();
 
-        // Authenticate
+        // Authenticate (client is syncing its password, so start fresh)
+        authCache.invalidate(profile.getName());
         OnlineProfile profileToUpdate = onlineProfileService.authenticateOnlineProfile(profile);
         if (profileToUpdate != null)
         {
@@ -957,6 +983,7 @@ public class PokerServlet extends EngineServlet
 
             // save changes
             onlineProfileService.updateOnlineProfile(profileToUpdate);
+            authCache.invalidate(profileToUpdate.getName());
 
             // Profile was updated, so report success.
             resMsg = new OnlineMessage(ddreceived.getCategory());
@@ -0,0 +1,146 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.games.poker.server;
+
+import com.donohoedigital.base.*;
+
+import java.nio.charset.*;
+import java.security.*;
+import java.util.*;
+
+/**
+ * Remembers profiles that recently authenticated so frequent requests from the
+ * same player (e.g., game list polls) skip the database lookup.  Keyed by lowercase
+ * name (names match case-insensitively in the database) and stores a digest of
+ * the password, never the password itself.  Only successful authentications are
+ * cached, so a failure always goes to the database.  Entries expire after a short
+ * time, which bounds staleness for changes made elsewhere (e.g., the website).
+ */
+class ProfileAuthCache
+{
+    private final long ttlMillis_;
+    private final Map<String, Entry> cache_;
+
+    /**
+     * Create cache holding up to max profiles for ttlMillis each (0 disables the cache)
+     */
+    ProfileAuthCache(long ttlMillis, final int max)
+    {
+        ttlMillis_ = ttlMillis;
+        cache_ = new LinkedHashMap<String, Entry>(16, 0.75f, true)
+        {
+            private static final long serialVersionUID = 42L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest)
+            {
+                return size() > max;
+            }
+        };
+    }
+
+    /**
+     * Return true if name/password authenticated within the ttl
+     */
+    boolean isAuthenticated(String name, String password)
+    {
+        if (ttlMillis_ <= 0 || name == null || password == null) return false;
+
+        Entry entry;
+        synchronized (cache_)
+        {
+            entry = cache_.get(key(name));
+        }
+        return entry != null && entry.expires > System.currentTimeMillis() &&
+               MessageDigest.isEqual(entry.digest, digest(name, password));
+    }
+
+    /**
+     * Record a successful authentication
+     */
+    void authenticated(String name, String password)
+    {
+        if (ttlMillis_ <= 0 || name == null || password == null) return;
+
+        Entry entry = new Entry(digest(name, password), System.currentTimeMillis() + ttlMillis_);
+        synchronized (cache_)
+        {
+            cache_.put(key(name), entry);
+        }
+    }
+
+    /**
+     * Forget profile (call when its password or status changes)
+     */
+    void invalidate(String name)
+    {
+        if (name == null) return;
+
+        synchronized (cache_)
+        {
+            cache_.remove(key(name));
+        }
+    }
+
+    private static String key(String name)
+    {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static byte[] digest(String name, String password)
+    {
+        try
+        {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            md.update(key(name).getBytes(StandardCharsets.UTF_8));
+            md.update((byte) 0);
+            return md.digest(password.getBytes(StandardCharsets.UTF_8));
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new ApplicationError(e); // every JVM has SHA-256
+        }
+    }
+
+    private static class Entry
+    {
+        private final byte[] digest;
+        private final long expires;
+
+        private Entry(byte[] digest, long expires)
+        {
+            this.digest = digest;
+            this.expires = expires;
+        }
+    }
+}
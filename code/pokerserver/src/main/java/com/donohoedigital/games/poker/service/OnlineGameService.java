@@ -60,12 +60,19 @@ public interface OnlineGameService
     OnlineGameList getOnlineGames(Integer count, int offset, int pagesize, Integer[] modes, 
                                   String nameSearch, Date begin, Date end, OrderByType orderByType);
 
+    @Transactional(readOnly = true)
+    OnlineGameList getOnlineGames(Integer count, int offset, int pagesize, Integer[] modes,
+                                  String nameSearch, Date begin, Date end, OrderByType orderByType, PageKey after);
+
     @Transactional(readOnly = true)
     OnlineGameList getOnlineGamesAndHistoriesForDay(Integer[] modes, Date begin, Date end);
 
     @Transactional(readOnly = true)
     OnlineGame getOnlineGameById(Long id);
 
+    @Transactional(readOnly = true)
+    String getChangeStamp();
+
     @Transactional(readOnly = true)
     OnlineGame getOnlineGameByTournamentHistoryId(Long id);
 
@@ -87,6 +94,15 @@ public interface OnlineGameService
     @Transactional
     void deleteOnlineGame(OnlineGame game);
 
+    @Transactional(readOnly = true)
+    List<Long> getPurgeableGameIds(Date date, Integer mode, Long afterId, int max);
+
+    @Transactional
+    int purgeGames(List<Long> ids);
+
+    @Transactional
+    int rebuildHostSummary();
+
     @Transactional
-    int purgeGames(Date date, Integer mode);
+    boolean initHostSummary();
 }
\ No newline at end of file
@@ -63,6 +63,10 @@ public interface OnlineProfileService
     @Transactional(readOnly = true)
     List<OnlineProfile> getMatchingOnlineProfiles(Integer count, int offset, int pagesize, String nameSearch, String emailSearch, String keySearch, boolean includeRetired);
 
+    @Transactional(readOnly = true)
+    PagedList<OnlineProfile> getMatchingOnlineProfiles(Integer count, int offset, int pagesize, String nameSearch, String emailSearch, String keySearch,
+                                                       boolean includeRetired, PageKey after);
+
     @Transactional(readOnly = true)
     List<OnlineProfile> getAllOnlineProfilesForEmail(String sEmail, String sExcludeName);
 
@@ -32,6 +32,7 @@
  */
 package com.donohoedigital.games.poker.service;
 
+import com.donohoedigital.db.*;
 import com.donohoedigital.games.poker.model.*;
 import com.donohoedigital.games.poker.model.util.*;
 import org.springframework.transaction.annotation.*;
@@ -64,6 +65,10 @@ public interface TournamentHistoryService
     TournamentHistoryList getAllTournamentHistoriesForProfile(Integer count, int offset, int pagesize, Long id,
                                                               String nameSearch, Date begin, Date end);
 
+    @Transactional(readOnly = true)
+    TournamentHistoryList getAllTournamentHistoriesForProfile(Integer count, int offset, int pagesize, Long id,
+                                                              String nameSearch, Date begin, Date end, PageKey after);
+
     @Transactional(readOnly = true)
     int getLeaderboardCount(int games_limit, String nameSearch, Date begin, Date end);
 
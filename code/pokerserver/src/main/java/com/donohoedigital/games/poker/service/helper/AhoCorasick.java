@@ -0,0 +1,157 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.games.poker.service.helper;
+
+import java.util.*;
+
+/**
+ * Aho-Corasick automaton to find whether text contains any of a set of strings.
+ * Text is scanned once no matter how many strings there are.  Matching is exact
+ * (callers lowercase the strings and text if they want case-insensitive matching).
+ * Immutable once built, so it can be shared by threads.
+ */
+class AhoCorasick
+{
+    // node n's transitions are keys_[n] (sorted) and next_[n]
+    private final char[][] keys_;
+    private final int[][] next_;
+    private final int[] fail_;
+    private final boolean[] match_;
+
+    /**
+     * Build automaton for the given strings (empty strings are ignored)
+     */
+    AhoCorasick(Collection<String> strings)
+    {
+        // build trie
+        List<TreeMap<Character, Integer>> trie = new ArrayList<TreeMap<Character, Integer>>();
+        List<Boolean> terminal = new ArrayList<Boolean>();
+        trie.add(new TreeMap<Character, Integer>());
+        terminal.add(Boolean.FALSE);
+        for (String s : strings)
+        {
+            if (s.length() == 0) continue;
+
+            int node = 0;
+            for (int i = 0; i < s.length(); i++)
+            {
+                Integer child = trie.get(node).get(s.charAt(i));
+                if (child == null)
+                {
+                    child = trie.size();
+                    trie.get(node).put(s.charAt(i), child);
+                    trie.add(new TreeMap<Character, Integer>());
+                    terminal.add(Boolean.FALSE);
+                }
+                node = child;
+            }
+            terminal.set(node, Boolean.TRUE);
+        }
+
+        int nNodes = trie.size();
+        keys_ = new char[nNodes][];
+        next_ = new int[nNodes][];
+        fail_ = new int[nNodes];
+        match_ = new boolean[nNodes];
+        for (int n = 0; n < nNodes; n++)
+        {
+            TreeMap<Character, Integer> children = trie.get(n);
+            keys_[n] = new char[children.size()];
+            next_[n] = new int[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> e : children.entrySet())
+            {
+                keys_[n][i] = e.getKey();
+                next_[n][i] = e.getValue();
+                i++;
+            }
+            match_[n] = terminal.get(n);
+        }
+
+        // failure links, breadth first so parents are done before children.
+        // A node matches if any suffix of its string (found via fail links) is in the set.
+        LinkedList<Integer> queue = new LinkedList<Integer>();
+        for (int child : next_[0])
+        {
+            fail_[child] = 0;
+            queue.add(child);
+        }
+        while (!queue.isEmpty())
+        {
+            int node = queue.removeFirst();
+            for (int i = 0; i < keys_[node].length; i++)
+            {
+                char c = keys_[node][i];
+                int child = next_[node][i];
+                int f = fail_[node];
+                int target;
+                while ((target = step(f, c)) < 0 && f != 0)
+                {
+                    f = fail_[f];
+                }
+                fail_[child] = target < 0 ? 0 : target;
+                match_[child] |= match_[fail_[child]];
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Return true if text contains any of the strings
+     */
+    boolean matches(CharSequence text)
+    {
+        int node = 0;
+        int target;
+        for (int i = 0; i < text.length(); i++)
+        {
+            char c = text.charAt(i);
+            while ((target = step(node, c)) < 0 && node != 0)
+            {
+                node = fail_[node];
+            }
+            node = target < 0 ? 0 : target;
+            if (match_[node]) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Get node reached from node on c, or -1 if none
+     */
+    private int step(int node, char c)
+    {
+        int i = Arrays.binarySearch(keys_[node], c);
+        return i < 0 ? -1 : next_[node][i];
+    }
+}
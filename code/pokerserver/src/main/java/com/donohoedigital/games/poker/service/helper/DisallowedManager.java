@@ -51,8 +51,12 @@ public class DisallowedManager
 {
 
     private static final String DISALLOWED_PATTERN_PREFIX = ":";
-    private static final List<String> disallowedContains = new ArrayList<String>();
-    private static final List<Pattern> disallowedPatterns = new ArrayList<Pattern>();
+
+    // names containing any of these strings are disallowed (lowercase, checked in one pass)
+    private final AhoCorasick disallowedContains;
+
+    // names matching these are disallowed; patterns that can be are combined into one alternation
+    private final List<Pattern> disallowedPatterns = new ArrayList<Pattern>();
 
     public DisallowedManager()
     {
@@ -60,12 +64,14 @@ public class DisallowedManager
         URL url = new MatchingResources("classpath*:config/poker/disallowed.txt").getSingleRequiredResourceURL();
         String contents = ConfigUtils.readURL(url);
 
+        List<String> contains = new ArrayList<String>();
+        List<String> regexes = new ArrayList<String>();
+
         // Add offensive words.
         try
         {
             BufferedReader reader = new BufferedReader(new StringReader(contents));
             String line = null;
-            Pattern pattern = null;
 
             while ((line = reader.readLine()) != null)
             {
@@ -78,13 +84,13 @@ public class DisallowedManager
                 if (line.startsWith(DISALLOWED_PATTERN_PREFIX))
                 {
                     line = line.substring(1);
-                    pattern = Pattern.compile(line, Pattern.CASE_INSENSITIVE);
-                    disallowedPatterns.add(pattern);
+                    Pattern.compile(line, Pattern.CASE_INSENSITIVE); // validate
+                    regexes.add(line);
                 }
                 else
                 {
                     line = line.toLowerCase();
-                    disallowedContains.add(line);
+                    contains.add(line);
                 }
             }
         }
@@ -92,19 +98,39 @@ public class DisallowedManager
         {
             throw new ApplicationError(e);
         }
+
+        disallowedContains = new AhoCorasick(contains);
+
+        // Combine regexes, except those that would change meaning
+        // inside a bigger pattern (see UNSAFE_TO_COMBINE)
+        StringBuilder combined = new StringBuilder();
+        for (String regex : regexes)
+        {
+            if (UNSAFE_TO_COMBINE.matcher(regex).find())
+            {
+                disallowedPatterns.add(Pattern.compile(regex, Pattern.CASE_INSENSITIVE));
+                continue;
+            }
+            if (combined.length() > 0) combined.append('|');
+            combined.append("(?:").append(regex).append(')');
+        }
+        if (combined.length() > 0)
+        {
+            disallowedPatterns.add(0, Pattern.compile(combined.toString(), Pattern.CASE_INSENSITIVE));
+        }
     }
 
+    // back references (\1, \k<name>), named groups and inline flags such as (?x)
+    private static final Pattern UNSAFE_TO_COMBINE = Pattern.compile("\\\\(?:[1-9]|k<)|\\(\\?<[a-zA-Z]|\\(\\?[a-zA-Z-]+\\)");
+
     public boolean isNameValid(String sName)
     {
         String name = sName.toLowerCase();
 
         // First check contains values.
-        for (String disallowed : disallowedContains)
+        if (disallowedContains.matches(name))
         {
-            if (name.contains(disallowed))
-            {
-                return false;
-            }
+            return false;
         }
 
         // Next check regex values.
@@ -94,7 +94,14 @@ public class OnlineGameServiceImpl implements OnlineGameService
     public OnlineGameList getOnlineGames(Integer count, int offset, int pagesize, Integer[] modes,
                                          String nameSearch, Date begin, Date end, OrderByType orderByType)
     {
-        return gameDao.getByMode(count, offset, pagesize, modes, nameSearch, begin, end, orderByType == OrderByType.mode);
+        return getOnlineGames(count, offset, pagesize, modes, nameSearch, begin, end, orderByType, null);
+    }
+
+    @Transactional(readOnly = true)
+    public OnlineGameList getOnlineGames(Integer count, int offset, int pagesize, Integer[] modes,
+                                         String nameSearch, Date begin, Date end, OrderByType orderByType, PageKey after)
+    {
+        return gameDao.getByMode(count, offset, pagesize, modes, nameSearch, begin, end, orderByType == OrderByType.mode, after);
     }
 
     @Transactional(readOnly = true)
@@ -117,6 +124,12 @@ public class OnlineGameServiceImpl implements OnlineGameService
         return gameDao.get(id);
     }
 
+    @Transactional(readOnly = true)
+    public String getChangeStamp()
+    {
+        return gameDao.getChangeStamp();
+    }
+
     @Transactional(readOnly = true)
     public OnlineGame getOnlineGameByTournamentHistoryId(Long id)
     {
@@ -143,9 +156,11 @@ public class OnlineGameServiceImpl implements OnlineGameService
         if (exist != null)
         {
             gameDao.delete(exist);
+            gameDao.removeHostedGame(exist.getHostPlayer());
             gameDao.flush(); // flush otherwise we'll get a db constraint violation
         }
         gameDao.save(game);
+        gameDao.addHostedGame(game.getHostPlayer(), game.getCreateDate());
     }
 
     @Transactional
@@ -164,7 +179,15 @@ public class OnlineGameServiceImpl implements OnlineGameService
             // copy over attributes ... do this since client
             // doesn't send down all attributes, so some can be
             // nulled out
+            String host = exist.getHostPlayer();
             exist.merge(game);
+
+            // keep host summary in sync if the host changed
+            if (!exist.getHostPlayer().equals(host))
+            {
+                gameDao.removeHostedGame(host);
+                gameDao.addHostedGame(exist.getHostPlayer(), exist.getCreateDate());
+            }
             return gameDao.update(exist);
         }
     }
@@ -188,13 +211,39 @@ public class OnlineGameServiceImpl implements OnlineGameService
         if (exist != null)
         {
             gameDao.delete(exist);
+            gameDao.removeHostedGame(exist.getHostPlayer());
         }
     }
 
+    @Transactional(readOnly = true)
+    public List<Long> getPurgeableGameIds(Date date, Integer mode, Long afterId, int max)
+    {
+        return gameDao.getPurgeIds(date, mode, afterId, max);
+    }
+
+    @Transactional
+    public int purgeGames(List<Long> ids)
+    {
+        return gameDao.purge(ids);
+    }
+
+    @Transactional
+    public int rebuildHostSummary()
+    {
+        return gameDao.rebuildHostSummary();
+    }
+
+    /**
+     * Build the host summary if it has never been built (e.g., first start after
+     * upgrading an existing database).  Returns true if it was built.
+     */
     @Transactional
-    public int purgeGames(Date date, Integer mode)
+    public boolean initHostSummary()
     {
-        return gameDao.purge(date, mode);
+        if (gameDao.isHostSummaryBuilt()) return false;
+
+        gameDao.rebuildHostSummary();
+        return true;
     }
 
     ////
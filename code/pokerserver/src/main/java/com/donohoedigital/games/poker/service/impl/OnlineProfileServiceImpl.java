@@ -104,6 +104,14 @@ public class OnlineProfileServiceImpl implements OnlineProfileService
         return dao.getMatching(count, offset, pagesize, nameSearch, emailSearch, keySearch, includeRetired);
     }
 
+    @Transactional(readOnly = true)
+    public PagedList<OnlineProfile> getMatchingOnlineProfiles(Integer count, int offset, int pagesize,
+                                                              String nameSearch, String emailSearch, String keySearch,
+                                                              boolean includeRetired, PageKey after)
+    {
+        return dao.getMatching(count, offset, pagesize, nameSearch, emailSearch, keySearch, includeRetired, after);
+    }
+
     @Transactional(readOnly = true)
     public List<OnlineProfile> getAllOnlineProfilesForEmail(String sEmail, String sExcludeName)
     {
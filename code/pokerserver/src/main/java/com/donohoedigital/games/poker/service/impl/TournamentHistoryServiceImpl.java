@@ -32,6 +32,7 @@
  */
 package com.donohoedigital.games.poker.service.impl;
 
+import com.donohoedigital.db.*;
 import com.donohoedigital.games.poker.dao.*;
 import com.donohoedigital.games.poker.model.*;
 import com.donohoedigital.games.poker.model.util.*;
@@ -103,7 +104,14 @@ public class TournamentHistoryServiceImpl implements TournamentHistoryService
     public TournamentHistoryList getAllTournamentHistoriesForProfile(Integer count, int offset, int pagesize, Long id,
                                                                      String nameSearch, Date begin, Date end)
     {
-        return dao.getAllForProfile(count, offset, pagesize, id, nameSearch, begin, end);
+        return getAllTournamentHistoriesForProfile(count, offset, pagesize, id, nameSearch, begin, end, null);
+    }
+
+    @Transactional(readOnly = true)
+    public TournamentHistoryList getAllTournamentHistoriesForProfile(Integer count, int offset, int pagesize, Long id,
+                                                                     String nameSearch, Date begin, Date end, PageKey after)
+    {
+        return dao.getAllForProfile(count, offset, pagesize, id, nameSearch, begin, end, after);
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,157 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.games.poker.server;
+
+import com.donohoedigital.config.*;
+import com.donohoedigital.games.poker.service.helper.*;
+
+import java.io.*;
+import java.net.*;
+import java.util.*;
+import java.util.regex.*;
+
+/**
+ * Compares DisallowedManager.isNameValid() with the original implementation (a String.contains()
+ * per entry and a Pattern per regex) on the shipped disallowed.txt.  Not a unit test; run with
+ * <pre>
+ *   DisallowedManagerBenchmark [names] [rounds]
+ * </pre>
+ */
+public class DisallowedManagerBenchmark
+{
+    public static void main(String[] args) throws IOException
+    {
+        int nNames = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int nRounds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        DisallowedManager manager = new DisallowedManager();
+        Linear linear = new Linear();
+
+        // mix of ordinary names, names with a disallowed word and all-punctuation names
+        Random random = new Random(42);
+        String[] names = new String[nNames];
+        for (int i = 0; i < nNames; i++)
+        {
+            StringBuilder sb = new StringBuilder();
+            int nLen = 4 + random.nextInt(16);
+            for (int j = 0; j < nLen; j++)
+            {
+                sb.append(CHARS.charAt(random.nextInt(CHARS.length())));
+            }
+            switch (i % 10)
+            {
+                case 0: sb.insert(random.nextInt(sb.length()), "Shit"); break;
+                case 1: sb.setLength(0); sb.append("<===+===>"); break;
+            }
+            names[i] = sb.toString();
+        }
+
+        // same answers
+        int nInvalid = 0;
+        for (String name : names)
+        {
+            boolean bValid = manager.isNameValid(name);
+            if (bValid != linear.isNameValid(name)) throw new IllegalStateException("Results differ for " + name);
+            if (!bValid) nInvalid++;
+        }
+        System.out.println(nNames + " names, " + nInvalid + " invalid");
+
+        for (int r = 0; r < nRounds; r++)
+        {
+            long linearNanos = time(linear, null, names);
+            long managerNanos = time(null, manager, names);
+            System.out.printf("round %2d: original %,8d ns/name, automaton %,8d ns/name%n", r,
+                              linearNanos / nNames, managerNanos / nNames);
+        }
+    }
+
+    private static long time(Linear linear, DisallowedManager manager, String[] names)
+    {
+        int nValid = 0;
+        long start = System.nanoTime();
+        for (String name : names)
+        {
+            if (linear != null ? linear.isNameValid(name) : manager.isNameValid(name)) nValid++;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (nValid < 0) System.out.println(); // keep result live
+        return elapsed;
+    }
+
+    private static final String CHARS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789 _-.";
+
+    /**
+     * DisallowedManager as it was before the automaton
+     */
+    private static class Linear
+    {
+        private final List<String> disallowedContains = new ArrayList<String>();
+        private final List<Pattern> disallowedPatterns = new ArrayList<Pattern>();
+
+        private Linear() throws IOException
+        {
+            URL url = new MatchingResources("classpath*:config/poker/disallowed.txt").getSingleRequiredResourceURL();
+            BufferedReader reader = new BufferedReader(new StringReader(ConfigUtils.readURL(url)));
+            String line;
+            while ((line = reader.readLine()) != null)
+            {
+                line = line.trim();
+                line = line.replaceAll("\\s*#.*", "");
+                if (line.length() == 0) continue;
+
+                if (line.startsWith(":"))
+                {
+                    disallowedPatterns.add(Pattern.compile(line.substring(1), Pattern.CASE_INSENSITIVE));
+                }
+                else
+                {
+                    disallowedContains.add(line.toLowerCase());
+                }
+            }
+        }
+
+        private boolean isNameValid(String sName)
+        {
+            String name = sName.toLowerCase();
+            for (String disallowed : disallowedContains)
+            {
+                if (name.contains(disallowed)) return false;
+            }
+            for (Pattern pattern : disallowedPatterns)
+            {
+                if (pattern.matcher(name).matches()) return false;
+            }
+            return true;
+        }
+    }
+}
@@ -67,6 +67,11 @@ public class DisallowedManagerTest extends TestCase
         assertFalse(manager.isNameValid("_"));
         assertFalse(manager.isNameValid("<===+===>"));
 
+        // disallowed words anywhere in name
+        assertFalse(manager.isNameValid("Shithead"));
+        assertFalse(manager.isNameValid("Big Prick"));
+        assertFalse(manager.isNameValid("xxDDPokerxx"));
+        assertTrue(manager.isNameValid("Poker Face"));
     }
 
     public void testUTF8()
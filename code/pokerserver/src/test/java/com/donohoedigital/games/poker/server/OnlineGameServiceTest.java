@@ -32,6 +32,7 @@
  */
 package com.donohoedigital.games.poker.server;
 
+import com.donohoedigital.db.DBUtils;
 import com.donohoedigital.games.poker.model.OnlineGame;
 import com.donohoedigital.games.poker.service.OnlineGameService;
 import org.junit.Test;
@@ -129,4 +130,45 @@ public class OnlineGameServiceTest
         // first game should be deleted
         assertNull(service.getOnlineGameById(newGame.getId()));
     }
-}
\ No newline at end of file
+
+    @Test
+    @Rollback
+    public void testHostSummaryCounts()
+    {
+        // read counts from the summary
+        service.rebuildHostSummary();
+
+        OnlineGame one = PokerTestData.createOnlineGame("SummaryHost", 1, "XXX-333");
+        OnlineGame two = PokerTestData.createOnlineGame("SummaryHost", 2, "XXX-333");
+        service.saveOnlineGame(one);
+        service.saveOnlineGame(two);
+        assertEquals(1, service.getHostSummaryCount(DBUtils.sqlExactMatch("SummaryHost"), null, null));
+
+        // resaving replaces, so still one host
+        service.saveOnlineGame(PokerTestData.createOnlineGame("SummaryHost", 2, "XXX-333"));
+        assertEquals(1, service.getHostSummaryCount(DBUtils.sqlExactMatch("SummaryHost"), null, null));
+
+        // changing host moves the game
+        OnlineGame update = PokerTestData.createOnlineGame("SummaryOther", 1, "XXX-333");
+        service.updateOnlineGame(update);
+        assertEquals(1, service.getHostSummaryCount(DBUtils.sqlExactMatch("SummaryOther"), null, null));
+
+        // host removed once all games deleted
+        service.deleteOnlineGame(update);
+        service.deleteOnlineGame(two);
+        assertEquals(0, service.getHostSummaryCount(DBUtils.sqlExactMatch("SummaryHost"), null, null));
+        assertEquals(0, service.getHostSummaryCount(DBUtils.sqlExactMatch("SummaryOther"), null, null));
+    }
+
+    @Test
+    @Rollback
+    public void testInitHostSummary()
+    {
+        service.saveOnlineGame(PokerTestData.createOnlineGame("InitSummaryHost", 1, "XXX-333"));
+
+        // built once, then left to incremental updates
+        assertTrue(service.initHostSummary());
+        assertFalse(service.initHostSummary());
+        assertEquals(1, service.getHostSummaryCount(DBUtils.sqlExactMatch("InitSummaryHost"), null, null));
+    }
+}
@@ -317,4 +317,75 @@ public class OnlineGameTest
         assertEquals(two.getGamesHosted(), 5);
     }
 
-}
\ No newline at end of file
+    @Test
+    @Rollback
+    public void testHostSummaryRebuild()
+    {
+        for (int i = 0; i < 8; i++)
+        {
+            dao.save(PokerTestData.createOnlineGame(i < 3 ? "SummaryDexter" : "SummaryZorro", i, "blah"));
+        }
+        profileDao.save(PokerTestData.createOnlineProfile("SummaryDexter"));
+        profileDao.save(PokerTestData.createOnlineProfile("SummaryZorro"));
+        dao.flush();
+
+        // summary with only some games isn't used until built
+        assertFalse(dao.isHostSummaryBuilt());
+        dao.addHostedGame("SummaryDexter", new Date());
+        PagedList<HostSummary> partial = dao.getHostSummary(null, 0, 10, "Summary", null, null);
+        assertEquals("SummaryDexter", partial.get(1).getHostName());
+        assertEquals(3, partial.get(1).getGamesHosted());
+
+        assertTrue(dao.rebuildHostSummary() >= 2);
+        assertTrue(dao.isHostSummaryBuilt());
+
+        // no date range uses the summary
+        int count = dao.getHostSummaryCount("Summary", null, null);
+        assertEquals(2, count);
+
+        PagedList<HostSummary> list = dao.getHostSummary(count, 0, 10, "Summary", null, null);
+        assertEquals(2, list.size());
+        assertEquals("SummaryZorro", list.get(0).getHostName());
+        assertEquals(5, list.get(0).getGamesHosted());
+        assertEquals("SummaryDexter", list.get(1).getHostName());
+        assertEquals(3, list.get(1).getGamesHosted());
+
+        // incremental changes
+        dao.addHostedGame("SummaryDexter", new Date());
+        dao.addHostedGame("SummaryDexter", new Date());
+        dao.addHostedGame("SummaryDexter", new Date());
+        dao.removeHostedGame("SummaryZorro");
+        list = dao.getHostSummary(count, 0, 10, "Summary", null, null);
+        assertEquals("SummaryDexter", list.get(0).getHostName());
+        assertEquals(6, list.get(0).getGamesHosted());
+        assertEquals(4, list.get(1).getGamesHosted());
+    }
+
+    @Test
+    @Rollback
+    public void testChangeStamp() throws InterruptedException
+    {
+        String stamp = dao.getChangeStamp();
+        assertEquals("no changes", stamp, dao.getChangeStamp());
+
+        // insert changes count
+        OnlineGame game = PokerTestData.createOnlineGame("testChangeStamp", 1, "ZZZ-555");
+        dao.save(game);
+        dao.flush();
+        String added = dao.getChangeStamp();
+        assertFalse("insert", stamp.equals(added));
+
+        // update changes modify date (stored to the second)
+        Thread.sleep(1100);
+        game.setLicenseKey("2222-2222-2222-2222");
+        dao.update(game);
+        dao.flush();
+        String updated = dao.getChangeStamp();
+        assertFalse("update", added.equals(updated));
+
+        // delete changes count
+        dao.delete(game);
+        dao.flush();
+        assertFalse("delete", updated.equals(dao.getChangeStamp()));
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.games.poker.server;
+
+import com.donohoedigital.base.*;
+import junit.framework.*;
+
+/**
+ * Test ProfileAuthCache
+ */
+public class ProfileAuthCacheTest extends TestCase
+{
+    public void testAuthenticated()
+    {
+        ProfileAuthCache cache = new ProfileAuthCache(60000, 10);
+        assertFalse(cache.isAuthenticated("Dexter", "secret"));
+
+        cache.authenticated("Dexter", "secret");
+        assertTrue(cache.isAuthenticated("Dexter", "secret"));
+        assertTrue(cache.isAuthenticated("DEXTER", "secret"));
+        assertFalse(cache.isAuthenticated("Dexter", "Secret"));
+        assertFalse(cache.isAuthenticated("Dexter", null));
+        assertFalse(cache.isAuthenticated("Zorro", "secret"));
+
+        cache.invalidate("dexter");
+        assertFalse(cache.isAuthenticated("Dexter", "secret"));
+    }
+
+    public void testExpires()
+    {
+        ProfileAuthCache cache = new ProfileAuthCache(50, 10);
+        cache.authenticated("Dexter", "secret");
+        assertTrue(cache.isAuthenticated("Dexter", "secret"));
+        Utils.sleepMillis(100);
+        assertFalse(cache.isAuthenticated("Dexter", "secret"));
+    }
+
+    public void testDisabledAndMax()
+    {
+        ProfileAuthCache off = new ProfileAuthCache(0, 10);
+        off.authenticated("Dexter", "secret");
+        assertFalse(off.isAuthenticated("Dexter", "secret"));
+
+        ProfileAuthCache cache = new ProfileAuthCache(60000, 2);
+        cache.authenticated("One", "a");
+        cache.authenticated("Two", "b");
+        cache.authenticated("Three", "c");
+        assertFalse(cache.isAuthenticated("One", "a"));
+        assertTrue(cache.isAuthenticated("Two", "b"));
+        assertTrue(cache.isAuthenticated("Three", "c"));
+    }
+}
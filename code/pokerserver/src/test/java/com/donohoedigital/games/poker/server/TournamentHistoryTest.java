@@ -33,9 +33,12 @@
 package com.donohoedigital.games.poker.server;
 
 import com.donohoedigital.base.Utils;
+import com.donohoedigital.db.DBUtils;
+import com.donohoedigital.db.PagedList;
 import com.donohoedigital.games.poker.dao.OnlineGameDao;
 import com.donohoedigital.games.poker.dao.OnlineProfileDao;
 import com.donohoedigital.games.poker.dao.TournamentHistoryDao;
+import com.donohoedigital.games.poker.model.HostSummary;
 import com.donohoedigital.games.poker.model.OnlineGame;
 import com.donohoedigital.games.poker.model.OnlineProfile;
 import com.donohoedigital.games.poker.model.TournamentHistory;
@@ -193,7 +196,7 @@ public class TournamentHistoryTest
         Date now = new Date();
 
         // purge half the games
-        gameDao.purge(now, OnlineGame.MODE_REG);
+        purgeAll(now, OnlineGame.MODE_REG);
 
         // verify half are gone
         assertEquals(histDao.getAll().size(), histCount / 2);
@@ -207,11 +210,76 @@ public class TournamentHistoryTest
         }
 
         // purge other half
-        gameDao.purge(now, OnlineGame.MODE_PLAY);
+        purgeAll(now, OnlineGame.MODE_PLAY);
         assertTrue(histDao.getAll().isEmpty());
         assertTrue(gameDao.getAll().isEmpty());
     }
 
+    @Test
+    @Rollback
+    public void testPurgeBatches()
+    {
+        int gameCount = 10;
+        for (int i = 1; i <= gameCount; i++)
+        {
+            OnlineProfile profile = PokerTestData.createOnlineProfile("Dexter"+i);
+            OnlineGame game = PokerTestData.createOnlineGame(profile.getName(), i, "XXX-"+(100+i));
+            game.setMode(i % 2 == 0 ? OnlineGame.MODE_REG : OnlineGame.MODE_PLAY);
+
+            gameDao.save(game);
+            profileDao.save(profile);
+
+            for (int j = 1; j <= 4; j++)
+            {
+                histDao.save(PokerTestData.createTournamentHistory(game, profile, "Zorro"+j));
+            }
+        }
+
+        // a second game for Dexter1, to be purged
+        OnlineGame extra = PokerTestData.createOnlineGame("Dexter1", gameCount + 1, "XXX-200");
+        extra.setMode(OnlineGame.MODE_REG);
+        gameDao.save(extra);
+
+        gameDao.flush();
+        gameDao.rebuildHostSummary();
+        assertEquals(2, getGamesHosted("Dexter1"));
+
+        Utils.sleepSeconds(3);
+        Date now = new Date();
+
+        // purge MODE_REG games two at a time, resuming after the last id each time
+        long after = 0;
+        int purged = 0;
+        int batches = 0;
+        List<Long> ids = gameDao.getPurgeIds(now, OnlineGame.MODE_REG, after, 2);
+        while (!ids.isEmpty())
+        {
+            assertTrue(ids.size() <= 2);
+            assertTrue(ids.get(0) > after);
+            purged += gameDao.purge(ids);
+            after = ids.get(ids.size() - 1);
+            batches++;
+            ids = gameDao.getPurgeIds(now, OnlineGame.MODE_REG, after, 2);
+        }
+        assertEquals(gameCount / 2 + 1, purged);
+        assertEquals(3, batches);
+
+        // purged games taken out of host summary
+        assertEquals(1, getGamesHosted("Dexter1"));
+        assertEquals(1, getGamesHosted("Dexter3"));
+        assertEquals(0, gameDao.getHostSummaryCount(DBUtils.sqlExactMatch("Dexter2"), null, null));
+        assertEquals(0, gameDao.getHostSummaryCount(DBUtils.sqlExactMatch("Dexter10"), null, null));
+
+        // only MODE_PLAY games (and their histories) remain
+        List<OnlineGame> games = gameDao.getAll();
+        assertEquals(gameCount / 2, games.size());
+        for (OnlineGame game : games)
+        {
+            assertEquals(OnlineGame.MODE_PLAY, game.getMode());
+        }
+        assertEquals(gameCount / 2 * 4, histDao.getAll().size());
+    }
+
     @Test
     @Rollback
     public void testSelectGameByHistId()
@@ -345,4 +413,30 @@ public class TournamentHistoryTest
         int count = histDao.getLeaderboardCount(games_limit, null, begin, end);
         histDao.getLeaderboard(count, 0, 20, true, games_limit, null, begin, end);
     }
-}
\ No newline at end of file
+
+    /**
+     * Purge all games before date with given mode, a few at a time
+     */
+    private int purgeAll(Date date, int mode)
+    {
+        int count = 0;
+        long after = 0;
+        List<Long> ids;
+        while (!(ids = gameDao.getPurgeIds(date, mode, after, 3)).isEmpty())
+        {
+            count += gameDao.purge(ids);
+            after = ids.get(ids.size() - 1);
+        }
+        return count;
+    }
+
+    /**
+     * Get games hosted by host from the host summary
+     */
+    private int getGamesHosted(String host)
+    {
+        PagedList<HostSummary> list = gameDao.getHostSummary(null, 0, 10, DBUtils.sqlExactMatch(host), null, null);
+        assertEquals(1, list.size());
+        return list.get(0).getGamesHosted();
+    }
+}
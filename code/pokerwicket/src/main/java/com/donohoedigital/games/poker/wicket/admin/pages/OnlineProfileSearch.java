@@ -33,6 +33,8 @@
 package com.donohoedigital.games.poker.wicket.admin.pages;
 
 import com.donohoedigital.db.DBUtils;
+import com.donohoedigital.db.PageKey;
+import com.donohoedigital.db.PagedList;
 import com.donohoedigital.games.poker.model.OnlineProfile;
 import com.donohoedigital.games.poker.service.OnlineProfileService;
 import com.donohoedigital.games.poker.wicket.PokerUser;
@@ -139,11 +141,22 @@ public class OnlineProfileSearch extends AdminPokerPage
         private String name;
         private String email;
         private String key;
+        private PageKey nextKey; // key of page after the last one fetched (used if that page is next)
 
         @Override
         public Iterator<OnlineProfile> iterator(long first, long pagesize)
         {
-            return profileService.getMatchingOnlineProfiles((int) size(), (int) first, (int) pagesize, name, email, key, true).iterator();
+            PagedList<OnlineProfile> list = profileService.getMatchingOnlineProfiles((int) size(), (int) first, (int) pagesize,
+                                                                                     name, email, key, true, nextKey);
+            nextKey = list.getNextPageKey();
+            return list.iterator();
+        }
+
+        @Override
+        public void resetSize()
+        {
+            super.resetSize();
+            nextKey = null; // new search
         }
 
         @Override
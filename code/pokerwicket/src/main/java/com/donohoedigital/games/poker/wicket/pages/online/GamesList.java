@@ -35,7 +35,9 @@ package com.donohoedigital.games.poker.wicket.pages.online;
 import com.donohoedigital.base.Utils;
 import com.donohoedigital.config.PropertyConfig;
 import com.donohoedigital.db.DBUtils;
+import com.donohoedigital.db.PageKey;
 import com.donohoedigital.games.poker.model.OnlineGame;
+import com.donohoedigital.games.poker.model.util.OnlineGameList;
 import com.donohoedigital.games.poker.service.OnlineGameService;
 import com.donohoedigital.games.poker.wicket.PokerSession;
 import com.donohoedigital.games.poker.wicket.PokerWicketApplication;
@@ -94,6 +96,7 @@ public abstract class GamesList extends OnlinePokerPage
     public static final String PARAM_NAME = "host";
     public static final String PARAM_PAGE = "page";
     public static final String PARAM_SIZE = "s";
+    public static final String PARAM_KEY = "k";
 
     public static final Integer[] MODE_AVAILABLE = new Integer[]{OnlineGame.MODE_REG};
     public static final Integer[] MODE_RUNNING = new Integer[]{OnlineGame.MODE_PLAY};
@@ -166,14 +169,17 @@ public abstract class GamesList extends OnlinePokerPage
 
         // process size after form data read
         data.processSizeFromParams(params, PARAM_SIZE);
+        data.processPageKeyFromParams(params, PARAM_KEY);
 
         // title info if host search
         add(new StringLabel("hostName", getNameSearchTitle(data.getName())).setVisible(!Strings.isEmpty(data.getName())));
 
         GameListTableView dataView = new GameListTableView("row", data);
         add(dataView);
-        add(new BookmarkablePagingNavigator("navigator", dataView, new BasicPluralLabelProvider("game", "games"), getClass(), params,
-                                            PARAM_PAGE));
+        BookmarkablePagingNavigator navigator = new BookmarkablePagingNavigator("navigator", dataView,
+                                            new BasicPluralLabelProvider("game", "games"), getClass(), params, PARAM_PAGE);
+        navigator.setNextPageParam(PARAM_KEY, data::getNextPageKey);
+        add(navigator);
 
         // no results found (recent)
         add(new StringLabel("begin", form.getBeginDateAsUserSeesIt()).setVisible(category == recent && data.isEmpty()));
@@ -282,8 +288,11 @@ public abstract class GamesList extends OnlinePokerPage
         public Iterator<OnlineGame> iterator(long first, long pagesize)
         {
             DateRange dr = new DateRange(this);
-            return gameService.getOnlineGames((int) size(), (int) first, (int) pagesize, getModes(category),
-                                              name, dr.getBegin(), dr.getEnd(), date).iterator();
+            OnlineGameList list = gameService.getOnlineGames((int) size(), (int) first, (int) pagesize, getModes(category),
+                                                             name, dr.getBegin(), dr.getEnd(), date,
+                                                             PageKey.fromParam(getPageKey()));
+            setNextPageKey(list.getNextPageKey() == null ? null : list.getNextPageKey().toParam());
+            return list.iterator();
         }
 
         @Override
@@ -35,16 +35,14 @@ package com.donohoedigital.games.poker.wicket.pages.online;
 import com.donohoedigital.base.Utils;
 import com.donohoedigital.games.poker.model.util.OnlineGameList;
 import com.donohoedigital.games.poker.service.OnlineGameService;
+import com.donohoedigital.games.poker.wicket.util.FeedCache;
 import com.donohoedigital.wicket.WicketUtils;
 import com.donohoedigital.wicket.annotations.MountMixedParam;
 import com.donohoedigital.wicket.converters.ParamDateConverter;
 import com.donohoedigital.xml.SimpleXMLEncoder;
 import org.apache.wicket.markup.html.WebPage;
-import org.apache.wicket.request.handler.resource.ResourceStreamRequestHandler;
 import org.apache.wicket.request.mapper.parameter.PageParameters;
 import org.apache.wicket.spring.injection.annot.SpringBean;
-import org.apache.wicket.util.resource.IResourceStream;
-import org.apache.wicket.util.resource.StringResourceStream;
 
 import java.util.Date;
 
@@ -67,23 +65,31 @@ public abstract class GamesListExport extends WebPage
 
     public GamesListExport(PageParameters params)
     {
-        ParamDateConverter CONVERTER = new ParamDateConverter();
-        Date day;
-        int daysago;
-        String file;
-
         if (params == null) params = new PageParameters();
 
         // get params
-        daysago = WicketUtils.getAsInt(params, PARAM_DAYS_AGO, -1);
-        file = params.get(PARAM_FILE_NAME).toString();
+        final int daysago = WicketUtils.getAsInt(params, PARAM_DAYS_AGO, -1);
+        final Date date = WicketUtils.getAsDate(params, PARAM_DATE, null, new ParamDateConverter());
+        String file = params.get(PARAM_FILE_NAME).toString();
+
+        // Set the response to the (cached) export
+        String key = getClass().getName() + ':' + daysago + ':' + (date == null ? "" : date.getTime()) + ':' + file;
+        FeedCache.respond(gameService, key, file, () -> render(daysago, date));
+    }
+
+    /**
+     * Render export
+     */
+    private String render(int daysago, Date date)
+    {
+        Date day;
         if (daysago != -1)
         {
             day = Utils.getDateDays(-daysago);
         }
         else
         {
-            day = WicketUtils.getAsDate(params, PARAM_DATE, null, CONVERTER);
+            day = date;
             if (day == null)
             {
                 day = new Date();
@@ -119,18 +125,7 @@ public abstract class GamesListExport extends WebPage
         encoder.add(games);
         encoder.finishCurrentObject();
 
-        // create target
-        IResourceStream resourceStream = new StringResourceStream(encoder.toString(), "text/xml");
-        ResourceStreamRequestHandler target = new ResourceStreamRequestHandler(resourceStream);
-
-        // set file name if provided
-        if (file != null)
-        {
-            target.setFileName(file);
-        }
-
-        // Set the response to use the new handler
-        WicketUtils.getRequestCycle().scheduleRequestHandlerAfterCurrent(target);
+        return encoder.toString();
     }
 
     /**
@@ -34,8 +34,10 @@ package com.donohoedigital.games.poker.wicket.pages.online;
 
 import com.donohoedigital.base.Utils;
 import com.donohoedigital.config.PropertyConfig;
+import com.donohoedigital.db.PageKey;
 import com.donohoedigital.games.poker.model.OnlineProfile;
 import com.donohoedigital.games.poker.model.TournamentHistory;
+import com.donohoedigital.games.poker.model.util.TournamentHistoryList;
 import com.donohoedigital.games.poker.service.OnlineProfileService;
 import com.donohoedigital.games.poker.service.TournamentHistoryService;
 import com.donohoedigital.games.poker.wicket.PokerSession;
@@ -91,6 +93,7 @@ public class History extends OnlinePokerPage
     public static final String PARAM_GAME_NAME = "game";
     public static final String PARAM_PAGE = "page";
     public static final String PARAM_SIZE = "s";
+    public static final String PARAM_KEY = "k";
 
     @SpringBean
     private OnlineProfileService profileService;
@@ -153,6 +156,7 @@ public class History extends OnlinePokerPage
 
             // process size after form data read
             data.processSizeFromParams(params, PARAM_SIZE);
+            data.processPageKeyFromParams(params, PARAM_KEY);
 
             // aliases
             add(new Aliases("aliases", user, data.getBegin(), data.getEnd()));
@@ -234,8 +238,10 @@ public class History extends OnlinePokerPage
             // table of histories
             HistoryTableView dataView = new HistoryTableView("row", data);
             add(dataView);
-            add(new BookmarkablePagingNavigator("navigator", dataView, new BasicPluralLabelProvider("game", "games"),
-                                                History.class, params, PARAM_PAGE));
+            BookmarkablePagingNavigator navigator = new BookmarkablePagingNavigator("navigator", dataView,
+                                                new BasicPluralLabelProvider("game", "games"), History.class, params, PARAM_PAGE);
+            navigator.setNextPageParam(PARAM_KEY, data::getNextPageKey);
+            add(navigator);
 
             // no results found
             add(new StringLabel("player", data.getUser().getName()).setVisible(data.isEmpty()));
@@ -265,7 +271,11 @@ public class History extends OnlinePokerPage
         public Iterator<TournamentHistory> iterator(long first, long pagesize)
         {
             DateRange dr = new DateRange(this);
-            return histService.getAllTournamentHistoriesForProfile((int) size(), (int) first, (int) pagesize, user.getId(), name, dr.getBegin(), dr.getEnd()).iterator();
+            TournamentHistoryList list = histService.getAllTournamentHistoriesForProfile((int) size(), (int) first, (int) pagesize,
+                                                                                       user.getId(), name, dr.getBegin(), dr.getEnd(),
+                                                                                       PageKey.fromParam(getPageKey()));
+            setNextPageKey(list.getNextPageKey() == null ? null : list.getNextPageKey().toParam());
+            return list.iterator();
         }
 
         @Override
@@ -36,14 +36,11 @@ import com.donohoedigital.base.ApplicationError;
 import com.donohoedigital.base.Utils;
 import com.donohoedigital.games.poker.model.util.OnlineGameList;
 import com.donohoedigital.games.poker.service.OnlineGameService;
-import com.donohoedigital.wicket.WicketUtils;
+import com.donohoedigital.games.poker.wicket.util.FeedCache;
 import com.rometools.rome.io.FeedException;
 import com.rometools.rome.io.WireFeedOutput;
 import org.apache.wicket.markup.html.WebPage;
-import org.apache.wicket.request.handler.resource.ResourceStreamRequestHandler;
 import org.apache.wicket.spring.injection.annot.SpringBean;
-import org.apache.wicket.util.resource.IResourceStream;
-import org.apache.wicket.util.resource.StringResourceStream;
 
 import java.util.Date;
 
@@ -59,6 +56,15 @@ public abstract class GamesListRss extends WebPage
     protected OnlineGameService gameService;
 
     public GamesListRss()
+    {
+        // Set the response to the (cached) feed
+        FeedCache.respond(gameService, getClass().getName(), null, this::render);
+    }
+
+    /**
+     * Render feed
+     */
+    private String render()
     {
         Date end = new Date();
         Date begin = Utils.getDateDays(end, -3); // Get 3 days worth of data
@@ -69,22 +75,14 @@ public abstract class GamesListRss extends WebPage
         // encode it
         GamesListFeed feed = new GamesListFeed(getTitle(), getUrl(), games);
         WireFeedOutput out = new WireFeedOutput();
-        String xml;
         try
         {
-            xml = out.outputString(feed);
+            return out.outputString(feed);
         }
         catch (FeedException e)
         {
             throw new ApplicationError(e);
         }
-
-        // create target
-        IResourceStream resourceStream = new StringResourceStream(xml, "text/xml");
-        ResourceStreamRequestHandler target = new ResourceStreamRequestHandler(resourceStream);
-
-        // Set the response to use the new handler
-        WicketUtils.getRequestCycle().scheduleRequestHandlerAfterCurrent(target);
     }
 
     /**
@@ -0,0 +1,291 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.games.poker.wicket.util;
+
+import com.donohoedigital.base.ApplicationError;
+import com.donohoedigital.games.poker.service.OnlineGameService;
+import com.donohoedigital.wicket.WicketUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.wicket.request.IRequestCycle;
+import org.apache.wicket.request.IRequestHandler;
+import org.apache.wicket.request.http.WebResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of rendered game list feeds (RSS and XML exports), which feed readers and scrapers
+ * fetch far more often than people look at the pages.  Feeds are stored gzipped, keyed by
+ * feed type and parameters, and re-rendered when online games change (see
+ * OnlineGameService.getChangeStamp(), checked at most every few seconds) or after
+ * a maximum age.  Responses include ETag and Last-Modified so clients can
+ * make conditional requests, which are answered with a 304.  The gzipped and
+ * plain bodies have different ETags, since they are different bytes.
+ */
+public class FeedCache
+{
+    private static final int MAX_FEEDS = 200;
+    private static final long MAX_AGE_MILLIS = 60 * 1000;
+    private static final long STAMP_CHECK_MILLIS = 5 * 1000;
+    private static final String CONTENT_TYPE = "text/xml; charset=UTF-8";
+
+    // least recently used first
+    private static final Map<String, Feed> feeds = new LinkedHashMap<String, Feed>(16, 0.75f, true)
+    {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Feed> eldest)
+        {
+            return size() > MAX_FEEDS;
+        }
+    };
+
+    // the change stamp is a query over all online games, so it is only re-read
+    // every STAMP_CHECK_MILLIS, by one request while others use the last one
+    private static volatile String stamp;
+    private static volatile long stampChecked;
+    private static final AtomicBoolean stampChecking = new AtomicBoolean(false);
+
+    /**
+     * Schedule response with the feed with the given key, rendering it with render if not
+     * cached or out of date.  Pass a file name to have it sent as an attachment.
+     */
+    public static void respond(OnlineGameService gameService, String key, String fileName, Supplier<String> render)
+    {
+        Feed feed = getFeed(gameService, key, fileName, render);
+        WicketUtils.getRequestCycle().scheduleRequestHandlerAfterCurrent(new FeedRequestHandler(feed));
+    }
+
+    /**
+     * Get feed, rendering if needed
+     */
+    private static Feed getFeed(OnlineGameService gameService, String key, String fileName, Supplier<String> render)
+    {
+        String current = getStamp(gameService);
+        long now = System.currentTimeMillis();
+
+        Feed old;
+        synchronized (feeds)
+        {
+            old = feeds.get(key);
+        }
+        if (old != null && old.stamp.equals(current) && now - old.created < MAX_AGE_MILLIS)
+        {
+            return old;
+        }
+
+        // render outside the lock - worst case two requests render the same feed
+        Feed feed = new Feed(current, now, fileName, render.get().getBytes(StandardCharsets.UTF_8), old);
+        synchronized (feeds)
+        {
+            feeds.put(key, feed);
+        }
+        return feed;
+    }
+
+    /**
+     * Get change stamp of online games, re-read at most every STAMP_CHECK_MILLIS
+     */
+    private static String getStamp(OnlineGameService gameService)
+    {
+        String current = stamp;
+        long now = System.currentTimeMillis();
+        if (current != null && now - stampChecked < STAMP_CHECK_MILLIS) return current;
+        if (!stampChecking.compareAndSet(false, true))
+        {
+            // another request is re-reading it
+            if (current != null) return current;
+        }
+
+        try
+        {
+            current = gameService.getChangeStamp();
+            stamp = current;
+            stampChecked = now;
+            return current;
+        }
+        finally
+        {
+            stampChecking.set(false);
+        }
+    }
+
+    /**
+     * rendered feed
+     */
+    private static class Feed
+    {
+        private final String stamp;
+        private final long created;
+        private final long lastModified;
+        private final String etag;
+        private final String etagGzip;
+        private final String fileName;
+        private final byte[] gzipped;
+
+        private Feed(String stamp, long created, String fileName, byte[] body, Feed previous)
+        {
+            CRC32 crc = new CRC32();
+            crc.update(body);
+
+            this.stamp = stamp;
+            this.created = created;
+            this.fileName = fileName;
+            String tag = Long.toHexString(crc.getValue()) + '-' + Integer.toHexString(body.length);
+            this.etag = '"' + tag + '"';
+            this.etagGzip = '"' + tag + "-gz\"";
+            this.gzipped = gzip(body);
+
+            // unchanged content keeps its modified date so If-Modified-Since still works
+            this.lastModified = (previous != null && previous.etag.equals(etag)) ? previous.lastModified :
+                                (created / 1000) * 1000;
+        }
+    }
+
+    /**
+     * Sends a cached feed, or a 304 if the client's copy is current
+     */
+    private static class FeedRequestHandler implements IRequestHandler
+    {
+        private final Feed feed;
+
+        private FeedRequestHandler(Feed feed)
+        {
+            this.feed = feed;
+        }
+
+        public void respond(IRequestCycle requestCycle)
+        {
+            HttpServletRequest request = WicketUtils.getHttpServletRequest();
+            WebResponse response = (WebResponse) requestCycle.getResponse();
+
+            String encoding = request.getHeader("Accept-Encoding");
+            boolean gzip = encoding != null && encoding.contains("gzip");
+            String etag = gzip ? feed.etagGzip : feed.etag;
+
+            response.setHeader("ETag", etag);
+            response.setDateHeader("Last-Modified", Instant.ofEpochMilli(feed.lastModified));
+            response.setHeader("Vary", "Accept-Encoding");
+
+            if (isNotModified(request, etag))
+            {
+                response.setStatus(304);
+                return;
+            }
+
+            byte[] body;
+            if (gzip)
+            {
+                response.setHeader("Content-Encoding", "gzip");
+                body = feed.gzipped;
+            }
+            else
+            {
+                body = gunzip(feed.gzipped);
+            }
+
+            response.setContentType(CONTENT_TYPE);
+            if (feed.fileName != null) response.setAttachmentHeader(feed.fileName);
+            response.setContentLength(body.length);
+            response.write(body);
+        }
+
+        /**
+         * Does client already have this feed (with the given etag, which depends on the
+         * encoding)?  If-None-Match wins over If-Modified-Since.
+         */
+        private boolean isNotModified(HttpServletRequest request, String etag)
+        {
+            String match = request.getHeader("If-None-Match");
+            if (match != null)
+            {
+                return match.equals("*") || match.contains(etag);
+            }
+
+            long since;
+            try
+            {
+                since = request.getDateHeader("If-Modified-Since");
+            }
+            catch (IllegalArgumentException bad)
+            {
+                return false;
+            }
+            return since != -1 && feed.lastModified <= since;
+        }
+    }
+
+    /**
+     * gzip data
+     */
+    private static byte[] gzip(byte[] data)
+    {
+        try
+        {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length / 4 + 64);
+            GZIPOutputStream gzip = new GZIPOutputStream(bytes);
+            gzip.write(data);
+            gzip.close();
+            return bytes.toByteArray();
+        }
+        catch (IOException e)
+        {
+            throw new ApplicationError(e);
+        }
+    }
+
+    /**
+     * un-gzip data (for the rare client that doesn't accept gzip)
+     */
+    private static byte[] gunzip(byte[] data)
+    {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data)))
+        {
+            return in.readAllBytes();
+        }
+        catch (IOException e)
+        {
+            throw new ApplicationError(e);
+        }
+    }
+}
@@ -374,7 +374,10 @@ public class UnicastTest2 extends BaseCommandLineApp implements UDPLinkHandler,
                     if (data.getType() == UDPData.Type.MESSAGE)
                     {
                         if (bDebug)
+                        {
+                            data.flatten();
                             sMsg = " {" + Utils.decode(data.getData(), data.getOffset(), data.getLength()) + "}";
+                        }
                         else sMsg = "";
 
                     }
@@ -53,6 +53,8 @@ public abstract class GameServer extends Thread
     private int SLEEP_UNAVAIL; // millis to sleep when no worker thread available
     private int LOG_UNAVAIL; // millis to wait before logging no worker warning
     private int LOG_STATUS; // millis to wait before logging server status
+    private int KEEPALIVE_IDLE; // millis an idle keep-alive connection stays open (0 is off)
+    private long nLastIdleCheck_;
     private long nLastLogTime_;
     private long nNum_ = 0;
 
@@ -258,6 +260,7 @@ public abstract class GameServer extends Thread
         SLEEP_UNAVAIL = PropertyConfig.getRequiredIntegerProperty("settings.server.noworker.sleep.millis");
         LOG_UNAVAIL = PropertyConfig.getRequiredIntegerProperty("settings.server.noworker.log.millis");
         LOG_STATUS = PropertyConfig.getRequiredIntegerProperty("settings.server.status.log.seconds") * 1000;
+        KEEPALIVE_IDLE = PropertyConfig.getIntegerProperty("settings.server.keepalive.idle.millis", 0);
         int nThreads = PropertyConfig.getRequiredIntegerProperty("settings.server.threads");
         sPort_ = PropertyConfig.getRequiredStringProperty(sPortKey_);
         String ip = PropertyConfig.getStringProperty("settings.server.ip", null, false);
@@ -496,11 +499,11 @@ public abstract class GameServer extends Thread
         // MAIN: loop forever, processing requests
         while (!bDone_)
         {
-            // this may block for a long time, upon return the
-            // selected set contains keys of the ready channels
+            // this may block for a long time (up to the keep-alive idle time
+            // if on), upon return the selected set contains keys of the ready channels
             try
             {
-                n = selector_.select();
+                n = selector_.select(KEEPALIVE_IDLE);
             }
             catch (Throwable t)
             {
@@ -530,7 +533,7 @@ public abstract class GameServer extends Thread
                     {
                         try
                         {
-                            registerChannel(entry.channel, entry.ops);
+                            registerChannel(entry.channel, entry.ops, entry.idleSince);
                         }
                         catch (IOException ioe)
                         {
@@ -539,6 +542,12 @@ public abstract class GameServer extends Thread
 
                     }
                 }
+
+                // close keep-alive connections that have been idle too long
+                if (KEEPALIVE_IDLE > 0)
+                {
+                    closeIdleChannels();
+                }
             }
             catch (Throwable t)
             {
@@ -703,6 +712,23 @@ public abstract class GameServer extends Thread
         nHits_ = 0;
     }
 
+    /**
+     * Are HTTP keep-alive connections allowed?
+     */
+    public boolean isKeepAliveAllowed()
+    {
+        return KEEPALIVE_IDLE > 0;
+    }
+
+    /**
+     * Millis an idle keep-alive connection stays open (sent to clients in
+     * the Keep-Alive header so they stop reusing it before then)
+     */
+    public int getKeepAliveIdleMillis()
+    {
+        return KEEPALIVE_IDLE;
+    }
+
     /**
      * Register the given channel with the given selector for
      * the given operations of interest.  Queues the request
@@ -710,6 +736,25 @@ public abstract class GameServer extends Thread
      */
     public void registerChannel(SocketChannel channel, int ops)
             throws IOException
+    {
+        registerChannel(channel, ops, null);
+    }
+
+    /**
+     * Register a keep-alive channel, waiting for its next request,
+     * for read.  It is closed if idle longer than the keep-alive idle time.
+     */
+    public void registerIdleChannel(SocketChannel channel)
+            throws IOException
+    {
+        registerChannel(channel, SelectionKey.OP_READ, System.currentTimeMillis());
+    }
+
+    /**
+     * Register channel, with idleSince (if not null) attached to the key
+     */
+    private void registerChannel(SocketChannel channel, int ops, Long idleSince)
+            throws IOException
     {
         if (channel == null)
         {
@@ -719,26 +764,60 @@ public abstract class GameServer extends Thread
         // queue if different thread
         if (Thread.currentThread() != mainThread_)
         {
-            addToQueue(channel, ops);
+            addToQueue(channel, ops, idleSince);
             selector_.wakeup();
         }
         else
         {
             // set the new channel non-blocking
             channel.configureBlocking(false);
-            channel.register(selector_, ops);
+            channel.register(selector_, ops, idleSince);
         }
     }
 
     /*
      * Add a message to the Queue
      */
-    private void addToQueue(SocketChannel channel, int ops)
+    private void addToQueue(SocketChannel channel, int ops, Long idleSince)
     {
         synchronized (registerQ_)
         {
-            registerQ_.add(new Qentry(channel, ops));
+            registerQ_.add(new Qentry(channel, ops, idleSince));
+        }
+    }
+
+    /**
+     * Close keep-alive channels idle longer than the keep-alive idle time.  Checked
+     * at most once a second.
+     */
+    private void closeIdleChannels()
+    {
+        long now = System.currentTimeMillis();
+        if ((now - nLastIdleCheck_) < 1000) return;
+        nLastIdleCheck_ = now;
+
+        closeIdleChannels(selector_.keys(), now, KEEPALIVE_IDLE);
+    }
+
+    /**
+     * Close keep-alive channels (those with an idle start time attached) in the given
+     * keys that have been idle longer than nIdleMillis as of now.  Returns number closed.
+     */
+    int closeIdleChannels(Set<SelectionKey> keys, long now, int nIdleMillis)
+    {
+        int nClosed = 0;
+        for (SelectionKey key : keys)
+        {
+            Object idleSince = key.attachment();
+            if (idleSince instanceof Long && key.isValid() && (now - (Long) idleSince) > nIdleMillis)
+            {
+                if (DEBUG_ONLINE) logger.debug("CLOSING IDLE " + Utils.getIPAddress((SocketChannel) key.channel()));
+                key.cancel();
+                closeChannel((SocketChannel) key.channel());
+                nClosed++;
+            }
         }
+        return nClosed;
     }
 
     /**
@@ -764,11 +843,13 @@ public abstract class GameServer extends Thread
     {
         SocketChannel channel;
         int ops;
+        Long idleSince;
 
-        Qentry(SocketChannel channel, int ops)
+        Qentry(SocketChannel channel, int ops, Long idleSince)
         {
             this.channel = channel;
             this.ops = ops;
+            this.idleSince = idleSince;
         }
     }
 
@@ -868,6 +949,6 @@ public abstract class GameServer extends Thread
         key.cancel();
 
         // invoking this wakes up the worker thread then returns
-        worker.processChannel(channel);
+        worker.processChannel(channel, key.attachment() != null);
     }
 }
@@ -38,6 +38,7 @@
 
 package com.donohoedigital.server;
 
+import com.donohoedigital.base.DDByteArrayOutputStream;
 import com.donohoedigital.base.Utils;
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.Cookie;
@@ -67,15 +68,96 @@ public class GameServletResponse implements HttpServletResponse
     String sContentType_;
     SocketChannel channel_;
     OutputStream out_;
+    GameServer server_;
+    private volatile boolean bDeferred_ = false;
+    private boolean bKeepAlive_ = false;
+    private boolean bKeptAlive_ = false;
+    private DDByteArrayOutputStream body_;
     
     /** 
      * Creates a new instance of StringServletResponse 
      */
     public GameServletResponse(SocketChannel channel)
+    {
+        this(channel, null);
+    }
+
+    /**
+     * Creates a new instance, using the given server to close
+     * the channel of a deferred response
+     */
+    public GameServletResponse(SocketChannel channel, GameServer server)
     {
         channel_ = channel;
+        server_ = server;
         out_ = Channels.newOutputStream(channel);
     }
+
+    /**
+     * Indicate the servlet will finish this response later from another thread
+     * (e.g., a long poll waiting for data).  The socket thread returns to the
+     * pool without closing or re-registering the channel, so whoever finishes
+     * the response must call close() when done.
+     */
+    public void defer()
+    {
+        bDeferred_ = true;
+    }
+
+    /**
+     * Was defer() called?
+     */
+    public boolean isDeferred()
+    {
+        return bDeferred_;
+    }
+
+    /**
+     * Set whether the client asked to keep the connection open for
+     * more requests.  If so, a response returned via getOutputStream2() is
+     * buffered so it can be sent with a content length.
+     */
+    public void setKeepAlive(boolean b)
+    {
+        bKeepAlive_ = b;
+    }
+
+    /**
+     * Did the client ask to keep the connection open?
+     */
+    public boolean isKeepAlive()
+    {
+        return bKeepAlive_;
+    }
+
+    /**
+     * Was the response finished with the connection left open?
+     */
+    public boolean isKeptAlive()
+    {
+        return bKeptAlive_;
+    }
+
+    /**
+     * Close the channel of a deferred response
+     */
+    public void close()
+    {
+        if (server_ != null)
+        {
+            server_.closeChannel(channel_);
+        }
+        else
+        {
+            try
+            {
+                channel_.close();
+            }
+            catch (IOException ignored)
+            {
+            }
+        }
+    }
     
     // HttpServletResponse implementation
     
@@ -113,6 +195,13 @@ public class GameServletResponse implements HttpServletResponse
      */
     public OutputStream getOutputStream2() throws IOException
     {
+        // keep-alive (not used for deferred responses, which are closed when done)
+        if (bKeepAlive_ && !bDeferred_)
+        {
+            body_ = new DDByteArrayOutputStream(1000);
+            return body_;
+        }
+
         beginResponse(200, "OK");
         return out_;
     }
@@ -229,6 +318,7 @@ public class GameServletResponse implements HttpServletResponse
      */
     public void sendError(int param, String str) throws IOException
     {
+        body_ = null; // errors always close the connection
         beginResponse(param, "ERROR");
         StringBuilder sb = new StringBuilder();
         sb.append("<HTML><BODY><H1>Error ");
@@ -241,10 +331,25 @@ public class GameServletResponse implements HttpServletResponse
     }
     
     /**
-     * Finish responding by closing the socket
+     * Finish responding by closing the socket, or for keep-alive,
+     * sending the buffered response with its length
      */
     public void finishResponse() throws IOException
     {
+        if (body_ != null)
+        {
+            // send header and body in one write
+            DDByteArrayOutputStream response = new DDByteArrayOutputStream(body_.size() + 200);
+            response.write(getHeader(200, "OK", body_.size()));
+            response.write(body_.getBuffer(), 0, body_.size());
+            body_ = null;
+
+            channel_.configureBlocking(true);
+            out_.write(response.getBuffer(), 0, response.size());
+            bKeptAlive_ = true;
+            return;
+        }
+
         channel_.socket().shutdownOutput();
     }
     
@@ -255,13 +360,28 @@ public class GameServletResponse implements HttpServletResponse
     {
         // need to configure blocking for writes to the output stream to work
         channel_.configureBlocking(true);
+        out_.write(getHeader(responseCode, sInfo, -1));
+    }
+
+    /**
+     * Response header, with content length and keep-alive if nLength is 0 or more.  The
+     * server's idle timeout is included so the client knows when to stop reusing the connection.
+     */
+    private byte[] getHeader(int responseCode, String sInfo, int nLength)
+    {
         StringBuilder sb = new StringBuilder();
         sb.append("HTTP/1.1 ").append(responseCode).append(' ').append(Utils.encodeHTML(sInfo)).append('\n');
         sb.append("Server: Donohoe Digital/1.0\n");
         sb.append("Pragma: no-cache\n"); // don't cache our responses
         if (sContentType_ != null) sb.append("Content-Type: ").append(sContentType_).append('\n');
+        if (nLength >= 0)
+        {
+            sb.append("Content-Length: ").append(nLength).append('\n');
+            sb.append("Connection: keep-alive\n");
+            if (server_ != null) sb.append("Keep-Alive: timeout=").append(server_.getKeepAliveIdleMillis() / 1000).append('\n');
+        }
         sb.append('\n');
-        out_.write(Utils.encodeBasic(sb.toString()));
+        return Utils.encodeBasic(sb.toString());
     }
     
     public void sendRedirect(String str) throws IOException
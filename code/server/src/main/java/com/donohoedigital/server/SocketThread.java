@@ -44,6 +44,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.ByteArrayInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
@@ -63,6 +64,7 @@ public class SocketThread extends Thread
     protected GameServletResponse response_;
     protected GameServletRequest request_;
     protected SocketChannel channel_;
+    protected boolean bKeptAlive_;
     protected ByteBuffer headers_ = ByteBuffer.allocate(10000);
     protected ByteBuffer buffer_ = ByteBuffer.allocate(100000);
     
@@ -102,9 +104,19 @@ public class SocketThread extends Thread
      * process data on channel - wakes up wait() in run() below
      */
     synchronized void processChannel(SocketChannel channel)
+    {
+        processChannel(channel, false);
+    }
+
+    /**
+     * process data on channel, which may be a keep-alive channel
+     * waiting for its next request
+     */
+    synchronized void processChannel(SocketChannel channel, boolean bKeptAlive)
     {
         // store channel and say we are reading
         channel_ = channel;
+        bKeptAlive_ = bKeptAlive;
         
         // awaken the thread
         notify();		
@@ -159,12 +171,26 @@ public class SocketThread extends Thread
             {
                 // close channel
                 try {
+                    // deferred response (e.g., long poll) - servlet finishes
+                    // the response and closes the channel later
+                    if (!bShutDown && response_ != null && response_.isDeferred())
+                    {
+                        if (GameServer.DEBUG_ONLINE) logger.debug(getName() + " response deferred");
+                    }
                     // keep-alive, re-register channel for read notifications
-                    // unless the channel was closed
-                    if (!bShutDown && isKeepAlive() && channel_.isOpen())
+                    // unless the channel was closed (http keep-alive
+                    // channels are closed if idle too long)
+                    else if (!bShutDown && isKeepAlive() && channel_.isOpen())
                     {
                         try {
-                            getServer().registerChannel(channel_, SelectionKey.OP_READ);
+                            if (response_ != null && response_.isKeptAlive())
+                            {
+                                getServer().registerIdleChannel(channel_);
+                            }
+                            else
+                            {
+                                getServer().registerChannel(channel_, SelectionKey.OP_READ);
+                            }
                         }
                         catch (IOException ioe)
                         {
@@ -212,13 +238,14 @@ public class SocketThread extends Thread
     }
 
     /**
-     * Is this a keep alive thread?  Defaults to false; for overriding.
+     * Is this a keep alive thread?  Defaults to whether the response was
+     * sent keep-alive (client asked for it); for overriding.
      * Controls whether the socket is closed after processing, or added
      * back to server's selector for futher reading
      */
     protected boolean isKeepAlive()
     {
-        return false;
+        return response_ != null && response_.isKeptAlive();
     }
     
     /**
@@ -226,6 +253,9 @@ public class SocketThread extends Thread
      */
     protected boolean handleException(Throwable t)
     {
+        // client closed an idle keep-alive connection - nothing to report
+        if (bKeptAlive_ && request_ == null && t instanceof EOFException) return true;
+
         try {
             String sMsg = null;
             int nCode = 503;
@@ -267,7 +297,7 @@ public class SocketThread extends Thread
      */
     protected void initRequest()
     {
-        response_ = new GameServletResponse(channel_);
+        response_ = new GameServletResponse(channel_, getServer());
         request_ = null;
         buffer_.clear();
         headers_.clear();
@@ -339,10 +369,20 @@ public class SocketThread extends Thread
             }
         }
         
-        // at end (EOF or read enough ends loop), shut down input
-        channel.socket().shutdownInput();
-        
-        if (GameServer.DEBUG_ONLINE) logger.debug(getName() + " after shutdowninput");
+        // keep-alive channel closed by client before sending another request
+        if (count < 0 && bKeptAlive_ && buffer_.position() == 0)
+        {
+            throw new EOFException("Keep-alive connection closed");
+        }
+
+        // at end (EOF or read enough ends loop), shut down input unless
+        // the client wants to send more requests
+        if (!response_.isKeepAlive())
+        {
+            channel.socket().shutdownInput();
+
+            if (GameServer.DEBUG_ONLINE) logger.debug(getName() + " after shutdowninput");
+        }
         
         // make sure we have a request
         if (request_ == null) throw new ApplicationError(ErrorCodes.ERROR_SERVER_FORBIDDEN, "Forbidden (x3)", getBufferAsString(), null);
@@ -457,6 +497,11 @@ public class SocketThread extends Thread
                     nContentLength = Integer.parseInt(sValue);
                 } catch (NumberFormatException ignored) { }
             }
+            // client wants to reuse connection
+            else if (sName.equalsIgnoreCase("Connection"))
+            {
+                response_.setKeepAlive(sValue.equalsIgnoreCase("keep-alive") && getServer().isKeepAliveAllowed());
+            }
         }
         
         // init request with all the gathered data
@@ -0,0 +1,206 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.server;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for HTTP keep-alive handling in GameServletResponse and GameServer
+ */
+public class KeepAliveTest
+{
+    private ServerSocketChannel listen_;
+    private SocketChannel client_;
+    private SocketChannel server_;
+
+    private final GameServer gameServer_ = new GameServer()
+    {
+        @Override
+        public int getKeepAliveIdleMillis()
+        {
+            return 30000;
+        }
+    };
+
+    @Before
+    public void setUp() throws IOException
+    {
+        listen_ = ServerSocketChannel.open();
+        listen_.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        client_ = SocketChannel.open(listen_.getLocalAddress());
+        server_ = listen_.accept();
+    }
+
+    @After
+    public void tearDown() throws IOException
+    {
+        client_.close();
+        server_.close();
+        listen_.close();
+    }
+
+    /**
+     * Keep-alive response is sent with its length and timeout, and the channel stays open for the next request
+     */
+    @Test
+    public void testKeepAliveResponse() throws IOException
+    {
+        GameServletResponse response = new GameServletResponse(server_, gameServer_);
+        response.setContentType("text/plain");
+        response.setKeepAlive(true);
+        OutputStream out = response.getOutputStream2();
+        out.write("hello".getBytes(StandardCharsets.US_ASCII));
+        response.finishResponse();
+
+        assertTrue(response.isKeptAlive());
+        assertTrue(server_.isOpen());
+
+        String sResponse = read(client_.socket().getInputStream(), "hello");
+        assertTrue(sResponse, sResponse.startsWith("HTTP/1.1 200 OK\n"));
+        assertTrue(sResponse, sResponse.contains("Content-Length: 5\n"));
+        assertTrue(sResponse, sResponse.contains("Connection: keep-alive\n"));
+        assertTrue(sResponse, sResponse.contains("Keep-Alive: timeout=30\n"));
+        assertTrue(sResponse, sResponse.endsWith("\n\nhello"));
+
+        // server can still read the next request
+        client_.write(ByteBuffer.wrap("next".getBytes(StandardCharsets.US_ASCII)));
+        ByteBuffer next = ByteBuffer.allocate(4);
+        server_.configureBlocking(true);
+        while (next.hasRemaining() && server_.read(next) > 0) { }
+        assertEquals("next", new String(next.array(), StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Without keep-alive, the response ends at EOF
+     */
+    @Test
+    public void testCloseResponse() throws IOException
+    {
+        GameServletResponse response = new GameServletResponse(server_, gameServer_);
+        response.setContentType("text/plain");
+        OutputStream out = response.getOutputStream2();
+        out.write("hello".getBytes(StandardCharsets.US_ASCII));
+        response.finishResponse();
+
+        assertFalse(response.isKeptAlive());
+
+        String sResponse = new String(client_.socket().getInputStream().readAllBytes(), StandardCharsets.US_ASCII);
+        assertFalse(sResponse, sResponse.contains("Content-Length"));
+        assertFalse(sResponse, sResponse.contains("keep-alive"));
+        assertTrue(sResponse, sResponse.endsWith("\n\nhello"));
+    }
+
+    /**
+     * Errors close the connection even if keep-alive was asked for
+     */
+    @Test
+    public void testErrorCloses() throws IOException
+    {
+        GameServletResponse response = new GameServletResponse(server_, gameServer_);
+        response.setKeepAlive(true);
+        response.getOutputStream2();
+        response.sendError(500, "oops");
+        response.finishResponse();
+
+        assertFalse(response.isKeptAlive());
+        String sResponse = new String(client_.socket().getInputStream().readAllBytes(), StandardCharsets.US_ASCII);
+        assertTrue(sResponse, sResponse.startsWith("HTTP/1.1 500"));
+    }
+
+    /**
+     * Idle keep-alive channels are closed after the idle time; others are left alone
+     */
+    @Test
+    public void testIdleClose() throws IOException
+    {
+        SocketChannel other = SocketChannel.open(listen_.getLocalAddress());
+        SocketChannel otherServer = listen_.accept();
+        try (Selector selector = Selector.open())
+        {
+            long now = System.currentTimeMillis();
+            server_.configureBlocking(false);
+            SelectionKey idle = server_.register(selector, SelectionKey.OP_READ, now);
+            otherServer.configureBlocking(false);
+            SelectionKey active = otherServer.register(selector, SelectionKey.OP_READ);
+
+            // not idle long enough
+            assertEquals(0, gameServer_.closeIdleChannels(selector.keys(), now + 1000, 1000));
+            assertTrue(server_.isOpen());
+
+            // idle too long - closed, client sees EOF
+            assertEquals(1, gameServer_.closeIdleChannels(selector.keys(), now + 1001, 1000));
+            assertFalse(idle.isValid());
+            assertFalse(server_.isOpen());
+            assertEquals(-1, client_.socket().getInputStream().read());
+
+            // channel without idle time (e.g., request in progress) is left open
+            assertTrue(active.isValid());
+            assertTrue(otherServer.isOpen());
+        }
+        finally
+        {
+            other.close();
+            otherServer.close();
+        }
+    }
+
+    /**
+     * Read from stream until response ends with given text
+     */
+    private static String read(InputStream in, String sEnd) throws IOException
+    {
+        StringBuilder sb = new StringBuilder();
+        int n;
+        while (!sb.toString().endsWith(sEnd) && (n = in.read()) != -1)
+        {
+            sb.append((char) n);
+        }
+        return sb.toString();
+    }
+}
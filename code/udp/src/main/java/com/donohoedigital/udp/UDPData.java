@@ -32,6 +32,9 @@
  */
 package com.donohoedigital.udp;
 
+import com.donohoedigital.base.*;
+
+import java.io.*;
 import java.nio.*;
 import java.util.*;
 
@@ -87,6 +90,10 @@ public class UDPData
     private byte nUserType_ = 0;
     private byte[] data_;
 
+    // combined message - all parts (starting with this one), referenced in place
+    private UDPData[] parts_;
+    private int nPartLength_;
+
     // header size
     public static final int HEADER_SIZE = 1 // type (byte)
                                           + 1 // send count (byte)
@@ -130,6 +137,7 @@ public class UDPData
         data_ = data;
         nOffset_ = nOffset;
         nLength_ = nLength;
+        nPartLength_ = nLength;
         nUserType_ = nUserType;
     }
 
@@ -138,6 +146,8 @@ public class UDPData
      */
     public void put(ByteBuffer buffer)
     {
+        assertFlat();
+
         buffer.put((byte)nType_.ordinal());
         buffer.put(nUserType_);
         buffer.put(nSendCnt_);
@@ -161,6 +171,7 @@ public class UDPData
         nPartID_ = buffer.getShort();
         nParts_ = buffer.getShort();
         nLength_ = buffer.getInt();
+        nPartLength_ = nLength_;
         if (nLength_ > 0)
         {
             data_ = new byte[nLength_];
@@ -169,10 +180,12 @@ public class UDPData
     }
 
     /**
-     * Combine remaining data chunks with this
+     * Combine remaining data chunks with this.  The chunks are referenced,
+     * not copied - use getInputStream() to read the combined data in place,
+     * or flatten() to copy them into a single array.
      */
     void combine(ArrayList<UDPData> array)
-    {        
+    {
         // determine total length
         int nuLength = nLength_;
         for (UDPData d : array)
@@ -181,22 +194,56 @@ public class UDPData
             nSendCnt_ = (byte) Math.max(nSendCnt_, d.nSendCnt_); // for debugging/display
         }
 
-        // allocate nu size and copy this UDPData
-        byte[] nu = new byte[nuLength];
-        System.arraycopy(data_, nOffset_, nu, 0, nLength_);
+        // remember parts
+        parts_ = new UDPData[array.size() + 1];
+        parts_[0] = this;
+        for (int i = 0; i < array.size(); i++)
+        {
+            parts_[i + 1] = array.get(i);
+        }
+        nLength_ = nuLength;
+        // nNumParts_ is kept the same so we know how many parts it took to send (again, for debugging/display)
+    }
 
-        // copy UDPData's in array
-        int offset = nLength_;
-        for (UDPData d : array)
+    /**
+     * Is this a combined multi-part message whose parts haven't been copied
+     * into a single array?  If so, getData()/getOffset() can't be used until
+     * flatten() is called.
+     */
+    public boolean isCombined()
+    {
+        return parts_ != null;
+    }
+
+    /**
+     * Copy combined parts into a single array, so getData()/getOffset()
+     * can be used.  Does nothing if not combined.
+     */
+    public void flatten()
+    {
+        if (parts_ == null) return;
+
+        byte[] nu = new byte[nLength_];
+        int offset = 0;
+        for (UDPData d : parts_)
         {
-            System.arraycopy(d.data_, d.nOffset_, nu, offset, d.nLength_);
-            offset += d.nLength_;
+            if (d.nPartLength_ > 0) System.arraycopy(d.data_, d.nOffset_, nu, offset, d.nPartLength_);
+            offset += d.nPartLength_;
         }
 
-        // remember
-        nLength_ = nuLength;
         data_ = nu;
-        // nNumParts_ is kept the same so we know how many parts it took to send (again, for debugging/display)
+        nOffset_ = 0;
+        nPartLength_ = nLength_;
+        parts_ = null;
+    }
+
+    /**
+     * Get a stream over the data.  For a combined multi-part message,
+     * this reads each part in place rather than copying them together.
+     */
+    public InputStream getInputStream()
+    {
+        return new UDPDataInputStream(parts_ != null ? parts_ : new UDPData[] { this });
     }
 
     /**
@@ -248,21 +295,55 @@ public class UDPData
     }
 
     /**
-     * Get byte data
+     * Get byte data.  A combined multi-part message must be flattened first.
      */
     public byte[] getData()
     {
+        assertFlat();
         return data_;
     }
 
     /**
-     * Return offset into data
+     * Return offset into data.  A combined multi-part message must be flattened first.
      */
     public int getOffset()
+    {
+        assertFlat();
+        return nOffset_;
+    }
+
+    /**
+     * Verify data is in a single array
+     */
+    private void assertFlat()
+    {
+        ApplicationError.assertTrue(parts_ == null, "Combined UDPData must be flattened before use", this);
+    }
+
+    /**
+     * Get this part's own byte data (not combined)
+     */
+    byte[] getPartData()
+    {
+        return data_;
+    }
+
+    /**
+     * Return offset of this part's own data
+     */
+    int getPartOffset()
     {
         return nOffset_;
     }
 
+    /**
+     * Return length of this part's own data (not combined)
+     */
+    int getPartLength()
+    {
+        return nPartLength_;
+    }
+
     /**
      * Return length of data
      */
@@ -0,0 +1,129 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.udp;
+
+import java.io.*;
+
+/**
+ * InputStream that reads a (possibly multi-part) UDPData in place,
+ * moving from one part's bytes to the next without copying them
+ * into a combined array.
+ */
+class UDPDataInputStream extends InputStream
+{
+    private final UDPData[] parts_;
+    private int nPart_ = 0;
+    private byte[] data_;
+    private int nPos_;
+    private int nEnd_;
+
+    /**
+     * Read given parts in order
+     */
+    UDPDataInputStream(UDPData[] parts)
+    {
+        parts_ = parts;
+        nextPart();
+    }
+
+    /**
+     * advance to next part, return false if none left
+     */
+    private boolean nextPart()
+    {
+        while (nPart_ < parts_.length)
+        {
+            UDPData part = parts_[nPart_++];
+            if (part.getPartLength() == 0) continue;
+            data_ = part.getPartData();
+            nPos_ = part.getPartOffset();
+            nEnd_ = nPos_ + part.getPartLength();
+            return true;
+        }
+        data_ = null;
+        nPos_ = nEnd_ = 0;
+        return false;
+    }
+
+    @Override
+    public int read()
+    {
+        if (nPos_ == nEnd_ && !nextPart()) return -1;
+        return data_[nPos_++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len)
+    {
+        if (len == 0) return 0;
+        if (nPos_ == nEnd_ && !nextPart()) return -1;
+
+        int nRead = 0;
+        while (len > 0)
+        {
+            int n = Math.min(len, nEnd_ - nPos_);
+            System.arraycopy(data_, nPos_, b, off, n);
+            nPos_ += n;
+            off += n;
+            len -= n;
+            nRead += n;
+            if (nPos_ == nEnd_ && !nextPart()) break;
+        }
+        return nRead;
+    }
+
+    @Override
+    public long skip(long n)
+    {
+        long nSkipped = 0;
+        while (n > 0 && (nPos_ < nEnd_ || nextPart()))
+        {
+            int s = (int) Math.min(n, nEnd_ - nPos_);
+            nPos_ += s;
+            n -= s;
+            nSkipped += s;
+        }
+        return nSkipped;
+    }
+
+    @Override
+    public int available()
+    {
+        int n = nEnd_ - nPos_;
+        for (int i = nPart_; i < parts_.length; i++)
+        {
+            n += parts_[i].getPartLength();
+        }
+        return n;
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ * DD Poker - Source Code
+ * Copyright (c) 2003-2026 Doug Donohoe
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * For the full License text, please see the LICENSE.txt file
+ * in the root directory of this project.
+ * 
+ * The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+ * graphics, text, and documentation found in this repository (including but not
+ * limited to written documentation, website content, and marketing materials) 
+ * are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+ * 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+ * without explicit written permission for any uses not covered by this License.
+ * For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+ * in the root directory of this project.
+ * 
+ * For inquiries regarding commercial licensing of this source code or 
+ * the use of names, logos, images, text, or other assets, please contact 
+ * doug [at] donohoe [dot] info.
+ * =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+ */
+package com.donohoedigital.udp;
+
+import com.donohoedigital.base.*;
+import org.junit.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for UDPDataInputStream and combined UDPData
+ */
+public class UDPDataInputStreamTest
+{
+    // part lengths, including empty parts at the start, middle and end
+    private static final int[] LENGTHS = {0, 5, 1, 0, 0, 7, 3, 0};
+    private static final int OFFSET = 2;
+
+    private byte[] expected_;
+    private UDPData[] parts_;
+
+    @Before
+    public void setUp()
+    {
+        int nTotal = 0;
+        for (int n : LENGTHS) nTotal += n;
+        expected_ = new byte[nTotal];
+
+        // each part's bytes sit at an offset in a larger array
+        parts_ = new UDPData[LENGTHS.length];
+        int nPos = 0;
+        for (int i = 0; i < LENGTHS.length; i++)
+        {
+            byte[] data = LENGTHS[i] == 0 ? null : new byte[OFFSET + LENGTHS[i] + 1];
+            for (int j = 0; j < LENGTHS[i]; j++)
+            {
+                expected_[nPos] = (byte) (200 + nPos); // > 127 to check read() is unsigned
+                data[OFFSET + j] = expected_[nPos];
+                nPos++;
+            }
+            parts_[i] = new UDPData(UDPData.Type.MESSAGE, 1, (short) i, (short) LENGTHS.length,
+                                    data, LENGTHS[i] == 0 ? 0 : OFFSET, LENGTHS[i], (byte) 0);
+        }
+    }
+
+    @Test
+    public void testRead()
+    {
+        UDPDataInputStream in = new UDPDataInputStream(parts_);
+        for (byte b : expected_)
+        {
+            assertEquals(b & 0xff, in.read());
+        }
+        assertEquals(-1, in.read());
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void testReadArray()
+    {
+        for (int nChunk = 1; nChunk <= expected_.length + 1; nChunk++)
+        {
+            UDPDataInputStream in = new UDPDataInputStream(parts_);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[nChunk + 2];
+            int n;
+            while ((n = in.read(buf, 1, nChunk)) != -1)
+            {
+                assertTrue(n > 0 && n <= nChunk);
+                out.write(buf, 1, n);
+            }
+            assertArrayEquals("chunk " + nChunk, expected_, out.toByteArray());
+            assertEquals(0, in.read(buf, 0, 0));
+        }
+    }
+
+    @Test
+    public void testSkip()
+    {
+        for (int nSkip = 0; nSkip <= expected_.length; nSkip++)
+        {
+            UDPDataInputStream in = new UDPDataInputStream(parts_);
+            assertEquals(nSkip, in.skip(nSkip));
+            assertEquals(expected_.length - nSkip, in.available());
+            for (int i = nSkip; i < expected_.length; i++)
+            {
+                assertEquals(expected_[i] & 0xff, in.read());
+            }
+            assertEquals(-1, in.read());
+        }
+
+        // skipping past the end stops at the end
+        UDPDataInputStream in = new UDPDataInputStream(parts_);
+        assertEquals(3, in.skip(3));
+        assertEquals(expected_.length - 3, in.skip(1000));
+        assertEquals(0, in.skip(1));
+    }
+
+    @Test
+    public void testAvailable()
+    {
+        UDPDataInputStream in = new UDPDataInputStream(parts_);
+        for (int i = 0; i < expected_.length; i++)
+        {
+            assertEquals(expected_.length - i, in.available());
+            in.read();
+        }
+        assertEquals(0, in.available());
+    }
+
+    @Test
+    public void testEmpty()
+    {
+        UDPData[] empty = {new UDPData(UDPData.Type.MESSAGE, 1, (short) 0, (short) 2, null, 0, 0, (byte) 0),
+                           new UDPData(UDPData.Type.MESSAGE, 1, (short) 1, (short) 2, null, 0, 0, (byte) 0)};
+        UDPDataInputStream in = new UDPDataInputStream(empty);
+        assertEquals(0, in.available());
+        assertEquals(-1, in.read());
+        assertEquals(-1, in.read(new byte[4], 0, 4));
+        assertEquals(0, in.skip(4));
+    }
+
+    @Test
+    public void testCombine() throws IOException
+    {
+        UDPData first = parts_[0];
+        first.combine(new ArrayList<UDPData>(Arrays.asList(parts_).subList(1, parts_.length)));
+        assertTrue(first.isCombined());
+        assertEquals(expected_.length, first.getLength());
+
+        // read in place
+        InputStream in = first.getInputStream();
+        assertArrayEquals(expected_, in.readAllBytes());
+
+        // must flatten before using as one array
+        try
+        {
+            first.getData();
+            fail("Expected error getting data before flatten");
+        }
+        catch (ApplicationError expected)
+        {
+        }
+
+        first.flatten();
+        assertFalse(first.isCombined());
+        assertArrayEquals(expected_, Arrays.copyOfRange(first.getData(), first.getOffset(),
+                                                        first.getOffset() + first.getLength()));
+        assertArrayEquals(expected_, first.getInputStream().readAllBytes());
+    }
+}
@@ -32,6 +32,7 @@
  */
 package com.donohoedigital.wicket.annotations;
 
+import com.donohoedigital.config.AnnotationIndex;
 import com.donohoedigital.config.MatchingResources;
 import org.apache.wicket.Page;
 import org.apache.wicket.core.request.mapper.MountedMapper;
@@ -68,11 +69,14 @@ public class DDMountScanner {
     }
 
     /**
-     * Scan given a package name or part of a package name and return list of classes with MountPath
-     * annotation.
+     * Find classes with MountPath annotation in given package name (using the build-time
+     * index, see AnnotationIndex).  With no package name, the whole classpath is scanned.
      */
-    public List<Class<?>> getPackageMatches(String pattern) {
-        return getPatternMatches(getPatternForPackage(pattern));
+    public List<Class<?>> getPackageMatches(String packageName) {
+        if (packageName == null || packageName.isEmpty()) {
+            return getPatternMatches(getPatternForPackage(packageName));
+        }
+        return checkMatches(AnnotationIndex.getAnnotatedClasses(MountPath.class, packageName));
     }
 
     /**
@@ -80,7 +84,13 @@ public class DDMountScanner {
      */
     public List<Class<?>> getPatternMatches(String pattern) {
         MatchingResources resources = new MatchingResources(pattern);
-        Set<Class<?>> mounts = resources.getAnnotatedMatches(MountPath.class);
+        return checkMatches(resources.getAnnotatedMatches(MountPath.class));
+    }
+
+    /**
+     * Verify matches are pages and return as list
+     */
+    private List<Class<?>> checkMatches(Set<Class<?>> mounts) {
         for (Class<?> mount : mounts) {
             if (!(Page.class.isAssignableFrom(mount))) {
                 throw new RuntimeException("@MountPath annotated class should subclass Page: " +
@@ -55,6 +55,8 @@ public abstract class PageableServiceProvider<T> implements IDataProvider<T>
     private static final long serialVersionUID = 42L;
 
     private Integer size;
+    private String pageKey;
+    private String nextPageKey;
 
     /**
      * Fetch 'pagesize' rows starting at index 'first' and return as an Iterator
@@ -123,6 +125,43 @@ public abstract class PageableServiceProvider<T> implements IDataProvider<T>
         }
     }
 
+    /**
+     * Set the page key by retrieving 'name' from 'params'.  A page key is an
+     * opaque position (e.g., the sort values of the last row on the previous page)
+     * which lets the implementer of iterator() seek directly to the next page
+     * rather than scanning past 'first' rows.  Used in conjunction with
+     * BookmarkablePagingNavigator.setNextPageParam().
+     */
+    public void processPageKeyFromParams(PageParameters params, String name)
+    {
+        pageKey = params.get(name).toOptionalString();
+    }
+
+    /**
+     * @return page key from the URL, or null if none
+     */
+    public String getPageKey()
+    {
+        return pageKey;
+    }
+
+    /**
+     * Implementers should set the key of the page following the one
+     * just fetched in iterator() (null if unknown).
+     */
+    protected void setNextPageKey(String nextPageKey)
+    {
+        this.nextPageKey = nextPageKey;
+    }
+
+    /**
+     * @return key of the page after the one last fetched, or null if none
+     */
+    public String getNextPageKey()
+    {
+        return nextPageKey;
+    }
+
     /**
      * @return true if size() == 0
      */
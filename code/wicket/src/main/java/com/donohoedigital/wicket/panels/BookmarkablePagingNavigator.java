@@ -38,6 +38,7 @@ import com.donohoedigital.wicket.labels.PluralLabelProvider;
 import org.apache.wicket.Page;
 import org.apache.wicket.markup.html.link.BookmarkablePageLink;
 import org.apache.wicket.markup.html.link.Link;
+import org.apache.wicket.model.IModel;
 import org.apache.wicket.request.mapper.parameter.PageParameters;
 
 /**
@@ -55,6 +56,8 @@ public class BookmarkablePagingNavigator extends BoxPagingNavigator
     protected String pageParamName;
     protected PageParameters linkToParams;
     protected Class<? extends Page> linkTo;
+    protected String nextPageParamName;
+    protected IModel<String> nextPageParam;
 
     public BookmarkablePagingNavigator(String id, CountPageable pageable, PluralLabelProvider itemName,
                                        Class<? extends Page> linkTo,
@@ -76,6 +79,18 @@ public class BookmarkablePagingNavigator extends BoxPagingNavigator
         setCurrentPageValidated(WicketUtils.getAsInt(linkToParams, pageParamName, 1));
     }
 
+    /**
+     * Add 'name' with the value from 'model' to the link for the page after the
+     * current one (and drop it from all others).  Used to pass a keyset paging
+     * position so the next page can be fetched without an offset scan.  The model
+     * is evaluated when the link renders, after the current page's data is fetched.
+     */
+    public void setNextPageParam(String name, IModel<String> model)
+    {
+        this.nextPageParamName = name;
+        this.nextPageParam = model;
+    }
+
     /**
      * bookmarkable link to given page
      */
@@ -84,7 +99,32 @@ public class BookmarkablePagingNavigator extends BoxPagingNavigator
     {
         PageParameters linkParams = new PageParameters(linkToParams);
         linkParams.set(pageParamName, pageNum);
-        return new BookmarkablePageLink<Page>(id, linkTo, linkParams);
+        if (nextPageParamName == null) return new BookmarkablePageLink<Page>(id, linkTo, linkParams);
+
+        linkParams.remove(nextPageParamName);
+        if (pageNum != getCurrentPage() + 1) return new BookmarkablePageLink<Page>(id, linkTo, linkParams);
+
+        return new BookmarkablePageLink<Page>(id, linkTo, linkParams)
+        {
+            private static final long serialVersionUID = 42L;
+
+            @Override
+            public PageParameters getPageParameters()
+            {
+                PageParameters params = super.getPageParameters();
+                String value = nextPageParam.getObject();
+                if (value == null) params.remove(nextPageParamName);
+                else params.set(nextPageParamName, value);
+                return params;
+            }
+        };
+    }
+
+    @Override
+    protected void onDetach()
+    {
+        super.onDetach();
+        if (nextPageParam != null) nextPageParam.detach();
     }
 
 }
@@ -68,6 +68,20 @@ CREATE TABLE wan_game (
     INDEX wgm_mode (wgm_mode)
 ) Engine = InnoDB DEFAULT CHARSET=utf8;
 
+CREATE TABLE wan_host_summary (
+    whs_host_player VARCHAR(64) NOT NULL PRIMARY KEY,
+    whs_games_hosted INT UNSIGNED NOT NULL,
+    whs_first_date DATETIME NOT NULL,
+    whs_last_date DATETIME NOT NULL,
+
+    INDEX whs_games_hosted (whs_games_hosted, whs_host_player)
+) Engine = InnoDB DEFAULT CHARSET=utf8;
+
+CREATE TABLE wan_host_summary_status (
+    whss_id TINYINT UNSIGNED NOT NULL PRIMARY KEY,
+    whss_build_date DATETIME NOT NULL
+) Engine = InnoDB DEFAULT CHARSET=utf8;
+
 CREATE TABLE wan_history (
     whi_id INT UNSIGNED NOT NULL PRIMARY KEY AUTO_INCREMENT,
     whi_game_id INT UNSIGNED NOT NULL,
@@ -34,6 +34,8 @@ use pokertest;
 
 delete from wan_history;
 delete from wan_game;
+delete from wan_host_summary;
+delete from wan_host_summary_status;
 delete from wan_profile;
 delete from registration;
 delete from banned_key;
@@ -0,0 +1,55 @@
+--
+-- =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+-- DD Poker - Source Code
+-- Copyright (c) 2003-2026 Doug Donohoe
+-- 
+-- This program is free software: you can redistribute it and/or modify
+-- it under the terms of the GNU General Public License as published by
+-- the Free Software Foundation, either version 3 of the License, or
+-- (at your option) any later version.
+-- 
+-- This program is distributed in the hope that it will be useful,
+-- but WITHOUT ANY WARRANTY; without even the implied warranty of
+-- MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+-- GNU General Public License for more details.
+-- 
+-- For the full License text, please see the LICENSE.txt file
+-- in the root directory of this project.
+-- 
+-- The "DD Poker" and "Donohoe Digital" names and logos, as well as any images, 
+-- graphics, text, and documentation found in this repository (including but not
+-- limited to written documentation, website content, and marketing materials) 
+-- are licensed under the Creative Commons Attribution-NonCommercial-NoDerivatives 
+-- 4.0 International License (CC BY-NC-ND 4.0). You may not use these assets 
+-- without explicit written permission for any uses not covered by this License.
+-- For the full License text, please see the LICENSE-CREATIVE-COMMONS.txt file
+-- in the root directory of this project.
+-- 
+-- For inquiries regarding commercial licensing of this source code or 
+-- the use of names, logos, images, text, or other assets, please contact 
+-- doug [at] donohoe [dot] info.
+-- =-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
+--
+-- Adds the host summary tables to a database created before they existed:
+--
+--   sed -e "s/DBNAME/poker/g" upgrade_host_summary.sql | mysql -h 127.0.0.1 -u root
+--
+-- The summary is filled from wan_game the next time the server starts (the
+-- server builds it once when wan_host_summary_status is empty).  Until then,
+-- HostList counts come from wan_game as before.
+--
+use DBNAME;
+
+CREATE TABLE IF NOT EXISTS wan_host_summary (
+    whs_host_player VARCHAR(64) NOT NULL PRIMARY KEY,
+    whs_games_hosted INT UNSIGNED NOT NULL,
+    whs_first_date DATETIME NOT NULL,
+    whs_last_date DATETIME NOT NULL,
+
+    INDEX whs_games_hosted (whs_games_hosted, whs_host_player)
+) Engine = InnoDB DEFAULT CHARSET=utf8;
+
+CREATE TABLE IF NOT EXISTS wan_host_summary_status (
+    whss_id TINYINT UNSIGNED NOT NULL PRIMARY KEY,
+    whss_build_date DATETIME NOT NULL
+) Engine = InnoDB DEFAULT CHARSET=utf8;